@@ -0,0 +1,238 @@
+/**
+ * @file AhoCorasick.java
+ * @brief This file contains the Aho-Corasick automaton used to search attendees for many names at once.
+ * @details All patterns are compiled into one deterministic automaton, so a text is scanned once
+ *          however many patterns there are.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * @class AhoCorasick
+ * @brief A multi-pattern matcher with a flat, array-encoded transition table.
+ * @details The characters that occur in the patterns are numbered {@code 1} to {@code A - 1}; every
+ *          other character is class {@code 0}, which always leads back to the root. Failure links
+ *          are resolved when the automaton is built, so {@code delta[state * A + class]} is the next
+ *          state for every state and class and a scan does exactly one array read per character.
+ *          ASCII characters find their class in a 128-entry table, others by binary search.
+ *
+ *          {@code patternAt[state]} is the first pattern that ends in a state, {@code nextSame}
+ *          chains patterns that are equal after case folding, and {@code outputLink[state]} is the
+ *          nearest state on the failure chain where another pattern ends, so reporting a match
+ *          visits only states with output.
+ *
+ *          An automaton is immutable and may be shared between threads.
+ */
+public final class AhoCorasick {
+
+	private final List<String> patterns;
+	private final boolean ignoreCase;
+	/**
+	 * Pattern characters in increasing order; character {@code alphabet[i]} has class {@code i + 1}.
+	 */
+	private final char[] alphabet;
+	private final int[] asciiClass = new int[128];
+	private final int classCount;
+	private final int[] delta;
+	private final int[] patternAt;
+	private final int[] nextSame;
+	private final int[] outputLink;
+	/**
+	 * Empty patterns, which match every text.
+	 */
+	private final int[] emptyPatterns;
+
+	private AhoCorasick(List<String> patterns, boolean ignoreCase) {
+		this.patterns = Collections.unmodifiableList(new ArrayList<>(patterns));
+		this.ignoreCase = ignoreCase;
+		char[][] folded = new char[patterns.size()][];
+		StringBuilder chars = new StringBuilder();
+		int trieSize = 1;
+		for (int id = 0; id < folded.length; id++) {
+			folded[id] = fold(patterns.get(id));
+			chars.append(folded[id]);
+			trieSize += folded[id].length;
+		}
+		char[] all = chars.toString().toCharArray();
+		Arrays.sort(all);
+		int distinct = 0;
+		for (int i = 0; i < all.length; i++) {
+			if (i == 0 || all[i] != all[i - 1]) {
+				all[distinct++] = all[i];
+			}
+		}
+		this.alphabet = Arrays.copyOf(all, distinct);
+		this.classCount = distinct + 1;
+		for (int i = 0; i < alphabet.length && alphabet[i] < 128; i++) {
+			asciiClass[alphabet[i]] = i + 1;
+		}
+
+		// Trie, with -1 for a missing edge
+		int[] trie = new int[trieSize * classCount];
+		Arrays.fill(trie, -1);
+		int[] ends = new int[trieSize];
+		Arrays.fill(ends, -1);
+		int[] same = new int[folded.length];
+		Arrays.fill(same, -1);
+		List<Integer> empty = new ArrayList<>();
+		int states = 1;
+		for (int id = 0; id < folded.length; id++) {
+			if (folded[id].length == 0) {
+				empty.add(id);
+				continue;
+			}
+			int state = 0;
+			for (char c : folded[id]) {
+				int edge = state * classCount + classOf(c);
+				if (trie[edge] < 0) {
+					trie[edge] = states++;
+				}
+				state = trie[edge];
+			}
+			// Keep patterns in id order along the chain of equal patterns
+			if (ends[state] < 0) {
+				ends[state] = id;
+			} else {
+				int last = ends[state];
+				while (same[last] >= 0) {
+					last = same[last];
+				}
+				same[last] = id;
+			}
+		}
+		this.delta = Arrays.copyOf(trie, states * classCount);
+		this.patternAt = Arrays.copyOf(ends, states);
+		this.nextSame = same;
+		this.outputLink = new int[states];
+		this.emptyPatterns = empty.stream().mapToInt(Integer::intValue).toArray();
+		link(states);
+	}
+
+	/**
+	 * Resolves failure links breadth-first into {@link #delta} and fills {@link #outputLink}.
+	 */
+	private void link(int states) {
+		int[] fail = new int[states];
+		int[] queue = new int[states];
+		int head = 0;
+		int tail = 0;
+		outputLink[0] = -1;
+		for (int a = 0; a < classCount; a++) {
+			int child = delta[a];
+			if (child <= 0) {
+				delta[a] = 0;
+			} else {
+				fail[child] = 0;
+				outputLink[child] = -1;
+				queue[tail++] = child;
+			}
+		}
+		delta[0] = 0; // Characters outside the patterns restart the match
+		while (head < tail) {
+			int state = queue[head++];
+			int row = state * classCount;
+			delta[row] = 0;
+			for (int a = 1; a < classCount; a++) {
+				int child = delta[row + a];
+				int target = delta[fail[state] * classCount + a];
+				if (child < 0) {
+					delta[row + a] = target;
+				} else {
+					fail[child] = target;
+					outputLink[child] = patternAt[target] >= 0 ? target : outputLink[target];
+					queue[tail++] = child;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Compiles case-insensitive patterns.
+	 *
+	 * @param patterns The texts to look for; they may repeat.
+	 * @return The automaton.
+	 */
+	public static AhoCorasick compile(List<String> patterns) {
+		return compile(patterns, true);
+	}
+
+	/**
+	 * Compiles patterns.
+	 *
+	 * @param patterns The texts to look for; they may repeat.
+	 * @param ignoreCase Whether letters match regardless of case.
+	 * @return The automaton.
+	 */
+	public static AhoCorasick compile(List<String> patterns, boolean ignoreCase) {
+		return new AhoCorasick(patterns, ignoreCase);
+	}
+
+	private char[] fold(String pattern) {
+		return ignoreCase ? CaseFold.fold(pattern) : pattern.toCharArray();
+	}
+
+	private int classOf(char c) {
+		if (c < 128) {
+			return asciiClass[c];
+		}
+		int index = Arrays.binarySearch(alphabet, c);
+		return index >= 0 ? index + 1 : 0;
+	}
+
+	/**
+	 * Returns the patterns in id order.
+	 *
+	 * @return The patterns, unmodifiable.
+	 */
+	public List<String> patterns() {
+		return patterns;
+	}
+
+	/**
+	 * Returns the number of states of the automaton, the root included.
+	 *
+	 * @return The number of states.
+	 */
+	public int stateCount() {
+		return patternAt.length;
+	}
+
+	/**
+	 * Scans a text once and reports every occurrence of every pattern.
+	 *
+	 * @param text The text; {@code null} is treated as empty.
+	 * @param matches Receives the id of the pattern at each occurrence, in the order the occurrences end;
+	 *        a pattern that occurs several times is reported several times.
+	 */
+	public void scan(CharSequence text, IntConsumer matches) {
+		for (int id : emptyPatterns) {
+			matches.accept(id);
+		}
+		if (text == null) {
+			return;
+		}
+		int state = 0;
+		for (int i = 0, n = text.length(); i < n; i++) {
+			char c = text.charAt(i);
+			if (ignoreCase) {
+				c = CaseFold.fold(c);
+			}
+			state = delta[state * classCount + classOf(c)];
+			for (int s = patternAt[state] >= 0 ? state : outputLink[state]; s > 0; s = outputLink[s]) {
+				for (int id = patternAt[s]; id >= 0; id = nextSame[id]) {
+					matches.accept(id);
+				}
+			}
+		}
+	}
+}
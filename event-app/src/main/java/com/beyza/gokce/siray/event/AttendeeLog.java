@@ -0,0 +1,925 @@
+/**
+ * @file AttendeeLog.java
+ * @brief This file contains the append-only binary file holding the registered attendees.
+ * @details Attendees are appended to {@code attendee.bin} through one buffered channel in a compact,
+ *          checksummed record format, committed once per registration session, and streamed back
+ *          into the {@link AttendeeStore} when the application starts. A session cut short by a crash
+ *          is cut off again when the file is opened.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import java.util.zip.CRC32;
+
+import com.beyza.gokce.siray.event.Event.Attendee;
+
+/**
+ * @class AttendeeLog
+ * @brief Crash-safe, append-only file of attendees with a buffered writer and a streaming reader.
+ * @details Layout of the file, integers big-endian:
+ *          <pre>
+ *          header     : magic "EVAT" (int) | version (short) | flags (short) | checkpoint | checkpoint
+ *          checkpoint : sequence (int) | record count (int) | offset (long) | CRC32 of the previous 16 bytes (int)
+ *          entry      : CRC32 of the record (int) | record or model
+ *          record     : flags (byte) | name | surname | code
+ *                     | flags with PACKED (byte) | model version (unsigned varint) | packed names | code
+ *          model      : MODEL (byte) | model version (unsigned varint) | code lengths
+ *          field      : length (unsigned varint) | UTF-8 bytes
+ *          </pre>
+ *          The flags byte holds the {@link AttendeeStore} flags of the row, and a field is only
+ *          written when the flags do not already say what it is: no name or surname when it is
+ *          {@code null}, and no code when it is {@code null} or the name, which is the usual case.
+ *          Ids are not stored; the {@code n}-th record is attendee {@code n}.
+ *
+ *          When the store packed the names of a row, its record holds the name and surname as packed by
+ *          the row's {@link AttendeeNameCodec} (a length and the bytes, like a field) with the version of its
+ *          model, instead of their UTF-8 bytes; a {@code null} name or surname is still told by the
+ *          flags. Model versions start over with every run, so before the first record of a codec
+ *          the log writes a model entry with the codec's code lengths, as {@link AttendeeNameCodec}
+ *          serializes them, and a packed record is decoded with the latest model entry of its version
+ *          before it. Model entries are not attendees and are not counted as records.
+ *
+ *          {@link #append(AttendeeStore, int, int)} only fills the writer's buffer, and
+ *          {@link #commit()} hands a whole registration session to the file in a few large writes
+ *          followed by a single sync. Once {@link #DEFAULT_CHECKPOINT_INTERVAL} bytes were committed
+ *          since the last checkpoint, and when the log is closed, the number of records and the end
+ *          of the synced entries are written to the older of the two checkpoint slots, so a torn
+ *          checkpoint leaves the other one. Everything before the newest valid checkpoint is
+ *          durable: opening the file only verifies the entries after it, and the first entry that
+ *          is cut short or fails its checksum there is the torn tail of a crashed session and is
+ *          truncated. A bad entry before the checkpoint is corruption and an error.
+ *
+ *          Files written by the earlier {@code ObjectOutputStream} format, and version 1 files
+ *          without checksums, are migrated to this format, atomically, the first time they are opened.
+ *          Version 2 files, which have no packed records, are read as they are and marked as the
+ *          current version when they are opened for appending.
+ *
+ *          The log is not thread-safe.
+ */
+public final class AttendeeLog implements Closeable {
+
+	/**
+	 * Magic number at the start of the file ("EVAT").
+	 */
+	static final int MAGIC = 0x45564154;
+
+	/**
+	 * Current version of the file format.
+	 */
+	static final int VERSION = 3;
+
+	/**
+	 * Version of files without packed records, which are still read as they are.
+	 */
+	private static final int VERSION_2 = 2;
+
+	/**
+	 * Size of one checkpoint slot in bytes.
+	 */
+	static final int CHECKPOINT_SIZE = 20;
+
+	/**
+	 * Size of the file header, with both checkpoint slots, in bytes.
+	 */
+	static final int HEADER_SIZE = 8 + 2 * CHECKPOINT_SIZE;
+
+	/**
+	 * Number of committed bytes after which the next commit writes a checkpoint.
+	 */
+	static final long DEFAULT_CHECKPOINT_INTERVAL = 256 * 1024;
+
+	/**
+	 * Largest name, surname or code in bytes.
+	 */
+	static final int MAX_FIELD_BYTES = 0xFFFF;
+
+	/**
+	 * Size of the version 1 header, which had no checkpoints.
+	 */
+	private static final int VERSION_1_HEADER_SIZE = 8;
+
+	/**
+	 * Every flag a record may carry.
+	 */
+	private static final int RECORD_FLAGS = AttendeeStore.NULL_NAME | AttendeeStore.NULL_SURNAME
+			| AttendeeStore.CODE_IS_NAME | AttendeeStore.NULL_CODE;
+
+	/**
+	 * Record flag of a record holding packed names instead of the UTF-8 bytes of the name and the surname.
+	 */
+	static final int PACKED = 16;
+
+	/**
+	 * First byte of a model entry.
+	 */
+	static final int MODEL = 0x80;
+
+	/**
+	 * The attendee file.
+	 */
+	private final Path path;
+	/**
+	 * Buffered writer positioned at the end of the file.
+	 */
+	private final BinaryFileWriter out;
+	/**
+	 * Length of the file when the writer was created.
+	 */
+	private final long base;
+	/**
+	 * Committed bytes after which a checkpoint is written.
+	 */
+	private final long checkpointInterval;
+	/**
+	 * Number of bytes cut off the end of the file when it was opened.
+	 */
+	private final long truncated;
+	/**
+	 * Scratch buffer in which one record is encoded.
+	 */
+	private byte[] record = new byte[64];
+	/**
+	 * Checksum scratch for the records.
+	 */
+	private final CRC32 crc = new CRC32();
+	/**
+	 * Codec whose model entry this log wrote last, or {@code null} if it wrote none.
+	 */
+	private AttendeeNameCodec model;
+	/**
+	 * Number of records in the file, committed or not.
+	 */
+	private int records;
+	/**
+	 * Number of records appended since the last commit.
+	 */
+	private int pending;
+	/**
+	 * The newest checkpoint written.
+	 */
+	private Checkpoint checkpoint;
+
+	/**
+	 * A checkpoint: the first {@code records} entries end at {@code offset} and are durable.
+	 */
+	static final class Checkpoint {
+		final int sequence;
+		final int records;
+		final long offset;
+
+		Checkpoint(int sequence, int records, long offset) {
+			this.sequence = sequence;
+			this.records = records;
+			this.offset = offset;
+		}
+	}
+
+	/**
+	 * Result of reading a file.
+	 */
+	private static final class Scan {
+		/**
+		 * Number of valid records.
+		 */
+		int records;
+		/**
+		 * End of the last valid record, or {@code 0} if the file has no header.
+		 */
+		long validEnd;
+		/**
+		 * Length of the file.
+		 */
+		long size;
+		/**
+		 * Version of the file format, or {@code 0} if the file has no header.
+		 */
+		int version;
+		/**
+		 * The newest valid checkpoint.
+		 */
+		Checkpoint checkpoint = new Checkpoint(0, 0, HEADER_SIZE);
+	}
+
+	/**
+	 * Creates a log around an open writer.
+	 *
+	 * @param path The attendee file.
+	 * @param out The writer positioned at the end of the file.
+	 * @param base The length of the file before the writer's first byte.
+	 * @param records The number of records already in the file.
+	 * @param checkpoint The newest checkpoint of the file.
+	 * @param checkpointInterval The committed bytes after which a checkpoint is written.
+	 * @param truncated The number of bytes cut off the end of the file.
+	 */
+	private AttendeeLog(Path path, BinaryFileWriter out, long base, int records, Checkpoint checkpoint,
+			long checkpointInterval, long truncated) {
+		this.path = path;
+		this.out = out;
+		this.base = base;
+		this.records = records;
+		this.checkpoint = checkpoint;
+		this.checkpointInterval = checkpointInterval;
+		this.truncated = truncated;
+	}
+
+	/**
+	 * Returns the default location of the attendee file.
+	 *
+	 * @return The path of {@code attendee.bin} in the working directory.
+	 */
+	public static Path defaultPath() {
+		return Paths.get("attendee.bin");
+	}
+
+	/**
+	 * Opens an attendee file for appending, creating it if necessary, and reads its records.
+	 * A torn tail left by a crash is cut off, and a file in an older format is converted first.
+	 *
+	 * @param path The attendee file.
+	 * @param store Receives every attendee of the file, or {@code null} to only find its end,
+	 *              which starts from the newest checkpoint.
+	 * @return The opened log.
+	 * @throws IOException If the file cannot be opened, is not an attendee file or is corrupt before its checkpoint.
+	 */
+	public static AttendeeLog open(Path path, AttendeeStore store) throws IOException {
+		return open(path, store, DEFAULT_CHECKPOINT_INTERVAL, UnaryOperator.identity());
+	}
+
+	/**
+	 * Same as {@link #open(Path, AttendeeStore)} with a checkpoint interval and a wrapper for the
+	 * channel that writes the file, through which tests inject faults.
+	 */
+	static AttendeeLog open(Path path, AttendeeStore store, long checkpointInterval, UnaryOperator<FileChannel> wrapper)
+			throws IOException {
+		migrate(path);
+		Scan scan = scan(path, store, store == null);
+		FileChannel channel = wrapper.apply(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE));
+		try {
+			BinaryFileWriter out = new BinaryFileWriter(channel, BinaryFileWriter.DEFAULT_BUFFER_SIZE);
+			if (scan.validEnd < HEADER_SIZE) {
+				channel.truncate(0);
+				writeHeader(out);
+				out.sync();
+				return new AttendeeLog(path, out, 0, 0, scan.checkpoint, checkpointInterval, scan.size);
+			}
+			if (scan.validEnd < scan.size) {
+				channel.truncate(scan.validEnd);
+				channel.force(false);
+			}
+			if (scan.version < VERSION) {
+				// Version 2 records are read by this version too, so only the header changes
+				ByteBuffer version = ByteBuffer.allocate(2).putShort(0, (short) VERSION);
+				for (long at = 4; version.hasRemaining(); ) {
+					at += channel.write(version, at);
+				}
+			}
+			channel.position(scan.validEnd);
+			return new AttendeeLog(path, out, scan.validEnd, scan.records, scan.checkpoint, checkpointInterval,
+					scan.size - scan.validEnd);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Streams every valid attendee of a file into a store, in file order, without changing the file.
+	 * Reading stops at a torn tail, which the next {@link #open(Path, AttendeeStore)} truncates.
+	 *
+	 * @param path The attendee file.
+	 * @param store Receives each attendee with the next id of the store.
+	 * @return The number of attendees read; {@code 0} if the file is missing or empty.
+	 * @throws IOException If the file cannot be read, is not an attendee file or is corrupt before its checkpoint.
+	 */
+	public static int read(Path path, AttendeeStore store) throws IOException {
+		return scan(path, store, false).records;
+	}
+
+	/**
+	 * Reads the records of a file up to its first torn or corrupt entry.
+	 *
+	 * @param path The attendee file.
+	 * @param store Receives each valid attendee, or {@code null} to only validate.
+	 * @param fromCheckpoint Whether to skip the entries before the newest checkpoint.
+	 * @return What was found.
+	 * @throws IOException If the file cannot be read, is not an attendee file or is corrupt before its checkpoint.
+	 */
+	private static Scan scan(Path path, AttendeeStore store, boolean fromCheckpoint) throws IOException {
+		Scan scan = new Scan();
+		FileChannel channel;
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.READ);
+		} catch (NoSuchFileException e) {
+			return scan;
+		}
+		try {
+			scan.size = channel.size();
+			ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			while (header.hasRemaining() && channel.read(header, header.position()) >= 0) {
+				// Keep reading until the header is complete or the file ends
+			}
+			int magicBytes = (int) Math.min(scan.size, 4);
+			// A header cut short by a crash still starts with the magic number
+			if (magicBytes > 0 && header.getInt(0) >>> (32 - 8 * magicBytes) != MAGIC >>> (32 - 8 * magicBytes)) {
+				throw new IOException(path + " is not an attendee file");
+			}
+			if (scan.size < HEADER_SIZE) {
+				// A crash cut the header short, so nothing was committed
+				return scan;
+			}
+			int version = header.getShort(4) & 0xFFFF;
+			if (version != VERSION && version != VERSION_2) {
+				throw new IOException(path + " has unsupported version " + version);
+			}
+			scan.version = version;
+			scan.checkpoint = newestCheckpoint(header, scan.checkpoint);
+			if (scan.checkpoint.offset > scan.size) {
+				throw new IOException(path + " ends before its checkpoint at offset " + scan.checkpoint.offset);
+			}
+			long start = fromCheckpoint ? scan.checkpoint.offset : HEADER_SIZE;
+			scan.records = fromCheckpoint ? scan.checkpoint.records : 0;
+			channel.position(start);
+			BinaryFileReader in = new BinaryFileReader(channel, BinaryFileWriter.DEFAULT_BUFFER_SIZE);
+			Entry entry = new Entry();
+			scan.validEnd = start;
+			while (scan.validEnd < scan.size) {
+				if (!readEntry(in, entry, true, store != null)) {
+					if (scan.validEnd < scan.checkpoint.offset) {
+						throw new IOException(path + " has a corrupt record at offset " + scan.validEnd);
+					}
+					break;
+				}
+				if (store != null && !entry.model) {
+					entry.addTo(store);
+				}
+				long previousEnd = scan.validEnd;
+				if (!entry.model) {
+					scan.records++;
+				}
+				scan.validEnd = start + in.position();
+				if (previousEnd < scan.checkpoint.offset && scan.validEnd >= scan.checkpoint.offset
+						&& (scan.validEnd != scan.checkpoint.offset || scan.records != scan.checkpoint.records)) {
+					throw new IOException(path + " does not match its checkpoint at offset " + scan.checkpoint.offset);
+				}
+			}
+			return scan;
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Returns the valid checkpoint with the highest sequence number, or the given one if neither slot is valid.
+	 */
+	private static Checkpoint newestCheckpoint(ByteBuffer header, Checkpoint none) {
+		Checkpoint newest = none;
+		CRC32 crc = new CRC32();
+		for (int slot = 0; slot < 2; slot++) {
+			int at = 8 + slot * CHECKPOINT_SIZE;
+			crc.reset();
+			crc.update(header.array(), at, CHECKPOINT_SIZE - 4);
+			if ((int) crc.getValue() != header.getInt(at + 16)) {
+				continue;
+			}
+			int sequence = header.getInt(at);
+			long offset = header.getLong(at + 8);
+			if (sequence > newest.sequence && offset >= HEADER_SIZE) {
+				newest = new Checkpoint(sequence, header.getInt(at + 4), offset);
+			}
+		}
+		return newest;
+	}
+
+	/**
+	 * One decoded record, held until its checksum is verified, and the models read so far.
+	 */
+	private static final class Entry {
+		/**
+		 * Whether the entry is a model entry rather than a record.
+		 */
+		boolean model;
+		int flag;
+		byte[] name = new byte[64];
+		int nameLength;
+		String surname;
+		String code;
+		byte[] packed = new byte[64];
+		final String[] fields = new String[2];
+		/**
+		 * Codec of each model version, from the latest model entry of that version.
+		 */
+		final Map<Integer, AttendeeNameCodec> models = new HashMap<>();
+
+		void addTo(AttendeeStore store) {
+			store.add(flag, name, 0, nameLength, surname, code);
+		}
+	}
+
+	/**
+	 * Reads one entry.
+	 *
+	 * @param in The reader positioned at the entry.
+	 * @param entry Receives the record.
+	 * @param checksummed Whether the record is preceded by its checksum.
+	 * @param decode Whether to read models and decode packed names; without it only the fields read as they are
+	 *               are filled in, which is enough to find the end of the file.
+	 * @return {@code false} if the entry is cut short, malformed or fails its checksum.
+	 * @throws IOException If the read fails.
+	 */
+	private static boolean readEntry(BinaryFileReader in, Entry entry, boolean checksummed, boolean decode)
+			throws IOException {
+		try {
+			int expected = checksummed ? in.getInt() : 0;
+			in.resetCrc();
+			int flag = in.getByte();
+			entry.model = flag == MODEL;
+			if (entry.model) {
+				return readModel(in, entry, decode) && (!checksummed || in.crc() == expected);
+			}
+			if ((flag & ~(RECORD_FLAGS | PACKED)) != 0) {
+				return false;
+			}
+			entry.flag = flag & RECORD_FLAGS;
+			entry.nameLength = 0;
+			entry.surname = null;
+			if ((flag & PACKED) != 0) {
+				if (!readPacked(in, entry, decode)) {
+					return false;
+				}
+			} else {
+				if ((flag & AttendeeStore.NULL_NAME) == 0) {
+					int length = getLength(in);
+					if (length < 0) {
+						return false;
+					}
+					putName(entry, in, null, length);
+				}
+				if ((flag & AttendeeStore.NULL_SURNAME) == 0 && (entry.surname = getField(in)) == null) {
+					return false;
+				}
+			}
+			entry.code = null;
+			if ((flag & (AttendeeStore.NULL_CODE | AttendeeStore.CODE_IS_NAME)) == 0 && (entry.code = getField(in)) == null) {
+				return false;
+			}
+			return !checksummed || in.crc() == expected;
+		} catch (EOFException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Reads the packed names of a record and, if asked to, decodes them with the model of their version.
+	 *
+	 * @return {@code false} if the names are malformed or their model was not read.
+	 */
+	private static boolean readPacked(BinaryFileReader in, Entry entry, boolean decode) throws IOException {
+		int version = getVarint(in);
+		int length = getLength(in);
+		if (version < 0 || length < 0) {
+			return false;
+		}
+		if (length > entry.packed.length) {
+			entry.packed = new byte[Math.max(length, entry.packed.length * 2)];
+		}
+		in.getBytes(entry.packed, 0, length);
+		if (!decode) {
+			return true;
+		}
+		AttendeeNameCodec codec = entry.models.get(version);
+		if (codec == null) {
+			return false;
+		}
+		try {
+			codec.decode(entry.packed, 0, length, entry.fields, 0, 2);
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+		if ((entry.flag & AttendeeStore.NULL_NAME) == 0) {
+			byte[] name = entry.fields[0].getBytes(StandardCharsets.UTF_8);
+			putName(entry, null, name, name.length);
+		}
+		if ((entry.flag & AttendeeStore.NULL_SURNAME) == 0) {
+			entry.surname = entry.fields[1];
+		}
+		return true;
+	}
+
+	/**
+	 * Copies a name into the entry's name buffer, from the reader or from an array.
+	 */
+	private static void putName(Entry entry, BinaryFileReader in, byte[] name, int length) throws IOException {
+		if (length > entry.name.length) {
+			entry.name = new byte[Math.max(length, entry.name.length * 2)];
+		}
+		if (in != null) {
+			in.getBytes(entry.name, 0, length);
+		} else {
+			System.arraycopy(name, 0, entry.name, 0, length);
+		}
+		entry.nameLength = length;
+	}
+
+	/**
+	 * Reads a model entry after its first byte and, if asked to, makes its codec the one of its version.
+	 *
+	 * @return {@code false} if the model is malformed.
+	 */
+	private static boolean readModel(BinaryFileReader in, Entry entry, boolean decode) throws IOException {
+		int version = getVarint(in);
+		if (version < 0) {
+			return false;
+		}
+		byte[] present = new byte[AttendeeNameCodec.PRESENT_BYTES];
+		in.getBytes(present, 0, present.length);
+		byte[] lengths = Arrays.copyOf(present, AttendeeNameCodec.lengthBytesSize(present));
+		in.getBytes(lengths, present.length, lengths.length - present.length);
+		if (decode) {
+			try {
+				entry.models.put(version, AttendeeNameCodec.fromLengthBytes(version, lengths));
+			} catch (IllegalArgumentException e) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Reads an unsigned variable-length integer.
+	 *
+	 * @return The value, or {@code -1} if it is malformed or does not fit in an {@code int}.
+	 */
+	private static int getVarint(BinaryFileReader in) throws IOException {
+		long value = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = in.getByte();
+			value |= (long) (b & 0x7F) << shift;
+			if (b < 0x80) {
+				return value <= Integer.MAX_VALUE ? (int) value : -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Reads a variable-length field length.
+	 *
+	 * @return The length, or {@code -1} if it is malformed or above {@link #MAX_FIELD_BYTES}.
+	 */
+	private static int getLength(BinaryFileReader in) throws IOException {
+		int length = 0;
+		for (int shift = 0; shift < 21; shift += 7) {
+			int b = in.getByte();
+			length |= (b & 0x7F) << shift;
+			if (b < 0x80) {
+				return length <= MAX_FIELD_BYTES ? length : -1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Reads a field as a string.
+	 *
+	 * @return The string, or {@code null} if its length is malformed.
+	 */
+	private static String getField(BinaryFileReader in) throws IOException {
+		int length = getLength(in);
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.getBytes(bytes, 0, length);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Rewrites a file in the old {@code ObjectOutputStream} format, or in version 1 of this format,
+	 * in the current format. The converted file is written next to the old one and moved over it,
+	 * so a crash leaves one or the other.
+	 *
+	 * @param path The attendee file.
+	 * @return The number of attendees converted, or {@code -1} if the file is not in an old format.
+	 * @throws IOException If the file cannot be read or the converted file cannot be written.
+	 */
+	static int migrate(Path path) throws IOException {
+		FileChannel channel;
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.READ);
+		} catch (NoSuchFileException e) {
+			return -1;
+		}
+		AttendeeStore store = new AttendeeStore();
+		try (BinaryFileReader in = new BinaryFileReader(channel, BinaryFileWriter.DEFAULT_BUFFER_SIZE)) {
+			if (!in.request(VERSION_1_HEADER_SIZE)) {
+				return -1;
+			}
+			int magic = in.getInt();
+			if (magic == MAGIC) {
+				if (in.getShort() != 1) {
+					return -1;
+				}
+				in.getShort();
+				Entry entry = new Entry();
+				while (in.hasRemaining() && readEntry(in, entry, false, true)) {
+					entry.addTo(store);
+				}
+			} else if (magic == UserStore.LEGACY_SERIALIZATION_MAGIC) {
+				readSerialized(path, store);
+			} else {
+				return -1;
+			}
+		}
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		FileChannel target = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.WRITE);
+		try (AttendeeLog log = new AttendeeLog(temp, new BinaryFileWriter(target, BinaryFileWriter.DEFAULT_BUFFER_SIZE), 0, 0,
+				new Checkpoint(0, 0, HEADER_SIZE), DEFAULT_CHECKPOINT_INTERVAL, 0)) {
+			writeHeader(log.out);
+			log.append(store, 0, store.size());
+			log.commit();
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		return store.size();
+	}
+
+	/**
+	 * Reads the attendees of a file in the old {@code ObjectOutputStream} format; a truncated last one is dropped.
+	 */
+	private static void readSerialized(Path path, AttendeeStore store) throws IOException {
+		try (ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			while (true) {
+				store.add((Attendee) in.readObject());
+			}
+		} catch (EOFException e) {
+			// Every complete attendee was read
+		} catch (ClassNotFoundException | ClassCastException e) {
+			throw new IOException(path + " holds an unknown object", e);
+		}
+	}
+
+	/**
+	 * Writes the file header with two empty checkpoint slots.
+	 *
+	 * @param out The writer positioned at the start of the file.
+	 * @throws IOException If the header cannot be written.
+	 */
+	private static void writeHeader(BinaryFileWriter out) throws IOException {
+		out.putInt(MAGIC);
+		out.putShort(VERSION);
+		out.putShort(0);
+		out.putBytes(new byte[2 * CHECKPOINT_SIZE], 0, 2 * CHECKPOINT_SIZE);
+	}
+
+	/**
+	 * Buffers one attendee of a store; it reaches the file with the next {@link #commit()}.
+	 *
+	 * @param store The store holding the attendee.
+	 * @param row The row of the attendee.
+	 * @throws IOException If the buffer cannot be flushed or a field is longer than {@link #MAX_FIELD_BYTES} bytes.
+	 */
+	public void append(AttendeeStore store, int row) throws IOException {
+		AttendeeNameCodec codec = store.packedCodec(row);
+		if (codec != null && store.packedStart(row + 1) - store.packedStart(row) > MAX_FIELD_BYTES) {
+			codec = null;
+		}
+		if (codec != null && codec != model) {
+			putEntry(encodeModel(codec));
+			model = codec;
+		}
+		putEntry(encode(store, row, codec));
+		records++;
+		pending++;
+	}
+
+	/**
+	 * Buffers the first bytes of {@link #record} as one entry, behind their checksum.
+	 */
+	private void putEntry(int length) throws IOException {
+		crc.reset();
+		crc.update(record, 0, length);
+		out.putInt((int) crc.getValue());
+		out.putBytes(record, 0, length);
+	}
+
+	/**
+	 * Encodes the model entry of a codec into {@link #record}.
+	 *
+	 * @return The length of the entry.
+	 */
+	private int encodeModel(AttendeeNameCodec codec) {
+		byte[] lengths = codec.lengthBytes();
+		int size = 1 + 5 + lengths.length;
+		if (size > record.length) {
+			record = new byte[Math.max(size, record.length * 2)];
+		}
+		record[0] = (byte) MODEL;
+		int pos = putVarint(codec.version(), 1);
+		System.arraycopy(lengths, 0, record, pos, lengths.length);
+		return pos + lengths.length;
+	}
+
+	/**
+	 * Buffers a range of attendees of a store, such as the batch of one registration session.
+	 *
+	 * @param store The store holding the attendees.
+	 * @param from The first row to append.
+	 * @param to One past the last row to append.
+	 * @throws IOException If the buffer cannot be flushed or a field is longer than {@link #MAX_FIELD_BYTES} bytes.
+	 */
+	public void append(AttendeeStore store, int from, int to) throws IOException {
+		for (int row = from; row < to; row++) {
+			append(store, row);
+		}
+	}
+
+	/**
+	 * Encodes the record of an attendee into {@link #record}.
+	 *
+	 * @param codec The codec of the store's packed names, to write them instead of the name and the
+	 *              surname, or {@code null} to write the name and the surname.
+	 * @return The length of the record.
+	 */
+	private int encode(AttendeeStore store, int row, AttendeeNameCodec codec) throws IOException {
+		int flag = store.flags(row);
+		byte[] surname = codec == null && (flag & AttendeeStore.NULL_SURNAME) == 0
+				? store.surname(row).getBytes(StandardCharsets.UTF_8) : null;
+		byte[] code = (flag & (AttendeeStore.NULL_CODE | AttendeeStore.CODE_IS_NAME)) == 0
+				? store.huffmanCode(row).getBytes(StandardCharsets.UTF_8) : null;
+		int nameStart = codec == null ? store.nameStart(row) : store.packedStart(row);
+		int nameLength = (codec == null ? store.nameStart(row + 1) : store.packedStart(row + 1)) - nameStart;
+		if (nameLength > MAX_FIELD_BYTES || (surname != null && surname.length > MAX_FIELD_BYTES)
+				|| (code != null && code.length > MAX_FIELD_BYTES)) {
+			throw new IOException("Attendee " + store.id(row) + " has a field longer than " + MAX_FIELD_BYTES + " bytes");
+		}
+		int size = 1 + 5 + 9 + nameLength + (surname == null ? 0 : surname.length) + (code == null ? 0 : code.length);
+		if (size > record.length) {
+			record = new byte[Math.max(size, record.length * 2)];
+		}
+		int pos = 0;
+		if (codec != null) {
+			record[pos++] = (byte) (flag | PACKED);
+			pos = putVarint(codec.version(), pos);
+			pos = putField(store.packedNames(), nameStart, nameLength, pos);
+		} else {
+			record[pos++] = (byte) flag;
+			if ((flag & AttendeeStore.NULL_NAME) == 0) {
+				pos = putField(store.nameBytes(), nameStart, nameLength, pos);
+			}
+			if (surname != null) {
+				pos = putField(surname, 0, surname.length, pos);
+			}
+		}
+		if (code != null) {
+			pos = putField(code, 0, code.length, pos);
+		}
+		return pos;
+	}
+
+	private int putField(byte[] bytes, int offset, int length, int pos) {
+		pos = putVarint(length, pos);
+		System.arraycopy(bytes, offset, record, pos, length);
+		return pos + length;
+	}
+
+	private int putVarint(int value, int pos) {
+		while ((value & ~0x7F) != 0) {
+			record[pos++] = (byte) (value | 0x80);
+			value >>>= 7;
+		}
+		record[pos++] = (byte) value;
+		return pos;
+	}
+
+	/**
+	 * Writes the buffered attendees to the file and syncs it once, then writes a checkpoint if
+	 * enough bytes were committed since the last one.
+	 *
+	 * @throws IOException If the write or the sync fails.
+	 */
+	public void commit() throws IOException {
+		out.sync();
+		pending = 0;
+		if (size() - checkpoint.offset >= checkpointInterval) {
+			writeCheckpoint();
+		}
+	}
+
+	/**
+	 * Records that every entry up to the end of the file is durable, in the older checkpoint slot.
+	 * The entries must be synced already; the checkpoint itself reaches the disk with the next sync.
+	 *
+	 * @throws IOException If the checkpoint cannot be written.
+	 */
+	private void writeCheckpoint() throws IOException {
+		Checkpoint next = new Checkpoint(checkpoint.sequence + 1, records, size());
+		ByteBuffer slot = ByteBuffer.allocate(CHECKPOINT_SIZE);
+		slot.putInt(next.sequence).putInt(next.records).putLong(next.offset);
+		crc.reset();
+		crc.update(slot.array(), 0, CHECKPOINT_SIZE - 4);
+		slot.putInt((int) crc.getValue());
+		slot.flip();
+		long at = 8 + (next.sequence & 1) * CHECKPOINT_SIZE;
+		while (slot.hasRemaining()) {
+			at += out.channel().write(slot, at);
+		}
+		checkpoint = next;
+	}
+
+	/**
+	 * Returns the newest checkpoint written or found in the file.
+	 *
+	 * @return The checkpoint.
+	 */
+	Checkpoint checkpoint() {
+		return checkpoint;
+	}
+
+	/**
+	 * Returns the number of attendees in the file, including those not committed yet.
+	 *
+	 * @return The record count.
+	 */
+	public int recordCount() {
+		return records;
+	}
+
+	/**
+	 * Returns the number of attendees appended since the last commit.
+	 *
+	 * @return The number of pending records.
+	 */
+	public int pendingCount() {
+		return pending;
+	}
+
+	/**
+	 * Returns the number of bytes of a torn tail cut off when the file was opened.
+	 *
+	 * @return The number of bytes truncated, {@code 0} after a clean shutdown.
+	 */
+	public long truncatedBytes() {
+		return truncated;
+	}
+
+	/**
+	 * Returns the number of bytes in the file, including those not committed yet.
+	 *
+	 * @return The size in bytes.
+	 */
+	public long size() {
+		return base + out.written();
+	}
+
+	/**
+	 * Returns the attendee file.
+	 *
+	 * @return The path of the file.
+	 */
+	public Path path() {
+		return path;
+	}
+
+	/**
+	 * Commits the buffered attendees, checkpoints the end of the file and closes it, so the next
+	 * open has no entry to verify.
+	 *
+	 * @throws IOException If the final write or the close fails.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			out.sync();
+			pending = 0;
+			if (checkpoint.offset != size()) {
+				writeCheckpoint();
+				out.channel().force(false);
+			}
+		} finally {
+			out.channel().close();
+		}
+	}
+}
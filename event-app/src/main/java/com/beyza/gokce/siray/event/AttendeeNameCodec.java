@@ -0,0 +1,436 @@
+/**
+ * @file AttendeeNameCodec.java
+ * @brief This file contains the corpus-wide Huffman model that compresses attendee names.
+ * @details One canonical Huffman code over the UTF-8 bytes of all registered names is shared by
+ *          every attendee, so a name is stored as a few packed bytes instead of a string per record.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * @class AttendeeNameCodec
+ * @brief Packs strings into a Huffman-coded bitstream and unpacks them again.
+ * @details The model covers the 256 byte values of UTF-8, an escape symbol and an end-of-field
+ *          symbol. Bytes that did not occur in the corpus are written as the escape code followed by
+ *          the raw byte, so any string can be encoded. An encoded record is the codes of the UTF-8
+ *          bytes of each field followed by the end code, most significant bit first, padded with
+ *          zeros to a whole byte; the reader knows how many fields to expect. Decoding uses a
+ *          {@link HuffmanDecoder} with a {@link #LOOKUP_BITS}-bit table that yields up to two symbols
+ *          per lookup; {@link #ESCAPE} and {@link #END} end a lookup, so the raw byte after an escape
+ *          and the end of each field are handled before the next one.
+ *
+ *          A codec is immutable. Only its version and code lengths are serialized, about 50 bytes;
+ *          the codes and the decoder are rebuilt when it is read, so a stream of attendees
+ *          carries each model once and every attendee refers back to it.
+ */
+public final class AttendeeNameCodec implements Serializable {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Symbol that announces a raw byte.
+	 */
+	static final int ESCAPE = 256;
+
+	/**
+	 * Symbol that ends a field.
+	 */
+	static final int END = 257;
+
+	/**
+	 * Number of symbols: every byte value plus {@link #ESCAPE} and {@link #END}.
+	 */
+	static final int ALPHABET_SIZE = 258;
+
+	/**
+	 * Width of the primary table of the decoder.
+	 */
+	static final int LOOKUP_BITS = 12;
+
+	/**
+	 * Size of the bitmap of coded symbols at the start of the stored code lengths.
+	 */
+	static final int PRESENT_BYTES = (ALPHABET_SIZE + 7) >>> 3;
+
+	/**
+	 * Version of the model; attendees encoded with different versions need different codecs.
+	 */
+	private final int version;
+	/**
+	 * Code length of each symbol; serialized as a presence bitmap and one nibble per coded symbol.
+	 */
+	private transient byte[] lengths;
+
+	private transient HuffmanCodebook codebook;
+	/**
+	 * Decoder of the codes, with {@link #ESCAPE} and {@link #END} as stop symbols.
+	 */
+	private transient HuffmanDecoder decoder;
+
+	private AttendeeNameCodec(int version, byte[] lengths) {
+		this.version = version;
+		this.lengths = lengths;
+		init();
+	}
+
+	/**
+	 * Builds a codec from byte frequencies.
+	 *
+	 * @param freq The frequency of each byte value and of {@link #END}, as filled by {@link #count(String, int[])}.
+	 * @param version The version of the new model.
+	 * @return The codec.
+	 */
+	public static AttendeeNameCodec fromFrequencies(int[] freq, int version) {
+		int[] counts = new int[ALPHABET_SIZE];
+		System.arraycopy(freq, 0, counts, 0, Math.min(freq.length, ESCAPE));
+		counts[ESCAPE] = 1;
+		counts[END] = Math.max(freq.length > END ? freq[END] : 0, 1);
+		HuffmanCodebook codebook = HuffmanCodebook.of(counts);
+		byte[] lengths = new byte[ALPHABET_SIZE];
+		for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+			lengths[symbol] = (byte) codebook.length(symbol);
+		}
+		return new AttendeeNameCodec(version, lengths);
+	}
+
+	/**
+	 * Adds the UTF-8 bytes of a field and its end to a frequency table.
+	 *
+	 * @param text The field; {@code null} is ignored.
+	 * @param freq The frequency of each symbol, {@link #ALPHABET_SIZE} entries.
+	 */
+	public static void count(String text, int[] freq) {
+		if (text == null) {
+			return;
+		}
+		for (byte b : text.getBytes(StandardCharsets.UTF_8)) {
+			freq[b & 0xFF]++;
+		}
+		freq[END]++;
+	}
+
+	private void init() {
+		codebook = HuffmanCodebook.fromLengths(lengths);
+		decoder = new HuffmanDecoder(codebook, LOOKUP_BITS, ESCAPE, END);
+	}
+
+	/**
+	 * Returns the version of the model.
+	 *
+	 * @return The version.
+	 */
+	public int version() {
+		return version;
+	}
+
+	/**
+	 * Returns the code length of a byte value, {@link #ESCAPE} or {@link #END}.
+	 *
+	 * @param symbol The symbol.
+	 * @return The length in bits, {@code 0} if the symbol is escaped.
+	 */
+	public int length(int symbol) {
+		return lengths[symbol];
+	}
+
+	/**
+	 * Returns the code of a byte value, {@link #ESCAPE} or {@link #END}.
+	 *
+	 * @param symbol The symbol; it must have a code.
+	 * @return The code, right-aligned.
+	 */
+	int code(int symbol) {
+		return codebook.code(symbol);
+	}
+
+	/**
+	 * Decodes the symbol at the start of a bit window without producing any text.
+	 *
+	 * @param bits The next 64 bits of a record, most significant bit first.
+	 * @return The byte value or {@link #END} shifted left by 5, or'ed with the number of bits it took,
+	 *         including the raw byte after an escape.
+	 * @throws IllegalArgumentException If the bits do not start with a code.
+	 */
+	int next(long bits) {
+		int entry = decoder.decodeOne(bits);
+		int symbol = entry >>> 5;
+		int length = entry & 31;
+		if (symbol == ESCAPE) {
+			symbol = (int) (bits >>> (64 - length - 8)) & 0xFF;
+			length += 8;
+		}
+		return symbol << 5 | length;
+	}
+
+	/**
+	 * Encodes strings into one packed record.
+	 *
+	 * @param fields The strings; none may be {@code null}.
+	 * @return The record.
+	 */
+	public byte[] encode(String... fields) {
+		return encode(fields, 0, fields.length);
+	}
+
+	/**
+	 * Encodes a range of strings into one packed record.
+	 *
+	 * @param fields The strings; none in the range may be {@code null}.
+	 * @param from The index of the first string.
+	 * @param to The index after the last string.
+	 * @return The record.
+	 */
+	public byte[] encode(String[] fields, int from, int to) {
+		return encode(fields, from, to, 0, null, 0);
+	}
+
+	/**
+	 * Encodes a range of strings into one packed record and notes where some of them start.
+	 *
+	 * @param fields The strings; none in the range may be {@code null}.
+	 * @param from The index of the first string.
+	 * @param to The index after the last string.
+	 * @param markEvery Every how many strings to note the bit offset, or {@code 0} for none.
+	 * @param marks Receives the bit offset of strings {@code 0}, {@code markEvery}, {@code 2 * markEvery}... of the range.
+	 * @param marksOffset The index of the first offset in {@code marks}.
+	 * @return The record.
+	 */
+	byte[] encode(String[] fields, int from, int to, int markEvery, int[] marks, int marksOffset) {
+		byte[][] utf8 = new byte[to - from][];
+		long bits = 0;
+		for (int f = 0; f < utf8.length; f++) {
+			if (markEvery > 0 && f % markEvery == 0) {
+				marks[marksOffset + f / markEvery] = (int) bits;
+			}
+			utf8[f] = fields[from + f].getBytes(StandardCharsets.UTF_8);
+			for (byte b : utf8[f]) {
+				int length = lengths[b & 0xFF];
+				bits += length != 0 ? length : lengths[ESCAPE] + 8;
+			}
+			bits += lengths[END];
+		}
+		byte[] out = new byte[(int) ((bits + 7) >>> 3)];
+		int pos = 0;
+		long acc = 0;
+		int count = 0;
+		for (byte[] field : utf8) {
+			for (int i = 0; i <= field.length; i++) {
+				int symbol = i < field.length ? field[i] & 0xFF : END;
+				int length = lengths[symbol];
+				if (length != 0) {
+					acc = acc << length | codebook.code(symbol);
+					count += length;
+				} else {
+					acc = (acc << lengths[ESCAPE] | codebook.code(ESCAPE)) << 8 | symbol;
+					count += lengths[ESCAPE] + 8;
+				}
+				while (count >= 8) {
+					count -= 8;
+					out[pos++] = (byte) (acc >>> count);
+				}
+			}
+		}
+		if (count > 0) {
+			out[pos] = (byte) (acc << (8 - count));
+		}
+		return out;
+	}
+
+	/**
+	 * Decodes a record produced by {@link #encode(String...)}.
+	 *
+	 * @param data The record.
+	 * @param fieldCount The number of strings in the record.
+	 * @return The strings.
+	 * @throws IllegalArgumentException If the record is malformed.
+	 */
+	public String[] decode(byte[] data, int fieldCount) {
+		String[] fields = new String[fieldCount];
+		decode(data, 0, data.length, fields, 0, fieldCount);
+		return fields;
+	}
+
+	/**
+	 * Decodes the first strings of a record that starts inside a larger array.
+	 *
+	 * @param data The array holding the record.
+	 * @param offset The index of the first byte of the record.
+	 * @param length The number of bytes of the record.
+	 * @param fields The array that receives the strings.
+	 * @param fieldsOffset The index of the first string in {@code fields}.
+	 * @param fieldCount The number of strings to decode; the record may hold more.
+	 * @throws IllegalArgumentException If the record is malformed.
+	 */
+	public void decode(byte[] data, int offset, int length, String[] fields, int fieldsOffset, int fieldCount) {
+		// UTF-8 bytes of the current field; grown for unusually long fields
+		byte[] utf8 = new byte[64];
+		int[] symbols = new int[HuffmanDecoder.MAX_SYMBOLS_PER_ENTRY];
+		long limit = (long) length * 8;
+		int end = offset + length;
+		int pos = offset;
+		long acc = 0;
+		int count = 0;
+		int size = 0;
+		int field = 0;
+		while (field < fieldCount) {
+			// Keep at least MAX_CODE_LENGTH + 8 bits buffered, 32 at a time, padding with zeros past the end
+			if (count < HuffmanCodebook.MAX_CODE_LENGTH + 8) {
+				if (pos + 4 <= end) {
+					acc = acc << 32 | (data[pos] & 0xFFL) << 24 | (data[pos + 1] & 0xFF) << 16 | (data[pos + 2] & 0xFF) << 8 | data[pos + 3] & 0xFF;
+				} else {
+					for (int i = 0; i < 4; i++) {
+						acc = acc << 8 | (pos + i < end ? data[pos + i] & 0xFF : 0);
+					}
+				}
+				pos += 4;
+				count += 32;
+			}
+			int step = decoder.decodeWindow(acc << (64 - count), symbols);
+			count -= step >>> 2;
+			int decoded = step & 3;
+			// Only the last symbol can be ESCAPE or END
+			int last = symbols[decoded - 1];
+			if (size + decoded > utf8.length) {
+				utf8 = Arrays.copyOf(utf8, utf8.length * 2);
+			}
+			for (int i = 0; i < decoded - 1; i++) {
+				utf8[size++] = (byte) symbols[i];
+			}
+			if (last == ESCAPE) {
+				last = (int) (acc >>> (count - 8)) & 0xFF;
+				count -= 8;
+			}
+			if ((long) (pos - offset) * 8 - count > limit) {
+				throw new IllegalArgumentException("Encoded record is truncated");
+			}
+			if (last == END) {
+				fields[fieldsOffset + field++] = new String(utf8, 0, size, StandardCharsets.UTF_8);
+				size = 0;
+			} else {
+				utf8[size++] = (byte) last;
+			}
+		}
+	}
+
+	/**
+	 * Returns the code lengths in the form they are stored in: a bitmap of the coded symbols, then
+	 * one nibble per coded symbol holding its length minus one, two per byte.
+	 *
+	 * @return The stored code lengths.
+	 */
+	byte[] lengthBytes() {
+		int coded = 0;
+		for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+			if (lengths[symbol] != 0) {
+				coded++;
+			}
+		}
+		byte[] data = new byte[PRESENT_BYTES + (coded + 1) / 2];
+		int pos = PRESENT_BYTES;
+		boolean high = true;
+		for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+			if (lengths[symbol] == 0) {
+				continue;
+			}
+			data[symbol >>> 3] |= 1 << (symbol & 7);
+			if (high) {
+				data[pos] = (byte) ((lengths[symbol] - 1) << 4);
+			} else {
+				data[pos++] |= lengths[symbol] - 1;
+			}
+			high = !high;
+		}
+		return data;
+	}
+
+	/**
+	 * Returns the size of stored code lengths from their bitmap.
+	 *
+	 * @param present The first {@link #PRESENT_BYTES} bytes of the stored lengths.
+	 * @return The number of bytes of the stored lengths, bitmap included.
+	 */
+	static int lengthBytesSize(byte[] present) {
+		int coded = 0;
+		for (int i = 0; i < PRESENT_BYTES; i++) {
+			coded += Integer.bitCount(present[i] & 0xFF);
+		}
+		return PRESENT_BYTES + (coded + 1) / 2;
+	}
+
+	/**
+	 * Rebuilds a codec from code lengths written by {@link #lengthBytes()}.
+	 *
+	 * @param version The version of the model.
+	 * @param data The stored code lengths.
+	 * @return The codec.
+	 * @throws IllegalArgumentException If the lengths are cut short or do not form a prefix code.
+	 */
+	static AttendeeNameCodec fromLengthBytes(int version, byte[] data) {
+		return new AttendeeNameCodec(version, parseLengths(data));
+	}
+
+	private static byte[] parseLengths(byte[] data) {
+		if (data.length < PRESENT_BYTES || data.length != lengthBytesSize(data)) {
+			throw new IllegalArgumentException("Code lengths take " + data.length + " bytes");
+		}
+		byte[] lengths = new byte[ALPHABET_SIZE];
+		int pos = PRESENT_BYTES;
+		boolean high = true;
+		for (int symbol = 0; symbol < ALPHABET_SIZE; symbol++) {
+			if ((data[symbol >>> 3] >>> (symbol & 7) & 1) == 0) {
+				continue;
+			}
+			if (high) {
+				lengths[symbol] = (byte) ((data[pos] >>> 4 & 15) + 1);
+			} else {
+				lengths[symbol] = (byte) ((data[pos++] & 15) + 1);
+			}
+			high = !high;
+		}
+		return lengths;
+	}
+
+	/**
+	 * Writes the version and the code lengths of the coded symbols.
+	 *
+	 * @param out The stream to write to.
+	 * @throws IOException If the stream cannot be written.
+	 */
+	private void writeObject(ObjectOutputStream out) throws IOException {
+		out.defaultWriteObject();
+		out.write(lengthBytes());
+	}
+
+	/**
+	 * Reads a model written by {@link #writeObject(ObjectOutputStream)} and rebuilds its tables.
+	 *
+	 * @param in The stream to read from.
+	 * @throws IOException If the stream cannot be read or the model is invalid.
+	 * @throws ClassNotFoundException If a class of the stream is missing.
+	 */
+	private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+		in.defaultReadObject();
+		byte[] present = new byte[PRESENT_BYTES];
+		in.readFully(present);
+		byte[] data = Arrays.copyOf(present, lengthBytesSize(present));
+		in.readFully(data, PRESENT_BYTES, data.length - PRESENT_BYTES);
+		try {
+			lengths = parseLengths(data);
+			init();
+		} catch (IllegalArgumentException e) {
+			throw new InvalidObjectException(e.getMessage());
+		}
+	}
+}
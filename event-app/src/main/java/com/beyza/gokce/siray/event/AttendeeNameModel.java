@@ -0,0 +1,301 @@
+/**
+ * @file AttendeeNameModel.java
+ * @brief This file contains the adaptive, corpus-wide frequency model behind attendee name compression.
+ * @details Byte frequencies are counted as attendees register, and a new {@link AttendeeNameCodec} is
+ *          built in the background only once it is expected to pay for itself.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * @class AttendeeNameModel
+ * @brief Keeps incremental symbol counts and decides when the shared name codec is worth rebuilding.
+ * @details {@link #observe(String)} only adds to a fixed table of {@link AttendeeNameCodec#ALPHABET_SIZE}
+ *          counters, so registration costs the same however many attendees came before.
+ *          {@link #maybeRebuild()} estimates the gain of a new codec by comparing the cost of the
+ *          counted symbols under the current code lengths with their entropy, corrected by the
+ *          redundancy the last build had over its own entropy. When the gain reaches the threshold
+ *          the codec is rebuilt on the executor and published with the next version; registration
+ *          keeps using the previous codec until then.
+ *
+ *          Every published codec stays reachable through {@link #codec(int)}, so records encoded
+ *          with an older version can still be decoded. Counts are halved once their total reaches
+ *          {@link #MAX_TOTAL}, which keeps them in range and lets the model follow a drifting corpus.
+ */
+public final class AttendeeNameModel {
+
+	/**
+	 * Smallest estimated relative saving that triggers a rebuild when no other is given.
+	 */
+	public static final double DEFAULT_MIN_GAIN = 0.02;
+
+	/**
+	 * Number of symbols that must be counted after a build before the next one is considered
+	 * when no other number is given.
+	 */
+	public static final int DEFAULT_MIN_SYMBOLS = 4096;
+
+	/**
+	 * Total count at which all counts are halved.
+	 */
+	static final int MAX_TOTAL = 1 << 30;
+
+	private final Executor executor;
+	private final double minGain;
+	private final int minSymbols;
+	/**
+	 * Count of each symbol; guarded by {@code this}.
+	 */
+	private final int[] freq = new int[AttendeeNameCodec.ALPHABET_SIZE];
+	/**
+	 * Sum of {@link #freq}.
+	 */
+	private long total;
+	/**
+	 * Symbols counted since the last build, or since the counts were cleared.
+	 */
+	private long sinceBuild;
+	/**
+	 * How far the cost of the last build exceeded the entropy it was built from, as a fraction.
+	 */
+	private double redundancy;
+	private int lastVersion;
+	private long rebuilds;
+	private volatile AttendeeNameCodec current;
+	private final Map<Integer, AttendeeNameCodec> versions = new ConcurrentHashMap<>();
+	private final AtomicBoolean rebuilding = new AtomicBoolean();
+
+	/**
+	 * Creates a model that rebuilds on a shared background thread with the default thresholds.
+	 */
+	public AttendeeNameModel() {
+		this(Background.EXECUTOR, DEFAULT_MIN_GAIN, DEFAULT_MIN_SYMBOLS);
+	}
+
+	/**
+	 * Creates a model.
+	 *
+	 * @param executor The executor that runs background rebuilds.
+	 * @param minGain The smallest estimated relative saving, between {@code 0} and {@code 1}, that triggers a rebuild.
+	 * @param minSymbols The number of symbols that must be counted after a build before the next one is considered.
+	 */
+	public AttendeeNameModel(Executor executor, double minGain, int minSymbols) {
+		if (minGain < 0 || minGain >= 1 || minSymbols < 0) {
+			throw new IllegalArgumentException("Invalid rebuild threshold: " + minGain + ", " + minSymbols);
+		}
+		this.executor = executor;
+		this.minGain = minGain;
+		this.minSymbols = minSymbols;
+	}
+
+	/**
+	 * Holder of the daemon thread shared by models that use the default executor.
+	 */
+	private static final class Background {
+		static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(r -> {
+			Thread thread = new Thread(r, "attendee-name-model");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Counts the UTF-8 bytes of a field and its end.
+	 *
+	 * @param text The field; {@code null} is ignored.
+	 */
+	public void observe(String text) {
+		if (text == null) {
+			return;
+		}
+		byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+		synchronized (this) {
+			if (total + utf8.length + 1 > MAX_TOTAL) {
+				halve();
+			}
+			for (byte b : utf8) {
+				freq[b & 0xFF]++;
+			}
+			freq[AttendeeNameCodec.END]++;
+			total += utf8.length + 1;
+			sinceBuild += utf8.length + 1;
+		}
+	}
+
+	private void halve() {
+		total = 0;
+		for (int symbol = 0; symbol < freq.length; symbol++) {
+			// Keep symbols that occurred at all, so they are not demoted to escapes
+			freq[symbol] = (freq[symbol] + 1) >>> 1;
+			total += freq[symbol];
+		}
+	}
+
+	/**
+	 * Forgets all counts. Published codecs and the version sequence are kept.
+	 */
+	public synchronized void clear() {
+		Arrays.fill(freq, 0);
+		total = 0;
+		sinceBuild = 0;
+	}
+
+	/**
+	 * Returns the codec new records are encoded with.
+	 *
+	 * @return The latest published codec, or {@code null} if none has been built yet.
+	 */
+	public AttendeeNameCodec current() {
+		return current;
+	}
+
+	/**
+	 * Returns a published codec by version.
+	 *
+	 * @param version The version stored with a record.
+	 * @return The codec, or {@code null} if this model never published that version.
+	 */
+	public AttendeeNameCodec codec(int version) {
+		return versions.get(version);
+	}
+
+	/**
+	 * Returns the number of codecs built so far.
+	 *
+	 * @return The number of rebuilds.
+	 */
+	public synchronized long rebuilds() {
+		return rebuilds;
+	}
+
+	/**
+	 * Returns the number of symbols currently counted.
+	 *
+	 * @return The total count.
+	 */
+	public synchronized long total() {
+		return total;
+	}
+
+	/**
+	 * Estimates the fraction of bits a codec built from the current counts would save over the current codec.
+	 *
+	 * @return The estimated gain; {@code 1} if no codec has been built and anything has been counted.
+	 */
+	public synchronized double estimatedGain() {
+		AttendeeNameCodec codec = current;
+		if (total == 0) {
+			return 0;
+		}
+		if (codec == null) {
+			return 1;
+		}
+		double cost = cost(codec, freq);
+		double best = entropy(freq, total) * (1 + redundancy);
+		return cost > best ? (cost - best) / cost : 0;
+	}
+
+	/**
+	 * Starts a background rebuild if enough symbols were counted since the last one and the estimated
+	 * gain reaches the threshold. Returns at once; the new codec is published when the executor has run.
+	 *
+	 * @return {@code true} if a rebuild was started.
+	 */
+	public boolean maybeRebuild() {
+		synchronized (this) {
+			if (sinceBuild < minSymbols || estimatedGain() < minGain) {
+				return false;
+			}
+		}
+		if (!rebuilding.compareAndSet(false, true)) {
+			return false;
+		}
+		try {
+			executor.execute(() -> {
+				try {
+					rebuild();
+				} catch (RuntimeException e) {
+					System.err.println("Error rebuilding the attendee name model: " + e.getMessage());
+				} finally {
+					rebuilding.set(false);
+				}
+			});
+		} catch (RuntimeException e) {
+			rebuilding.set(false);
+			throw e;
+		}
+		return true;
+	}
+
+	/**
+	 * Builds a codec from the current counts on the calling thread and publishes it.
+	 *
+	 * @return The new codec.
+	 */
+	public AttendeeNameCodec rebuild() {
+		int[] snapshot;
+		long snapshotTotal;
+		long snapshotSince;
+		int version;
+		synchronized (this) {
+			snapshot = freq.clone();
+			snapshotTotal = total;
+			snapshotSince = sinceBuild;
+			version = ++lastVersion;
+		}
+		// Building the tables happens outside the lock, so observe() never waits for it
+		AttendeeNameCodec codec = AttendeeNameCodec.fromFrequencies(snapshot, version);
+		double entropy = entropy(snapshot, snapshotTotal);
+		synchronized (this) {
+			redundancy = entropy > 0 ? cost(codec, snapshot) / entropy - 1 : 0;
+			sinceBuild -= Math.min(sinceBuild, snapshotSince);
+			versions.put(version, codec);
+			if (current == null || current.version() < version) {
+				current = codec;
+			}
+			rebuilds++;
+		}
+		return codec;
+	}
+
+	/**
+	 * Returns the number of bits the counted symbols take under a codec.
+	 */
+	private static double cost(AttendeeNameCodec codec, int[] freq) {
+		int escape = codec.length(AttendeeNameCodec.ESCAPE) + 8;
+		double bits = 0;
+		for (int symbol = 0; symbol < freq.length; symbol++) {
+			if (freq[symbol] != 0) {
+				int length = codec.length(symbol);
+				bits += (double) freq[symbol] * (length != 0 ? length : escape);
+			}
+		}
+		return bits;
+	}
+
+	/**
+	 * Returns the number of bits the counted symbols take at their entropy.
+	 */
+	private static double entropy(int[] freq, long total) {
+		double bits = 0;
+		for (int count : freq) {
+			if (count != 0) {
+				bits += count * (Math.log((double) total / count) / Math.log(2));
+			}
+		}
+		return bits;
+	}
+}
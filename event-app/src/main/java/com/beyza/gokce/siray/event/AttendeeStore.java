@@ -0,0 +1,476 @@
+/**
+ * @file AttendeeStore.java
+ * @brief This file contains the columnar store holding the attendees of the event.
+ * @details Attendees are kept as a few primitive columns instead of one object and three strings each,
+ *          so the roster grows without a fixed limit and scans read contiguous arrays.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.beyza.gokce.siray.event.Event.Attendee;
+
+/**
+ * @class AttendeeStore
+ * @brief Growable, append-only columnar store of attendees.
+ * @details Row {@code r} of the store is one attendee:
+ *          <ul>
+ *            <li>{@code ids[r]} is its id, given in increasing order;</li>
+ *            <li>its name is the UTF-8 bytes {@code names[nameOffsets[r]]} up to {@code names[nameOffsets[r + 1]]},
+ *                one arena for all names;</li>
+ *            <li>{@code surnames[r]} is the code of its surname in a dictionary shared by all rows, since
+ *                surnames repeat across a roster;</li>
+ *            <li>{@code flags[r]} records a {@code null} name or surname and whether the Huffman code is the
+ *                name, which is what {@link Event#compressAttendeeName(Attendee)} stores. Any other code goes to
+ *                the dictionary too, in a column allocated on first use.</li>
+ *          </ul>
+ *          Rows may also have their name and surname packed by an {@link AttendeeNameCodec} in one more
+ *          arena. {@link #add(Attendee)} keeps the bytes an attendee was already packed with, together
+ *          with their codec, so registering a batch never packs older rows again, and the other
+ *          {@code add} methods pack a row with the codec shared by all rows, if there is one.
+ *          {@link #pack(AttendeeNameCodec)} packs every row with one codec, which a search over the
+ *          packed names needs, and is only rebuilt when another codec is given. Every column grows by doubling. Strings are decoded on
+ *          access and {@link #get(int)} returns a copy, so changing it does not change the store.
+ *
+ *          The store is not thread-safe.
+ */
+public final class AttendeeStore {
+
+	/**
+	 * Flag of a row whose name is {@code null}.
+	 */
+	static final int NULL_NAME = 1;
+	/**
+	 * Flag of a row whose surname is {@code null}.
+	 */
+	static final int NULL_SURNAME = 2;
+	/**
+	 * Flag of a row whose Huffman code is its name.
+	 */
+	static final int CODE_IS_NAME = 4;
+	/**
+	 * Flag of a row whose Huffman code is {@code null}.
+	 */
+	static final int NULL_CODE = 8;
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	private int size;
+	private int nextId;
+	private int[] ids = new int[INITIAL_CAPACITY];
+	private byte[] names = new byte[INITIAL_CAPACITY * 8];
+	private int[] nameOffsets = new int[INITIAL_CAPACITY + 1];
+	private int[] surnames = new int[INITIAL_CAPACITY];
+	private byte[] flags = new byte[INITIAL_CAPACITY];
+	/**
+	 * Dictionary code of the Huffman codes that are not the name, or {@code null} while there are none.
+	 */
+	private int[] codes;
+
+	/**
+	 * Codec that packed every row, or {@code null} while some row is not packed or the rows were packed by different codecs.
+	 */
+	private AttendeeNameCodec codec;
+	/**
+	 * Name and surname of row {@code r} packed by {@code rowCodecs[r]}, from {@code packed[packedOffsets[r]]}
+	 * up to {@code packed[packedOffsets[r + 1]]}; a {@code null} field is packed as an empty string, and a
+	 * row without a codec has an empty record. All three are {@code null} until the first row is packed.
+	 */
+	private byte[] packed;
+	private int[] packedOffsets;
+	private AttendeeNameCodec[] rowCodecs;
+
+	private String[] dictionary = new String[INITIAL_CAPACITY];
+	private int dictionarySize;
+	private final Map<String, Integer> dictionaryCodes = new HashMap<>();
+
+	/**
+	 * Returns the number of attendees.
+	 *
+	 * @return The number of rows.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of distinct surnames and Huffman codes in the dictionary.
+	 *
+	 * @return The size of the dictionary.
+	 */
+	public int dictionarySize() {
+		return dictionarySize;
+	}
+
+	/**
+	 * Appends an attendee with the next id.
+	 *
+	 * @param name The first name, or {@code null}.
+	 * @param surname The last name, or {@code null}.
+	 * @param huffmanCode The Huffman code of the name, or {@code null}.
+	 * @return The row of the attendee.
+	 */
+	public int add(String name, String surname, String huffmanCode) {
+		return add(nextId, name, surname, huffmanCode);
+	}
+
+	/**
+	 * Appends a copy of an attendee with the next id. If the attendee's name was packed, its packed
+	 * bytes are stored with their codec rather than encoded again.
+	 *
+	 * @param attendee The attendee.
+	 * @return The row of the attendee.
+	 */
+	public int add(Attendee attendee) {
+		byte[] record = attendee.nameCodec != null ? attendee.encodedName : null;
+		return add(nextId, attendee.nameAttendee, attendee.surnameAttendee, attendee.huffmanCode, record,
+				attendee.nameCodec);
+	}
+
+	/**
+	 * Appends an attendee with a given id.
+	 *
+	 * @param id The id; it must be larger than every id in the store.
+	 * @param name The first name, or {@code null}.
+	 * @param surname The last name, or {@code null}.
+	 * @param huffmanCode The Huffman code of the name, or {@code null}.
+	 * @return The row of the attendee.
+	 * @throws IllegalArgumentException If the id is not larger than the ids already stored.
+	 */
+	public int add(int id, String name, String surname, String huffmanCode) {
+		return add(id, name, surname, huffmanCode, null, null);
+	}
+
+	private int add(int id, String name, String surname, String huffmanCode, byte[] record,
+			AttendeeNameCodec recordCodec) {
+		if (id < nextId) {
+			throw new IllegalArgumentException("Attendee " + id + " added after " + (nextId - 1));
+		}
+		int flag = 0;
+		byte[] bytes = null;
+		if (name == null) {
+			flag |= NULL_NAME;
+		} else {
+			bytes = name.getBytes(StandardCharsets.UTF_8);
+		}
+		if (surname == null) {
+			flag |= NULL_SURNAME;
+		}
+		if (huffmanCode == null) {
+			flag |= NULL_CODE;
+		} else if (huffmanCode.equals(name)) {
+			flag |= CODE_IS_NAME;
+		}
+		return append(id, flag, bytes, 0, bytes == null ? 0 : bytes.length, surname, huffmanCode, record, recordCodec);
+	}
+
+	/**
+	 * Appends an attendee with the next id from its flags and the UTF-8 bytes of its name, as
+	 * {@link AttendeeLog} stores it.
+	 *
+	 * @param flag The flags of the row.
+	 * @param name The buffer holding the name; ignored if the flags mark a {@code null} name.
+	 * @param offset The index of the first byte of the name.
+	 * @param length The number of bytes of the name.
+	 * @param surname The last name; ignored if the flags mark a {@code null} surname.
+	 * @param huffmanCode The Huffman code; ignored unless the flags mark neither a {@code null} code nor the name.
+	 * @return The row of the attendee.
+	 */
+	int add(int flag, byte[] name, int offset, int length, String surname, String huffmanCode) {
+		return append(nextId, flag, name, offset, length, surname, huffmanCode, null, null);
+	}
+
+	/**
+	 * Appends a row; {@code record} is its names packed by {@code recordCodec}, or {@code null} to pack
+	 * them here with the codec shared by every row, if there is one.
+	 */
+	private int append(int id, int flag, byte[] name, int offset, int length, String surname, String huffmanCode,
+			byte[] record, AttendeeNameCodec recordCodec) {
+		if (size == ids.length) {
+			int capacity = size * 2;
+			ids = Arrays.copyOf(ids, capacity);
+			nameOffsets = Arrays.copyOf(nameOffsets, capacity + 1);
+			surnames = Arrays.copyOf(surnames, capacity);
+			flags = Arrays.copyOf(flags, capacity);
+			if (codes != null) {
+				codes = Arrays.copyOf(codes, capacity);
+			}
+			if (packedOffsets != null) {
+				packedOffsets = Arrays.copyOf(packedOffsets, capacity + 1);
+				rowCodecs = Arrays.copyOf(rowCodecs, capacity);
+			}
+		}
+		int row = size;
+		int start = nameOffsets[row];
+		if ((flag & NULL_NAME) != 0) {
+			nameOffsets[row + 1] = start;
+		} else {
+			if (start + length > names.length) {
+				names = Arrays.copyOf(names, Math.max(names.length * 2, start + length));
+			}
+			System.arraycopy(name, offset, names, start, length);
+			nameOffsets[row + 1] = start + length;
+		}
+		if ((flag & NULL_SURNAME) == 0) {
+			surnames[row] = code(surname);
+		}
+		if ((flag & (NULL_CODE | CODE_IS_NAME)) == 0) {
+			if (codes == null) {
+				codes = new int[ids.length];
+			}
+			codes[row] = code(huffmanCode);
+		}
+		ids[row] = id;
+		flags[row] = (byte) flag;
+		nextId = id + 1;
+		size++;
+		AttendeeNameCodec rowCodec = record != null ? recordCodec : codec;
+		if (rowCodec != null || packedOffsets != null) {
+			packRow(row, rowCodec, record);
+		}
+		if (row == 0) {
+			codec = rowCodec;
+		} else if (rowCodec != codec) {
+			codec = null;
+		}
+		return row;
+	}
+
+	/**
+	 * Packs the names of every row with a codec, unless they are all packed with it already.
+	 * Rows added afterwards without packed bytes of their own are packed with it as they are added.
+	 *
+	 * @param codec The codec.
+	 */
+	void pack(AttendeeNameCodec codec) {
+		if (codec == this.codec) {
+			return;
+		}
+		packed = new byte[Math.max(INITIAL_CAPACITY, nameOffsets[size])];
+		packedOffsets = new int[ids.length + 1];
+		rowCodecs = new AttendeeNameCodec[ids.length];
+		for (int row = 0; row < size; row++) {
+			packRow(row, codec, null);
+		}
+		this.codec = codec;
+	}
+
+	/**
+	 * Stores the packed record of a row, encoding it with {@code rowCodec} if {@code record} is {@code null};
+	 * a row without a codec gets an empty record.
+	 */
+	private void packRow(int row, AttendeeNameCodec rowCodec, byte[] record) {
+		if (packedOffsets == null) {
+			packed = new byte[INITIAL_CAPACITY];
+			packedOffsets = new int[ids.length + 1];
+			rowCodecs = new AttendeeNameCodec[ids.length];
+		}
+		if (record == null && rowCodec != null) {
+			String name = name(row);
+			String surname = surname(row);
+			record = rowCodec.encode(name == null ? "" : name, surname == null ? "" : surname);
+		}
+		int start = packedOffsets[row];
+		int length = record == null ? 0 : record.length;
+		if (start + length > packed.length) {
+			packed = Arrays.copyOf(packed, Math.max(packed.length * 2, start + length));
+		}
+		if (record != null) {
+			System.arraycopy(record, 0, packed, start, length);
+		}
+		packedOffsets[row + 1] = start + length;
+		rowCodecs[row] = rowCodec;
+	}
+
+	private int code(String text) {
+		Integer code = dictionaryCodes.get(text);
+		if (code == null) {
+			if (dictionarySize == dictionary.length) {
+				dictionary = Arrays.copyOf(dictionary, dictionarySize * 2);
+			}
+			code = dictionarySize;
+			dictionary[dictionarySize++] = text;
+			dictionaryCodes.put(text, code);
+		}
+		return code;
+	}
+
+	/**
+	 * Returns the id of an attendee.
+	 *
+	 * @param row The row of the attendee.
+	 * @return The id.
+	 */
+	public int id(int row) {
+		check(row);
+		return ids[row];
+	}
+
+	/**
+	 * Returns the first name of an attendee, decoded from the name arena.
+	 *
+	 * @param row The row of the attendee.
+	 * @return The name, or {@code null}.
+	 */
+	public String name(int row) {
+		check(row);
+		if ((flags[row] & NULL_NAME) != 0) {
+			return null;
+		}
+		return new String(names, nameOffsets[row], nameOffsets[row + 1] - nameOffsets[row], StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the last name of an attendee.
+	 *
+	 * @param row The row of the attendee.
+	 * @return The surname, or {@code null}.
+	 */
+	public String surname(int row) {
+		check(row);
+		return (flags[row] & NULL_SURNAME) != 0 ? null : dictionary[surnames[row]];
+	}
+
+	/**
+	 * Returns the Huffman code of an attendee.
+	 *
+	 * @param row The row of the attendee.
+	 * @return The Huffman code, or {@code null}.
+	 */
+	public String huffmanCode(int row) {
+		check(row);
+		int flag = flags[row];
+		if ((flag & NULL_CODE) != 0) {
+			return null;
+		}
+		return (flag & CODE_IS_NAME) != 0 ? name(row) : dictionary[codes[row]];
+	}
+
+	/**
+	 * Returns the flags of an attendee.
+	 *
+	 * @param row The row of the attendee.
+	 * @return A combination of {@link #NULL_NAME}, {@link #NULL_SURNAME}, {@link #CODE_IS_NAME} and {@link #NULL_CODE}.
+	 */
+	int flags(int row) {
+		check(row);
+		return flags[row];
+	}
+
+	/**
+	 * Returns the name arena; the name of row {@code r} is between {@link #nameStart(int) nameStart(r)}
+	 * and {@code nameStart(r + 1)}. The array is replaced when it grows.
+	 *
+	 * @return The UTF-8 bytes of every name.
+	 */
+	byte[] nameBytes() {
+		return names;
+	}
+
+	/**
+	 * Returns the offset of a name in the name arena.
+	 *
+	 * @param row The row of the attendee, or {@link #size()} for the end of the last name.
+	 * @return The offset of the first byte of the name.
+	 */
+	int nameStart(int row) {
+		if (row != size) {
+			check(row);
+		}
+		return nameOffsets[row];
+	}
+
+	/**
+	 * Returns the codec that packed the names of every row.
+	 *
+	 * @return The codec, or {@code null} if some row is not packed or the rows were packed by different codecs.
+	 */
+	AttendeeNameCodec packedCodec() {
+		return codec;
+	}
+
+	/**
+	 * Returns the codec that packed the names of one row.
+	 *
+	 * @param row The row of the attendee.
+	 * @return The codec, or {@code null} if the names of the row are not packed.
+	 */
+	AttendeeNameCodec packedCodec(int row) {
+		check(row);
+		return rowCodecs == null ? null : rowCodecs[row];
+	}
+
+	/**
+	 * Returns the packed-name arena; the record of row {@code r}, as made by
+	 * {@code packedCodec(r).encode(name, surname)}, is between {@link #packedStart(int) packedStart(r)}
+	 * and {@code packedStart(r + 1)}. The array is replaced when it grows.
+	 *
+	 * @return The packed names of every row, or {@code null} if no row is packed.
+	 */
+	byte[] packedNames() {
+		return packed;
+	}
+
+	/**
+	 * Returns the offset of a packed record in the packed-name arena.
+	 *
+	 * @param row The row of the attendee, or {@link #size()} for the end of the last record.
+	 * @return The offset of the first byte of the record.
+	 */
+	int packedStart(int row) {
+		if (row != size) {
+			check(row);
+		}
+		return packedOffsets[row];
+	}
+
+	/**
+	 * Returns a copy of an attendee.
+	 *
+	 * @param row The row of the attendee.
+	 * @return A new attendee holding the name, the surname and the Huffman code of the row.
+	 */
+	public Attendee get(int row) {
+		Attendee attendee = new Attendee();
+		attendee.nameAttendee = name(row);
+		attendee.surnameAttendee = surname(row);
+		int flag = flags[row];
+		attendee.huffmanCode = (flag & CODE_IS_NAME) != 0 ? attendee.nameAttendee : huffmanCode(row);
+		return attendee;
+	}
+
+	/**
+	 * Returns an estimate of the heap used by the store: the capacity of every column, packed names
+	 * included, plus 88 bytes for each dictionary string and its map entry and one byte per character.
+	 *
+	 * @return The estimated size in bytes.
+	 */
+	public long memoryBytes() {
+		long bytes = 4L * ids.length + names.length + 4L * nameOffsets.length + 4L * surnames.length + flags.length;
+		if (codes != null) {
+			bytes += 4L * codes.length;
+		}
+		if (packed != null) {
+			bytes += packed.length + 4L * packedOffsets.length + 4L * rowCodecs.length;
+		}
+		bytes += 4L * dictionary.length;
+		for (int i = 0; i < dictionarySize; i++) {
+			bytes += 88 + dictionary[i].length();
+		}
+		return bytes;
+	}
+
+	private void check(int row) {
+		if (row < 0 || row >= size) {
+			throw new IndexOutOfBoundsException("Attendee " + row + " of " + size);
+		}
+	}
+}
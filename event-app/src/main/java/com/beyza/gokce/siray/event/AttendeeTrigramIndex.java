@@ -0,0 +1,328 @@
+/**
+ * @file AttendeeTrigramIndex.java
+ * @brief This file contains the inverted trigram index used for substring search over attendees.
+ * @details Every three consecutive characters of a name or surname point to the attendees that
+ *          contain them, so a substring query only verifies the attendees that share all of its
+ *          trigrams instead of scanning the whole roster.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.Arrays;
+
+/**
+ * @class AttendeeTrigramIndex
+ * @brief Case-insensitive inverted index from character trigrams to attendee ids.
+ * @details A trigram is three lower-cased UTF-16 characters packed into the low 48 bits of a
+ *          {@code long}. Trigrams live in an open-addressing table with linear probing, like
+ *          {@link UserIndex}, whose slots point into parallel arrays holding each posting list:
+ *          the ids in increasing order, stored as variable-length deltas in a growing
+ *          {@code byte[]}, with the last id and the number of ids kept alongside. Attendees are
+ *          added in increasing id order, so a new id is always appended to the end of a list.
+ *          Every {@link #SKIP_INTERVAL}-th id is also copied, with the offset after it, into a skip
+ *          list, so intersecting a few candidates with a long list jumps over most of its bytes
+ *          instead of decoding them.
+ *
+ *          {@link #candidates(String)} intersects the posting lists of the query's trigrams,
+ *          rarest first, and stops once few enough candidates remain; the caller verifies the
+ *          candidates against the query, which also removes attendees whose trigrams occur in a
+ *          different order. Queries shorter than three characters have no trigram and get
+ *          {@code null}, meaning every attendee is a candidate.
+ *
+ *          The index is not thread-safe.
+ */
+public final class AttendeeTrigramIndex {
+
+	/**
+	 * Candidate count below which the remaining posting lists are not intersected.
+	 */
+	static final int VERIFY_THRESHOLD = 32;
+
+	/**
+	 * Number of ids between two skip entries of a posting list.
+	 */
+	static final int SKIP_INTERVAL = 64;
+
+	private static final long EMPTY = -1L;
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private long[] keys;
+	/**
+	 * Posting list of each slot; index into the list arrays below.
+	 */
+	private int[] slots;
+	private int trigramCount;
+
+	private byte[][] postings = new byte[INITIAL_CAPACITY][];
+	private int[] postingBytes = new int[INITIAL_CAPACITY];
+	private int[] postingCount = new int[INITIAL_CAPACITY];
+	private int[] postingLast = new int[INITIAL_CAPACITY];
+	/**
+	 * Skip entries of each posting list, pairs of an id and the byte offset just after it.
+	 */
+	private int[][] skips = new int[INITIAL_CAPACITY][];
+
+	private int size;
+	private long bytes;
+
+	/**
+	 * Creates an empty index.
+	 */
+	public AttendeeTrigramIndex() {
+		keys = new long[INITIAL_CAPACITY * 2];
+		Arrays.fill(keys, EMPTY);
+		slots = new int[INITIAL_CAPACITY * 2];
+	}
+
+	/**
+	 * Returns one more than the highest id added.
+	 *
+	 * @return The number of attendees indexed.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of distinct trigrams.
+	 *
+	 * @return The number of posting lists.
+	 */
+	public int trigramCount() {
+		return trigramCount;
+	}
+
+	/**
+	 * Returns the number of bytes used by the encoded posting lists.
+	 *
+	 * @return The size of the postings.
+	 */
+	public long postingBytes() {
+		return bytes;
+	}
+
+	/**
+	 * Adds an attendee.
+	 *
+	 * @param id The attendee's id; it must be at least {@link #size()}.
+	 * @param fields The texts to index, for example the name and the surname; {@code null} fields are skipped.
+	 * @throws IllegalArgumentException If the id is smaller than an id already added.
+	 */
+	public void add(int id, String... fields) {
+		if (id < size) {
+			throw new IllegalArgumentException("Attendee " + id + " added after " + (size - 1));
+		}
+		size = id + 1;
+		for (String field : fields) {
+			if (field == null) {
+				continue;
+			}
+			for (int i = 0; i + 3 <= field.length(); i++) {
+				append(list(trigram(field, i), true), id);
+			}
+		}
+	}
+
+	/**
+	 * Returns the attendees that contain every trigram of a query.
+	 *
+	 * @param query The substring to look for.
+	 * @return The candidate ids in increasing order, or {@code null} if the query is too short to use the index.
+	 */
+	public int[] candidates(String query) {
+		if (query.length() < 3) {
+			return null;
+		}
+		int[] lists = new int[query.length() - 2];
+		int count = 0;
+		for (int i = 0; i + 3 <= query.length(); i++) {
+			int list = list(trigram(query, i), false);
+			if (list < 0) {
+				return new int[0];
+			}
+			lists[count++] = list;
+		}
+		// Rarest list first; repeated trigrams of the query are intersected once
+		Integer[] order = new Integer[count];
+		for (int i = 0; i < count; i++) {
+			order[i] = lists[i];
+		}
+		Arrays.sort(order, (a, b) -> Integer.compare(postingCount[a], postingCount[b]));
+		int[] result = decode(order[0]);
+		int resultSize = result.length;
+		for (int i = 1; i < count && resultSize > VERIFY_THRESHOLD; i++) {
+			if (!order[i].equals(order[i - 1])) {
+				resultSize = intersect(result, resultSize, order[i]);
+			}
+		}
+		return resultSize == result.length ? result : Arrays.copyOf(result, resultSize);
+	}
+
+	private static long trigram(String text, int i) {
+		return (long) CaseFold.fold(text.charAt(i)) << 32
+				| (long) CaseFold.fold(text.charAt(i + 1)) << 16
+				| CaseFold.fold(text.charAt(i + 2));
+	}
+
+	/**
+	 * Returns the posting list of a trigram, creating it if asked.
+	 *
+	 * @return The list, or {@code -1} if it does not exist and was not created.
+	 */
+	private int list(long key, boolean create) {
+		int mask = keys.length - 1;
+		int slot = (int) mix(key) & mask;
+		while (keys[slot] != EMPTY) {
+			if (keys[slot] == key) {
+				return slots[slot];
+			}
+			slot = (slot + 1) & mask;
+		}
+		if (!create) {
+			return -1;
+		}
+		int list = trigramCount++;
+		if (list == postings.length) {
+			int capacity = list * 2;
+			postings = Arrays.copyOf(postings, capacity);
+			postingBytes = Arrays.copyOf(postingBytes, capacity);
+			postingCount = Arrays.copyOf(postingCount, capacity);
+			postingLast = Arrays.copyOf(postingLast, capacity);
+			skips = Arrays.copyOf(skips, capacity);
+		}
+		postings[list] = new byte[4];
+		postingLast[list] = -1;
+		keys[slot] = key;
+		slots[slot] = list;
+		if (trigramCount * 2 > keys.length) {
+			rehash();
+		}
+		return list;
+	}
+
+	private static long mix(long key) {
+		key *= 0x9E3779B97F4A7C15L;
+		return key ^ (key >>> 29);
+	}
+
+	private void rehash() {
+		long[] oldKeys = keys;
+		int[] oldSlots = slots;
+		keys = new long[oldKeys.length * 2];
+		Arrays.fill(keys, EMPTY);
+		slots = new int[keys.length];
+		int mask = keys.length - 1;
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) {
+				int slot = (int) mix(oldKeys[i]) & mask;
+				while (keys[slot] != EMPTY) {
+					slot = (slot + 1) & mask;
+				}
+				keys[slot] = oldKeys[i];
+				slots[slot] = oldSlots[i];
+			}
+		}
+	}
+
+	/**
+	 * Appends an id to a posting list as a variable-length delta, once per attendee.
+	 */
+	private void append(int list, int id) {
+		if (postingLast[list] == id) {
+			return;
+		}
+		int delta = id - postingLast[list] - 1;
+		byte[] data = postings[list];
+		int pos = postingBytes[list];
+		if (pos + 5 > data.length) {
+			data = postings[list] = Arrays.copyOf(data, Math.max(data.length * 2, pos + 5));
+		}
+		int start = pos;
+		while ((delta & ~0x7F) != 0) {
+			data[pos++] = (byte) (delta | 0x80);
+			delta >>>= 7;
+		}
+		data[pos++] = (byte) delta;
+		bytes += pos - start;
+		postingBytes[list] = pos;
+		postingLast[list] = id;
+		if (++postingCount[list] % SKIP_INTERVAL == 0) {
+			int entry = 2 * (postingCount[list] / SKIP_INTERVAL - 1);
+			int[] skip = skips[list];
+			if (skip == null || entry == skip.length) {
+				skip = skips[list] = skip == null ? new int[8] : Arrays.copyOf(skip, skip.length * 2);
+			}
+			skip[entry] = id;
+			skip[entry + 1] = pos;
+			bytes += 8;
+		}
+	}
+
+	private int[] decode(int list) {
+		int[] ids = new int[postingCount[list]];
+		byte[] data = postings[list];
+		int pos = 0;
+		int id = -1;
+		for (int i = 0; i < ids.length; i++) {
+			int delta = 0;
+			int shift = 0;
+			byte b;
+			do {
+				b = data[pos++];
+				delta |= (b & 0x7F) << shift;
+				shift += 7;
+			} while (b < 0);
+			id += delta + 1;
+			ids[i] = id;
+		}
+		return ids;
+	}
+
+	/**
+	 * Keeps the ids of {@code result} that are also in a posting list.
+	 *
+	 * @return The number of ids kept, compacted to the front of {@code result}.
+	 */
+	private int intersect(int[] result, int resultSize, int list) {
+		byte[] data = postings[list];
+		int end = postingBytes[list];
+		int[] skip = skips[list];
+		int skipCount = postingCount[list] / SKIP_INTERVAL;
+		int nextSkip = 0;
+		int pos = 0;
+		int id = -1;
+		int kept = 0;
+		for (int i = 0; i < resultSize; i++) {
+			int wanted = result[i];
+			// Jump to the last skip entry not past the wanted id
+			while (nextSkip < skipCount && skip[2 * nextSkip] <= wanted) {
+				if (skip[2 * nextSkip] > id) {
+					id = skip[2 * nextSkip];
+					pos = skip[2 * nextSkip + 1];
+				}
+				nextSkip++;
+			}
+			while (id < wanted && pos < end) {
+				int delta = 0;
+				int shift = 0;
+				byte b;
+				do {
+					b = data[pos++];
+					delta |= (b & 0x7F) << shift;
+					shift += 7;
+				} while (b < 0);
+				id += delta + 1;
+			}
+			if (id == wanted) {
+				result[kept++] = wanted;
+			} else if (id < wanted) {
+				break; // The list is exhausted
+			}
+		}
+		return kept;
+	}
+}
@@ -0,0 +1,261 @@
+/**
+ * @file BinaryFileReader.java
+ * @brief This file contains the buffered binary reader used by the application's data files.
+ * @details The reader is the streaming counterpart of {@code BinaryFileWriter}: it refills one
+ *          reusable buffer from a {@code FileChannel} and decodes values without reflection.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * @class BinaryFileReader
+ * @brief Buffered big-endian reader on top of a {@code FileChannel}.
+ * @details Values are decoded straight out of the buffer. Bytes consumed between
+ *          {@link #resetCrc()} and {@link #crc()} are covered by the running checksum.
+ */
+final class BinaryFileReader implements Closeable {
+
+	/**
+	 * The channel that supplies the bytes.
+	 */
+	private final FileChannel channel;
+	/**
+	 * The reusable read buffer, kept in read mode.
+	 */
+	private final ByteBuffer buffer;
+	/**
+	 * Running checksum of the bytes consumed since the last {@link #resetCrc()}.
+	 */
+	private final CRC32 crc = new CRC32();
+	/**
+	 * Buffer position from which consumed bytes have not been added to {@link #crc} yet.
+	 */
+	private int crcFrom;
+	/**
+	 * Number of bytes of the channel that were discarded from the buffer.
+	 */
+	private long consumedBefore;
+	/**
+	 * Whether the channel has reported end of file.
+	 */
+	private boolean eof;
+
+	/**
+	 * Creates a reader that starts at the channel's current position.
+	 *
+	 * @param channel The channel to read from.
+	 * @param bufferSize The size of the read buffer in bytes.
+	 */
+	BinaryFileReader(FileChannel channel, int bufferSize) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(bufferSize);
+		this.buffer.flip();
+	}
+
+	/**
+	 * Returns the number of bytes consumed through this reader.
+	 *
+	 * @return The number of bytes consumed.
+	 */
+	long position() {
+		return consumedBefore + buffer.position();
+	}
+
+	/**
+	 * Tries to make the given number of bytes available in the buffer.
+	 *
+	 * @param bytes The number of bytes needed.
+	 * @return {@code true} if the bytes are available, {@code false} if the file ends first.
+	 * @throws IOException If the channel read fails.
+	 */
+	boolean request(int bytes) throws IOException {
+		while (buffer.remaining() < bytes && !eof) {
+			updateCrc();
+			consumedBefore += buffer.position();
+			buffer.compact();
+			int read = channel.read(buffer);
+			buffer.flip();
+			crcFrom = 0;
+			if (read < 0) {
+				eof = true;
+			}
+		}
+		return buffer.remaining() >= bytes;
+	}
+
+	/**
+	 * Makes the given number of bytes available or fails.
+	 *
+	 * @param bytes The number of bytes needed.
+	 * @throws IOException If the file ends first or the read fails.
+	 */
+	private void require(int bytes) throws IOException {
+		if (!request(bytes)) {
+			throw new EOFException("Unexpected end of file after " + position() + " bytes");
+		}
+	}
+
+	/**
+	 * Reports whether at least one more byte can be read.
+	 *
+	 * @return {@code true} if the file has more bytes.
+	 * @throws IOException If the channel read fails.
+	 */
+	boolean hasRemaining() throws IOException {
+		return request(1);
+	}
+
+	/**
+	 * Reads one unsigned byte.
+	 *
+	 * @return The byte value in {@code [0, 255]}.
+	 * @throws IOException If the file ends or the read fails.
+	 */
+	int getByte() throws IOException {
+		require(1);
+		return buffer.get() & 0xFF;
+	}
+
+	/**
+	 * Reads an unsigned 16-bit value.
+	 *
+	 * @return The value in {@code [0, 65535]}.
+	 * @throws IOException If the file ends or the read fails.
+	 */
+	int getShort() throws IOException {
+		require(2);
+		return buffer.getShort() & 0xFFFF;
+	}
+
+	/**
+	 * Reads a 32-bit value.
+	 *
+	 * @return The value.
+	 * @throws IOException If the file ends or the read fails.
+	 */
+	int getInt() throws IOException {
+		require(4);
+		return buffer.getInt();
+	}
+
+	/**
+	 * Reads a 64-bit value.
+	 *
+	 * @return The value.
+	 * @throws IOException If the file ends or the read fails.
+	 */
+	long getLong() throws IOException {
+		require(8);
+		return buffer.getLong();
+	}
+
+	/**
+	 * Reads bytes into an array.
+	 *
+	 * @param target The destination array.
+	 * @param offset The index of the first byte to fill.
+	 * @param length The number of bytes to read.
+	 * @throws IOException If the file ends or the read fails.
+	 */
+	void getBytes(byte[] target, int offset, int length) throws IOException {
+		while (length > 0) {
+			if (!buffer.hasRemaining()) {
+				require(1);
+			}
+			int chunk = Math.min(length, buffer.remaining());
+			buffer.get(target, offset, chunk);
+			offset += chunk;
+			length -= chunk;
+		}
+	}
+
+	/**
+	 * Skips bytes.
+	 *
+	 * @param length The number of bytes to skip.
+	 * @throws IOException If the file ends or the read fails.
+	 */
+	void skip(int length) throws IOException {
+		while (length > 0) {
+			if (!buffer.hasRemaining()) {
+				require(1);
+			}
+			int chunk = Math.min(length, buffer.remaining());
+			buffer.position(buffer.position() + chunk);
+			length -= chunk;
+		}
+	}
+
+	/**
+	 * Reads a string written with {@code BinaryFileWriter.putString}.
+	 *
+	 * @return The string, or {@code null} if a {@code null} string was written.
+	 * @throws IOException If the file ends or the read fails.
+	 */
+	String getString() throws IOException {
+		int length = getShort();
+		if (length == BinaryFileWriter.NULL_STRING) {
+			return null;
+		}
+		if (length <= buffer.capacity()) {
+			require(length);
+			int start = buffer.position();
+			buffer.position(start + length);
+			return new String(buffer.array(), start, length, StandardCharsets.UTF_8);
+		}
+		byte[] bytes = new byte[length];
+		getBytes(bytes, 0, length);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Starts a new checksum at the current position.
+	 */
+	void resetCrc() {
+		crc.reset();
+		crcFrom = buffer.position();
+	}
+
+	/**
+	 * Returns the checksum of the bytes consumed since the last {@link #resetCrc()}.
+	 *
+	 * @return The CRC32 value.
+	 */
+	int crc() {
+		updateCrc();
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * Adds the consumed bytes not yet covered to the running checksum.
+	 */
+	private void updateCrc() {
+		int end = buffer.position();
+		if (end > crcFrom) {
+			crc.update(buffer.array(), crcFrom, end - crcFrom);
+		}
+		crcFrom = end;
+	}
+
+	/**
+	 * Closes the channel.
+	 *
+	 * @throws IOException If the close fails.
+	 */
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+}
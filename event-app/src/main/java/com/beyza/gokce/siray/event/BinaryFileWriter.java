@@ -0,0 +1,286 @@
+/**
+ * @file BinaryFileWriter.java
+ * @brief This file contains the buffered binary writer used by the application's data files.
+ * @details The writer collects primitive values and length-prefixed strings in one reusable
+ *          buffer and hands full buffers to a {@code FileChannel}, optionally keeping a running CRC32.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * @class BinaryFileWriter
+ * @brief Buffered big-endian writer on top of a {@code FileChannel}.
+ * @details Strings are written as an unsigned 16-bit byte length followed by their UTF-8 bytes;
+ *          the length {@link #NULL_STRING} marks a {@code null} string. Bytes written between
+ *          {@link #resetCrc()} and {@link #crc()} are covered by the running checksum.
+ */
+final class BinaryFileWriter implements Closeable {
+
+	/**
+	 * Default size of the write buffer in bytes.
+	 */
+	static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * Length prefix written for a {@code null} string.
+	 */
+	static final int NULL_STRING = 0xFFFF;
+
+	/**
+	 * Largest number of UTF-8 bytes a string may occupy.
+	 */
+	static final int MAX_STRING_BYTES = 0xFFFE;
+
+	/**
+	 * The channel that receives the buffered bytes.
+	 */
+	private final FileChannel channel;
+	/**
+	 * The reusable write buffer.
+	 */
+	private final ByteBuffer buffer;
+	/**
+	 * Running checksum of the bytes written since the last {@link #resetCrc()}.
+	 */
+	private final CRC32 crc = new CRC32();
+	/**
+	 * Buffer position from which bytes have not been added to {@link #crc} yet.
+	 */
+	private int crcFrom;
+	/**
+	 * Number of bytes already handed to the channel.
+	 */
+	private long flushed;
+
+	/**
+	 * Creates a writer that appends at the channel's current position.
+	 *
+	 * @param channel The channel to write to.
+	 * @param bufferSize The size of the write buffer in bytes.
+	 */
+	BinaryFileWriter(FileChannel channel, int bufferSize) {
+		this.channel = channel;
+		this.buffer = ByteBuffer.allocate(bufferSize);
+	}
+
+	/**
+	 * Returns the underlying channel.
+	 *
+	 * @return The channel this writer writes to.
+	 */
+	FileChannel channel() {
+		return channel;
+	}
+
+	/**
+	 * Returns the number of bytes written through this writer, including buffered ones.
+	 *
+	 * @return The number of bytes written.
+	 */
+	long written() {
+		return flushed + buffer.position();
+	}
+
+	/**
+	 * Makes room for the given number of bytes, flushing the buffer if necessary.
+	 *
+	 * @param bytes The number of bytes about to be written.
+	 * @throws IOException If flushing fails.
+	 */
+	private void ensure(int bytes) throws IOException {
+		if (buffer.remaining() < bytes) {
+			flush();
+		}
+	}
+
+	/**
+	 * Writes one byte.
+	 *
+	 * @param value The byte to write.
+	 * @throws IOException If flushing fails.
+	 */
+	void putByte(int value) throws IOException {
+		ensure(1);
+		buffer.put((byte) value);
+	}
+
+	/**
+	 * Writes a 16-bit value.
+	 *
+	 * @param value The value to write.
+	 * @throws IOException If flushing fails.
+	 */
+	void putShort(int value) throws IOException {
+		ensure(2);
+		buffer.putShort((short) value);
+	}
+
+	/**
+	 * Writes a 32-bit value.
+	 *
+	 * @param value The value to write.
+	 * @throws IOException If flushing fails.
+	 */
+	void putInt(int value) throws IOException {
+		ensure(4);
+		buffer.putInt(value);
+	}
+
+	/**
+	 * Writes a 64-bit value.
+	 *
+	 * @param value The value to write.
+	 * @throws IOException If flushing fails.
+	 */
+	void putLong(long value) throws IOException {
+		ensure(8);
+		buffer.putLong(value);
+	}
+
+	/**
+	 * Writes a range of bytes.
+	 *
+	 * @param bytes The source array.
+	 * @param offset The index of the first byte to write.
+	 * @param length The number of bytes to write.
+	 * @throws IOException If flushing fails.
+	 */
+	void putBytes(byte[] bytes, int offset, int length) throws IOException {
+		while (length > 0) {
+			if (!buffer.hasRemaining()) {
+				flush();
+			}
+			int chunk = Math.min(length, buffer.remaining());
+			buffer.put(bytes, offset, chunk);
+			offset += chunk;
+			length -= chunk;
+		}
+	}
+
+	/**
+	 * Writes a string as a 16-bit length followed by its UTF-8 bytes.
+	 *
+	 * @param value The string to write, possibly {@code null}.
+	 * @throws IOException If flushing fails or the string is longer than {@link #MAX_STRING_BYTES} bytes.
+	 */
+	void putString(String value) throws IOException {
+		putEncoded(encode(value));
+	}
+
+	/**
+	 * Writes a string that was already encoded with {@link #encode(String)}.
+	 *
+	 * @param utf8 The UTF-8 bytes of the string, or {@code null} for a {@code null} string.
+	 * @throws IOException If flushing fails or the string is longer than {@link #MAX_STRING_BYTES} bytes.
+	 */
+	void putEncoded(byte[] utf8) throws IOException {
+		if (utf8 == null) {
+			putShort(NULL_STRING);
+			return;
+		}
+		if (utf8.length > MAX_STRING_BYTES) {
+			throw new IOException("String too long to store: " + utf8.length + " bytes");
+		}
+		putShort(utf8.length);
+		putBytes(utf8, 0, utf8.length);
+	}
+
+	/**
+	 * Encodes a string to UTF-8.
+	 *
+	 * @param value The string, possibly {@code null}.
+	 * @return The UTF-8 bytes, or {@code null} for a {@code null} string.
+	 */
+	static byte[] encode(String value) {
+		return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Returns the number of bytes an encoded string occupies when written with {@link #putEncoded(byte[])}.
+	 *
+	 * @param utf8 The UTF-8 bytes of the string, or {@code null}.
+	 * @return The stored size in bytes.
+	 */
+	static int encodedSize(byte[] utf8) {
+		return 2 + (utf8 == null ? 0 : utf8.length);
+	}
+
+	/**
+	 * Starts a new checksum at the current position.
+	 */
+	void resetCrc() {
+		crc.reset();
+		crcFrom = buffer.position();
+	}
+
+	/**
+	 * Returns the checksum of the bytes written since the last {@link #resetCrc()}.
+	 *
+	 * @return The CRC32 value.
+	 */
+	int crc() {
+		updateCrc();
+		return (int) crc.getValue();
+	}
+
+	/**
+	 * Adds the buffered bytes not yet covered to the running checksum.
+	 */
+	private void updateCrc() {
+		int end = buffer.position();
+		if (end > crcFrom) {
+			crc.update(buffer.array(), crcFrom, end - crcFrom);
+		}
+		crcFrom = end;
+	}
+
+	/**
+	 * Hands the buffered bytes to the channel.
+	 *
+	 * @throws IOException If the channel write fails.
+	 */
+	void flush() throws IOException {
+		updateCrc();
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			flushed += channel.write(buffer);
+		}
+		buffer.clear();
+		crcFrom = 0;
+	}
+
+	/**
+	 * Flushes the buffer and forces the written bytes to the storage device.
+	 *
+	 * @throws IOException If the write or the sync fails.
+	 */
+	void sync() throws IOException {
+		flush();
+		channel.force(false);
+	}
+
+	/**
+	 * Flushes the buffer and closes the channel.
+	 *
+	 * @throws IOException If the final write or the close fails.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,49 @@
+/**
+ * @file CaseFold.java
+ * @brief This file contains the case folding shared by the attendee name searches.
+ * @details Patterns and texts are folded one character at a time, so a folded text is as long as
+ *          the original and offsets found in it are offsets in the original.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+/**
+ * @class CaseFold
+ * @brief Folds characters with {@link Character#toLowerCase(char)}.
+ * @details {@link KmpPattern}, {@link AhoCorasick}, {@link FoldedNameArena}, {@link FuzzyNameIndex}
+ *          and {@link AttendeeTrigramIndex} all fold through this class, so a pattern folded by one of
+ *          them matches a text folded by another.
+ */
+final class CaseFold {
+
+	private CaseFold() {
+	}
+
+	/**
+	 * Folds one character.
+	 *
+	 * @param c The character.
+	 * @return The folded character.
+	 */
+	static char fold(char c) {
+		return Character.toLowerCase(c);
+	}
+
+	/**
+	 * Folds every character of a text into a new array.
+	 *
+	 * @param text The text.
+	 * @return The folded characters, as many as the text has.
+	 */
+	static char[] fold(String text) {
+		char[] chars = text.toCharArray();
+		for (int i = 0; i < chars.length; i++) {
+			chars[i] = fold(chars[i]);
+		}
+		return chars;
+	}
+}
@@ -0,0 +1,257 @@
+/**
+ * @file CompressedNameSearch.java
+ * @brief This file contains the substring search that runs on Huffman-coded attendee names.
+ * @details The query is encoded with the same codec as the names and looked for in the packed
+ *          bitstream itself, so records without a match are never turned back into strings.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.IntConsumer;
+
+/**
+ * @class CompressedNameSearch
+ * @brief Finds the attendees whose name or surname contains a query, without decoding them to text.
+ * @details {@link AttendeeNameCodec} writes the same bits for the same bytes wherever they occur, so
+ *          a field contains the query exactly when the query's bits occur in the field's bits
+ *          starting on a code boundary. The search loads 64 bits per byte of input and compares the
+ *          leading bits of the query at all eight bit offsets of that byte, which needs no per-bit
+ *          state. A candidate is then checked against a decode cursor that walks the codes of the
+ *          chunk forward, counting end codes and never producing a string: a candidate that does
+ *          not start where a code starts is a false match across code boundaries and is dropped.
+ *          The cursor only moves forward and starts from the roster's last sync mark before the
+ *          candidate, so a chunk is walked at most once however many candidates it has, a rare match
+ *          costs at most {@link EncodedRoster#SYNC_INTERVAL} attendees of decoding, and chunks
+ *          without any candidate are not decoded at all. The packed-name column of an
+ *          {@link AttendeeStore} holds one byte-aligned record per attendee and is scanned record by record.
+ *
+ *          The search is case-sensitive: the bits of {@code "a"} and {@code "A"} are unrelated.
+ *          A search object is immutable and may be shared between threads.
+ */
+public final class CompressedNameSearch {
+
+	/**
+	 * Number of query bits compared by the scan; longer queries are verified after a candidate is found.
+	 */
+	private static final int WINDOW_BITS = 57;
+
+	private final AttendeeNameCodec codec;
+	/**
+	 * Query bits, left-aligned, followed by one zero word.
+	 */
+	private final long[] pattern;
+	private final int patternBits;
+	private final long head;
+	private final long headMask;
+
+	/**
+	 * Encodes a query for searching records of a codec.
+	 *
+	 * @param codec The codec the records were encoded with.
+	 * @param query The text to look for.
+	 */
+	public CompressedNameSearch(AttendeeNameCodec codec, String query) {
+		this.codec = codec;
+		byte[] utf8 = query.getBytes(StandardCharsets.UTF_8);
+		int bits = 0;
+		for (byte b : utf8) {
+			int length = codec.length(b & 0xFF);
+			bits += length != 0 ? length : codec.length(AttendeeNameCodec.ESCAPE) + 8;
+		}
+		this.patternBits = bits;
+		this.pattern = new long[(bits + 63) / 64 + 1];
+		int pos = 0;
+		for (byte b : utf8) {
+			int symbol = b & 0xFF;
+			if (codec.length(symbol) != 0) {
+				pos = put(pos, codec.code(symbol), codec.length(symbol));
+			} else {
+				pos = put(pos, codec.code(AttendeeNameCodec.ESCAPE), codec.length(AttendeeNameCodec.ESCAPE));
+				pos = put(pos, symbol, 8);
+			}
+		}
+		int window = Math.min(patternBits, WINDOW_BITS);
+		this.headMask = window == 0 ? 0 : -1L << (64 - window);
+		this.head = pattern[0] & headMask;
+	}
+
+	private int put(int pos, int code, int length) {
+		for (int i = length - 1; i >= 0; i--, pos++) {
+			if ((code >>> i & 1) != 0) {
+				pattern[pos >>> 6] |= 1L << (63 - (pos & 63));
+			}
+		}
+		return pos;
+	}
+
+	/**
+	 * Returns the codec the query was encoded with.
+	 *
+	 * @return The codec.
+	 */
+	public AttendeeNameCodec codec() {
+		return codec;
+	}
+
+	/**
+	 * Returns the length of the encoded query.
+	 *
+	 * @return The number of bits.
+	 */
+	public int patternBits() {
+		return patternBits;
+	}
+
+	/**
+	 * Tells whether a record of name and surname, as made by {@code codec.encode(name, surname)}, contains the query.
+	 *
+	 * @param record The record.
+	 * @return {@code true} if the name or the surname contains the query.
+	 */
+	public boolean matches(byte[] record) {
+		boolean[] found = new boolean[1];
+		scan(record, 0, record.length, 2, 0, null, 0, attendee -> found[0] = true);
+		return found[0];
+	}
+
+	/**
+	 * Finds the attendees of a roster whose name or surname contains the query.
+	 *
+	 * @param roster The roster; it must have been encoded with this search's codec.
+	 * @param hits Receives the index of every matching attendee once, in increasing order.
+	 * @return The number of matching attendees.
+	 */
+	public int search(EncodedRoster roster, IntConsumer hits) {
+		if (roster.codec() != codec) {
+			throw new IllegalArgumentException("Roster was encoded with model " + roster.codec().version()
+					+ ", not " + codec.version());
+		}
+		int found = 0;
+		for (int c = 0; c < roster.chunkCount(); c++) {
+			int first = c * roster.chunkSize();
+			int count = Math.min(roster.chunkSize(), roster.size() - first);
+			found += scan(roster.data(), roster.offset(c), roster.offset(c + 1), 2 * count, first, roster.marks(),
+					c * roster.marksPerChunk(), hits);
+		}
+		return found;
+	}
+
+	/**
+	 * Finds the attendees of a store whose name or surname contains the query, scanning the packed-name
+	 * column of the store record by record.
+	 *
+	 * @param store The store; its names must have been packed with this search's codec.
+	 * @param hits Receives the row of every matching attendee once, in increasing order.
+	 * @return The number of matching attendees.
+	 */
+	public int search(AttendeeStore store, IntConsumer hits) {
+		AttendeeNameCodec packedCodec = store.packedCodec();
+		if (packedCodec != codec) {
+			throw new IllegalArgumentException("Attendees were packed with model "
+					+ (packedCodec == null ? "none" : String.valueOf(packedCodec.version())) + ", not " + codec.version());
+		}
+		byte[] data = store.packedNames();
+		int found = 0;
+		for (int row = 0; row < store.size(); row++) {
+			found += scan(data, store.packedStart(row), store.packedStart(row + 1), 2, row, null, 0, hits);
+		}
+		return found;
+	}
+
+	/**
+	 * Searches one packed run of name and surname fields.
+	 *
+	 * @param marks The sync marks of the run, as kept by {@link EncodedRoster}, or {@code null} if there are none.
+	 * @param marksFrom The index of the run's first mark.
+	 * @return The number of attendees reported.
+	 */
+	private int scan(byte[] data, int offset, int end, int fieldCount, int firstAttendee, int[] marks, int marksFrom,
+			IntConsumer hits) {
+		if (patternBits == 0) {
+			for (int i = 0; i < fieldCount / 2; i++) {
+				hits.accept(firstAttendee + i);
+			}
+			return fieldCount / 2;
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(data);
+		long endBit = (long) end * 8;
+		long cursor = (long) offset * 8;
+		int fields = 0;
+		int mark = 0;
+		int markCount = marks == null ? 0 : (fieldCount / 2 + EncodedRoster.SYNC_INTERVAL - 1) / EncodedRoster.SYNC_INTERVAL;
+		int lastHit = -1;
+		int found = 0;
+		for (int k = offset; k < end; k++) {
+			long word = k + 8 <= end ? buffer.getLong(k) : peek(buffer, end, (long) k * 8);
+			for (int r = 0; r < 8; r++) {
+				if (((word << r) & headMask) != head) {
+					continue;
+				}
+				long start = (long) k * 8 + r;
+				if (start + patternBits > endBit) {
+					return found;
+				}
+				// Jump to the last sync mark before the candidate, then walk the codes up to it,
+				// counting the fields that end on the way
+				while (mark + 1 < markCount && (long) offset * 8 + marks[marksFrom + mark + 1] <= start) {
+					mark++;
+				}
+				if (markCount > 0 && (long) offset * 8 + marks[marksFrom + mark] > cursor) {
+					cursor = (long) offset * 8 + marks[marksFrom + mark];
+					fields = 2 * mark * EncodedRoster.SYNC_INTERVAL;
+				}
+				while (cursor < start) {
+					int step = codec.next(peek(buffer, end, cursor));
+					cursor += step & 31;
+					if (step >>> 5 == AttendeeNameCodec.END && ++fields == fieldCount) {
+						return found;
+					}
+				}
+				int attendee = fields >>> 1;
+				if (cursor == start && attendee != lastHit && verify(buffer, end, start)) {
+					hits.accept(firstAttendee + attendee);
+					lastHit = attendee;
+					found++;
+				}
+			}
+		}
+		return found;
+	}
+
+	/**
+	 * Compares the query bits past the scanned window.
+	 */
+	private boolean verify(ByteBuffer buffer, int end, long start) {
+		for (int i = WINDOW_BITS; i < patternBits; i += 32) {
+			int n = Math.min(32, patternBits - i);
+			long mask = -1L << (64 - n);
+			long expected = (pattern[i >>> 6] << (i & 63) | ((i & 63) == 0 ? 0 : pattern[(i >>> 6) + 1] >>> (64 - (i & 63))));
+			if (((peek(buffer, end, start + i) ^ expected) & mask) != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Returns the 64 bits starting at a bit offset, zero-padded past the end.
+	 */
+	private static long peek(ByteBuffer buffer, int end, long bitPos) {
+		int index = (int) (bitPos >>> 3);
+		int shift = (int) (bitPos & 7);
+		if (index + 9 <= end) {
+			return buffer.getLong(index) << shift | (buffer.get(index + 8) & 0xFF) >>> (8 - shift);
+		}
+		long word = 0;
+		for (int i = 0; i < 8; i++) {
+			word = word << 8 | (index + i < end ? buffer.get(index + i) & 0xFF : 0);
+		}
+		return word << shift | (index + 8 < end ? (buffer.get(index + 8) & 0xFF) >>> (8 - shift) : 0);
+	}
+}
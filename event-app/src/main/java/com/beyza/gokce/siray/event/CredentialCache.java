@@ -0,0 +1,251 @@
+/**
+ * @file CredentialCache.java
+ * @brief This file contains the bounded cache of recently verified credentials.
+ * @details A successful login is remembered for a limited time, so that repeated logins of the same
+ *          user are checked with one keyed SHA-256 instead of the deliberately slow password hash.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+/**
+ * @class CredentialCache
+ * @brief Bounded, time-limited cache of verified login credentials.
+ * @details An entry holds an HMAC-SHA256 of the verified password under a random key that never
+ *          leaves the process, the stored password it was verified against, and an expiry time.
+ *          A cached check succeeds only if the entry has not expired, the user's stored password
+ *          is still equal to the one in the entry and the HMAC matches. Stored passwords are salted
+ *          hashes, so changing a password invalidates the entry, while a store that decodes a new
+ *          {@code String} on every lookup, like {@link MappedUserStore}, still hits. When the cache is full the entries verified longest ago are evicted first.
+ *          Lookups do not lock.
+ */
+public final class CredentialCache {
+
+	/**
+	 * Number of entries kept when no other size is configured.
+	 */
+	public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+	/**
+	 * Lifetime of an entry in milliseconds when no other lifetime is configured.
+	 */
+	public static final long DEFAULT_TTL_MILLIS = TimeUnit.MINUTES.toMillis(15);
+
+	private static final String MAC_ALGORITHM = "HmacSHA256";
+
+	/**
+	 * @class Entry
+	 * @brief One verified credential.
+	 */
+	private static final class Entry {
+		final String loginId;
+		final String stored;
+		final byte[] digest;
+		final long expiresAt;
+
+		Entry(String loginId, String stored, byte[] digest, long expiresAt) {
+			this.loginId = loginId;
+			this.stored = stored;
+			this.digest = digest;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+	/**
+	 * Entries in the order they were added; may still hold entries already replaced or removed.
+	 */
+	private final ConcurrentLinkedQueue<Entry> order = new ConcurrentLinkedQueue<>();
+	/**
+	 * Number of entries in {@link #order}, which does not count its elements in constant time.
+	 */
+	private final AtomicInteger queued = new AtomicInteger();
+	private final int maxEntries;
+	private final long ttlNanos;
+	private final LongSupplier clock;
+	private final SecretKeySpec key;
+	private final ThreadLocal<Mac> macs;
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Creates a cache with {@link #DEFAULT_MAX_ENTRIES} entries and {@link #DEFAULT_TTL_MILLIS}.
+	 */
+	public CredentialCache() {
+		this(DEFAULT_MAX_ENTRIES, DEFAULT_TTL_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param maxEntries The maximum number of entries, {@code 0} to disable caching.
+	 * @param ttl How long an entry stays valid.
+	 * @param unit The unit of {@code ttl}.
+	 */
+	public CredentialCache(int maxEntries, long ttl, TimeUnit unit) {
+		this(maxEntries, ttl, unit, System::nanoTime);
+	}
+
+	/**
+	 * Creates a cache that reads the time from the given clock.
+	 *
+	 * @param maxEntries The maximum number of entries, {@code 0} to disable caching.
+	 * @param ttl How long an entry stays valid.
+	 * @param unit The unit of {@code ttl}.
+	 * @param clock The time source in nanoseconds.
+	 */
+	CredentialCache(int maxEntries, long ttl, TimeUnit unit, LongSupplier clock) {
+		if (maxEntries < 0 || ttl < 0) {
+			throw new IllegalArgumentException("Cache size and lifetime must not be negative");
+		}
+		this.maxEntries = maxEntries;
+		this.ttlNanos = unit.toNanos(ttl);
+		this.clock = clock;
+		byte[] secret = new byte[32];
+		new SecureRandom().nextBytes(secret);
+		this.key = new SecretKeySpec(secret, MAC_ALGORITHM);
+		this.macs = ThreadLocal.withInitial(this::newMac);
+	}
+
+	private Mac newMac() {
+		try {
+			Mac mac = Mac.getInstance(MAC_ALGORITHM);
+			mac.init(key);
+			return mac;
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(MAC_ALGORITHM + " is not available", e);
+		}
+	}
+
+	private byte[] digest(String password) {
+		return macs.get().doFinal(password.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Checks a password against the cache.
+	 *
+	 * @param loginId The login id of the user.
+	 * @param stored The password currently stored for the user.
+	 * @param password The password to check.
+	 * @return {@code true} if the same password was verified against the same stored password recently;
+	 *         {@code false} means the password has to be verified the slow way.
+	 */
+	public boolean check(String loginId, String stored, String password) {
+		if (loginId == null || password == null) {
+			return false;
+		}
+		Entry entry = entries.get(loginId);
+		if (entry == null) {
+			misses.incrementAndGet();
+			return false;
+		}
+		if (clock.getAsLong() - entry.expiresAt >= 0 || !Objects.equals(entry.stored, stored)) {
+			entries.remove(loginId, entry);
+			misses.incrementAndGet();
+			return false;
+		}
+		if (!MessageDigest.isEqual(digest(password), entry.digest)) {
+			misses.incrementAndGet();
+			return false;
+		}
+		hits.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Remembers a password that was just verified.
+	 *
+	 * @param loginId The login id of the user.
+	 * @param stored The stored password it was verified against.
+	 * @param password The verified password.
+	 */
+	public void remember(String loginId, String stored, String password) {
+		if (maxEntries == 0 || loginId == null || password == null) {
+			return;
+		}
+		Entry entry = new Entry(loginId, stored, digest(password), clock.getAsLong() + ttlNanos);
+		entries.put(loginId, entry);
+		order.add(entry);
+		queued.incrementAndGet();
+		evict();
+	}
+
+	/**
+	 * Removes the oldest entries until the cache is within its bound again.
+	 */
+	private void evict() {
+		while (entries.size() > maxEntries || queued.get() > 2 * maxEntries) {
+			Entry oldest = order.poll();
+			if (oldest == null) {
+				return;
+			}
+			queued.decrementAndGet();
+			entries.remove(oldest.loginId, oldest);
+		}
+	}
+
+	/**
+	 * Forgets the cached credential of a user.
+	 *
+	 * @param loginId The login id of the user.
+	 */
+	public void invalidate(String loginId) {
+		if (loginId != null) {
+			entries.remove(loginId);
+		}
+	}
+
+	/**
+	 * Removes every entry.
+	 */
+	public void clear() {
+		entries.clear();
+		order.clear();
+		queued.set(0);
+	}
+
+	/**
+	 * Returns the number of cached credentials, including expired ones not yet evicted.
+	 *
+	 * @return The number of entries.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns the number of checks answered from the cache.
+	 *
+	 * @return The number of hits.
+	 */
+	public long hits() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of checks that had to fall back to the password hash.
+	 *
+	 * @return The number of misses.
+	 */
+	public long misses() {
+		return misses.get();
+	}
+}
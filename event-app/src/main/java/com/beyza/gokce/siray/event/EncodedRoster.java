@@ -0,0 +1,294 @@
+/**
+ * @file EncodedRoster.java
+ * @brief This file contains the batch-encoded form of a large attendee roster.
+ * @details The names of a roster are split into chunks that are Huffman-coded in parallel against one
+ *          shared {@link AttendeeNameCodec} and stored back to back with an index of chunk offsets.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * @class EncodedRoster
+ * @brief Names and surnames of many attendees packed into one bitstream with a chunk offset index.
+ * @details Each chunk holds {@link #chunkSize()} attendees, every name and surname followed by the
+ *          end code of the codec, and starts on a byte boundary. Chunks are encoded independently by
+ *          a fork-join task that splits the chunk range in halves, so the codec must be shared
+ *          read-only; {@link AttendeeNameCodec} is immutable. {@code offsets[c]} is the first byte
+ *          of chunk {@code c} and {@code offsets[chunkCount]} the size of the data, so a chunk can
+ *          be decoded, searched or handed to another thread without touching the others.
+ *
+ *          Attendee {@code i} is found in chunk {@code i / chunkSize}. The bit offset of every
+ *          {@link #SYNC_INTERVAL}-th attendee of a chunk is kept as a sync mark, so reading or
+ *          searching near attendee {@code i} starts decoding at most {@link #SYNC_INTERVAL} - 1
+ *          attendees before it; larger chunks waste less padding and scheduling.
+ */
+public final class EncodedRoster {
+
+	/**
+	 * Number of attendees per chunk when no other is given.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1024;
+
+	/**
+	 * Number of attendees between two sync marks of a chunk.
+	 */
+	public static final int SYNC_INTERVAL = 32;
+
+	/**
+	 * Fewest chunks a fork-join task encodes itself instead of splitting further.
+	 */
+	private static final int CHUNKS_PER_TASK = 4;
+
+	private final AttendeeNameCodec codec;
+	private final int size;
+	private final int chunkSize;
+	private final int[] offsets;
+	/**
+	 * Bit offset of every {@link #SYNC_INTERVAL}-th attendee from the start of its chunk,
+	 * {@link #marksPerChunk} entries per chunk.
+	 */
+	private final int[] marks;
+	private final int marksPerChunk;
+	private final byte[] data;
+
+	private EncodedRoster(AttendeeNameCodec codec, int size, int chunkSize, int[] offsets, int[] marks, byte[] data) {
+		this.codec = codec;
+		this.size = size;
+		this.chunkSize = chunkSize;
+		this.offsets = offsets;
+		this.marks = marks;
+		this.marksPerChunk = marksPerChunk(chunkSize);
+		this.data = data;
+	}
+
+	private static int marksPerChunk(int chunkSize) {
+		return (chunkSize + SYNC_INTERVAL - 1) / SYNC_INTERVAL;
+	}
+
+	/**
+	 * Encodes a roster on the common fork-join pool with {@link #DEFAULT_CHUNK_SIZE} attendees per chunk.
+	 *
+	 * @param codec The codec shared by all chunks.
+	 * @param names The first names; none may be {@code null}.
+	 * @param surnames The last names, as many as names; none may be {@code null}.
+	 * @return The encoded roster.
+	 */
+	public static EncodedRoster encode(AttendeeNameCodec codec, String[] names, String[] surnames) {
+		return encode(codec, names, surnames, DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Encodes a roster.
+	 *
+	 * @param codec The codec shared by all chunks.
+	 * @param names The first names; none may be {@code null}.
+	 * @param surnames The last names, as many as names; none may be {@code null}.
+	 * @param chunkSize The number of attendees per chunk.
+	 * @param pool The pool that encodes the chunks.
+	 * @return The encoded roster.
+	 */
+	public static EncodedRoster encode(AttendeeNameCodec codec, String[] names, String[] surnames, int chunkSize,
+			ForkJoinPool pool) {
+		if (names.length != surnames.length) {
+			throw new IllegalArgumentException("Got " + names.length + " names but " + surnames.length + " surnames");
+		}
+		if (chunkSize < 1) {
+			throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+		}
+		int chunkCount = (names.length + chunkSize - 1) / chunkSize;
+		byte[][] chunks = new byte[chunkCount][];
+		int[] marks = new int[chunkCount * marksPerChunk(chunkSize)];
+		pool.invoke(new EncodeTask(codec, names, surnames, chunkSize, chunks, marks, 0, chunkCount));
+
+		int[] offsets = new int[chunkCount + 1];
+		long total = 0;
+		for (int c = 0; c < chunkCount; c++) {
+			offsets[c] = (int) total;
+			total += chunks[c].length;
+			if (total > Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("Encoded roster does not fit in an array");
+			}
+		}
+		offsets[chunkCount] = (int) total;
+		byte[] data = new byte[(int) total];
+		for (int c = 0; c < chunkCount; c++) {
+			System.arraycopy(chunks[c], 0, data, offsets[c], chunks[c].length);
+		}
+		return new EncodedRoster(codec, names.length, chunkSize, offsets, marks, data);
+	}
+
+	/**
+	 * Encodes a range of chunks, splitting it in halves while it is larger than {@link #CHUNKS_PER_TASK}.
+	 */
+	private static final class EncodeTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final AttendeeNameCodec codec;
+		private final String[] names;
+		private final String[] surnames;
+		private final int chunkSize;
+		private final byte[][] chunks;
+		private final int[] marks;
+		private final int from;
+		private final int to;
+
+		EncodeTask(AttendeeNameCodec codec, String[] names, String[] surnames, int chunkSize, byte[][] chunks, int[] marks,
+				int from, int to) {
+			this.codec = codec;
+			this.names = names;
+			this.surnames = surnames;
+			this.chunkSize = chunkSize;
+			this.chunks = chunks;
+			this.marks = marks;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from > CHUNKS_PER_TASK) {
+				int middle = (from + to) >>> 1;
+				invokeAll(new EncodeTask(codec, names, surnames, chunkSize, chunks, marks, from, middle),
+						new EncodeTask(codec, names, surnames, chunkSize, chunks, marks, middle, to));
+				return;
+			}
+			String[] fields = new String[2 * chunkSize];
+			for (int c = from; c < to; c++) {
+				int first = c * chunkSize;
+				int count = Math.min(chunkSize, names.length - first);
+				for (int i = 0; i < count; i++) {
+					fields[2 * i] = names[first + i];
+					fields[2 * i + 1] = surnames[first + i];
+				}
+				chunks[c] = codec.encode(fields, 0, 2 * count, 2 * SYNC_INTERVAL, marks, c * marksPerChunk(chunkSize));
+			}
+		}
+	}
+
+	/**
+	 * Returns the codec the roster was encoded with.
+	 *
+	 * @return The codec.
+	 */
+	public AttendeeNameCodec codec() {
+		return codec;
+	}
+
+	/**
+	 * Returns the number of attendees.
+	 *
+	 * @return The number of attendees.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of attendees per chunk.
+	 *
+	 * @return The chunk size.
+	 */
+	public int chunkSize() {
+		return chunkSize;
+	}
+
+	/**
+	 * Returns the number of chunks.
+	 *
+	 * @return The number of chunks.
+	 */
+	public int chunkCount() {
+		return offsets.length - 1;
+	}
+
+	/**
+	 * Returns the offset of a chunk in {@link #data()}.
+	 *
+	 * @param chunk The chunk, {@code 0} to {@link #chunkCount()}; {@link #chunkCount()} gives the size of the data.
+	 * @return The index of the first byte of the chunk.
+	 */
+	public int offset(int chunk) {
+		return offsets[chunk];
+	}
+
+	/**
+	 * Returns the sync marks: {@link #marksPerChunk()} entries per chunk, entry {@code j} holding the bit
+	 * offset of the chunk's attendee {@code j * SYNC_INTERVAL} from the start of the chunk.
+	 * The array is shared, not copied.
+	 *
+	 * @return The sync marks.
+	 */
+	int[] marks() {
+		return marks;
+	}
+
+	/**
+	 * Returns the number of sync marks reserved per chunk; the last chunk may use fewer.
+	 *
+	 * @return The number of marks per chunk.
+	 */
+	int marksPerChunk() {
+		return marksPerChunk;
+	}
+
+	/**
+	 * Returns the packed chunks. The array is shared, not copied.
+	 *
+	 * @return The data.
+	 */
+	byte[] data() {
+		return data;
+	}
+
+	/**
+	 * Returns the number of bytes of packed names.
+	 *
+	 * @return The size of the data.
+	 */
+	public int byteSize() {
+		return data.length;
+	}
+
+	/**
+	 * Decodes the name and surname of one attendee.
+	 *
+	 * @param index The index of the attendee in the roster.
+	 * @return The name and the surname.
+	 */
+	public String[] get(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Attendee " + index + " of " + size);
+		}
+		int chunk = index / chunkSize;
+		int fieldCount = 2 * (index - chunk * chunkSize + 1);
+		String[] fields = new String[fieldCount];
+		codec.decode(data, offsets[chunk], offsets[chunk + 1] - offsets[chunk], fields, 0, fieldCount);
+		return new String[] {fields[fieldCount - 2], fields[fieldCount - 1]};
+	}
+
+	/**
+	 * Decodes all attendees of one chunk.
+	 *
+	 * @param chunk The chunk.
+	 * @param names The array that receives the first names at the attendees' roster indexes.
+	 * @param surnames The array that receives the last names at the attendees' roster indexes.
+	 */
+	public void decodeChunk(int chunk, String[] names, String[] surnames) {
+		int first = chunk * chunkSize;
+		int count = Math.min(chunkSize, size - first);
+		String[] fields = new String[2 * count];
+		codec.decode(data, offsets[chunk], offsets[chunk + 1] - offsets[chunk], fields, 0, fields.length);
+		for (int i = 0; i < count; i++) {
+			names[first + i] = fields[2 * i];
+			surnames[first + i] = fields[2 * i + 1];
+		}
+	}
+}
@@ -12,6 +12,11 @@ package com.beyza.gokce.siray.event;
 
 import java.io.*;
 import java.util.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 /**
  * @class Event
@@ -66,6 +71,7 @@ public class Event {
 	 *              It is expected to be a valid non-null string containing numeric digits.
 	 * @return An integer representing the computed hash value, which can be used
 	 *         as an index for storing data in a hash table.
+	 * @see PhoneHash for the allocation-free hash used by {@code UserIndex} and {@code MappedUserStore}.
 	 */
 
 	public static int hash(String phone) {
@@ -177,6 +183,8 @@ public class Event {
 	 * Represents a Min Heap structure.
 	 * The Min Heap is a binary tree used to efficiently find
 	 * the minimum frequency node, primarily in Huffman coding.
+	 * The frequency of each node is copied into {@code freqs} at the same position,
+	 * so sifting compares plain {@code int}s instead of loading every node.
 	 */
 	public static class MinHeap {
 		/**
@@ -192,6 +200,10 @@ public class Event {
 	     * in the Min Heap.
 	     */
 	    MinHeapNode[] array;  // Array of MinHeapNode objects
+	    /**
+	     * The frequencies of the nodes in {@code array}, position by position.
+	     */
+	    int[] freqs;
 	}
 	
 	/**
@@ -210,8 +222,10 @@ public class Event {
 	    // Only allocate memory for array if capacity is greater than 0
 	    if (capacity > 0) {
 	        minHeap.array = new MinHeapNode[capacity];
+	        minHeap.freqs = new int[capacity];
 	    } else {
 	        minHeap.array = null;
+	        minHeap.freqs = null;
 	    }
 
 	    return minHeap;
@@ -237,29 +251,114 @@ public class Event {
 	/**
 	 * Inserts a node into the Min Heap.
 	 * This function places the specified {@code MinHeapNode} into the next available
-	 * position in the heap's array and increments the heap's size.
+	 * position in the heap's array and sifts it up until its parent's frequency
+	 * is not larger, which takes O(log n) comparisons.
 	 * 
 	 * @param minHeap The Min Heap into which the node will be inserted.
 	 * @param minHeapNode The {@code MinHeapNode} to be inserted.
 	 */
 	public static void insertMinHeap(MinHeap minHeap, MinHeapNode minHeapNode) {
-	    minHeap.array[minHeap.size] = minHeapNode;
-	    minHeap.size++;
+	    siftUp(minHeap, minHeap.size++, minHeapNode);
 	}
 	/**
 	 * Extracts the minimum frequency node from the Min Heap.
 	 * This function retrieves the root node of the heap (which holds the minimum frequency value),
-	 * replaces it with the last node in the heap, and reduces the heap's size by one.
+	 * moves the last node to the root and sifts it down, and reduces the heap's size by one.
 	 * 
 	 * @param minHeap The Min Heap from which the minimum node will be extracted.
 	 * @return The {@code MinHeapNode} object with the smallest frequency value.
 	 */
 	public static MinHeapNode extractMin(MinHeap minHeap) {
 	    MinHeapNode temp = minHeap.array[0];
-	    minHeap.array[0] = minHeap.array[minHeap.size - 1];
-	    minHeap.size--;
+	    int last = --minHeap.size;
+	    MinHeapNode moved = minHeap.array[last];
+	    minHeap.array[last] = null;
+	    if (last > 0) {
+	        siftDown(minHeap, 0, moved);
+	    }
 	    return temp;
 	}
+	/**
+	 * Replaces the minimum frequency node with another node.
+	 * This is {@code extractMin} followed by {@code insertMinHeap},
+	 * but sifts only once.
+	 *
+	 * @param minHeap The Min Heap whose root is replaced.
+	 * @param minHeapNode The node that takes the place of the root.
+	 * @return The {@code MinHeapNode} object that was the root.
+	 */
+	public static MinHeapNode replaceMin(MinHeap minHeap, MinHeapNode minHeapNode) {
+	    MinHeapNode temp = minHeap.array[0];
+	    siftDown(minHeap, 0, minHeapNode);
+	    return temp;
+	}
+	/**
+	 * Turns the first {@code size} nodes of the heap's array into a Min Heap.
+	 * Nodes can be appended to {@code array} in any order and heapified at once,
+	 * which takes O(n) comparisons instead of O(n log n) for one insertion at a time.
+	 *
+	 * @param minHeap The Min Heap to rearrange.
+	 */
+	public static void buildMinHeap(MinHeap minHeap) {
+	    for (int i = 0; i < minHeap.size; i++) {
+	        minHeap.freqs[i] = minHeap.array[i].freq;
+	    }
+	    for (int i = (minHeap.size >>> 1) - 1; i >= 0; i--) {
+	        siftDown(minHeap, i, minHeap.array[i]);
+	    }
+	}
+	/**
+	 * Moves a node from a position towards the root until its parent's frequency is not larger.
+	 *
+	 * @param minHeap The Min Heap.
+	 * @param index The free position the node starts from.
+	 * @param node The node to place.
+	 */
+	private static void siftUp(MinHeap minHeap, int index, MinHeapNode node) {
+	    MinHeapNode[] array = minHeap.array;
+	    int[] freqs = minHeap.freqs;
+	    int freq = node.freq;
+	    while (index > 0) {
+	        int parent = (index - 1) >>> 1;
+	        if (freqs[parent] <= freq) {
+	            break;
+	        }
+	        array[index] = array[parent];
+	        freqs[index] = freqs[parent];
+	        index = parent;
+	    }
+	    array[index] = node;
+	    freqs[index] = freq;
+	}
+	/**
+	 * Moves a node from a position towards the leaves until no child has a smaller frequency.
+	 *
+	 * @param minHeap The Min Heap.
+	 * @param index The free position the node starts from.
+	 * @param node The node to place.
+	 */
+	private static void siftDown(MinHeap minHeap, int index, MinHeapNode node) {
+	    MinHeapNode[] array = minHeap.array;
+	    int[] freqs = minHeap.freqs;
+	    int size = minHeap.size;
+	    int freq = node.freq;
+	    int half = size >>> 1;
+	    while (index < half) {
+	        int child = 2 * index + 1;
+	        int right = child + 1;
+	        if (right < size && freqs[right] < freqs[child]) {
+	            child = right;
+	        }
+	        if (freq <= freqs[child]) {
+	            break;
+	        }
+	        array[index] = array[child];
+	        freqs[index] = freqs[child];
+	        index = child;
+	    }
+	    array[index] = node;
+	    freqs[index] = freq;
+	}
 	
 	
 	/**
@@ -373,107 +472,417 @@ public class Event {
 	 * The hash table used for storing user data.
 	 * Each index in the array represents a slot in the hash table,
 	 * and collisions are resolved using a linked list of {@code User} objects.
+	 * Only {@link #saveUser(User)} still fills it, for callers of the chained layout
+	 * of earlier versions; the application itself looks users up in {@code userRegistry}.
 	 */
 	public static User[] hashTable = new User[TABLE_SIZE]; 
+	/**
+	 * The thread-safe registry that serves every login.
+	 * Users are keyed by phone number, or by name when they have no phone number.
+	 * Lookups never block, so logins can be checked from many threads at once.
+	 */
+	public static final UserRegistry userRegistry = new UserRegistry();
+	/**
+	 * The hasher applied to the passwords of new registrations.
+	 * Its iteration count is the cost of every login that misses {@code credentialCache}.
+	 */
+	static PasswordHasher passwordHasher = new PasswordHasher();
+	/**
+	 * Recently verified credentials, so that repeated logins skip the password hash.
+	 */
+	static final CredentialCache credentialCache = new CredentialCache();
 	/**
 	 * Saves a new user to the hash table.
 	 * This function calculates the hash index of the user's phone number,
 	 * and inserts the user into the corresponding slot in the hash table.
 	 * If a collision occurs, the user is added to the linked list at that index.
+	 * The user is also stored in {@code userRegistry}, which serves the lookups,
+	 * replacing any user with the same login id.
 	 * 
 	 * @param newUser The {@code User} object to be saved in the hash table.
 	 */
 	public static void saveUser(User newUser) {
-	    int index = hash(newUser.phone);
-	    newUser.next = hashTable[index];
-	    hashTable[index] = newUser;
+	    userRegistry.put(newUser);
+	    synchronized (userLock) {
+	        int index = hash(newUser.phone);
+	        newUser.next = hashTable[index];
+	        hashTable[index] = newUser;
+	    }
 	}
 
 	/**
-	 * Prints the contents of the hash table.
-	 * This function iterates through the hash table, and for each non-empty slot,
-	 * it prints the details of all users stored in the linked list at that index.
+	 * Finds users whose name starts with a prefix, ignoring case.
+	 * The lookup uses the registry's sorted name index, which is built
+	 * on first use and then kept up to date by every registration.
+	 *
+	 * @param prefix The beginning of the name.
+	 * @param limit The largest number of users to return.
+	 * @return The matching users in name order.
+	 */
+	public static List<User> findUsersByName(String prefix, int limit) {
+	    userRegistry.enableNameIndexes();
+	    return userRegistry.findByName(prefix, limit);
+	}
+	/**
+	 * Finds users whose surname starts with a prefix, ignoring case.
+	 *
+	 * @param prefix The beginning of the surname.
+	 * @param limit The largest number of users to return.
+	 * @return The matching users in surname order.
+	 */
+	public static List<User> findUsersBySurname(String prefix, int limit) {
+	    userRegistry.enableNameIndexes();
+	    return userRegistry.findBySurname(prefix, limit);
+	}
+	/**
+	 * Number of users {@link #printHashTable()} prints before it stops.
+	 */
+	static final int PRINT_PAGE_SIZE = 100;
+	/**
+	 * Prints the registered users.
+	 * Only the first {@link #PRINT_PAGE_SIZE} users in name order are printed;
+	 * {@link #printUsers(String, int)} continues from there and
+	 * {@link #exportUsers(Path)} writes every user to a file.
 	 */
 	public static void printHashTable() {
 	    out.println("Hash Table Contents:");
-	    for (int i = 0; i < TABLE_SIZE; i++) {
-	        User current = hashTable[i];
-	        if (current == null) {
-	            continue;
-	        }
-	        out.println("Index " + i + ":");
-	        while (current != null) {
-	            out.println(" Name: " + current.name + " " + current.surname + ", Phone: " + current.phone + ", Password: " + current.password);
-	            current = current.next;
-	        }
+	    String cursor = printUsers(null, PRINT_PAGE_SIZE);
+	    if (cursor != null) {
+	        out.println("... " + (userRegistry.size() - PRINT_PAGE_SIZE) + " more users.");
 	    }
 	    out.println("End of Hash Table.");
 	}
+	/**
+	 * Prints one page of users in name order.
+	 * The rows are copied into one reusable buffer instead of being concatenated,
+	 * and the returned cursor resumes the listing with the next page.
+	 *
+	 * @param cursor The cursor returned by the previous page, or {@code null} for the first page.
+	 * @param pageSize The largest number of users to print.
+	 * @return The cursor of the next page, or {@code null} after the last page.
+	 */
+	public static String printUsers(String cursor, int pageSize) {
+	    userRegistry.enableNameIndexes();
+	    UserDump dump = new UserDump(new PrintWriter(out), UserDump.Format.TEXT);
+	    try {
+	        String next = dump.writePage(userRegistry, cursor, pageSize);
+	        dump.flush();
+	        return next;
+	    } catch (IOException e) {
+	        System.err.println("Error printing users: " + e.getMessage());
+	        return null;
+	    }
+	}
+	/**
+	 * Exports every registered user to a CSV file that {@link #importUsers(Path, Consumer)} can read back.
+	 *
+	 * @param file The file to write.
+	 * @return The number of exported users, or {@code -1} if the file could not be written.
+	 */
+	public static long exportUsers(Path file) {
+	    userRegistry.enableNameIndexes();
+	    try {
+	        return UserDump.export(userRegistry, file);
+	    } catch (IOException e) {
+	        System.err.println("Error exporting users: " + e.getMessage());
+	        return -1;
+	    }
+	}
+	/**
+	 * The write-ahead log that receives registrations while the application runs.
+	 * When it is {@code null} every registration rewrites {@code users.bin} instead.
+	 */
+	static UserLog userLog;
+	/**
+	 * Lock held while the hash table is updated or the users are written to a snapshot,
+	 * so the background compactor never observes a half-finished update.
+	 */
+	static final Object userLock = new Object();
+	/**
+	 * Size of {@code users.log} in bytes above which the compactor folds it into {@code users.bin}.
+	 */
+	static final long USER_LOG_COMPACTION_THRESHOLD = 1L << 20;
+	/**
+	 * Interval in seconds between two checks of the background compactor.
+	 */
+	static final long USER_LOG_COMPACTION_PERIOD = 30;
+	/**
+	 * The memory-mapped user store used in mapped mode.
+	 * When it is not {@code null}, logins probe {@code users.map} directly and
+	 * registrations are written into it instead of the snapshot and the log.
+	 */
+	static MappedUserStore mappedUsers;
 	/**
 	 * Saves a user's data.
-	 * This function saves the user to the hash table, writes the updated hash table
-	 * to a file, and clears the screen to refresh the view.
+	 * This function saves the user to the hash table, makes the user durable
+	 * through {@link #persistUser(User)}, and clears the screen to refresh the view.
 	 *
 	 * @param user The {@code User} object to be saved.
 	 */
 	public static void saveUserData(User user) {
-	    saveUser(user);
-	    saveHashTableToFile();
+	    persistUser(user);
 	    clearScreen();
 	}
+	/**
+	 * Saves a user and makes the registration durable.
+	 * In mapped mode the user is written into {@code users.map}. Otherwise, if the
+	 * registration log is open the user is appended to it, which costs one
+	 * record instead of a full rewrite; otherwise the whole snapshot is rewritten.
+	 *
+	 * @param user The {@code User} object to be saved.
+	 */
+	public static void persistUser(User user) {
+	    saveUser(user);
+	    storeUser(user);
+	}
+	/**
+	 * Registers a new user unless the login id is already taken, and makes the registration durable.
+	 * The check and the insertion are one atomic step, so two concurrent registrations
+	 * of the same login id cannot both succeed.
+	 *
+	 * @param user The {@code User} object to be registered.
+	 * @return {@code true} if the user was registered, {@code false} if the login id was taken.
+	 */
+	public static boolean registerUser(User user) {
+	    if (mappedUsers != null && mappedUsers.contains(UserRegistry.loginId(user))) {
+	        return false;
+	    }
+	    if (!userRegistry.register(user)) {
+	        return false;
+	    }
+	    storeUser(user);
+	    return true;
+	}
+	/**
+	 * Writes a user that is already in the registry to the mapped store, the log or the snapshot.
+	 *
+	 * @param user The {@code User} object to be stored.
+	 */
+	private static void storeUser(User user) {
+	    if (mappedUsers != null) {
+	        try {
+	            mappedUsers.put(user);
+	            mappedUsers.force();
+	        } catch (IOException e) {
+	            System.err.println("Error storing user: " + e.getMessage());
+	        }
+	        return;
+	    }
+	    if (userLog == null) {
+	        saveHashTableToFile();
+	        return;
+	    }
+	    try {
+	        userLog.append(user);
+	    } catch (IOException e) {
+	        System.err.println("Error logging user: " + e.getMessage());
+	    }
+	}
+	/**
+	 * Opens the registration log and starts its background compactor.
+	 * From now on registrations are appended to {@code users.log}, and the log
+	 * is folded into {@code users.bin} whenever it grows past
+	 * {@link #USER_LOG_COMPACTION_THRESHOLD} bytes.
+	 */
+	public static void openUserLog() {
+	    if (userLog != null) {
+	        return;
+	    }
+	    try {
+	        userLog = UserLog.open(UserLog.defaultPath());
+	        userLog.startCompactor(USER_LOG_COMPACTION_PERIOD, TimeUnit.SECONDS,
+	                USER_LOG_COMPACTION_THRESHOLD, Event::writeUserSnapshot);
+	    } catch (IOException e) {
+	        System.err.println("Error opening user log: " + e.getMessage());
+	    }
+	}
+	/**
+	 * Closes the registration log; later registrations rewrite the snapshot again.
+	 */
+	public static void closeUserLog() {
+	    if (userLog == null) {
+	        return;
+	    }
+	    try {
+	        userLog.close();
+	    } catch (IOException e) {
+	        System.err.println("Error closing user log: " + e.getMessage());
+	    }
+	    userLog = null;
+	}
+	/**
+	 * Opens the memory-mapped user store and switches to mapped mode.
+	 * Opening only maps {@code users.map}, so no user is loaded onto the heap.
+	 * The first time the store is created it is filled once from {@code users.bin}
+	 * and {@code users.log}, sized up front so that the import does not rebuild the table.
+	 */
+	public static void openMappedUserStore() {
+	    if (mappedUsers != null) {
+	        return;
+	    }
+	    MappedUserStore store = null;
+	    try {
+	        store = MappedUserStore.open(MappedUserStore.defaultPath());
+	        if (store.size() == 0) {
+	            importIntoMappedStore(store);
+	        }
+	        mappedUsers = store;
+	    } catch (IOException e) {
+	        System.err.println("Error opening mapped user store: " + e.getMessage());
+	        if (store != null) {
+	            try {
+	                store.close();
+	            } catch (IOException ignored) {
+	            }
+	        }
+	    }
+	}
+	/**
+	 * Copies the users of {@code users.bin} and {@code users.log} into a new mapped store.
+	 *
+	 * @param store The empty mapped store.
+	 * @throws IOException If the files cannot be read or the store cannot be written.
+	 */
+	static void importIntoMappedStore(MappedUserStore store) throws IOException {
+	    try (UserStore.Reader reader = UserStore.Reader.open(UserStore.defaultPath())) {
+	        if (reader != null) {
+	            store.ensureCapacity(reader.recordCount());
+	            User user;
+	            while ((user = reader.next()) != null) {
+	                store.put(user);
+	            }
+	        }
+	    }
+	    final IOException[] failure = new IOException[1];
+	    UserLog.replay(UserLog.defaultPath(), user -> {
+	        try {
+	            store.put(user);
+	        } catch (IOException e) {
+	            failure[0] = e;
+	        }
+	    });
+	    if (failure[0] != null) {
+	        throw failure[0];
+	    }
+	    store.force();
+	}
+	/**
+	 * Closes the memory-mapped user store and leaves mapped mode.
+	 */
+	public static void closeMappedUserStore() {
+	    if (mappedUsers == null) {
+	        return;
+	    }
+	    try {
+	        mappedUsers.close();
+	    } catch (IOException e) {
+	        System.err.println("Error closing mapped user store: " + e.getMessage());
+	    }
+	    mappedUsers = null;
+	}
+	/**
+	 * Imports users in bulk from a CSV or NDJSON file.
+	 * Records are parsed and their passwords hashed in parallel, then registered batch by batch;
+	 * records whose login id is already taken, in the registry or in mapped mode in the mapped
+	 * store, are skipped and listed in the report. Instead of
+	 * one log entry per user, the imported users are made durable with a single snapshot, or
+	 * written into the mapped store and forced once in mapped mode.
+	 *
+	 * @param file The file to import; its format is picked from the file name.
+	 * @param progress Receives a progress report after every batch, or {@code null}.
+	 * @return The import report, or {@code null} if the import failed.
+	 */
+	public static UserImporter.Report importUsers(Path file, Consumer<UserImporter.Report> progress) {
+	    UserImporter importer = new UserImporter(userRegistry, passwordHasher);
+	    importer.setListener(progress);
+	    if (mappedUsers != null) {
+	        importer.setAlreadyRegistered(mappedUsers::contains);
+	    }
+	    final IOException[] failure = new IOException[1];
+	    try {
+	        if (mappedUsers != null) {
+	            mappedUsers.ensureCapacity(mappedUsers.size()
+	                    + (int) Math.min(Integer.MAX_VALUE / 2, Files.size(file) / UserImporter.ESTIMATED_LINE_BYTES));
+	        }
+	        UserImporter.Report report = importer.importFile(file, batch -> {
+	            if (mappedUsers == null) {
+	                return;
+	            }
+	            for (User user : batch) {
+	                if (failure[0] == null) {
+	                    try {
+	                        mappedUsers.put(user);
+	                    } catch (IOException e) {
+	                        failure[0] = e;
+	                    }
+	                }
+	            }
+	        });
+	        if (failure[0] != null) {
+	            throw failure[0];
+	        }
+	        if (mappedUsers != null) {
+	            mappedUsers.force();
+	        } else {
+	            writeUserSnapshot();
+	        }
+	        return report;
+	    } catch (IOException e) {
+	        System.err.println("Error importing users: " + e.getMessage());
+	        return null;
+	    }
+	}
+	/**
+	 * Writes every user in the registry to {@code users.bin}.
+	 *
+	 * @throws IOException If the snapshot cannot be written.
+	 */
+	static void writeUserSnapshot() throws IOException {
+	    synchronized (userLock) {
+	        UserStore.save(UserStore.defaultPath(), userRegistry.users());
+	    }
+	}
 	/**
 	 * Loads the hash table from a file.
-	 * This function reads serialized {@code User} objects from a file and
-	 * adds them back to the hash table. If the file does not exist or an error occurs,
-	 * the function will handle the error gracefully.
+	 * This function streams the records of {@code users.bin} and adds each user
+	 * back to the registry. A missing file, or a file
+	 * written in the old serialization format, simply loads no users.
+	 * Registrations logged in {@code users.log} since the snapshot was written
+	 * are replayed afterwards.
 	 */
 
 	public static void loadHashTableFromFile() {
-	    try (ObjectInputStream in = new ObjectInputStream(new FileInputStream("users.bin"))) {
-	        while (true) {
-	            try {
-	                User newUser = (User) in.readObject();
-	                newUser.next = null;
-	                saveUser(newUser);
-	            } catch (EOFException e) {
-	                // End of file reached, stop reading
-	                break;
-	            } catch (ClassNotFoundException e) {
-
-	                break;
+	    try (UserStore.Reader reader = UserStore.Reader.open(UserStore.defaultPath())) {
+	        if (reader != null) {
+	            User newUser;
+	            while ((newUser = reader.next()) != null) {
+	                userRegistry.put(newUser);
 	            }
 	        }
-	    } catch (FileNotFoundException e) {
-	        e.printStackTrace();
+	        UserLog.replay(UserLog.defaultPath(), userRegistry::put);
 	    } catch (IOException e) {
-	        e.printStackTrace();
+	        System.err.println("Error loading users: " + e.getMessage());
 	    }
 	}
 	/**
 	 * Saves the hash table to a file.
-	 * This function serializes all {@code User} objects stored in the hash table
-	 * and writes them to a binary file. Each user in the hash table is written
-	 * along with their linked list.
+	 * This function writes every user stored in the registry to {@code users.bin}
+	 * using the compact {@link UserStore} record format. The new file replaces the
+	 * old one only after it has been written completely.
 	 */
 	public static void saveHashTableToFile() {
-		// Hash table definition
-		User[] hashTable = new User[TABLE_SIZE];
-	    try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream("users.bin"))) {
-	        for (int i = 0; i < TABLE_SIZE; i++) {
-	            User current = hashTable[i];
-	            while (current != null) {
-	                out.writeObject(current);
-	                current = current.next;
-	            }
-	        }
+	    try {
+	        writeUserSnapshot();
 	    } catch (IOException e) {
+	        System.err.println("Error saving users: " + e.getMessage());
 	    }
 	}
 
 	/**
 	 * Validates the login credentials of a user.
-	 * This function checks if the provided phone number and password match
-	 * any user's credentials stored in the hash table.
+	 * This function looks the phone number up in {@code userRegistry} without
+	 * blocking and checks the provided password with {@link #checkPassword(String, String, String)}. In mapped mode the
+	 * mapped store is probed instead, without creating a {@code User} object.
 	 *
 	 * @param phone The phone number provided by the user.
 	 * @param password The password provided by the user.
@@ -484,17 +893,76 @@ public class Event {
 	    if (phone == null || password == null) {
 	        return false;
 	    }
+	    String stored;
+	    if (mappedUsers != null) {
+	        stored = mappedUsers.password(phone);
+	    } else {
+	        User user = userRegistry.find(phone);
+	        stored = user == null ? null : user.password;
+	    }
+	    return checkPassword(phone, stored, password);
+	}
 
-	    int index = hash(phone);
-		User[] hashTable = new User[TABLE_SIZE];
-	    User current = hashTable[index];
-	    while (current != null) {
-	        if (current.phone.equals(phone) && current.password.equals(password)) {
-	            return true;
+	/**
+	 * Checks a password against the stored password of a user.
+	 * A password verified recently is answered from {@code credentialCache};
+	 * otherwise it is verified with {@link PasswordHasher#verify(String, String)}
+	 * and remembered if it matches. A matching plaintext password from an older file
+	 * is replaced by a hash with {@link #upgradeLegacyPassword(String, String, String)}.
+	 *
+	 * @param loginId The login id of the user.
+	 * @param stored The stored password, or {@code null} if the user does not exist.
+	 * @param password The password provided by the user.
+	 * @return {@code true} if the password matches.
+	 */
+	static boolean checkPassword(String loginId, String stored, String password) {
+	    if (stored == null || password == null) {
+	        return false;
+	    }
+	    if (credentialCache.check(loginId, stored, password)) {
+	        return true;
+	    }
+	    if (!PasswordHasher.verify(password, stored)) {
+	        return false;
+	    }
+	    if (!PasswordHasher.isHashed(stored)) {
+	        String hashed = upgradeLegacyPassword(loginId, stored, password);
+	        if (hashed != null) {
+	            stored = hashed;
 	        }
-	        current = current.next;
 	    }
-	    return false;
+	    credentialCache.remember(loginId, stored, password);
+	    return true;
+	}
+
+	/**
+	 * Replaces a plaintext password kept from an older file with a hash, now that the user has
+	 * proven it, and writes the user back to the mapped store, the log or the snapshot.
+	 *
+	 * @param loginId The login id of the user.
+	 * @param stored The plaintext password that was stored.
+	 * @param password The password the user logged in with.
+	 * @return The new stored hash, or {@code null} if the user is no longer stored with this password.
+	 */
+	static String upgradeLegacyPassword(String loginId, String stored, String password) {
+	    User current = userRegistry.find(loginId);
+	    boolean registered = current != null;
+	    if (current == null && mappedUsers != null) {
+	        current = mappedUsers.get(loginId);
+	    }
+	    if (current == null || !stored.equals(current.password)) {
+	        return null;
+	    }
+	    User upgraded = new User();
+	    upgraded.name = current.name;
+	    upgraded.surname = current.surname;
+	    upgraded.phone = current.phone;
+	    upgraded.password = passwordHasher.hash(password);
+	    if (registered) {
+	        userRegistry.put(upgraded);
+	    }
+	    storeUser(upgraded);
+	    return upgraded.password;
 	}
 
 	/**
@@ -537,11 +1005,23 @@ public class Event {
 	}
 
 	/**
-	 * Builds a Huffman tree for a given string and assigns the generated Huffman codes to an attendee.
-	 * This function calculates the frequency of characters in the string, creates a min-heap to construct
-	 * the Huffman tree, and then generates Huffman codes for the characters in the string.
+	 * Per-thread builder of the canonical codebooks assigned to attendees.
+	 */
+	private static final ThreadLocal<HuffmanCodebook.Builder> codebookBuilder =
+	        ThreadLocal.withInitial(() -> new HuffmanCodebook.Builder(MAX_TREE_NODES));
+	/**
+	 * Per-thread codebook refilled for every attendee, since only its text is kept.
+	 */
+	private static final ThreadLocal<HuffmanCodebook> codebookScratch =
+	        ThreadLocal.withInitial(() -> new HuffmanCodebook(MAX_TREE_NODES));
+
+	/**
+	 * Builds the Huffman code for a given string and assigns the generated Huffman codes to an attendee.
+	 * This function calculates the frequency of characters in the string and builds a canonical
+	 * {@link HuffmanCodebook} from them in flat arrays, without allocating tree nodes.
+	 * The codes are stored as one {@code "c: 0101"} line per character.
 	 *
-	 * @param str The input string for which the Huffman tree is built.
+	 * @param str The input string for which the Huffman code is built.
 	 * @param attendee The {@code Attendeer} object to which the generated Huffman codes are assigned.
 	 */
 	public static void buildHuffmanTree(String str, Attendeer attendee) {
@@ -551,36 +1031,49 @@ public class Event {
 	        freq[(int) str.charAt(i)]++;
 	    }
 
-	    MinHeap minHeap = createMinHeap(MAX_TREE_NODES);
+	    HuffmanCodebook codebook = codebookScratch.get();
+	    codebookBuilder.get().build(freq, codebook);
+
+	    // Assign the Huffman codes to the attendee's huffmanCode
+	    attendee.huffmanCode = codebook.toString();
+	}
+	/**
+	 * Builds a Huffman tree from a table of character frequencies.
+	 * The leaves are heapified at once, and each merge replaces the root of the heap
+	 * instead of inserting a new node, so the tree is built in O(n log n) with one sift per merge.
+	 *
+	 * @param freq The frequency of each character, indexed by character.
+	 * @return The root of the Huffman tree, or {@code null} if every frequency is zero.
+	 */
+	public static MinHeapNode buildHuffmanTree(int[] freq) {
+	    MinHeap minHeap = createMinHeap(Math.max(freq.length, 1));
 
-	    // Create a min-heap for characters with non-zero frequency
-	    for (int i = 0; i < MAX_TREE_NODES; i++) {
+	    // Collect the characters with non-zero frequency and heapify them in one pass
+	    for (int i = 0; i < freq.length; i++) {
 	        if (freq[i] > 0) {
-	            MinHeapNode minHeapNode = createMinHeapNode((char) i, freq[i]);
-	            insertMinHeap(minHeap, minHeapNode);
+	            minHeap.array[minHeap.size++] = createMinHeapNode((char) i, freq[i]);
 	        }
 	    }
+	    if (minHeap.size == 0) {
+	        return null;
+	    }
+	    buildMinHeap(minHeap);
 
 	    // Build the Huffman Tree
-	    while (minHeap.size != 1) {
+	    while (minHeap.size > 1) {
+	        int leftFreq = minHeap.freqs[0];
 	        MinHeapNode left = extractMin(minHeap);
-	        MinHeapNode right = extractMin(minHeap);
+	        MinHeapNode right = minHeap.array[0];
 
-	        MinHeapNode top = createMinHeapNode('$', left.freq + right.freq);
+	        MinHeapNode top = createMinHeapNode('$', leftFreq + minHeap.freqs[0]);
 	        top.left = left;
 	        top.right = right;
 
-	        insertMinHeap(minHeap, top);
+	        replaceMin(minHeap, top);
 	    }
 
 	    // The remaining node is the root of the Huffman Tree
-	    MinHeapNode root = extractMin(minHeap);
-	    char[] huffmanCode = new char[256]; // Buffer to store the generated code
-	    StringBuilder currentCode = new StringBuilder(); // Create a new StringBuilder
-	    generateHuffmanCodes(root, huffmanCode, 0, currentCode); // Pass the StringBuilder
-
-	    // Assign the Huffman codes to the attendee's huffmanCode
-	    attendee.huffmanCode = currentCode.toString(); // Convert StringBuilder to String
+	    return minHeap.array[0];
 	}
 
 	/**
@@ -610,8 +1103,8 @@ public class Event {
 	}
 	/**
 	 * Registers a new user by accepting username and password input.
-	 * The method checks if the username already exists and if not, creates a new user,
-	 * saves the user to the hash table, and adds the user to the HashMap.
+	 * The method creates a new user with a salted hash of the password and registers it
+	 * through {@link #registerUser(User)}, which rejects the username if it already exists.
 	 *
 	 * @param scanner The scanner object used to capture user input.
 	 */
@@ -626,11 +1119,12 @@ public class Event {
 	        newUser.name = username;
 	        newUser.surname = "";
 	        newUser.phone = "";
-	        newUser.password = password;
-
-	        saveUser(newUser);
+	        newUser.password = passwordHasher.hash(password);
 
-	        users.put(username, password);
+	        if (!registerUser(newUser)) {
+	            out.println("Username already exists. Please choose a different one.");
+	            return;
+	        }
 
 	        out.println("Registration successful! You can now log in.");
 	        out.println("Current Hash Table:");
@@ -910,8 +1404,8 @@ public class Event {
 	        out.printf("Index %d: %d\n", i, hashTable[i]);
 	    }
 	}
-	// A simple HashMap to store user data (e.g., username and password)
-    static Map<String, String> users = new HashMap<>();
+	// The usernames and passwords of the registry, as a map
+    static Map<String, String> users = userRegistry.passwords();
 
 	/**
 	 * This method handles the authentication process. It displays a menu allowing the user to either register, log in,
@@ -966,7 +1460,8 @@ public class Event {
     }
 	/**
 	 * This method handles the login process by checking the username and password
-	 * against the stored user credentials in the system.
+	 * against the stored user credentials in the system. Users that are only in the
+	 * mapped store are looked up there, as {@link #validateLogin(String, String)} does.
 	 * If the credentials match, it returns true, otherwise false.
 	 *
 	 * @param scanner The Scanner object to capture user input.
@@ -978,7 +1473,12 @@ public class Event {
         out.print("Enter your password: ");
         String password = scanner.nextLine();
 
-        return users.containsKey(username) && users.get(username).equals(password);
+        User user = userRegistry.find(username);
+        String stored = user == null ? null : user.password;
+        if (stored == null && mappedUsers != null) {
+            stored = mappedUsers.password(username);
+        }
+        return checkPassword(username, stored, password);
     }
 	/**
 	 * This method represents the guest login functionality. It simply prints a message indicating that
@@ -1257,12 +1757,6 @@ public class Event {
      * @param args Command line arguments (not used in this case).
      */
 
-    /**
-     * The maximum number of attendees allowed for an event.
-     * This constant defines the upper limit for the number of attendees that can be added to an event.
-     */
-    public static final int MAX_ATTENDEES = 100;
-
     /**
      * The maximum length allowed for an attendee's name.
      * This constant is used to ensure that attendee names do not exceed the specified character limit.
@@ -1270,21 +1764,17 @@ public class Event {
     public static final int MAX_NAME_LENGTH = 50;
 
     /**
-     * Array to hold the attendees for the event.
-     * The array has a fixed size defined by the MAX_ATTENDEES constant, which limits the total number of attendees.
+     * Columnar store holding the attendees for the event.
+     * The store grows as attendees register, so the number of attendees is not limited.
      */
-
-    static Attendee[] attendees = new Attendee[MAX_ATTENDEES];
-
-    /**
-     * Counter to keep track of the number of attendees.
-     * This variable increments each time a new attendee is added to the attendees array.
-     */
-    static int attendeeCount = 0;
+    static AttendeeStore attendees = new AttendeeStore();
 
     /**
      * The Attendee class represents an attendee of the event with personal details and Huffman code for their name.
      * This class implements the Serializable interface to allow instances of Attendee to be written to a file.
+     * Once {@link Event#compressAttendeeName(Attendee)} has encoded the name, only the packed name and a reference
+     * to the shared {@link AttendeeNameCodec} are written; the plain name and surname are restored when the
+     * attendee is read back. Attendees written before names were compressed can still be read.
      *
      * @serialVersionUID A unique identifier for serialization and deserialization of Attendee objects.
      */
@@ -1301,48 +1791,255 @@ public class Event {
 
         /** The Huffman code corresponding to the attendee's name. */
         String huffmanCode; // Assuming Huffman code is stored as a string
+
+        /** The name and surname packed by {@code nameCodec}, or {@code null} if the name is not compressed. */
+        transient byte[] encodedName;
+
+        /** The model that packed {@code encodedName}. */
+        transient AttendeeNameCodec nameCodec;
+
+        /**
+         * The fields are written by {@link #writeObject(ObjectOutputStream)}, which leaves the plain
+         * name out once it is compressed. Attendees written by earlier versions still carry these fields.
+         */
+        private static final ObjectStreamField[] serialPersistentFields = {};
+
+        /**
+         * Flag set when the name is compressed.
+         */
+        private static final int PACKED = 1;
+
+        /**
+         * Flag set when the Huffman code equals the name and is not written again.
+         */
+        private static final int CODE_IS_NAME = 2;
+
+        /**
+         * Writes the attendee. A compressed name is written as the shared model and the packed bytes;
+         * otherwise the name, the surname and the Huffman code are written as strings.
+         *
+         * @param out The stream to write to.
+         * @throws IOException If the stream cannot be written.
+         */
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            boolean packed = encodedName != null && nameCodec != null && encodedName.length <= 0x7FFF;
+            boolean codeIsName = huffmanCode != null && huffmanCode.equals(nameAttendee);
+            out.writeObject(packed ? nameCodec : null);
+            out.writeByte((packed ? PACKED : 0) | (codeIsName ? CODE_IS_NAME : 0));
+            if (packed) {
+                if (encodedName.length < 0x80) {
+                    out.writeByte(encodedName.length);
+                } else {
+                    out.writeShort(encodedName.length | 0x8000);
+                }
+                out.write(encodedName);
+            } else {
+                out.writeObject(nameAttendee);
+                out.writeObject(surnameAttendee);
+            }
+            if (!codeIsName) {
+                out.writeObject(huffmanCode);
+            }
+        }
+
+        /**
+         * Reads an attendee and decodes its compressed name.
+         *
+         * @param in The stream to read from.
+         * @throws IOException If the stream cannot be read or the name cannot be decoded.
+         * @throws ClassNotFoundException If a class of the stream is missing.
+         */
+        private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+            ObjectInputStream.GetField fields = in.readFields();
+            AttendeeNameCodec codec;
+            try {
+                codec = (AttendeeNameCodec) in.readObject();
+            } catch (OptionalDataException e) {
+                if (!e.eof) {
+                    throw e;
+                }
+                // Written before names were compressed: the plain fields are all there is
+                nameAttendee = (String) fields.get("nameAttendee", null);
+                surnameAttendee = (String) fields.get("surnameAttendee", null);
+                huffmanCode = (String) fields.get("huffmanCode", null);
+                return;
+            }
+            int flags = in.readUnsignedByte();
+            if ((flags & PACKED) != 0) {
+                int length = in.readUnsignedByte();
+                if (length >= 0x80) {
+                    length = (length & 0x7F) << 8 | in.readUnsignedByte();
+                }
+                byte[] data = new byte[length];
+                in.readFully(data);
+                if (codec == null) {
+                    throw new InvalidObjectException("Compressed attendee name without a model");
+                }
+                try {
+                    String[] names = codec.decode(data, 2);
+                    nameAttendee = names[0];
+                    surnameAttendee = names[1];
+                } catch (IllegalArgumentException e) {
+                    throw new InvalidObjectException("Corrupt attendee name: " + e.getMessage());
+                }
+                encodedName = data;
+                nameCodec = codec;
+            } else {
+                nameAttendee = (String) in.readObject();
+                surnameAttendee = (String) in.readObject();
+            }
+            huffmanCode = (flags & CODE_IS_NAME) != 0 ? nameAttendee : (String) in.readObject();
+        }
+    }
+
+    /**
+     * The corpus-wide model used to compress attendee names. Its counts grow as attendees register
+     * and it rebuilds its codec in the background once that is estimated to save space.
+     */
+    static AttendeeNameModel attendeeNameModel = new AttendeeNameModel();
+
+    /**
+     * Recounts {@link #attendeeNameModel} from the names and surnames of all attendees in memory
+     * and rebuilds its codec right away.
+     * Attendees compressed with the previous codec keep it, so they can still be decoded.
+     *
+     * @return The new codec.
+     */
+    public static AttendeeNameCodec updateAttendeeNameModel() {
+        AttendeeNameModel model = attendeeNameModel;
+        model.clear();
+        for (int i = 0; i < attendees.size(); i++) {
+            model.observe(attendees.name(i));
+            model.observe(attendees.surname(i));
+        }
+        return model.rebuild();
     }
 
+    /**
+     * Packs the names of all attendees in memory into one roster, encoding its chunks in parallel
+     * with the current codec of {@link #attendeeNameModel}.
+     * A missing name or surname is stored as an empty string.
+     *
+     * @return The encoded roster.
+     */
+    public static EncodedRoster encodeAttendeeRoster() {
+        AttendeeNameCodec codec = attendeeNameModel.current();
+        if (codec == null) {
+            codec = updateAttendeeNameModel();
+        }
+        int count = attendees.size();
+        String[] names = new String[count];
+        String[] surnames = new String[count];
+        for (int i = 0; i < count; i++) {
+            String name = attendees.name(i);
+            String surname = attendees.surname(i);
+            names[i] = name == null ? "" : name;
+            surnames[i] = surname == null ? "" : surname;
+        }
+        return EncodedRoster.encode(codec, names, surnames);
+    }
 
     /**
-     * Knuth-Morris-Pratt (KMP) search function for finding a pattern in the Huffman code of each attendee.
-     * The function iterates over the attendees and compares their Huffman code with the given pattern.
+     * Searches for a pattern in the Huffman code of each attendee.
+     * The Huffman codes are kept lower-cased in a {@link FoldedNameArena}, which is scanned eight bytes at a time;
+     * {@link #findAttendees(KmpPattern)} gives the same matches with a compiled KMP pattern.
      * If a match is found, the attendee's name is printed.
      * The search is case-insensitive.
      *
      * @param pattern The pattern to search for in the attendees' Huffman codes.
      */
     public static void kmpSearch(String pattern) {
-        // Convert pattern to lowercase to make comparison case-insensitive
-        pattern = pattern.toLowerCase();
+        List<Attendee> matches = scanAttendees(pattern);
+        for (Attendee attendee : matches) {
+            out.printf("Pattern found in Huffman code of attendee: %s %s\n", attendee.nameAttendee, attendee.surnameAttendee);
+        }
 
-        int M = pattern.length();
-        boolean found = false;
+        if (matches.isEmpty()) {
+            out.println("No match found.");
+            // The name may just be misspelled
+            for (Attendee attendee : findSimilarAttendees(pattern, FuzzyNameIndex.defaultDistance(pattern.length()))) {
+                out.printf("Did you mean: %s %s\n", attendee.nameAttendee, attendee.surnameAttendee);
+            }
+        }
+    }
 
-        for (int i = 0; i < attendeeCount; i++) {
-            // Convert attendee's Huffman code to lowercase before comparison
-            String huffmanCode = attendees[i].huffmanCode;
-            int N = huffmanCode.length();
+    /**
+     * Finds the attendees whose Huffman code contains a compiled pattern.
+     * The same pattern can be reused for any number of searches.
+     *
+     * @param pattern The compiled pattern.
+     * @return The matching attendees in registration order.
+     */
+    public static List<Attendee> findAttendees(KmpPattern pattern) {
+        List<Attendee> matches = new ArrayList<>();
+        for (int i = 0; i < attendees.size(); i++) {
+            if (pattern.matches(attendees.huffmanCode(i))) {
+                matches.add(attendees.get(i));
+            }
+        }
+        return matches;
+    }
 
-            int[] lps = new int[M];  // Array for LPS
+    /**
+     * Folded copy of the Huffman codes of {@link #attendees}, or {@code null} until first used.
+     */
+    private static FoldedNameArena attendeeNames;
 
-            computeLPSArray(pattern, M, lps);
+    /**
+     * The attendee store {@link #attendeeNames} was built from.
+     */
+    private static AttendeeStore attendeeNamesSource;
 
-            int j = 0;  // index for pattern
-            for (int k = 0; k < N; k++) {
-                while (j > 0 && pattern.charAt(j) != huffmanCode.charAt(k)) {
-                    j = lps[j - 1];
-                }
+    /**
+     * Brings the folded Huffman codes up to date with the attendees in memory and returns them.
+     * Record {@code i} is the Huffman code of attendee {@code i}; attendees added since the last call are
+     * appended, and the arena is rebuilt only if the attendee store was replaced or holds fewer attendees than it.
+     *
+     * @return The arena.
+     */
+    static FoldedNameArena foldAttendeeNames() {
+        if (attendeeNames == null || attendeeNamesSource != attendees || attendeeNames.size() > attendees.size()) {
+            attendeeNames = new FoldedNameArena();
+            attendeeNamesSource = attendees;
+        }
+        for (int i = attendeeNames.size(); i < attendees.size(); i++) {
+            attendeeNames.add(attendees.huffmanCode(i));
+        }
+        return attendeeNames;
+    }
 
-                if (pattern.charAt(j) == huffmanCode.charAt(k)) {
-                    j++;
-                }
+    /**
+     * Finds the attendees whose Huffman code contains a pattern, using the folded arena.
+     * The search is case-insensitive.
+     *
+     * @param pattern The text to look for.
+     * @return The matching attendees in registration order.
+     */
+    public static List<Attendee> scanAttendees(String pattern) {
+        List<Attendee> matches = new ArrayList<>();
+        foldAttendeeNames().search(pattern, i -> {
+            if (attendees.huffmanCode(i) != null) {
+                matches.add(attendees.get(i));
+            }
+        });
+        return matches;
+    }
 
-                if (j == M) {
-                    out.printf("Pattern found in Huffman code of attendee: %s %s\n", attendees[i].nameAttendee, attendees[i].surnameAttendee);
-                    found = true;
-                    break;
-                }
+    /**
+     * Searches the attendees for many patterns at once and prints every attendee each pattern matches.
+     * Each attendee's name and surname are scanned once, however many patterns there are.
+     * The search is case-insensitive.
+     *
+     * @param patterns The patterns to search for in the attendees' names and surnames.
+     */
+    public static void multiPatternSearch(List<String> patterns) {
+        AhoCorasick automaton = AhoCorasick.compile(patterns);
+        List<List<Attendee>> matches = findAttendees(automaton);
+        boolean found = false;
+        for (int id = 0; id < patterns.size(); id++) {
+            for (Attendee attendee : matches.get(id)) {
+                out.printf("Pattern \"%s\" found in attendee: %s %s\n", patterns.get(id), attendee.nameAttendee, attendee.surnameAttendee);
+                found = true;
             }
         }
 
@@ -1350,6 +2047,131 @@ public class Event {
             out.println("No match found.");
         }
     }
+
+    /**
+     * Finds, for every pattern of an automaton, the attendees whose name or surname contains it.
+     *
+     * @param automaton The compiled patterns.
+     * @return One list per pattern id, each holding the matching attendees once, in registration order.
+     */
+    public static List<List<Attendee>> findAttendees(AhoCorasick automaton) {
+        int patternCount = automaton.patterns().size();
+        List<List<Attendee>> matches = new ArrayList<>(patternCount);
+        for (int id = 0; id < patternCount; id++) {
+            matches.add(new ArrayList<>());
+        }
+        // Index + 1 of the last attendee reported for each pattern, so each is reported once
+        int[] lastReported = new int[patternCount];
+        int[] stamp = new int[1];
+        IntConsumer report = id -> {
+            if (lastReported[id] != stamp[0]) {
+                lastReported[id] = stamp[0];
+                matches.get(id).add(attendees.get(stamp[0] - 1));
+            }
+        };
+        for (int i = 0; i < attendees.size(); i++) {
+            stamp[0] = i + 1;
+            automaton.scan(attendees.name(i), report);
+            automaton.scan(attendees.surname(i), report);
+        }
+        return matches;
+    }
+
+    /**
+     * Trigram index over the names and surnames of {@link #attendees}, or {@code null} until first used.
+     */
+    private static AttendeeTrigramIndex attendeeIndex;
+
+    /**
+     * The attendee store {@link #attendeeIndex} was built from.
+     */
+    private static AttendeeStore attendeeIndexSource;
+
+    /**
+     * Brings the trigram index up to date with the attendees in memory and returns it.
+     * Attendees added since the last call are indexed incrementally; the index is rebuilt
+     * only if the attendee store was replaced or holds fewer attendees than it.
+     *
+     * @return The index.
+     */
+    static AttendeeTrigramIndex indexAttendees() {
+        if (attendeeIndex == null || attendeeIndexSource != attendees || attendeeIndex.size() > attendees.size()) {
+            attendeeIndex = new AttendeeTrigramIndex();
+            attendeeIndexSource = attendees;
+        }
+        for (int i = attendeeIndex.size(); i < attendees.size(); i++) {
+            attendeeIndex.add(i, attendees.name(i), attendees.surname(i));
+        }
+        return attendeeIndex;
+    }
+
+    /**
+     * Finds the attendees whose name or surname contains a query, using the trigram index.
+     * Only the attendees that share every trigram of the query are checked with a compiled KMP pattern;
+     * queries shorter than three characters check every attendee.
+     * The search is case-insensitive.
+     *
+     * @param query The substring to look for.
+     * @return The matching attendees in registration order.
+     */
+    public static List<Attendee> searchAttendees(String query) {
+        int[] candidates = indexAttendees().candidates(query);
+        KmpPattern pattern = KmpPattern.compile(query);
+        List<Attendee> matches = new ArrayList<>();
+        int count = candidates == null ? attendees.size() : candidates.length;
+        for (int c = 0; c < count; c++) {
+            int row = candidates == null ? c : candidates[c];
+            if (pattern.matches(attendees.name(row)) || pattern.matches(attendees.surname(row))) {
+                matches.add(attendees.get(row));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Trie over the names and surnames of {@link #attendees}, or {@code null} until first used.
+     */
+    private static FuzzyNameIndex fuzzyIndex;
+
+    /**
+     * The attendee store {@link #fuzzyIndex} was built from.
+     */
+    private static AttendeeStore fuzzyIndexSource;
+
+    /**
+     * Brings the fuzzy index up to date with the attendees in memory and returns it.
+     * Attendees added since the last call are inserted; the index is rebuilt only if the attendee store
+     * was replaced or holds fewer attendees than it.
+     *
+     * @return The index.
+     */
+    static FuzzyNameIndex fuzzyIndexAttendees() {
+        if (fuzzyIndex == null || fuzzyIndexSource != attendees || fuzzyIndex.size() > attendees.size()) {
+            fuzzyIndex = new FuzzyNameIndex();
+            fuzzyIndexSource = attendees;
+        }
+        for (int i = fuzzyIndex.size(); i < attendees.size(); i++) {
+            fuzzyIndex.add(i, attendees.name(i), attendees.surname(i));
+        }
+        return fuzzyIndex;
+    }
+
+    /**
+     * Finds the attendees whose name or surname is within an edit distance of a possibly misspelled word.
+     * The search is case-insensitive.
+     *
+     * @param query The word to look for.
+     * @param maxDistance The largest number of inserted, deleted or substituted characters allowed.
+     * @return The matching attendees, closest first and then in registration order.
+     */
+    public static List<Attendee> findSimilarAttendees(String query, int maxDistance) {
+        List<Attendee> matches = new ArrayList<>();
+        for (int id : fuzzyIndexAttendees().search(query, maxDistance)) {
+            matches.add(attendees.get(id));
+        }
+        return matches;
+    }
+
     /**
      * Computes the Longest Prefix Suffix (LPS) array for the KMP search algorithm.
      * This array helps in skipping unnecessary comparisons during the search.
@@ -1381,25 +2203,105 @@ public class Event {
     }
 
     /**
-     * Compresses an attendee's name using a simplified version of Huffman coding.
-     * This method assigns the Huffman code (which is simply the name in this case) to the attendee.
+     * Searches the compressed names of the attendees for a pattern without decoding them.
+     * The pattern is encoded once with the current codec and matched on the packed-name column of
+     * {@link #attendees}. Registrations pack only their own rows, with the codec of their session, so
+     * the whole column is packed again here, off the registration path, the first time it is searched
+     * after the model published a new codec.
+     * Unlike {@link #kmpSearch(String)}, the search is case-sensitive.
+     *
+     * @param pattern The pattern to search for in the attendees' names and surnames.
+     * @return The number of attendees found.
+     */
+    public static int searchCompressedNames(String pattern) {
+        AttendeeNameCodec codec = attendeeNameModel.current();
+        if (codec == null) {
+            codec = updateAttendeeNameModel();
+        }
+        attendees.pack(codec);
+        int found = new CompressedNameSearch(codec, pattern).search(attendees, i ->
+                out.printf("Pattern found in compressed name of attendee: %s %s\n", attendees.name(i), attendees.surname(i)));
+        if (found == 0) {
+            out.println("No match found.");
+        }
+        return found;
+    }
+
+    /**
+     * Compresses an attendee's name with the corpus-wide Huffman model.
+     * The name and surname are packed into a bitstream by the current codec of {@link #attendeeNameModel},
+     * which is built from the attendees in memory if no codec exists yet.
+     * The Huffman code field keeps the readable name, which is what {@link #kmpSearch(String)} matches.
+     * {@link AttendeeStore#add(Attendee)} keeps the packed bytes together with their codec,
+     * and {@link AttendeeLog} writes them to {@code attendee.bin}.
      *
      * @param attendee The Attendee object whose name is to be compressed and stored.
      */
     public static void compressAttendeeName(Attendee attendee) {
-        int len = attendee.nameAttendee.length();
-        // Directly store the name for simplicity (as a placeholder for actual Huffman coding)
-        StringBuilder huffmanCode = new StringBuilder(len);
-        for (int i = 0; i < len; i++) {
-            huffmanCode.append(attendee.nameAttendee.charAt(i)); // Directly storing name characters
+        AttendeeNameCodec codec = attendeeNameModel.current();
+        if (codec == null) {
+            codec = updateAttendeeNameModel();
+        }
+        if (attendee.nameAttendee != null && attendee.surnameAttendee != null) {
+            attendee.encodedName = codec.encode(attendee.nameAttendee, attendee.surnameAttendee);
+            attendee.nameCodec = codec;
         }
-        attendee.huffmanCode = huffmanCode.toString(); // Storing Huffman code
+        attendee.huffmanCode = attendee.nameAttendee; // Searchable text of the compressed name
     }
 
 
+    /**
+     * The attendee file kept open while the application runs, or {@code null}.
+     * When it is {@code null} every registration session opens {@code attendee.bin} for its own batch.
+     */
+    static AttendeeLog attendeeLog;
+    /**
+     * The attendee file: {@link AttendeeLog#defaultPath()} unless a caller, such as a test, points it elsewhere.
+     */
+    static Path attendeeFile = AttendeeLog.defaultPath();
+    /**
+     * Streams {@code attendee.bin} into a new attendee store, indexes it, and keeps the file open
+     * for the following registrations. A file in the old serialization format is converted first,
+     * and a registration cut short by a crash is dropped from the end of the file.
+     */
+    public static void loadAttendees() {
+        closeAttendeeLog();
+        AttendeeStore store = new AttendeeStore();
+        try {
+            attendeeLog = AttendeeLog.open(attendeeFile, store);
+        } catch (IOException e) {
+            System.err.println("Error loading attendees: " + e.getMessage());
+            return;
+        }
+        if (attendeeLog.truncatedBytes() > 0) {
+            System.err.println("Recovered attendee file: dropped " + attendeeLog.truncatedBytes()
+                    + " bytes of an unfinished registration");
+        }
+        attendees = store;
+        for (int i = 0; i < store.size(); i++) {
+            attendeeNameModel.observe(store.name(i));
+            attendeeNameModel.observe(store.surname(i));
+        }
+        indexAttendees();
+    }
+    /**
+     * Closes the attendee file; later registration sessions open it for their own batch.
+     */
+    public static void closeAttendeeLog() {
+        if (attendeeLog == null) {
+            return;
+        }
+        try {
+            attendeeLog.close();
+        } catch (IOException e) {
+            System.err.println("Error closing attendee file: " + e.getMessage());
+        }
+        attendeeLog = null;
+    }
     /**
      * Registers a set of attendees by gathering their names and storing them in a binary file.
-     * Each attendee's information is stored along with their Huffman code.
+     * Each attendee's information is stored along with their Huffman code, and the whole
+     * session is appended to {@code attendee.bin} as one batch.
      *
      * @return true if the attendees are successfully registered, false if an invalid number of attendees is provided.
      * @throws IOException If an error occurs while writing to the file.
@@ -1412,78 +2314,62 @@ public class Event {
         scanner.nextLine(); // Clear the buffer after reading the integer
 
         // Validate the number
-        if (count <= 0 || count > MAX_ATTENDEES) {
-            out.printf("Invalid number! Please enter a value between 1 and %d.\n", MAX_ATTENDEES);
+        if (count <= 0) {
+            out.println("Invalid number! Please enter a positive value.");
             return false;
         }
 
-        // Ensure the attendees array is properly initialized
-        if (attendees == null) {
-            attendees = new Attendee[MAX_ATTENDEES]; // Create the array if not already initialized
-        }
-
-        // Prepare to write to the binary file
-        boolean append = new File("attendee.bin").exists();
-        FileOutputStream file = new FileOutputStream("attendee.bin", true);
-        ObjectOutputStream objectOutputStream = append
-            ? new AppendObjectOutputStream(file)
-            : new ObjectOutputStream(file);
-
-        // Loop to gather each attendee's information and write it to the file
+        // Loop to gather each attendee's information
+        Attendee[] batch = new Attendee[count];
         for (int i = 0; i < count; i++) {
             out.printf("Enter the first name of attendee %d: ", i + 1);
-            attendees[attendeeCount] = new Attendee(); // Create a new Attendee object
-            attendees[attendeeCount].nameAttendee = scanner.nextLine();
+            batch[i] = new Attendee(); // Create a new Attendee object
+            batch[i].nameAttendee = scanner.nextLine();
             out.printf("Enter the last name of attendee %d: ", i + 1);
-            attendees[attendeeCount].surnameAttendee = scanner.nextLine();
+            batch[i].surnameAttendee = scanner.nextLine();
+        }
 
-            compressAttendeeName(attendees[attendeeCount]); // Compress the attendee's name and add Huffman code
-            objectOutputStream.writeObject(attendees[attendeeCount]); // Write the object to the file
-            attendeeCount++; // Increment the attendee count
+        // Count the new names; the codec is rebuilt in the background only when that pays off
+        for (Attendee attendee : batch) {
+            attendeeNameModel.observe(attendee.nameAttendee);
+            attendeeNameModel.observe(attendee.surnameAttendee);
+        }
+        if (attendeeNameModel.current() == null) {
+            attendeeNameModel.rebuild();
+        } else {
+            attendeeNameModel.maybeRebuild();
+        }
+        // The store keeps each new row packed with the codec compressAttendeeName used, which goes to the file
+        int first = attendees.size();
+        for (Attendee attendee : batch) {
+            compressAttendeeName(attendee); // Compress the attendee's name and add Huffman code
+            attendees.add(attendee); // Keep the attendee and its packed name in the store
         }
+        indexAttendees(); // Add the batch to the trigram index
 
-        // Close the streams
-        objectOutputStream.close();
-        file.close();
+        // Write the whole batch to the binary file and commit it once
+        if (attendeeLog != null) {
+            attendeeLog.append(attendees, first, attendees.size());
+            attendeeLog.commit();
+        } else {
+            try (AttendeeLog log = AttendeeLog.open(attendeeFile, null)) {
+                log.append(attendees, first, attendees.size());
+                log.commit();
+            }
+        }
 
         out.printf("%d attendees have been registered and stored in binary format.\n", count);
         return true;
     }
-    /**
-     * Custom ObjectOutputStream class for appending objects to an existing stream.
-     * It overrides the writeStreamHeader() method to prevent writing a new header to the file.
-     */
-    static class AppendObjectOutputStream extends ObjectOutputStream {
-        /**
-         * Constructor that initializes the OutputStream.
-         *
-         * @param out The OutputStream to which objects will be written.
-         * @throws IOException If an I/O error occurs while creating the ObjectOutputStream.
-         */
-        public AppendObjectOutputStream(OutputStream out) throws IOException {
-            super(out);
-        }
-        /**
-         * Overrides the writeStreamHeader method to prevent writing a new header when appending objects.
-         * This ensures that the header is not written repeatedly when appending to the file.
-         */
-        @Override
-        protected void writeStreamHeader() throws IOException {
-            // Prevent writing a new header
-        }
-    }
-
-
-
     /**
      * Prints all registered attendees along with their Huffman codes.
      * Iterates through all attendees and displays their details.
      */
     public static void printAttendees() {
         out.println("\nRegistered Attendees:");
-        for (int i = 0; i < attendeeCount; i++) {
+        for (int i = 0; i < attendees.size(); i++) {
             out.printf("Name: %s, Surname: %s, Huffman Code: %s\n",
-                attendees[i].nameAttendee, attendees[i].surnameAttendee, attendees[i].huffmanCode);
+                attendees.name(i), attendees.surname(i), attendees.huffmanCode(i));
         }
     }
 
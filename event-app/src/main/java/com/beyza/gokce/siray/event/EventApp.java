@@ -13,6 +13,8 @@ package com.beyza.gokce.siray.event;
 
 import java.util.Arrays;
 import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.Scanner;
 
 /**
@@ -35,18 +37,47 @@ public class EventApp {
      * 
      * <p>Workflow:</p>
      * <ol>
-     *   <li>Loads event data from a file using the {@link Event#loadHashTableFromFile()} method.</li>
+     *   <li>Enables the name and surname indexes of {@link Event#userRegistry}, so they are filled while users load.</li>
+     *   <li>Loads the user snapshot and replays the registration log using the {@link Event#loadHashTableFromFile()} method,
+     *       or, when started with {@code --mapped}, maps the user store using the {@link Event#openMappedUserStore()} method.</li>
+     *   <li>Opens the registration log for new users using the {@link Event#openUserLog()} method (not in mapped mode).</li>
+     *   <li>Loads the registered attendees from {@code attendee.bin} using the {@link Event#loadAttendees()} method.</li>
+     *   <li>Imports the file given with {@code --import <file>} using the {@link Event#importUsers(Path, java.util.function.Consumer)} method.</li>
      *   <li>Displays the main menu using the {@link Event#mainMenu()} method for user interactions.</li>
+     *   <li>Closes the registration log or the mapped user store, and the attendee file.</li>
      * </ol>1
      * 
-     * @param args Command-line arguments (not utilized in this application).
+     * @param args Command-line arguments; {@code --mapped} selects the memory-mapped user store and
+     *             {@code --import <file>} imports users from a CSV or NDJSON file.
      */
     public static void main(String[] args) {
         Scanner scanner = new Scanner(System.in); // Kullanıcı girişini okuyacak
         PrintStream out = System.out; // Konsola çıktı gönderecek
 
         Event event = new Event(scanner, out);
-        Event.loadHashTableFromFile(); 
+        Event.userRegistry.enableNameIndexes();
+        boolean mapped = Arrays.asList(args).contains("--mapped");
+        if (mapped) {
+            Event.openMappedUserStore();
+        } else {
+            Event.loadHashTableFromFile(); 
+            Event.openUserLog();
+        }
+        Event.loadAttendees();
+        int importAt = Arrays.asList(args).indexOf("--import");
+        if (importAt >= 0 && importAt + 1 < args.length) {
+            UserImporter.Report report = Event.importUsers(Paths.get(args[importAt + 1]),
+                    progress -> out.println("Imported " + progress.imported() + " of " + progress.records() + " records..."));
+            if (report != null) {
+                out.println("Import finished: " + report);
+                for (String duplicate : report.duplicateSamples()) {
+                    out.println("  duplicate " + duplicate);
+                }
+            }
+        }
         Event.mainMenu(); 
+        Event.closeUserLog();
+        Event.closeMappedUserStore();
+        Event.closeAttendeeLog();
     }
 }
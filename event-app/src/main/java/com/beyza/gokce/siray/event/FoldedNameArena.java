@@ -0,0 +1,202 @@
+/**
+ * @file FoldedNameArena.java
+ * @brief This file contains the lower-cased byte copy of the attendee names used by the desk search.
+ * @details The names are folded once when they are added, so a case-insensitive search compares bytes
+ *          directly and looks for candidate positions eight bytes at a time.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * @class FoldedNameArena
+ * @brief Contiguous arena of case-folded UTF-8 texts with a word-at-a-time substring search.
+ * @details Every text is folded one character at a time with {@link CaseFold}, as
+ *          {@link KmpPattern} does, encoded as UTF-8 and appended to one growing {@code byte[]};
+ *          {@code starts[r]} is the offset of record {@code r} and {@code starts[r + 1]} its end.
+ *          A pattern is folded and encoded the same way, and because UTF-8 is self-synchronizing a
+ *          byte match is a character match.
+ *
+ *          The search picks the pattern byte that is rarest in the arena, using a byte histogram kept
+ *          while appending, and finds its next occurrence with a SWAR scan: eight arena bytes are read
+ *          as one little-endian {@code long}, XORed with the byte repeated eight times, and the lowest
+ *          zero byte of the result is found with the classic {@code (x - 0x01..) & ~x & 0x80..} test.
+ *          Every candidate is then compared eight bytes at a time. The scalar search does the same
+ *          one byte at a time and is kept as the fallback for the tail of the arena and as a baseline.
+ *          Characters that cannot be encoded, such as lone surrogates, become {@code '?'} on both sides.
+ *
+ *          The arena is not thread-safe.
+ */
+public final class FoldedNameArena {
+
+	private static final long ONES = 0x0101010101010101L;
+	private static final long HIGHS = 0x8080808080808080L;
+
+	private byte[] arena = new byte[1024];
+	private int[] starts = new int[65];
+	private int size;
+	private final long[] histogram = new long[256];
+
+	/**
+	 * Returns the number of records.
+	 *
+	 * @return The number of texts added.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of bytes used by the folded texts.
+	 *
+	 * @return The size of the arena content.
+	 */
+	public int byteSize() {
+		return starts[size];
+	}
+
+	/**
+	 * Appends a text as the next record.
+	 *
+	 * @param text The text to add; {@code null} adds an empty record.
+	 * @return The record number.
+	 */
+	public int add(String text) {
+		byte[] folded = text == null ? new byte[0] : fold(text);
+		int start = starts[size];
+		// Keep eight spare bytes so a word read starting in the content never leaves the array
+		if (start + folded.length + 8 > arena.length) {
+			arena = Arrays.copyOf(arena, Math.max(arena.length * 2, start + folded.length + 8));
+		}
+		if (size + 2 > starts.length) {
+			starts = Arrays.copyOf(starts, starts.length * 2);
+		}
+		System.arraycopy(folded, 0, arena, start, folded.length);
+		for (byte b : folded) {
+			histogram[b & 0xFF]++;
+		}
+		starts[size + 1] = start + folded.length;
+		return size++;
+	}
+
+	/**
+	 * Reports every record that contains a pattern, ignoring case.
+	 *
+	 * @param pattern The text to look for.
+	 * @param records Receives each matching record once, in increasing order.
+	 */
+	public void search(String pattern, IntConsumer records) {
+		search(fold(pattern), records, true);
+	}
+
+	/**
+	 * Same as {@link #search(String, IntConsumer)} but finds the candidates one byte at a time.
+	 */
+	void searchScalar(String pattern, IntConsumer records) {
+		search(fold(pattern), records, false);
+	}
+
+	private void search(byte[] pattern, IntConsumer records, boolean swar) {
+		int m = pattern.length;
+		if (m == 0) {
+			for (int r = 0; r < size; r++) {
+				records.accept(r);
+			}
+			return;
+		}
+		// Look for the rarest pattern byte, k bytes into the pattern
+		int k = 0;
+		for (int i = 1; i < m; i++) {
+			if (histogram[pattern[i] & 0xFF] < histogram[pattern[k] & 0xFF]) {
+				k = i;
+			}
+		}
+		byte b = pattern[k];
+		if (histogram[b & 0xFF] == 0) {
+			return;
+		}
+		long[] words = new long[m / 8];
+		ByteBuffer patternBuffer = ByteBuffer.wrap(pattern).order(ByteOrder.LITTLE_ENDIAN);
+		for (int w = 0; w < words.length; w++) {
+			words[w] = patternBuffer.getLong(w * 8);
+		}
+		ByteBuffer buffer = ByteBuffer.wrap(arena).order(ByteOrder.LITTLE_ENDIAN);
+		int end = starts[size];
+		// The candidate byte of a match starting at s is at s + k, and a match must end by the arena end
+		int limit = end - m + k + 1;
+		int record = 0;
+		int p = k;
+		while (p < limit) {
+			p = swar ? nextSwar(buffer, b, p, limit) : nextScalar(b, p, limit);
+			if (p < 0) {
+				return;
+			}
+			int s = p - k;
+			while (starts[record + 1] <= s) {
+				record++;
+			}
+			if (s + m <= starts[record + 1] && matches(buffer, pattern, words, s)) {
+				records.accept(record);
+				// Each record is reported once, so continue with the next one
+				p = starts[record + 1] + k;
+			} else {
+				p++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the first position at or after {@code from} and before {@code limit} that holds {@code b}, or {@code -1}.
+	 */
+	private int nextSwar(ByteBuffer buffer, byte b, int from, int limit) {
+		long repeated = (b & 0xFFL) * ONES;
+		int p = from;
+		while (p < limit && p + 8 <= arena.length) {
+			long x = buffer.getLong(p) ^ repeated;
+			long zeros = (x - ONES) & ~x & HIGHS;
+			if (zeros != 0) {
+				// Only bytes above a true zero can be flagged wrongly, so the lowest flag is exact
+				int found = p + (Long.numberOfTrailingZeros(zeros) >>> 3);
+				return found < limit ? found : -1;
+			}
+			p += 8;
+		}
+		return nextScalar(b, p, limit);
+	}
+
+	private int nextScalar(byte b, int from, int limit) {
+		for (int p = from; p < limit; p++) {
+			if (arena[p] == b) {
+				return p;
+			}
+		}
+		return -1;
+	}
+
+	private boolean matches(ByteBuffer buffer, byte[] pattern, long[] words, int start) {
+		for (int w = 0; w < words.length; w++) {
+			if (buffer.getLong(start + w * 8) != words[w]) {
+				return false;
+			}
+		}
+		for (int i = words.length * 8; i < pattern.length; i++) {
+			if (arena[start + i] != pattern[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static byte[] fold(String text) {
+		return new String(CaseFold.fold(text)).getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,266 @@
+/**
+ * @file FuzzyNameIndex.java
+ * @brief This file contains the typo-tolerant index of attendee names and surnames.
+ * @details A trie over the distinct names and surnames is walked with one row of the Levenshtein table
+ *          per character, so a misspelled query only visits the prefixes that can still be close to it.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * @class FuzzyNameIndex
+ * @brief Case-insensitive trie from words to attendee ids, searched by Levenshtein distance.
+ * @details Every distinct lower-cased word ends at one trie node, which holds the ids of the attendees
+ *          using it. Nodes are kept in parallel arrays, with the children of a node in a sibling list.
+ *
+ *          A search walks the trie depth first and keeps, for the prefix spelled by the current node,
+ *          the row of the Levenshtein table between that prefix and every prefix of the query. The row
+ *          of a child follows from its parent's row and the child's character, which is what a
+ *          Levenshtein automaton for the query computes. A node ending a word matches when the last
+ *          cell of its row is within the allowed distance, and its subtree is skipped as soon as every
+ *          cell of the row exceeds it, since appending characters never lowers the row minimum.
+ *
+ *          The index is not thread-safe.
+ */
+public final class FuzzyNameIndex {
+
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private char[] label = new char[INITIAL_CAPACITY];
+	private int[] firstChild = new int[INITIAL_CAPACITY];
+	private int[] nextSibling = new int[INITIAL_CAPACITY];
+	/**
+	 * Word ending at each node, or {@code -1}.
+	 */
+	private int[] word = new int[INITIAL_CAPACITY];
+	private int nodeCount = 1;
+
+	private int[][] ids = new int[INITIAL_CAPACITY][];
+	private int[] idCount = new int[INITIAL_CAPACITY];
+	private int wordCount;
+	private int maxLength;
+	private int size;
+
+	/**
+	 * Creates an empty index.
+	 */
+	public FuzzyNameIndex() {
+		firstChild[0] = -1;
+		nextSibling[0] = -1;
+		word[0] = -1;
+	}
+
+	/**
+	 * Returns the edit distance allowed for a query of the given length: one typo up to four characters, two beyond.
+	 *
+	 * @param length The length of the query.
+	 * @return The maximum distance.
+	 */
+	public static int defaultDistance(int length) {
+		return length <= 4 ? 1 : 2;
+	}
+
+	/**
+	 * Returns one more than the highest id added.
+	 *
+	 * @return The number of attendees indexed.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the number of distinct words.
+	 *
+	 * @return The number of words in the trie.
+	 */
+	public int wordCount() {
+		return wordCount;
+	}
+
+	/**
+	 * Adds an attendee.
+	 *
+	 * @param id The attendee's id; it must be at least {@link #size()}.
+	 * @param fields The words to index, for example the name and the surname; {@code null} and empty fields are skipped.
+	 * @throws IllegalArgumentException If the id is smaller than an id already added.
+	 */
+	public void add(int id, String... fields) {
+		if (id < size) {
+			throw new IllegalArgumentException("Attendee " + id + " added after " + (size - 1));
+		}
+		size = id + 1;
+		for (String field : fields) {
+			if (field != null && !field.isEmpty()) {
+				append(insert(field), id);
+			}
+		}
+	}
+
+	/**
+	 * Finds the attendees with a name or surname within an edit distance of a query, ignoring case.
+	 *
+	 * @param query The possibly misspelled word.
+	 * @param maxDistance The largest number of inserted, deleted or substituted characters allowed.
+	 * @return The ids ordered by the distance of their closest word, then in increasing order; each id appears once.
+	 */
+	public int[] search(String query, int maxDistance) {
+		if (wordCount == 0 || maxDistance < 0) {
+			return new int[0];
+		}
+		char[] q = CaseFold.fold(query);
+		int m = q.length;
+		// Matching words, bucketed by distance
+		int[][] found = new int[maxDistance + 1][8];
+		int[] foundCount = new int[maxDistance + 1];
+		// rows[d] is the Levenshtein row of the node being visited at depth d
+		int[][] rows = new int[maxLength + 1][m + 1];
+		for (int i = 0; i <= m; i++) {
+			rows[0][i] = i;
+		}
+		int[] stack = new int[32];
+		int[] depths = new int[32];
+		int top = 0;
+		for (int child = firstChild[0]; child >= 0; child = nextSibling[child]) {
+			if (top == stack.length) {
+				stack = Arrays.copyOf(stack, top * 2);
+				depths = Arrays.copyOf(depths, top * 2);
+			}
+			stack[top] = child;
+			depths[top++] = 1;
+		}
+		while (top > 0) {
+			int node = stack[--top];
+			int depth = depths[top];
+			int[] previous = rows[depth - 1];
+			int[] row = rows[depth];
+			char c = label[node];
+			row[0] = depth;
+			int min = depth;
+			for (int i = 1; i <= m; i++) {
+				int cost = previous[i - 1] + (q[i - 1] == c ? 0 : 1);
+				int value = Math.min(Math.min(previous[i] + 1, row[i - 1] + 1), cost);
+				row[i] = value;
+				min = Math.min(min, value);
+			}
+			if (word[node] >= 0 && row[m] <= maxDistance) {
+				int d = row[m];
+				if (foundCount[d] == found[d].length) {
+					found[d] = Arrays.copyOf(found[d], found[d].length * 2);
+				}
+				found[d][foundCount[d]++] = word[node];
+			}
+			if (min > maxDistance) {
+				continue;
+			}
+			for (int child = firstChild[node]; child >= 0; child = nextSibling[child]) {
+				if (top == stack.length) {
+					stack = Arrays.copyOf(stack, top * 2);
+					depths = Arrays.copyOf(depths, top * 2);
+				}
+				stack[top] = child;
+				depths[top++] = depth + 1;
+			}
+		}
+		return collect(found, foundCount);
+	}
+
+	/**
+	 * Merges the ids of the matching words, closest first, keeping each id once.
+	 */
+	private int[] collect(int[][] found, int[] foundCount) {
+		BitSet seen = new BitSet(size);
+		int[] result = new int[0];
+		int resultSize = 0;
+		for (int d = 0; d < found.length; d++) {
+			int total = 0;
+			for (int i = 0; i < foundCount[d]; i++) {
+				total += idCount[found[d][i]];
+			}
+			int[] matches = new int[total];
+			int count = 0;
+			for (int i = 0; i < foundCount[d]; i++) {
+				int w = found[d][i];
+				System.arraycopy(ids[w], 0, matches, count, idCount[w]);
+				count += idCount[w];
+			}
+			Arrays.sort(matches);
+			result = Arrays.copyOf(result, resultSize + count);
+			for (int id : matches) {
+				if (!seen.get(id)) {
+					seen.set(id);
+					result[resultSize++] = id;
+				}
+			}
+		}
+		return resultSize == result.length ? result : Arrays.copyOf(result, resultSize);
+	}
+
+	/**
+	 * Returns the number of a word, adding it to the trie if it is new.
+	 */
+	private int insert(String text) {
+		char[] chars = CaseFold.fold(text);
+		int node = 0;
+		for (char c : chars) {
+			int child = firstChild[node];
+			while (child >= 0 && label[child] != c) {
+				child = nextSibling[child];
+			}
+			if (child < 0) {
+				child = newNode(c);
+				nextSibling[child] = firstChild[node];
+				firstChild[node] = child;
+			}
+			node = child;
+		}
+		if (word[node] < 0) {
+			if (wordCount == ids.length) {
+				ids = Arrays.copyOf(ids, wordCount * 2);
+				idCount = Arrays.copyOf(idCount, wordCount * 2);
+			}
+			ids[wordCount] = new int[2];
+			word[node] = wordCount++;
+			maxLength = Math.max(maxLength, chars.length);
+		}
+		return word[node];
+	}
+
+	private int newNode(char c) {
+		if (nodeCount == label.length) {
+			int capacity = nodeCount * 2;
+			label = Arrays.copyOf(label, capacity);
+			firstChild = Arrays.copyOf(firstChild, capacity);
+			nextSibling = Arrays.copyOf(nextSibling, capacity);
+			word = Arrays.copyOf(word, capacity);
+		}
+		int node = nodeCount++;
+		label[node] = c;
+		firstChild[node] = -1;
+		nextSibling[node] = -1;
+		word[node] = -1;
+		return node;
+	}
+
+	/**
+	 * Adds an id to a word once, even if both fields of the attendee are the same word.
+	 */
+	private void append(int w, int id) {
+		int count = idCount[w];
+		if (count > 0 && ids[w][count - 1] == id) {
+			return;
+		}
+		if (count == ids[w].length) {
+			ids[w] = Arrays.copyOf(ids[w], count * 2);
+		}
+		ids[w][count] = id;
+		idCount[w] = count + 1;
+	}
+}
@@ -0,0 +1,442 @@
+/**
+ * @file HuffmanCodebook.java
+ * @brief This file contains the canonical Huffman codebook and its allocation-free builder.
+ * @details Code lengths are computed in flat arrays instead of a tree of {@code MinHeapNode}s,
+ *          and codes are assigned canonically, so a codebook is fully described by its lengths.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.Arrays;
+
+/**
+ * @class HuffmanCodebook
+ * @brief Canonical Huffman code for an alphabet of {@code char} symbols.
+ * @details For each symbol the codebook holds its code as the low {@code length} bits of an
+ *          {@code int}, most significant bit first, and its length as a {@code byte}; symbols that
+ *          do not occur have length {@code 0}. Codes are canonical: shorter codes come first and
+ *          codes of equal length increase with the symbol, as in DEFLATE. Code lengths never exceed
+ *          {@link #MAX_CODE_LENGTH}, so every code fits in a table lookup.
+ *
+ *          A codebook is immutable once built, except through {@link Builder#build(int[], HuffmanCodebook)},
+ *          which refills it so a caller can reuse one codebook for many inputs.
+ */
+public final class HuffmanCodebook {
+
+	/**
+	 * The longest code the builder assigns.
+	 */
+	public static final int MAX_CODE_LENGTH = 16;
+
+	/**
+	 * Code of each symbol, right-aligned.
+	 */
+	final int[] codes;
+	/**
+	 * Code length of each symbol in bits, {@code 0} for symbols that do not occur.
+	 */
+	final byte[] lengths;
+	/**
+	 * Number of symbols with a code.
+	 */
+	private int symbolCount;
+	/**
+	 * Length of the longest code.
+	 */
+	private int maxLength;
+
+	/**
+	 * Creates an empty codebook.
+	 *
+	 * @param alphabetSize The number of symbols, for example {@code Event.MAX_TREE_NODES}.
+	 */
+	public HuffmanCodebook(int alphabetSize) {
+		codes = new int[alphabetSize];
+		lengths = new byte[alphabetSize];
+	}
+
+	/**
+	 * Rebuilds the canonical codebook that has the given code lengths.
+	 *
+	 * @param lengths The code length of each symbol, as returned by {@link #length(int)}.
+	 * @return The codebook.
+	 * @throws IllegalArgumentException If the lengths do not form a prefix code of at most {@link #MAX_CODE_LENGTH} bits.
+	 */
+	public static HuffmanCodebook fromLengths(byte[] lengths) {
+		HuffmanCodebook codebook = new HuffmanCodebook(lengths.length);
+		long kraft = 0;
+		for (int symbol = 0; symbol < lengths.length; symbol++) {
+			int length = lengths[symbol];
+			if (length < 0 || length > MAX_CODE_LENGTH) {
+				throw new IllegalArgumentException("Invalid code length " + length + " for symbol " + symbol);
+			}
+			if (length > 0) {
+				kraft += 1L << (MAX_CODE_LENGTH - length);
+			}
+			codebook.lengths[symbol] = (byte) length;
+		}
+		if (kraft > 1L << MAX_CODE_LENGTH) {
+			throw new IllegalArgumentException("Code lengths do not form a prefix code");
+		}
+		codebook.assignCodes(new int[MAX_CODE_LENGTH + 1], new int[MAX_CODE_LENGTH + 1]);
+		return codebook;
+	}
+
+	/**
+	 * Assigns canonical codes from {@link #lengths} and updates the statistics.
+	 *
+	 * @param lengthCounts Scratch array of {@code MAX_CODE_LENGTH + 1} counters.
+	 * @param nextCodes Scratch array of {@code MAX_CODE_LENGTH + 1} codes.
+	 */
+	private void assignCodes(int[] lengthCounts, int[] nextCodes) {
+		Arrays.fill(lengthCounts, 0);
+		int count = 0;
+		int longest = 0;
+		for (int symbol = 0; symbol < lengths.length; symbol++) {
+			int length = lengths[symbol];
+			if (length != 0) {
+				lengthCounts[length]++;
+				count++;
+				longest = Math.max(longest, length);
+			}
+		}
+		int code = 0;
+		for (int length = 1; length <= MAX_CODE_LENGTH; length++) {
+			code = (code + lengthCounts[length - 1]) << 1;
+			nextCodes[length] = code;
+		}
+		for (int symbol = 0; symbol < lengths.length; symbol++) {
+			int length = lengths[symbol];
+			codes[symbol] = length == 0 ? 0 : nextCodes[length]++;
+		}
+		symbolCount = count;
+		maxLength = longest;
+	}
+
+	/**
+	 * Builds the codebook for a frequency table.
+	 * Use a {@link Builder} instead when building many codebooks.
+	 *
+	 * @param freq The frequency of each symbol, indexed by symbol.
+	 * @return The codebook.
+	 */
+	public static HuffmanCodebook of(int[] freq) {
+		return new Builder(freq.length).build(freq);
+	}
+
+	/**
+	 * Returns the number of symbols of the alphabet.
+	 *
+	 * @return The alphabet size.
+	 */
+	public int alphabetSize() {
+		return codes.length;
+	}
+
+	/**
+	 * Returns the number of symbols that have a code.
+	 *
+	 * @return The number of coded symbols.
+	 */
+	public int symbolCount() {
+		return symbolCount;
+	}
+
+	/**
+	 * Returns the length of the longest code.
+	 *
+	 * @return The length in bits, {@code 0} for an empty codebook.
+	 */
+	public int maxLength() {
+		return maxLength;
+	}
+
+	/**
+	 * Returns the code of a symbol.
+	 *
+	 * @param symbol The symbol.
+	 * @return The code in the low {@link #length(int)} bits.
+	 */
+	public int code(int symbol) {
+		return codes[symbol];
+	}
+
+	/**
+	 * Returns the code length of a symbol.
+	 *
+	 * @param symbol The symbol.
+	 * @return The length in bits, {@code 0} if the symbol has no code.
+	 */
+	public int length(int symbol) {
+		return lengths[symbol];
+	}
+
+	/**
+	 * Returns the number of bits needed to encode symbols with the given frequencies.
+	 *
+	 * @param freq The frequency of each symbol.
+	 * @return The encoded size in bits.
+	 */
+	public long encodedBits(int[] freq) {
+		long bits = 0;
+		for (int i = 0; i < freq.length; i++) {
+			bits += (long) freq[i] * lengths[i];
+		}
+		return bits;
+	}
+
+	/**
+	 * Encodes byte symbols into a bitstream, most significant bit first, padded with zeros to a whole byte.
+	 *
+	 * @param symbols The symbols.
+	 * @param offset The index of the first symbol.
+	 * @param count The number of symbols.
+	 * @return The bitstream.
+	 * @throws IllegalArgumentException If a symbol has no code.
+	 */
+	public byte[] encode(byte[] symbols, int offset, int count) {
+		return encode(codes, lengths, symbols, offset, count);
+	}
+
+	/**
+	 * Encodes byte symbols with an arbitrary prefix code.
+	 *
+	 * @param codes The code of each symbol, right-aligned.
+	 * @param lengths The code length of each symbol.
+	 * @param symbols The symbols.
+	 * @param offset The index of the first symbol.
+	 * @param count The number of symbols.
+	 * @return The bitstream.
+	 * @throws IllegalArgumentException If a symbol has no code.
+	 */
+	static byte[] encode(int[] codes, byte[] lengths, byte[] symbols, int offset, int count) {
+		long bits = 0;
+		for (int i = offset; i < offset + count; i++) {
+			int length = lengths[symbols[i] & 0xFF];
+			if (length == 0) {
+				throw new IllegalArgumentException("Symbol " + (symbols[i] & 0xFF) + " has no code");
+			}
+			bits += length;
+		}
+		byte[] out = new byte[(int) ((bits + 7) >>> 3)];
+		int pos = 0;
+		long acc = 0;
+		int pending = 0;
+		for (int i = offset; i < offset + count; i++) {
+			int symbol = symbols[i] & 0xFF;
+			acc = acc << lengths[symbol] | codes[symbol];
+			pending += lengths[symbol];
+			while (pending >= 8) {
+				pending -= 8;
+				out[pos++] = (byte) (acc >>> pending);
+			}
+		}
+		if (pending > 0) {
+			out[pos] = (byte) (acc << (8 - pending));
+		}
+		return out;
+	}
+
+	/**
+	 * Appends one {@code "c: 0101"} line per coded symbol, in symbol order.
+	 *
+	 * @param text The builder to append to.
+	 * @return {@code text}.
+	 */
+	public StringBuilder appendTo(StringBuilder text) {
+		for (int symbol = 0; symbol < lengths.length; symbol++) {
+			int length = lengths[symbol];
+			if (length == 0) {
+				continue;
+			}
+			text.append((char) symbol).append(": ");
+			for (int bit = length - 1; bit >= 0; bit--) {
+				text.append((codes[symbol] >>> bit & 1) == 0 ? '0' : '1');
+			}
+			text.append('\n');
+		}
+		return text;
+	}
+
+	@Override
+	public String toString() {
+		return appendTo(new StringBuilder()).toString();
+	}
+
+	/**
+	 * @class Builder
+	 * @brief Computes canonical codebooks with preallocated scratch arrays.
+	 * @details Symbols are sorted by frequency in a {@code long[]} and code lengths are computed in
+	 *          place with the algorithm of Moffat and Katajainen, which needs no tree and no heap.
+	 *          Apart from the codebook itself, building allocates nothing. A builder is not
+	 *          thread-safe; give each thread its own.
+	 */
+	public static final class Builder {
+
+		/**
+		 * Frequency and symbol of each coded symbol, then the in-place Huffman work area.
+		 */
+		private final long[] work;
+		/**
+		 * Symbol at each position of {@code work}.
+		 */
+		private final int[] symbols;
+		/**
+		 * Number of codes of each length.
+		 */
+		private final int[] lengthCounts = new int[MAX_CODE_LENGTH + 1];
+		/**
+		 * Next code of each length during canonical assignment.
+		 */
+		private final int[] nextCodes = new int[MAX_CODE_LENGTH + 1];
+
+		/**
+		 * Creates a builder.
+		 *
+		 * @param alphabetSize The number of symbols of the codebooks to build.
+		 */
+		public Builder(int alphabetSize) {
+			work = new long[alphabetSize];
+			symbols = new int[alphabetSize];
+		}
+
+		/**
+		 * Builds a new codebook.
+		 *
+		 * @param freq The frequency of each symbol, indexed by symbol.
+		 * @return The codebook.
+		 */
+		public HuffmanCodebook build(int[] freq) {
+			HuffmanCodebook codebook = new HuffmanCodebook(work.length);
+			build(freq, codebook);
+			return codebook;
+		}
+
+		/**
+		 * Refills a codebook for a frequency table without allocating.
+		 *
+		 * @param freq The frequency of each symbol, indexed by symbol.
+		 * @param into The codebook to overwrite; its alphabet must be as large as the builder's.
+		 */
+		public void build(int[] freq, HuffmanCodebook into) {
+			if (freq.length > work.length || into.codes.length < freq.length) {
+				throw new IllegalArgumentException("Alphabet of " + freq.length + " symbols does not fit");
+			}
+			Arrays.fill(into.codes, 0);
+			Arrays.fill(into.lengths, (byte) 0);
+			int n = 0;
+			for (int symbol = 0; symbol < freq.length; symbol++) {
+				if (freq[symbol] > 0) {
+					work[n++] = (long) freq[symbol] << 32 | symbol;
+				}
+			}
+			into.symbolCount = n;
+			into.maxLength = 0;
+			if (n == 0) {
+				return;
+			}
+			Arrays.sort(work, 0, n);
+			for (int i = 0; i < n; i++) {
+				symbols[i] = (int) work[i];
+				work[i] >>>= 32;
+			}
+			computeLengths(n);
+			limitLengths(n);
+			assignCodes(n, into);
+		}
+
+		/**
+		 * Replaces the ascending frequencies in {@code work[0..n)} by their optimal code lengths.
+		 */
+		private void computeLengths(int n) {
+			long[] a = work;
+			if (n == 1) {
+				a[0] = 1;
+				return;
+			}
+			// First pass: combine the two smallest weights, leaving parent positions behind
+			a[0] += a[1];
+			int root = 0;
+			int leaf = 2;
+			for (int next = 1; next < n - 1; next++) {
+				if (leaf >= n || a[root] < a[leaf]) {
+					a[next] = a[root];
+					a[root++] = next;
+				} else {
+					a[next] = a[leaf++];
+				}
+				if (leaf >= n || (root < next && a[root] < a[leaf])) {
+					a[next] += a[root];
+					a[root++] = next;
+				} else {
+					a[next] += a[leaf++];
+				}
+			}
+			// Second pass: depth of every internal node
+			a[n - 2] = 0;
+			for (int next = n - 3; next >= 0; next--) {
+				a[next] = a[(int) a[next]] + 1;
+			}
+			// Third pass: depth of every leaf
+			int available = 1;
+			int used = 0;
+			int depth = 0;
+			root = n - 2;
+			int next = n - 1;
+			while (available > 0) {
+				while (root >= 0 && a[root] == depth) {
+					used++;
+					root--;
+				}
+				while (available > used) {
+					a[next--] = depth;
+					available--;
+				}
+				available = 2 * used;
+				depth++;
+				used = 0;
+			}
+		}
+
+		/**
+		 * Shortens codes longer than {@link #MAX_CODE_LENGTH} and lengthens the longest remaining
+		 * codes of the rarest symbols until the lengths again form a prefix code.
+		 */
+		private void limitLengths(int n) {
+			long[] a = work;
+			if (a[0] <= MAX_CODE_LENGTH) {
+				return;
+			}
+			long kraft = 0;
+			for (int i = 0; i < n; i++) {
+				if (a[i] > MAX_CODE_LENGTH) {
+					a[i] = MAX_CODE_LENGTH;
+				}
+				kraft += 1L << (MAX_CODE_LENGTH - a[i]);
+			}
+			int i = 0;
+			while (kraft > 1L << MAX_CODE_LENGTH) {
+				while (a[i] == MAX_CODE_LENGTH) {
+					i++;
+				}
+				a[i]++;
+				kraft -= 1L << (MAX_CODE_LENGTH - a[i]);
+				i = 0;
+			}
+		}
+
+		/**
+		 * Assigns canonical codes from the lengths in {@code work[0..n)}.
+		 */
+		private void assignCodes(int n, HuffmanCodebook into) {
+			for (int i = 0; i < n; i++) {
+				into.lengths[symbols[i]] = (byte) work[i];
+			}
+			into.assignCodes(lengthCounts, nextCodes);
+		}
+	}
+}
@@ -0,0 +1,482 @@
+/**
+ * @file HuffmanDecoder.java
+ * @brief This file contains the table-driven Huffman decoder.
+ * @details Codes are resolved with one lookup in a primary table of 8 to 12 bits, which may yield
+ *          several short symbols at once, and a second lookup in a secondary table for longer codes.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import com.beyza.gokce.siray.event.Event.MinHeapNode;
+
+/**
+ * @class HuffmanDecoder
+ * @brief Decodes a most-significant-bit-first Huffman bitstream from a {@code ByteBuffer}.
+ * @details The decoder accepts any prefix code of at most {@link HuffmanCodebook#MAX_CODE_LENGTH}
+ *          bits, canonical or not, so it decodes both {@link HuffmanCodebook} output and the codes of
+ *          a tree from {@code Event.buildHuffmanTree}.
+ *
+ *          Each step loads the next 64 bits of the stream with one {@code getLong} and indexes the
+ *          primary table with the top {@code primaryBits} bits. A primary entry holds up to three
+ *          symbols whose codes fit in those bits together, their total length, or a pointer to a
+ *          secondary table for codes longer than {@code primaryBits}. Entry layout:
+ *          bits 0-3 hold the bits consumed (or the secondary table width), bits 4-5 the number of
+ *          symbols ({@code 0} for a pointer) and the remaining bits the symbols (or the table offset).
+ *          An entry of {@code 0} marks a bit pattern that is not a code. Stop symbols, such as an
+ *          escape that is followed by raw bits, always end an entry, so a caller decoding window by
+ *          window with {@link #decodeWindow(long, int[])} can act on them before the next lookup.
+ *
+ *          A decoder is immutable and may be shared between threads.
+ */
+public final class HuffmanDecoder {
+
+	/**
+	 * Primary table width used when no other is given.
+	 */
+	public static final int DEFAULT_PRIMARY_BITS = 11;
+
+	/**
+	 * Narrowest primary table.
+	 */
+	public static final int MIN_PRIMARY_BITS = 8;
+
+	/**
+	 * Widest primary table.
+	 */
+	public static final int MAX_PRIMARY_BITS = 12;
+
+	/**
+	 * Most symbols stored in one primary entry.
+	 */
+	static final int MAX_SYMBOLS_PER_ENTRY = 3;
+
+	private final int primaryBits;
+	private final int symbolBits;
+	private final int symbolMask;
+	private final byte[] lengths;
+	private final int[] primary;
+	private final int[] secondary;
+
+	/**
+	 * Creates a decoder for a codebook with a {@link #DEFAULT_PRIMARY_BITS}-bit primary table.
+	 *
+	 * @param codebook The codebook.
+	 */
+	public HuffmanDecoder(HuffmanCodebook codebook) {
+		this(codebook, DEFAULT_PRIMARY_BITS);
+	}
+
+	/**
+	 * Creates a decoder for a codebook.
+	 *
+	 * @param codebook The codebook.
+	 * @param primaryBits The width of the primary table, {@link #MIN_PRIMARY_BITS} to {@link #MAX_PRIMARY_BITS}.
+	 */
+	public HuffmanDecoder(HuffmanCodebook codebook, int primaryBits) {
+		this(codebook.codes, codebook.lengths, primaryBits);
+	}
+
+	/**
+	 * Creates a decoder for an arbitrary prefix code.
+	 *
+	 * @param codes The code of each symbol, right-aligned.
+	 * @param lengths The code length of each symbol, {@code 0} for symbols without a code.
+	 * @param primaryBits The width of the primary table, {@link #MIN_PRIMARY_BITS} to {@link #MAX_PRIMARY_BITS}.
+	 * @throws IllegalArgumentException If a code is too long or the codes are not prefix-free.
+	 */
+	public HuffmanDecoder(int[] codes, byte[] lengths, int primaryBits) {
+		this(codes, lengths, primaryBits, null);
+	}
+
+	/**
+	 * Creates a decoder for a codebook whose entries end after any of the given symbols.
+	 *
+	 * @param codebook The codebook.
+	 * @param primaryBits The width of the primary table, {@link #MIN_PRIMARY_BITS} to {@link #MAX_PRIMARY_BITS}.
+	 * @param stopSymbols The symbols after which an entry ends.
+	 */
+	HuffmanDecoder(HuffmanCodebook codebook, int primaryBits, int... stopSymbols) {
+		this(codebook.codes, codebook.lengths, primaryBits, stopSymbols);
+	}
+
+	/**
+	 * Creates a decoder for an arbitrary prefix code.
+	 *
+	 * @param codes The code of each symbol, right-aligned.
+	 * @param lengths The code length of each symbol, {@code 0} for symbols without a code.
+	 * @param primaryBits The width of the primary table, {@link #MIN_PRIMARY_BITS} to {@link #MAX_PRIMARY_BITS}.
+	 * @param stopSymbols The symbols after which an entry ends, or {@code null} for none.
+	 * @throws IllegalArgumentException If a code is too long or the codes are not prefix-free.
+	 */
+	private HuffmanDecoder(int[] codes, byte[] lengths, int primaryBits, int[] stopSymbols) {
+		if (primaryBits < MIN_PRIMARY_BITS || primaryBits > MAX_PRIMARY_BITS) {
+			throw new IllegalArgumentException("Primary table must have 8 to 12 bits: " + primaryBits);
+		}
+		this.primaryBits = primaryBits;
+		this.symbolBits = Math.max(1, 32 - Integer.numberOfLeadingZeros(lengths.length - 1));
+		this.symbolMask = (1 << symbolBits) - 1;
+		this.lengths = lengths.clone();
+		int[] single = new int[1 << primaryBits];
+		this.secondary = buildSecondary(codes, lengths, single);
+		boolean[] stop = new boolean[lengths.length];
+		if (stopSymbols != null) {
+			for (int symbol : stopSymbols) {
+				stop[symbol] = true;
+			}
+		}
+		this.primary = combine(single, stop);
+	}
+
+	/**
+	 * Creates a decoder for the codes of a Huffman tree, as assigned by {@code Event.generateHuffmanCodes}:
+	 * {@code 0} for a left branch and {@code 1} for a right branch. A tree that is a single leaf gets the code {@code 0}.
+	 *
+	 * @param root The root of the tree.
+	 * @param alphabetSize The number of symbols; every leaf's {@code data} must be smaller.
+	 * @param primaryBits The width of the primary table.
+	 * @return The decoder.
+	 * @throws IllegalArgumentException If the tree is deeper than {@link HuffmanCodebook#MAX_CODE_LENGTH}.
+	 */
+	public static HuffmanDecoder fromTree(MinHeapNode root, int alphabetSize, int primaryBits) {
+		int[] codes = new int[alphabetSize];
+		byte[] lengths = new byte[alphabetSize];
+		if (root.left == null && root.right == null) {
+			lengths[root.data] = 1;
+		} else {
+			collect(root, 0, 0, codes, lengths);
+		}
+		return new HuffmanDecoder(codes, lengths, primaryBits);
+	}
+
+	private static void collect(MinHeapNode node, int code, int depth, int[] codes, byte[] lengths) {
+		if (node.left == null && node.right == null) {
+			codes[node.data] = code;
+			lengths[node.data] = (byte) depth;
+			return;
+		}
+		if (depth == HuffmanCodebook.MAX_CODE_LENGTH) {
+			throw new IllegalArgumentException("Huffman tree is deeper than " + HuffmanCodebook.MAX_CODE_LENGTH);
+		}
+		if (node.left != null) {
+			collect(node.left, code << 1, depth + 1, codes, lengths);
+		}
+		if (node.right != null) {
+			collect(node.right, code << 1 | 1, depth + 1, codes, lengths);
+		}
+	}
+
+	/**
+	 * Fills the single-symbol primary entries and builds the secondary tables.
+	 *
+	 * @return The secondary tables, one after another.
+	 */
+	private int[] buildSecondary(int[] codes, byte[] lengths, int[] single) {
+		// Width of the secondary table behind each primary prefix
+		int[] widths = new int[single.length];
+		for (int symbol = 0; symbol < lengths.length; symbol++) {
+			int length = lengths[symbol];
+			if (length > HuffmanCodebook.MAX_CODE_LENGTH) {
+				throw new IllegalArgumentException("Code of symbol " + symbol + " is longer than " + HuffmanCodebook.MAX_CODE_LENGTH);
+			}
+			if (length > primaryBits) {
+				int prefix = codes[symbol] >>> (length - primaryBits);
+				widths[prefix] = Math.max(widths[prefix], length - primaryBits);
+			}
+		}
+		int size = 0;
+		for (int prefix = 0; prefix < single.length; prefix++) {
+			if (widths[prefix] > 0) {
+				single[prefix] = size << 6 | widths[prefix];
+				size += 1 << widths[prefix];
+			}
+		}
+		int[] tables = new int[size];
+		for (int symbol = 0; symbol < lengths.length; symbol++) {
+			int length = lengths[symbol];
+			if (length == 0) {
+				continue;
+			}
+			int code = codes[symbol];
+			if (length <= primaryBits) {
+				fill(single, code << (primaryBits - length), 1 << (primaryBits - length), symbol << 6 | 1 << 4 | length);
+			} else {
+				int prefix = code >>> (length - primaryBits);
+				int pointer = single[prefix];
+				if ((pointer >>> 4 & 3) != 0) {
+					throw new IllegalArgumentException("Codes are not prefix-free");
+				}
+				int width = pointer & 15;
+				int rest = length - primaryBits;
+				int suffix = code & ((1 << rest) - 1);
+				fill(tables, (pointer >>> 6) + (suffix << (width - rest)), 1 << (width - rest), symbol << 6 | 1 << 4 | rest);
+			}
+		}
+		return tables;
+	}
+
+	private static void fill(int[] table, int from, int count, int entry) {
+		for (int i = from; i < from + count; i++) {
+			if (table[i] != 0) {
+				throw new IllegalArgumentException("Codes are not prefix-free");
+			}
+			table[i] = entry;
+		}
+	}
+
+	/**
+	 * Extends each single-symbol primary entry with the symbols that follow it within the primary bits,
+	 * up to the first stop symbol.
+	 */
+	private int[] combine(int[] single, boolean[] stop) {
+		int perEntry = Math.min(MAX_SYMBOLS_PER_ENTRY, (32 - 6) / symbolBits);
+		int mask = single.length - 1;
+		int[] table = Arrays.copyOf(single, single.length);
+		for (int index = 0; index < table.length; index++) {
+			int entry = single[index];
+			if ((entry >>> 4 & 3) == 0) {
+				continue;
+			}
+			int used = entry & 15;
+			int symbols = entry >>> 6;
+			int count = 1;
+			int last = symbols;
+			while (count < perEntry && !stop[last]) {
+				int next = single[(index << used) & mask];
+				int length = next & 15;
+				if ((next >>> 4 & 3) == 0 || used + length > primaryBits) {
+					break;
+				}
+				last = next >>> 6;
+				symbols |= (next >>> 6) << (count * symbolBits);
+				used += length;
+				count++;
+			}
+			table[index] = symbols << 6 | count << 4 | used;
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the width of the primary table.
+	 *
+	 * @return The number of bits resolved by one primary lookup.
+	 */
+	public int primaryBits() {
+		return primaryBits;
+	}
+
+	/**
+	 * Decodes the codes at the start of a bit window with one primary lookup, and a secondary one for a long code.
+	 *
+	 * @param bits The next 64 bits of the stream, most significant bit first.
+	 * @param out Receives up to {@link #MAX_SYMBOLS_PER_ENTRY} symbols; a stop symbol is always the last.
+	 * @return The number of bits consumed shifted left by 2, or'ed with the number of symbols.
+	 * @throws IllegalArgumentException If the bits do not start with a code.
+	 */
+	int decodeWindow(long bits, int[] out) {
+		int entry = primary[(int) (bits >>> (64 - primaryBits))];
+		int count = entry >>> 4 & 3;
+		if (count == 0) {
+			int sub = secondaryEntry(entry, bits);
+			out[0] = sub >>> 6;
+			return (primaryBits + (sub & 15)) << 2 | 1;
+		}
+		int packed = entry >>> 6;
+		out[0] = packed & symbolMask;
+		out[1] = packed >>> symbolBits & symbolMask;
+		out[2] = packed >>> (2 * symbolBits) & symbolMask;
+		return (entry & 15) << 2 | count;
+	}
+
+	/**
+	 * Decodes the first code of a bit window.
+	 *
+	 * @param bits The next 64 bits of the stream, most significant bit first.
+	 * @return The symbol shifted left by 5, or'ed with its code length.
+	 * @throws IllegalArgumentException If the bits do not start with a code.
+	 */
+	int decodeOne(long bits) {
+		int entry = primary[(int) (bits >>> (64 - primaryBits))];
+		int symbol = (entry & 0x30) != 0 ? entry >>> 6 & symbolMask : secondaryEntry(entry, bits) >>> 6;
+		return symbol << 5 | lengths[symbol];
+	}
+
+	/**
+	 * Decodes symbols starting at the buffer's position. Afterwards the position is just past
+	 * the byte that holds the last bit read.
+	 *
+	 * @param in The bitstream.
+	 * @param out Receives the symbols.
+	 * @param offset The index of the first symbol in {@code out}.
+	 * @param count The number of symbols to decode.
+	 * @return The number of bits read.
+	 * @throws IllegalArgumentException If the stream contains a bit pattern that is not a code.
+	 * @throws BufferUnderflowException If the stream ends before {@code count} symbols.
+	 */
+	public long decode(ByteBuffer in, int[] out, int offset, int count) {
+		ByteBuffer src = bigEndian(in);
+		int base = in.position();
+		int limit = in.limit();
+		int shift = 64 - primaryBits;
+		int end = offset + count;
+		int pos = offset;
+		long bitPos = 0;
+		// Fast path: a whole entry fits in out and a whole long can be read
+		long safe = ((long) limit - base - 8) * 8;
+		int fastEnd = end - MAX_SYMBOLS_PER_ENTRY;
+		while (pos <= fastEnd && bitPos <= safe) {
+			long bits = src.getLong(base + (int) (bitPos >>> 3)) << (bitPos & 7);
+			int entry = primary[(int) (bits >>> shift)];
+			if ((entry & 0x30) != 0) {
+				int packed = entry >>> 6;
+				out[pos] = packed & symbolMask;
+				out[pos + 1] = packed >>> symbolBits & symbolMask;
+				out[pos + 2] = packed >>> (2 * symbolBits) & symbolMask;
+				pos += entry >>> 4 & 3;
+				bitPos += entry & 15;
+			} else {
+				int sub = secondaryEntry(entry, bits);
+				out[pos++] = sub >>> 6;
+				bitPos += primaryBits + (sub & 15);
+			}
+		}
+		while (pos < end) {
+			long bits = peek(src, base, limit, bitPos);
+			int entry = primary[(int) (bits >>> shift)];
+			int symbols = entry >>> 4 & 3;
+			if (symbols != 0 && symbols <= end - pos) {
+				int packed = entry >>> 6;
+				for (int i = 0; i < symbols; i++) {
+					out[pos++] = packed & symbolMask;
+					packed >>>= symbolBits;
+				}
+				bitPos += entry & 15;
+			} else if (symbols != 0) {
+				int symbol = entry >>> 6 & symbolMask;
+				out[pos++] = symbol;
+				bitPos += lengths[symbol];
+			} else {
+				int sub = secondaryEntry(entry, bits);
+				out[pos++] = sub >>> 6;
+				bitPos += primaryBits + (sub & 15);
+			}
+		}
+		return finish(in, base, limit, bitPos);
+	}
+
+	/**
+	 * Decodes byte symbols starting at the buffer's position; the alphabet must have at most 256 symbols.
+	 *
+	 * @param in The bitstream.
+	 * @param out Receives the symbols.
+	 * @param offset The index of the first symbol in {@code out}.
+	 * @param count The number of symbols to decode.
+	 * @return The number of bits read.
+	 * @throws IllegalArgumentException If the stream contains a bit pattern that is not a code.
+	 * @throws BufferUnderflowException If the stream ends before {@code count} symbols.
+	 */
+	public long decode(ByteBuffer in, byte[] out, int offset, int count) {
+		if (symbolBits > 8) {
+			throw new IllegalStateException("Alphabet of " + lengths.length + " symbols does not fit in bytes");
+		}
+		ByteBuffer src = bigEndian(in);
+		int base = in.position();
+		int limit = in.limit();
+		int shift = 64 - primaryBits;
+		int end = offset + count;
+		int pos = offset;
+		long bitPos = 0;
+		// Fast path: a whole entry fits in out and a whole long can be read
+		long safe = ((long) limit - base - 8) * 8;
+		int fastEnd = end - MAX_SYMBOLS_PER_ENTRY;
+		while (pos <= fastEnd && bitPos <= safe) {
+			long bits = src.getLong(base + (int) (bitPos >>> 3)) << (bitPos & 7);
+			int entry = primary[(int) (bits >>> shift)];
+			if ((entry & 0x30) != 0) {
+				int packed = entry >>> 6;
+				out[pos] = (byte) packed;
+				out[pos + 1] = (byte) (packed >>> symbolBits);
+				out[pos + 2] = (byte) (packed >>> (2 * symbolBits));
+				pos += entry >>> 4 & 3;
+				bitPos += entry & 15;
+			} else {
+				int sub = secondaryEntry(entry, bits);
+				out[pos++] = (byte) (sub >>> 6);
+				bitPos += primaryBits + (sub & 15);
+			}
+		}
+		while (pos < end) {
+			long bits = peek(src, base, limit, bitPos);
+			int entry = primary[(int) (bits >>> shift)];
+			int symbols = entry >>> 4 & 3;
+			if (symbols != 0 && symbols <= end - pos) {
+				int packed = entry >>> 6;
+				for (int i = 0; i < symbols; i++) {
+					out[pos++] = (byte) packed;
+					packed >>>= symbolBits;
+				}
+				bitPos += entry & 15;
+			} else if (symbols != 0) {
+				int symbol = entry >>> 6 & symbolMask;
+				out[pos++] = (byte) symbol;
+				bitPos += lengths[symbol];
+			} else {
+				int sub = secondaryEntry(entry, bits);
+				out[pos++] = (byte) (sub >>> 6);
+				bitPos += primaryBits + (sub & 15);
+			}
+		}
+		return finish(in, base, limit, bitPos);
+	}
+
+	private int secondaryEntry(int pointer, long bits) {
+		int width = pointer & 15;
+		int sub = width == 0 ? 0 : secondary[(pointer >>> 6) + (int) (bits << primaryBits >>> (64 - width))];
+		if (sub == 0) {
+			throw new IllegalArgumentException("Invalid Huffman code in stream");
+		}
+		return sub;
+	}
+
+	/**
+	 * Returns a big-endian view of a buffer, so {@code getLong} reads the bits in stream order.
+	 */
+	private static ByteBuffer bigEndian(ByteBuffer in) {
+		return in.order() == ByteOrder.BIG_ENDIAN ? in : in.duplicate().order(ByteOrder.BIG_ENDIAN);
+	}
+
+	/**
+	 * Returns the 64 bits of the stream starting at a bit offset, zero-padded past the limit.
+	 */
+	private static long peek(ByteBuffer in, int base, int limit, long bitPos) {
+		int index = base + (int) (bitPos >>> 3);
+		long word;
+		if (index + 8 <= limit) {
+			word = in.getLong(index);
+		} else {
+			word = 0;
+			for (int i = 0; i < 8; i++) {
+				word = word << 8 | (index + i < limit ? in.get(index + i) & 0xFF : 0);
+			}
+		}
+		return word << (bitPos & 7);
+	}
+
+	private static long finish(ByteBuffer in, int base, int limit, long bitPos) {
+		long bytes = (bitPos + 7) >>> 3;
+		if (base + bytes > limit) {
+			throw new BufferUnderflowException();
+		}
+		in.position(base + (int) bytes);
+		return bitPos;
+	}
+}
@@ -0,0 +1,126 @@
+/**
+ * @file KmpPattern.java
+ * @brief This file contains the compiled Knuth-Morris-Pratt pattern used by the attendee search.
+ * @details The failure table of a pattern is built once and reused for every text it is matched
+ *          against, instead of once per attendee.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+/**
+ * @class KmpPattern
+ * @brief A search pattern with its precomputed Knuth-Morris-Pratt failure table.
+ * @details {@code failure[j]} is the length of the longest proper prefix of the first {@code j + 1}
+ *          pattern characters that is also their suffix, as filled by {@code Event.computeLPSArray}.
+ *          A case-insensitive pattern folds both its own characters and the text's characters with
+ *          {@link CaseFold} one at a time, so neither the pattern nor the text is
+ *          copied and their lengths always agree.
+ *
+ *          A pattern is immutable and may be shared between threads and reused for any number of
+ *          searches.
+ */
+public final class KmpPattern {
+
+	private final char[] pattern;
+	private final int[] failure;
+	private final boolean ignoreCase;
+
+	private KmpPattern(char[] pattern, boolean ignoreCase) {
+		this.pattern = pattern;
+		this.ignoreCase = ignoreCase;
+		this.failure = new int[pattern.length];
+		int length = 0;
+		for (int i = 1; i < pattern.length; i++) {
+			while (length > 0 && pattern[i] != pattern[length]) {
+				length = failure[length - 1];
+			}
+			if (pattern[i] == pattern[length]) {
+				length++;
+			}
+			failure[i] = length;
+		}
+	}
+
+	/**
+	 * Compiles a case-insensitive pattern.
+	 *
+	 * @param pattern The text to look for.
+	 * @return The compiled pattern.
+	 */
+	public static KmpPattern compile(String pattern) {
+		return compile(pattern, true);
+	}
+
+	/**
+	 * Compiles a pattern.
+	 *
+	 * @param pattern The text to look for.
+	 * @param ignoreCase Whether letters match regardless of case.
+	 * @return The compiled pattern.
+	 */
+	public static KmpPattern compile(String pattern, boolean ignoreCase) {
+		return new KmpPattern(ignoreCase ? CaseFold.fold(pattern) : pattern.toCharArray(), ignoreCase);
+	}
+
+	/**
+	 * Returns the number of characters of the pattern.
+	 *
+	 * @return The length.
+	 */
+	public int length() {
+		return pattern.length;
+	}
+
+	/**
+	 * Returns the failure table. The array is shared, not copied.
+	 *
+	 * @return The failure table.
+	 */
+	int[] failure() {
+		return failure;
+	}
+
+	/**
+	 * Returns the index of the first occurrence of the pattern in a text.
+	 *
+	 * @param text The text to search; {@code null} never matches.
+	 * @return The index of the first matching character, or {@code -1} if the pattern does not occur.
+	 */
+	public int indexOf(CharSequence text) {
+		if (text == null) {
+			return -1;
+		}
+		int m = pattern.length;
+		if (m == 0) {
+			return 0;
+		}
+		int j = 0;
+		for (int k = 0, n = text.length(); k < n; k++) {
+			char c = text.charAt(k);
+			if (ignoreCase) {
+				c = CaseFold.fold(c);
+			}
+			while (j > 0 && pattern[j] != c) {
+				j = failure[j - 1];
+			}
+			if (pattern[j] == c && ++j == m) {
+				return k - m + 1;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Tells whether a text contains the pattern.
+	 *
+	 * @param text The text to search; {@code null} never matches.
+	 * @return {@code true} if the pattern occurs in the text.
+	 */
+	public boolean matches(CharSequence text) {
+		return indexOf(text) >= 0;
+	}
+}
@@ -0,0 +1,788 @@
+/**
+ * @file MappedUserStore.java
+ * @brief This file contains the memory-mapped user store with an on-disk hash index.
+ * @details The store keeps every user in a fixed-size slot of an open-addressing table that lives
+ *          in {@code users.map}. Opening the store only maps the file, so startup does not depend
+ *          on the number of users, and logins probe the mapped pages without creating {@code User} objects.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+ * @class MappedUserStore
+ * @brief Persistent, memory-mapped hash table of users keyed by login id.
+ * @details Layout of the file, all integers big-endian:
+ *          <pre>
+ *          header : magic "EVUM" (int) | version (short) | flags (short) | slot bits (int) | count (int) | padding up to 64 bytes
+ *          slot   : state (byte) | phone, password, name, surname lengths (4 bytes) | checksum (3 bytes)
+ *                   | login id hash (int) | phone, password, name, surname UTF-8 bytes
+ *          </pre>
+ *          The login id is the one {@link UserRegistry#loginId(User)} uses: the phone number, or the name
+ *          of a user without one, so users registered without a phone number get slots of their own.
+ *          There are {@code 1 << slotBits} slots of {@link #SLOT_SIZE} bytes, probed linearly from
+ *          {@link UserIndex#hashOf(CharSequence)}. The checksum is the low 24 bits of the CRC32 of the
+ *          lengths, the hash and the field bytes. The pages of a slot reach the disk in no particular
+ *          order, so a crash while a slot is written can leave it half old and half new; such a torn
+ *          slot fails its checksum, is never returned and is reused by the next insertion that probes
+ *          it. When the table would pass {@link UserIndex#MAX_LOAD_FACTOR} it is rebuilt twice as large
+ *          in a temporary file that then replaces the store, once both files are unmapped and closed.
+ */
+public final class MappedUserStore implements Closeable {
+
+	/**
+	 * Magic number at the start of every mapped user file ("EVUM").
+	 */
+	static final int MAGIC = 0x4556554D;
+
+	/**
+	 * Current version of the file format. Version 1 slots had no checksum.
+	 */
+	static final int VERSION = 2;
+
+	/**
+	 * Size of the file header in bytes.
+	 */
+	static final int HEADER_SIZE = 64;
+
+	/**
+	 * Size of one slot in bytes.
+	 */
+	static final int SLOT_SIZE = 256;
+
+	/**
+	 * Number of bytes of a slot available for the four field values.
+	 */
+	static final int SLOT_DATA_SIZE = SLOT_SIZE - 12;
+
+	/**
+	 * Number of slots of a new store, as a power of two.
+	 */
+	static final int DEFAULT_SLOT_BITS = 10;
+
+	/**
+	 * Largest number of slots a store may have, as a power of two.
+	 */
+	static final int MAX_SLOT_BITS = 30;
+
+	/**
+	 * Number of slots mapped by one buffer, as a power of two (256 MiB per buffer).
+	 */
+	static final int SEGMENT_SHIFT = 20;
+
+	/**
+	 * Field length that marks a {@code null} value.
+	 */
+	static final int NULL_FIELD = 0xFF;
+
+	private static final int SLOT_BITS_OFFSET = 8;
+	private static final int COUNT_OFFSET = 12;
+	private static final byte EMPTY = 0;
+	private static final byte USED = 1;
+	private static final int LENGTHS_OFFSET = 1;
+	private static final int CHECKSUM_OFFSET = 5;
+	private static final int CHECKSUM_MASK = 0xFFFFFF;
+	private static final int HASH_OFFSET = 8;
+	private static final int DATA_OFFSET = 12;
+
+	/**
+	 * {@code sun.misc.Unsafe.invokeCleaner}, which unmaps a buffer on Java 9 and later, or {@code null}.
+	 */
+	private static final Method INVOKE_CLEANER;
+	/**
+	 * The {@code sun.misc.Unsafe} instance {@link #INVOKE_CLEANER} is called on.
+	 */
+	private static final Object UNSAFE;
+
+	static {
+		Method invokeCleaner = null;
+		Object unsafe = null;
+		try {
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+			invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+			theUnsafe.setAccessible(true);
+			unsafe = theUnsafe.get(null);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// Before Java 9 the mappings are released by the garbage collector.
+			invokeCleaner = null;
+		}
+		INVOKE_CLEANER = invokeCleaner;
+		UNSAFE = unsafe;
+	}
+
+	/**
+	 * The file that holds the store.
+	 */
+	private final Path path;
+	/**
+	 * The open channel of the file; its mappings stay valid after a rebuild renames the file.
+	 */
+	private FileChannel channel;
+	/**
+	 * The mapped header.
+	 */
+	private MappedByteBuffer header;
+	/**
+	 * The mapped slots, {@code 1 << SEGMENT_SHIFT} slots per buffer.
+	 */
+	private MappedByteBuffer[] segments;
+	/**
+	 * Number of slots, as a power of two.
+	 */
+	private int slotBits;
+	/**
+	 * Number of used slots.
+	 */
+	private int count;
+	/**
+	 * Number of used slots above which the table is rebuilt larger.
+	 */
+	private long threshold;
+	/**
+	 * Reused to compute slot checksums.
+	 */
+	private final CRC32 crc = new CRC32();
+
+	private MappedUserStore(Path path) {
+		this.path = path;
+	}
+
+	/**
+	 * Returns the default location of the store.
+	 *
+	 * @return The path {@code users.map} in the working directory.
+	 */
+	public static Path defaultPath() {
+		return Paths.get("users.map");
+	}
+
+	/**
+	 * Opens a store, creating an empty one if the file does not exist or is empty.
+	 * Only the header is read; the slots are paged in on demand.
+	 *
+	 * @param path The file of the store.
+	 * @return The opened store.
+	 * @throws IOException If the file cannot be mapped or is not a mapped user store.
+	 */
+	public static MappedUserStore open(Path path) throws IOException {
+		MappedUserStore store = new MappedUserStore(path);
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			if (channel.size() == 0) {
+				store.attach(channel, DEFAULT_SLOT_BITS, true);
+			} else {
+				if (channel.size() < HEADER_SIZE) {
+					throw new IOException("Not a mapped user store: " + path);
+				}
+				ByteBuffer head = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+				int bits = head.getInt(SLOT_BITS_OFFSET);
+				if (head.getInt(0) != MAGIC || bits < 1 || bits > MAX_SLOT_BITS
+						|| channel.size() < HEADER_SIZE + ((long) SLOT_SIZE << bits)) {
+					throw new IOException("Not a mapped user store: " + path);
+				}
+				int version = head.getShort(4) & 0xFFFF;
+				if (version < 1 || version > VERSION) {
+					throw new IOException("Unsupported mapped user store version " + version);
+				}
+				store.attach(channel, bits, false);
+				if (version == 1) {
+					store.upgrade();
+				}
+			}
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		return store;
+	}
+
+	/**
+	 * Maps a channel as the backing file of this store.
+	 *
+	 * @param channel The channel of the file.
+	 * @param bits The number of slots, as a power of two.
+	 * @param initialize Whether to write a fresh header.
+	 * @throws IOException If the file cannot be mapped.
+	 */
+	private void attach(FileChannel channel, int bits, boolean initialize) throws IOException {
+		MappedByteBuffer newHeader = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE);
+		MappedByteBuffer[] newSegments = mapSlots(channel, bits);
+		if (initialize) {
+			newHeader.putInt(0, MAGIC);
+			newHeader.putShort(4, (short) VERSION);
+			newHeader.putShort(6, (short) 0);
+			newHeader.putInt(SLOT_BITS_OFFSET, bits);
+			newHeader.putInt(COUNT_OFFSET, 0);
+		}
+		this.channel = channel;
+		this.header = newHeader;
+		this.segments = newSegments;
+		this.slotBits = bits;
+		this.count = newHeader.getInt(COUNT_OFFSET);
+		this.threshold = (long) ((1L << bits) * UserIndex.MAX_LOAD_FACTOR);
+	}
+
+	/**
+	 * Adds the checksums a version 1 store did not have and marks the file as the current version.
+	 */
+	private void upgrade() {
+		int slots = 1 << slotBits;
+		for (int slot = 0; slot < slots; slot++) {
+			ByteBuffer buffer = segment(slot);
+			int base = offset(slot);
+			if (buffer.get(base) != EMPTY) {
+				writeChecksum(buffer, base);
+			}
+		}
+		header.putShort(4, (short) VERSION);
+		force();
+	}
+
+	/**
+	 * Unmaps the file and closes its channel. The store cannot be used until it is attached again.
+	 *
+	 * @throws IOException If the file cannot be closed.
+	 */
+	private void detach() throws IOException {
+		MappedByteBuffer[] oldSegments = segments;
+		MappedByteBuffer oldHeader = header;
+		segments = null;
+		header = null;
+		if (oldSegments != null) {
+			for (MappedByteBuffer segment : oldSegments) {
+				unmap(segment);
+			}
+		}
+		if (oldHeader != null) {
+			unmap(oldHeader);
+		}
+		channel.close();
+	}
+
+	/**
+	 * Releases a mapping at once rather than when the buffer is garbage collected, so that the
+	 * file can be replaced on platforms that refuse to rename a mapped file.
+	 * The buffer must not be used afterwards.
+	 *
+	 * @param buffer The mapping to release.
+	 */
+	private static void unmap(MappedByteBuffer buffer) {
+		if (INVOKE_CLEANER == null) {
+			return;
+		}
+		try {
+			INVOKE_CLEANER.invoke(UNSAFE, buffer);
+		} catch (ReflectiveOperationException | RuntimeException e) {
+			// The garbage collector releases the mapping instead.
+		}
+	}
+
+	/**
+	 * Maps the slot area of a file, extending the file if it is shorter.
+	 *
+	 * @param channel The channel of the file.
+	 * @param bits The number of slots, as a power of two.
+	 * @return The mapped segments.
+	 * @throws IOException If the file cannot be mapped.
+	 */
+	private static MappedByteBuffer[] mapSlots(FileChannel channel, int bits) throws IOException {
+		long slots = 1L << bits;
+		long perSegment = 1L << SEGMENT_SHIFT;
+		int segmentCount = (int) ((slots + perSegment - 1) >>> SEGMENT_SHIFT);
+		MappedByteBuffer[] mapped = new MappedByteBuffer[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			long first = (long) i << SEGMENT_SHIFT;
+			long length = Math.min(perSegment, slots - first) * SLOT_SIZE;
+			mapped[i] = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + first * SLOT_SIZE, length);
+		}
+		return mapped;
+	}
+
+	/**
+	 * Returns the buffer that holds a slot.
+	 *
+	 * @param slot The slot number.
+	 * @return The segment buffer.
+	 */
+	private ByteBuffer segment(int slot) {
+		return segments[slot >>> SEGMENT_SHIFT];
+	}
+
+	/**
+	 * Returns the offset of a slot inside its segment buffer.
+	 *
+	 * @param slot The slot number.
+	 * @return The byte offset.
+	 */
+	private static int offset(int slot) {
+		return (slot & ((1 << SEGMENT_SHIFT) - 1)) * SLOT_SIZE;
+	}
+
+	/**
+	 * Returns the number of users in the store.
+	 *
+	 * @return The number of users.
+	 */
+	public synchronized int size() {
+		return count;
+	}
+
+	/**
+	 * Returns the number of slots of the table.
+	 *
+	 * @return The number of slots.
+	 */
+	public synchronized int capacity() {
+		return 1 << slotBits;
+	}
+
+	/**
+	 * Returns the file of the store.
+	 *
+	 * @return The path of the store.
+	 */
+	public Path path() {
+		return path;
+	}
+
+	/**
+	 * Finds the slot that holds a login id.
+	 *
+	 * @param loginId The phone number or name the user logs in with.
+	 * @return The slot number, or {@code -1} if the login id is not stored.
+	 */
+	private int find(CharSequence loginId) {
+		int h = UserIndex.hashOf(loginId);
+		int mask = (1 << slotBits) - 1;
+		for (int slot = h & mask; ; slot = (slot + 1) & mask) {
+			ByteBuffer buffer = segment(slot);
+			int base = offset(slot);
+			if (buffer.get(base) == EMPTY) {
+				return -1;
+			}
+			if (buffer.getInt(base + HASH_OFFSET) == h && intact(buffer, base)
+					&& loginIdEquals(buffer, base, loginId)) {
+				return slot;
+			}
+		}
+	}
+
+	/**
+	 * Compares the login id of a slot with a character sequence: the phone field, or the name field if the phone is empty.
+	 *
+	 * @param buffer The segment buffer.
+	 * @param base The offset of the slot.
+	 * @param loginId The login id to compare with.
+	 * @return {@code true} if the slot holds this login id.
+	 */
+	private static boolean loginIdEquals(ByteBuffer buffer, int base, CharSequence loginId) {
+		int phoneLength = buffer.get(base + LENGTHS_OFFSET) & 0xFF;
+		int field = phoneLength == 0 || phoneLength == NULL_FIELD ? 2 : 0;
+		if ((buffer.get(base + LENGTHS_OFFSET + field) & 0xFF) == NULL_FIELD) {
+			return loginId.length() == 0;
+		}
+		return fieldEquals(buffer, base, field, loginId);
+	}
+
+	/**
+	 * Reports whether a login id is stored.
+	 *
+	 * @param loginId The phone number or name the user logs in with.
+	 * @return {@code true} if a user with this login id exists.
+	 */
+	public synchronized boolean contains(CharSequence loginId) {
+		return loginId != null && find(loginId) >= 0;
+	}
+
+	/**
+	 * Checks a login id and password against the store without creating a {@code User}.
+	 *
+	 * @param loginId The phone number or name the user logs in with.
+	 * @param password The password.
+	 * @return {@code true} if a user with this login id exists and has this password.
+	 */
+	public synchronized boolean matches(CharSequence loginId, CharSequence password) {
+		if (loginId == null || password == null) {
+			return false;
+		}
+		int slot = find(loginId);
+		return slot >= 0 && fieldEquals(segment(slot), offset(slot), 1, password);
+	}
+
+	/**
+	 * Reads only the stored password of a login id.
+	 *
+	 * @param loginId The phone number or name the user logs in with.
+	 * @return The stored password, or {@code null} if the login id is not stored.
+	 */
+	public synchronized String password(CharSequence loginId) {
+		if (loginId == null) {
+			return null;
+		}
+		int slot = find(loginId);
+		return slot < 0 ? null : field(segment(slot), offset(slot), 1);
+	}
+
+	/**
+	 * Reads the user stored for a login id.
+	 *
+	 * @param loginId The phone number or name the user logs in with.
+	 * @return A new {@code User} with the stored fields, or {@code null} if the login id is not stored.
+	 */
+	public synchronized User get(CharSequence loginId) {
+		if (loginId == null) {
+			return null;
+		}
+		int slot = find(loginId);
+		if (slot < 0) {
+			return null;
+		}
+		ByteBuffer buffer = segment(slot);
+		int base = offset(slot);
+		User user = new User();
+		user.phone = field(buffer, base, 0);
+		user.password = field(buffer, base, 1);
+		user.name = field(buffer, base, 2);
+		user.surname = field(buffer, base, 3);
+		return user;
+	}
+
+	/**
+	 * Stores a user, replacing the user with the same login id. A {@code null} phone number is stored as empty.
+	 * The change reaches the file through the page cache; call {@link #force()} to make it durable.
+	 *
+	 * @param user The user to store.
+	 * @return {@code true} if a user with the same login id was replaced.
+	 * @throws IOException If the user does not fit into a slot or the table cannot grow.
+	 */
+	public synchronized boolean put(User user) throws IOException {
+		String phone = user.phone == null ? "" : user.phone;
+		String loginId = UserRegistry.loginId(user);
+		byte[][] fields = {
+			BinaryFileWriter.encode(phone),
+			BinaryFileWriter.encode(user.password),
+			BinaryFileWriter.encode(user.name),
+			BinaryFileWriter.encode(user.surname)
+		};
+		int dataSize = 0;
+		for (byte[] field : fields) {
+			dataSize += field == null ? 0 : field.length;
+		}
+		if (dataSize > SLOT_DATA_SIZE) {
+			throw new IOException("User record too large for a mapped slot: " + dataSize + " bytes");
+		}
+		int existing = find(loginId);
+		if (existing < 0 && count + 1 > threshold) {
+			rebuild(slotBits + 1);
+		}
+		int slot = existing >= 0 ? existing : reusableSlot(UserIndex.hashOf(loginId));
+		ByteBuffer buffer = segment(slot);
+		int base = offset(slot);
+		boolean wasEmpty = buffer.get(base) == EMPTY;
+		int position = base + DATA_OFFSET;
+		for (int i = 0; i < fields.length; i++) {
+			byte[] field = fields[i];
+			buffer.put(base + LENGTHS_OFFSET + i, (byte) (field == null ? NULL_FIELD : field.length));
+			if (field != null) {
+				for (byte b : field) {
+					buffer.put(position++, b);
+				}
+			}
+		}
+		buffer.putInt(base + HASH_OFFSET, UserIndex.hashOf(loginId));
+		writeChecksum(buffer, base);
+		buffer.put(base, USED);
+		if (wasEmpty) {
+			count++;
+			header.putInt(COUNT_OFFSET, count);
+		}
+		return existing >= 0;
+	}
+
+	/**
+	 * Finds the first empty or torn slot on the probe sequence of a hash.
+	 * A torn slot stays occupied so that the probe sequences through it are not cut short.
+	 *
+	 * @param h The login id hash.
+	 * @return The slot number.
+	 */
+	private int reusableSlot(int h) {
+		int mask = (1 << slotBits) - 1;
+		int slot = h & mask;
+		while (segment(slot).get(offset(slot)) != EMPTY && intact(segment(slot), offset(slot))) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Finds the first empty slot on the probe sequence of a hash.
+	 *
+	 * @param h The login id hash.
+	 * @return The slot number.
+	 */
+	private int freeSlot(int h) {
+		int mask = (1 << slotBits) - 1;
+		int slot = h & mask;
+		while (segment(slot).get(offset(slot)) != EMPTY) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Grows the table so that it can hold the given number of users without another rebuild.
+	 *
+	 * @param expectedUsers The number of users the store should hold.
+	 * @throws IOException If the table cannot be rebuilt.
+	 */
+	public synchronized void ensureCapacity(int expectedUsers) throws IOException {
+		int bits = slotBits;
+		while (bits < MAX_SLOT_BITS && expectedUsers > (long) ((1L << bits) * UserIndex.MAX_LOAD_FACTOR)) {
+			bits++;
+		}
+		if (bits > slotBits) {
+			rebuild(bits);
+		}
+	}
+
+	/**
+	 * Copies every intact slot into a larger table in a temporary file and moves that file over the store.
+	 * Both files are unmapped and closed before the move and the store is mapped again afterwards.
+	 *
+	 * @param bits The number of slots of the new table, as a power of two.
+	 * @throws IOException If the new table cannot be written or moved, or the store cannot be mapped again.
+	 */
+	private void rebuild(int bits) throws IOException {
+		if (bits > MAX_SLOT_BITS) {
+			throw new IOException("Mapped user store is full");
+		}
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		FileChannel newChannel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+				StandardOpenOption.READ, StandardOpenOption.WRITE);
+		MappedUserStore target = new MappedUserStore(temp);
+		int copied = 0;
+		try {
+			target.attach(newChannel, bits, true);
+			byte[] scratch = new byte[SLOT_SIZE];
+			int slots = 1 << slotBits;
+			for (int slot = 0; slot < slots; slot++) {
+				ByteBuffer from = segment(slot);
+				int base = offset(slot);
+				if (from.get(base) == EMPTY || !intact(from, base)) {
+					continue;
+				}
+				int to = target.freeSlot(from.getInt(base + HASH_OFFSET));
+				ByteBuffer source = from.duplicate();
+				source.position(base);
+				source.get(scratch);
+				ByteBuffer destination = target.segment(to).duplicate();
+				destination.position(offset(to));
+				destination.put(scratch);
+				copied++;
+			}
+			target.count = copied;
+			target.header.putInt(COUNT_OFFSET, copied);
+			target.force();
+		} catch (IOException | RuntimeException e) {
+			if (target.segments != null) {
+				target.detach();
+			} else {
+				newChannel.close();
+			}
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		target.detach();
+		force();
+		detach();
+		int newBits = bits;
+		try {
+			try {
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			Files.deleteIfExists(temp);
+			newBits = slotBits;
+			throw e;
+		} finally {
+			attach(FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE), newBits, false);
+		}
+	}
+
+	/**
+	 * Writes the modified pages of the store to the storage device.
+	 */
+	public synchronized void force() {
+		for (MappedByteBuffer segment : segments) {
+			segment.force();
+		}
+		header.force();
+	}
+
+	/**
+	 * Forces the store to disk, unmaps it and closes the file.
+	 *
+	 * @throws IOException If the file cannot be closed.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (segments == null) {
+			return;
+		}
+		force();
+		detach();
+	}
+
+	/**
+	 * Computes the checksum of a slot from its lengths, hash and field bytes.
+	 *
+	 * @param buffer The segment buffer.
+	 * @param base The offset of the slot.
+	 * @return The 24-bit checksum, or {@code -1} if the lengths point past the end of the slot.
+	 */
+	private int checksum(ByteBuffer buffer, int base) {
+		int dataEnd = fieldStart(buffer, base, 4);
+		if (dataEnd > base + SLOT_SIZE) {
+			return -1;
+		}
+		ByteBuffer view = buffer.duplicate();
+		crc.reset();
+		view.limit(base + LENGTHS_OFFSET + 4).position(base + LENGTHS_OFFSET);
+		crc.update(view);
+		view.limit(dataEnd).position(base + HASH_OFFSET);
+		crc.update(view);
+		return (int) crc.getValue() & CHECKSUM_MASK;
+	}
+
+	/**
+	 * Stores the checksum of a slot whose lengths, hash and fields are written.
+	 *
+	 * @param buffer The segment buffer.
+	 * @param base The offset of the slot.
+	 */
+	private void writeChecksum(ByteBuffer buffer, int base) {
+		int checksum = checksum(buffer, base);
+		buffer.put(base + CHECKSUM_OFFSET, (byte) (checksum >>> 16));
+		buffer.put(base + CHECKSUM_OFFSET + 1, (byte) (checksum >>> 8));
+		buffer.put(base + CHECKSUM_OFFSET + 2, (byte) checksum);
+	}
+
+	/**
+	 * Checks a used slot against its checksum.
+	 *
+	 * @param buffer The segment buffer.
+	 * @param base The offset of the slot.
+	 * @return {@code false} if the slot was torn by a crash.
+	 */
+	private boolean intact(ByteBuffer buffer, int base) {
+		int stored = (buffer.get(base + CHECKSUM_OFFSET) & 0xFF) << 16
+				| (buffer.get(base + CHECKSUM_OFFSET + 1) & 0xFF) << 8
+				| buffer.get(base + CHECKSUM_OFFSET + 2) & 0xFF;
+		return checksum(buffer, base) == stored;
+	}
+
+	/**
+	 * Returns the position of a field's bytes inside a slot.
+	 *
+	 * @param buffer The segment buffer.
+	 * @param base The offset of the slot.
+	 * @param field The field number: 0 phone, 1 password, 2 name, 3 surname.
+	 * @return The byte offset of the field.
+	 */
+	private static int fieldStart(ByteBuffer buffer, int base, int field) {
+		int position = base + DATA_OFFSET;
+		for (int i = 0; i < field; i++) {
+			int length = buffer.get(base + LENGTHS_OFFSET + i) & 0xFF;
+			position += length == NULL_FIELD ? 0 : length;
+		}
+		return position;
+	}
+
+	/**
+	 * Decodes a field of a slot.
+	 *
+	 * @param buffer The segment buffer.
+	 * @param base The offset of the slot.
+	 * @param field The field number.
+	 * @return The field value, possibly {@code null}.
+	 */
+	private static String field(ByteBuffer buffer, int base, int field) {
+		int length = buffer.get(base + LENGTHS_OFFSET + field) & 0xFF;
+		if (length == NULL_FIELD) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		int start = fieldStart(buffer, base, field);
+		for (int i = 0; i < length; i++) {
+			bytes[i] = buffer.get(start + i);
+		}
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Compares a field of a slot with a character sequence without decoding the field.
+	 * ASCII sequences are compared byte by byte; other sequences are encoded first.
+	 *
+	 * @param buffer The segment buffer.
+	 * @param base The offset of the slot.
+	 * @param field The field number.
+	 * @param value The value to compare with.
+	 * @return {@code true} if the field holds exactly this value.
+	 */
+	private static boolean fieldEquals(ByteBuffer buffer, int base, int field, CharSequence value) {
+		int length = buffer.get(base + LENGTHS_OFFSET + field) & 0xFF;
+		if (length == NULL_FIELD) {
+			return false;
+		}
+		int start = fieldStart(buffer, base, field);
+		int chars = value.length();
+		for (int i = 0; i < chars; i++) {
+			if (value.charAt(i) >= 0x80) {
+				byte[] bytes = value.toString().getBytes(StandardCharsets.UTF_8);
+				if (bytes.length != length) {
+					return false;
+				}
+				for (int j = 0; j < length; j++) {
+					if (buffer.get(start + j) != bytes[j]) {
+						return false;
+					}
+				}
+				return true;
+			}
+		}
+		if (chars != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (buffer.get(start + i) != (byte) value.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
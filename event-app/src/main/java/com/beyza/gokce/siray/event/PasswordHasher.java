@@ -0,0 +1,213 @@
+/**
+ * @file PasswordHasher.java
+ * @brief This file contains the salted password hashing used for user credentials.
+ * @details Passwords are stored as PBKDF2-HMAC-SHA256 hashes with a random salt and a configurable
+ *          number of iterations. Passwords stored before hashing was introduced are still accepted;
+ *          they are compared through fixed-length digests, so neither their content nor their length
+ *          shows in the time a check takes.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.PBEKeySpec;
+
+/**
+ * @class PasswordHasher
+ * @brief Creates and verifies salted, iterated password hashes.
+ * @details A stored hash has the form {@code pbkdf2$<iterations>$<salt>$<hash>} with the salt and
+ *          the hash in Base64. The iteration count is part of the stored value, so
+ *          {@link #verify(String, String)} checks hashes of any cost and the cost of new hashes
+ *          can be raised without invalidating existing ones. Any stored value without the
+ *          {@link #PREFIX} is treated as a plaintext password from an older file; the application
+ *          replaces it with a hash the first time its user logs in.
+ */
+public final class PasswordHasher {
+
+	/**
+	 * Prefix of every stored hash.
+	 */
+	public static final String PREFIX = "pbkdf2$";
+
+	/**
+	 * Number of PBKDF2 iterations used when no other cost is configured.
+	 */
+	public static final int DEFAULT_ITERATIONS = 100000;
+
+	/**
+	 * Size of the random salt in bytes.
+	 */
+	static final int SALT_BYTES = 16;
+
+	/**
+	 * Size of the derived hash in bytes.
+	 */
+	static final int HASH_BYTES = 32;
+
+	private static final String ALGORITHM = "PBKDF2WithHmacSHA256";
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	/**
+	 * Number of iterations used for new hashes.
+	 */
+	private final int iterations;
+
+	/**
+	 * Creates a hasher that uses {@link #DEFAULT_ITERATIONS} iterations.
+	 */
+	public PasswordHasher() {
+		this(DEFAULT_ITERATIONS);
+	}
+
+	/**
+	 * Creates a hasher with the given cost.
+	 *
+	 * @param iterations The number of PBKDF2 iterations for new hashes.
+	 */
+	public PasswordHasher(int iterations) {
+		if (iterations < 1) {
+			throw new IllegalArgumentException("Iterations must be positive: " + iterations);
+		}
+		this.iterations = iterations;
+	}
+
+	/**
+	 * Returns the number of iterations used for new hashes.
+	 *
+	 * @return The cost of this hasher.
+	 */
+	public int iterations() {
+		return iterations;
+	}
+
+	/**
+	 * Hashes a password with a new random salt.
+	 *
+	 * @param password The plaintext password.
+	 * @return The stored form of the hash.
+	 */
+	public String hash(String password) {
+		byte[] salt = new byte[SALT_BYTES];
+		RANDOM.nextBytes(salt);
+		byte[] hash = derive(password, salt, iterations);
+		Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+		return PREFIX + iterations + "$" + encoder.encodeToString(salt) + "$" + encoder.encodeToString(hash);
+	}
+
+	/**
+	 * Reports whether a stored password has to be rehashed to reach this hasher's cost.
+	 *
+	 * @param stored The stored password.
+	 * @return {@code true} if the stored value is plaintext or uses fewer iterations.
+	 */
+	public boolean needsRehash(String stored) {
+		if (!isHashed(stored)) {
+			return true;
+		}
+		String[] parts = stored.split("\\$");
+		try {
+			return parts.length != 4 || Integer.parseInt(parts[1]) < iterations;
+		} catch (NumberFormatException e) {
+			return true;
+		}
+	}
+
+	/**
+	 * Reports whether a stored password is a hash created by this class.
+	 *
+	 * @param stored The stored password.
+	 * @return {@code true} if the value is a hash, {@code false} if it is plaintext.
+	 */
+	public static boolean isHashed(String stored) {
+		return stored != null && stored.startsWith(PREFIX);
+	}
+
+	/**
+	 * Checks a password against a stored hash or a stored plaintext password.
+	 * Both comparisons take the same time wherever the first difference is; a plaintext password
+	 * is compared through the SHA-256 digests of both values, which always have the same length.
+	 *
+	 * @param password The password to check.
+	 * @param stored The stored password.
+	 * @return {@code true} if the password matches.
+	 */
+	public static boolean verify(String password, String stored) {
+		if (password == null || stored == null) {
+			return false;
+		}
+		if (!isHashed(stored)) {
+			return MessageDigest.isEqual(digest(password), digest(stored));
+		}
+		String[] parts = stored.split("\\$");
+		if (parts.length != 4) {
+			return false;
+		}
+		try {
+			int cost = Integer.parseInt(parts[1]);
+			byte[] salt = Base64.getDecoder().decode(parts[2]);
+			byte[] expected = Base64.getDecoder().decode(parts[3]);
+			if (cost < 1 || expected.length == 0) {
+				return false;
+			}
+			return MessageDigest.isEqual(derive(password, salt, cost, expected.length), expected);
+		} catch (IllegalArgumentException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Computes the SHA-256 digest of a plaintext password.
+	 *
+	 * @param value The password.
+	 * @return The 32-byte digest.
+	 */
+	private static byte[] digest(String value) {
+		try {
+			return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	/**
+	 * Derives a {@link #HASH_BYTES}-byte hash.
+	 *
+	 * @param password The password.
+	 * @param salt The salt.
+	 * @param cost The number of iterations.
+	 * @return The derived hash.
+	 */
+	private static byte[] derive(String password, byte[] salt, int cost) {
+		return derive(password, salt, cost, HASH_BYTES);
+	}
+
+	/**
+	 * Derives a hash with PBKDF2-HMAC-SHA256.
+	 *
+	 * @param password The password.
+	 * @param salt The salt.
+	 * @param cost The number of iterations.
+	 * @param length The size of the hash in bytes.
+	 * @return The derived hash.
+	 */
+	private static byte[] derive(String password, byte[] salt, int cost, int length) {
+		PBEKeySpec spec = new PBEKeySpec(password.toCharArray(), salt, cost, length * 8);
+		try {
+			return SecretKeyFactory.getInstance(ALGORITHM).generateSecret(spec).getEncoded();
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException(ALGORITHM + " is not available", e);
+		} finally {
+			spec.clearPassword();
+		}
+	}
+}
@@ -0,0 +1,200 @@
+/**
+ * @file PhoneHash.java
+ * @brief This file contains the allocation-free hash functions for phone numbers.
+ * @details The functions accept the digits of a phone number as a {@code CharSequence}, as ASCII
+ *          bytes or packed into a single {@code long}, and produce the same 64-bit hash for all three.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+/**
+ * @class PhoneHash
+ * @brief Hashes phone numbers without allocating and without a division per digit.
+ * @details Digits are accumulated four bits at a time into a {@code long}. Up to
+ *          {@link #MAX_PACKED_DIGITS} digits plus the digit count fit into one packed word,
+ *          which is then scrambled with the 64-bit MurmurHash3 finalizer. Longer numbers are
+ *          hashed block by block. Characters that are not digits, such as {@code '+'},
+ *          spaces or dashes, are skipped. Table indices are taken by masking the hash with a
+ *          power-of-two table size, so no modulo is needed anywhere.
+ */
+public final class PhoneHash {
+
+	/**
+	 * Maximum number of digits that fit into a packed phone number.
+	 * This covers every E.164 number, which has at most 15 digits.
+	 */
+	public static final int MAX_PACKED_DIGITS = 15;
+
+	/**
+	 * Value returned by the pack functions for input that cannot be packed.
+	 */
+	public static final long NOT_PACKABLE = -1L;
+
+	/**
+	 * Seed mixed into every hash so that an empty phone number does not hash to zero.
+	 */
+	static final long SEED = 0x9E3779B97F4A7C15L;
+
+	private PhoneHash() {
+	}
+
+	/**
+	 * Scrambles a 64-bit value with the MurmurHash3 finalizer.
+	 * Every input bit affects every output bit, so the low bits can be used directly as a table index.
+	 *
+	 * @param z The value to mix.
+	 * @return The mixed value.
+	 */
+	public static long mix64(long z) {
+		z ^= z >>> 33;
+		z *= 0xff51afd7ed558ccdL;
+		z ^= z >>> 33;
+		z *= 0xc4ceb9fe1a85ec53L;
+		z ^= z >>> 33;
+		return z;
+	}
+
+	/**
+	 * Hashes a phone number that has already been packed with {@link #pack(CharSequence)}.
+	 *
+	 * @param packed The packed phone number.
+	 * @return The 64-bit hash of the phone number.
+	 */
+	public static long hash(long packed) {
+		return mix64(SEED ^ packed);
+	}
+
+	/**
+	 * Hashes the digits of a phone number given as characters.
+	 *
+	 * @param phone The phone number; non-digit characters are ignored.
+	 * @return The 64-bit hash of the phone number, equal to the hash of its packed form.
+	 */
+	public static long hash(CharSequence phone) {
+		long state = SEED;
+		long acc = 0;
+		int digits = 0;
+		for (int i = 0, n = phone.length(); i < n; i++) {
+			int d = phone.charAt(i) - '0';
+			if (d < 0 || d > 9) {
+				continue;
+			}
+			if (digits == MAX_PACKED_DIGITS) {
+				state = mix64(state ^ ((long) digits << 60 | acc));
+				acc = 0;
+				digits = 0;
+			}
+			acc = acc << 4 | d;
+			digits++;
+		}
+		return mix64(state ^ ((long) digits << 60 | acc));
+	}
+
+	/**
+	 * Hashes the digits of a phone number given as ASCII bytes.
+	 *
+	 * @param phone The buffer holding the phone number.
+	 * @param offset The index of the first byte of the phone number.
+	 * @param length The number of bytes of the phone number; non-digit bytes are ignored.
+	 * @return The 64-bit hash of the phone number, equal to the hash of its packed form.
+	 */
+	public static long hash(byte[] phone, int offset, int length) {
+		long state = SEED;
+		long acc = 0;
+		int digits = 0;
+		for (int i = offset, end = offset + length; i < end; i++) {
+			int d = phone[i] - '0';
+			if (d < 0 || d > 9) {
+				continue;
+			}
+			if (digits == MAX_PACKED_DIGITS) {
+				state = mix64(state ^ ((long) digits << 60 | acc));
+				acc = 0;
+				digits = 0;
+			}
+			acc = acc << 4 | d;
+			digits++;
+		}
+		return mix64(state ^ ((long) digits << 60 | acc));
+	}
+
+	/**
+	 * Packs a phone number made only of digits into a single {@code long}.
+	 * The digits occupy the low 60 bits, four bits each, and the digit count occupies the top four bits.
+	 *
+	 * @param phone The phone number to pack.
+	 * @return The packed phone number, or {@link #NOT_PACKABLE} if it contains a non-digit
+	 *         character or more than {@link #MAX_PACKED_DIGITS} digits.
+	 */
+	public static long pack(CharSequence phone) {
+		int n = phone.length();
+		if (n > MAX_PACKED_DIGITS) {
+			return NOT_PACKABLE;
+		}
+		long acc = 0;
+		for (int i = 0; i < n; i++) {
+			int d = phone.charAt(i) - '0';
+			if (d < 0 || d > 9) {
+				return NOT_PACKABLE;
+			}
+			acc = acc << 4 | d;
+		}
+		return (long) n << 60 | acc;
+	}
+
+	/**
+	 * Returns the number of digits stored in a packed phone number.
+	 *
+	 * @param packed The packed phone number.
+	 * @return The digit count.
+	 */
+	public static int packedLength(long packed) {
+		return (int) (packed >>> 60);
+	}
+
+	/**
+	 * Checks whether a phone number consists of exactly the digits of a packed phone number.
+	 *
+	 * @param phone The phone number to compare.
+	 * @param packed The packed phone number.
+	 * @return {@code true} if both denote the same digit sequence.
+	 */
+	public static boolean matches(CharSequence phone, long packed) {
+		int n = packedLength(packed);
+		if (phone.length() != n) {
+			return false;
+		}
+		for (int i = 0; i < n; i++) {
+			int d = (int) (packed >>> ((n - 1 - i) << 2)) & 0xF;
+			if (phone.charAt(i) != '0' + d) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Folds a 64-bit hash into the 32-bit hash cached by hash tables.
+	 *
+	 * @param hash The 64-bit hash.
+	 * @return The folded 32-bit hash.
+	 */
+	public static int fold(long hash) {
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	/**
+	 * Maps a hash to a slot of a table whose size is a power of two.
+	 *
+	 * @param hash The hash value.
+	 * @param tableSize The table size; must be a power of two.
+	 * @return The slot index in {@code [0, tableSize)}.
+	 */
+	public static int indexFor(long hash, int tableSize) {
+		return (int) hash & (tableSize - 1);
+	}
+}
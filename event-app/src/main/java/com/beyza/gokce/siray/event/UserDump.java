@@ -0,0 +1,291 @@
+/**
+ * @file UserDump.java
+ * @brief This file contains the paged, buffered dump of registered users.
+ * @details Users are written page by page in name order through one reusable character buffer,
+ *          either as the text lines of {@code printHashTable} or as CSV for audit exports.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+ * @class UserDump
+ * @brief Streams users to a {@code Writer} without building a string per row.
+ * @details Field values are copied straight into a fixed character buffer that is handed to the
+ *          writer whenever it fills up. {@link #writePage(UserRegistry, String, int)} returns a
+ *          cursor, so a dump of millions of users can be taken in pages and resumed later.
+ *          CSV output uses the column order {@code name,surname,phone,password} that
+ *          {@link UserImporter} reads, so an export can be imported again: a {@code null} value is
+ *          an empty field and an empty string is {@code ""}, and values with line breaks are quoted
+ *          so that the importer joins their lines again.
+ */
+public final class UserDump implements Closeable, Flushable {
+
+	/**
+	 * Number of users per page when no other page size is given.
+	 */
+	public static final int DEFAULT_PAGE_SIZE = 1000;
+
+	/**
+	 * Size of the character buffer when no other size is given.
+	 */
+	public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+
+	/**
+	 * Header line of a CSV dump.
+	 */
+	static final String CSV_HEADER = "name,surname,phone,password";
+
+	private static final String LINE_SEPARATOR = System.lineSeparator();
+
+	/**
+	 * @enum Format
+	 * @brief Row formats of a dump.
+	 */
+	public enum Format {
+		/** The lines printed by {@code Event.printHashTable}. */
+		TEXT,
+		/** Comma-separated values, quoted where necessary. */
+		CSV
+	}
+
+	private final Writer out;
+	private final Format format;
+	private final char[] buffer;
+	private int length;
+	private long rows;
+
+	/**
+	 * Creates a dump with a {@link #DEFAULT_BUFFER_SIZE} buffer.
+	 *
+	 * @param out The writer that receives the dump.
+	 * @param format The row format.
+	 */
+	public UserDump(Writer out, Format format) {
+		this(out, format, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Creates a dump.
+	 *
+	 * @param out The writer that receives the dump.
+	 * @param format The row format.
+	 * @param bufferSize The size of the character buffer.
+	 */
+	public UserDump(Writer out, Format format, int bufferSize) {
+		if (bufferSize < 1) {
+			throw new IllegalArgumentException("Buffer size must be positive: " + bufferSize);
+		}
+		this.out = out;
+		this.format = format;
+		this.buffer = new char[bufferSize];
+	}
+
+	/**
+	 * Returns the number of users written so far.
+	 *
+	 * @return The number of rows.
+	 */
+	public long rows() {
+		return rows;
+	}
+
+	/**
+	 * Writes the CSV header line; does nothing for the text format.
+	 *
+	 * @throws IOException If the writer fails.
+	 */
+	public void writeHeader() throws IOException {
+		if (format == Format.CSV) {
+			append(CSV_HEADER);
+			append(LINE_SEPARATOR);
+		}
+	}
+
+	/**
+	 * Writes one user as one row.
+	 *
+	 * @param user The user.
+	 * @throws IOException If the writer fails.
+	 */
+	public void writeUser(User user) throws IOException {
+		if (format == Format.TEXT) {
+			append(" Name: ");
+			append(String.valueOf(user.name));
+			append(' ');
+			append(String.valueOf(user.surname));
+			append(", Phone: ");
+			append(String.valueOf(user.phone));
+			append(", Password: ");
+			append(String.valueOf(user.password));
+		} else {
+			appendCsv(user.name);
+			append(',');
+			appendCsv(user.surname);
+			append(',');
+			appendCsv(user.phone);
+			append(',');
+			appendCsv(user.password);
+		}
+		append(LINE_SEPARATOR);
+		rows++;
+	}
+
+	/**
+	 * Writes one page of users in name order.
+	 *
+	 * @param registry The registry; its name indexes must be enabled.
+	 * @param cursor The cursor returned by the previous page, or {@code null} for the first page.
+	 * @param pageSize The largest number of users to write.
+	 * @return The cursor of the next page, or {@code null} after the last page.
+	 * @throws IOException If the writer fails.
+	 */
+	public String writePage(UserRegistry registry, String cursor, int pageSize) throws IOException {
+		try {
+			return registry.page(cursor, pageSize, user -> {
+				try {
+					writeUser(user);
+				} catch (IOException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+	}
+
+	/**
+	 * Writes every user, one page at a time.
+	 *
+	 * @param registry The registry; its name indexes must be enabled.
+	 * @param pageSize The number of users per page.
+	 * @return The number of users written.
+	 * @throws IOException If the writer fails.
+	 */
+	public long writeAll(UserRegistry registry, int pageSize) throws IOException {
+		long before = rows;
+		String cursor = null;
+		do {
+			cursor = writePage(registry, cursor, pageSize);
+		} while (cursor != null);
+		return rows - before;
+	}
+
+	/**
+	 * Exports every user to a CSV file. The file is replaced only once it is complete.
+	 *
+	 * @param registry The registry; its name indexes must be enabled.
+	 * @param file The file to write.
+	 * @return The number of users exported.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public static long export(UserRegistry registry, Path file) throws IOException {
+		Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+		long exported;
+		try (UserDump dump = new UserDump(new OutputStreamWriter(Files.newOutputStream(temp), StandardCharsets.UTF_8), Format.CSV)) {
+			dump.writeHeader();
+			exported = dump.writeAll(registry, DEFAULT_PAGE_SIZE);
+		} catch (IOException | RuntimeException e) {
+			Files.deleteIfExists(temp);
+			throw e;
+		}
+		try {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (AtomicMoveNotSupportedException e) {
+			Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return exported;
+	}
+
+	private void append(char c) throws IOException {
+		if (length == buffer.length) {
+			drain();
+		}
+		buffer[length++] = c;
+	}
+
+	private void append(String text) throws IOException {
+		int from = 0;
+		int end = text.length();
+		while (from < end) {
+			if (length == buffer.length) {
+				drain();
+			}
+			int chunk = Math.min(end - from, buffer.length - length);
+			text.getChars(from, from + chunk, buffer, length);
+			length += chunk;
+			from += chunk;
+		}
+	}
+
+	private void appendCsv(String value) throws IOException {
+		if (value == null) {
+			return;
+		}
+		boolean quote = value.isEmpty();
+		for (int i = 0; i < value.length() && !quote; i++) {
+			char c = value.charAt(i);
+			quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+		}
+		if (!quote) {
+			append(value);
+			return;
+		}
+		append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"') {
+				append('"');
+			}
+			append(c);
+		}
+		append('"');
+	}
+
+	private void drain() throws IOException {
+		out.write(buffer, 0, length);
+		length = 0;
+	}
+
+	/**
+	 * Hands the buffered characters to the writer and flushes it.
+	 *
+	 * @throws IOException If the writer fails.
+	 */
+	@Override
+	public void flush() throws IOException {
+		drain();
+		out.flush();
+	}
+
+	/**
+	 * Flushes and closes the writer.
+	 *
+	 * @throws IOException If the writer fails.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			out.close();
+		}
+	}
+}
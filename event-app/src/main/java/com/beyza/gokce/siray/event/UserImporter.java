@@ -0,0 +1,659 @@
+/**
+ * @file UserImporter.java
+ * @brief This file contains the bulk import pipeline for users stored in CSV or NDJSON files.
+ * @details Lines are read in chunks, parsed and password-hashed on a pool of worker threads, and
+ *          inserted into the user registry in file order, one batch at a time. The importer counts
+ *          every record and reports duplicate login ids instead of silently overwriting users.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+ * @class UserImporter
+ * @brief Streams users from a file into a {@link UserRegistry}.
+ * @details CSV files hold the columns {@code name,surname,phone,password}, optionally preceded by
+ *          a header line with these names; fields may be quoted with {@code "}. An empty unquoted
+ *          field is {@code null} and {@code ""} is the empty string, so a record without a password
+ *          is reported as malformed rather than imported with an empty one. A quoted field may span
+ *          up to {@link #MAX_RECORD_LINES} lines; its line breaks are read back as {@code \n}. NDJSON files hold
+ *          one object per line with the same keys. Passwords that are not already stored hashes
+ *          are hashed with the configured {@link PasswordHasher} while parsing, which is where most
+ *          of the work is spent and why parsing runs in parallel: at
+ *          {@link PasswordHasher#DEFAULT_ITERATIONS} a file of plaintext passwords imports at a few
+ *          dozen records per second and core, while stored hashes are copied as they are and import
+ *          thousands of times faster (see {@code UserImporterBenchmark}).
+ *
+ *          Records are inserted with {@link UserRegistry#register(User)}: the first record of a
+ *          login id wins, later records of the same id in the file are counted as duplicates and
+ *          records whose id was registered before the import, in the registry or in the store set
+ *          with {@link #setAlreadyRegistered(Predicate)}, as already registered. The batch
+ *          consumer is called with the inserted users of every batch, so the caller can update its
+ *          own structures and write a single snapshot at the end.
+ */
+public final class UserImporter {
+
+	/**
+	 * Number of lines parsed by one task and inserted as one batch.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 4096;
+
+	/**
+	 * Number of duplicate records listed by name in the report.
+	 */
+	public static final int MAX_DUPLICATE_SAMPLES = 20;
+
+	/**
+	 * Bytes per line assumed when sizing the duplicate check from the file size.
+	 */
+	static final int ESTIMATED_LINE_BYTES = 48;
+
+	/**
+	 * Largest number of lines one CSV record may span, so that a stray quote cannot swallow the rest of the file.
+	 */
+	static final int MAX_RECORD_LINES = 16;
+
+	/**
+	 * @enum Format
+	 * @brief File formats the importer understands.
+	 */
+	public enum Format {
+		/** Comma-separated values. */
+		CSV,
+		/** Newline-delimited JSON objects. */
+		NDJSON;
+
+		/**
+		 * Picks the format from a file name: {@code .json}, {@code .jsonl} and {@code .ndjson} are NDJSON, anything else CSV.
+		 *
+		 * @param file The file.
+		 * @return The format of the file.
+		 */
+		public static Format of(Path file) {
+			String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+			if (name.endsWith(".ndjson") || name.endsWith(".jsonl") || name.endsWith(".json")) {
+				return NDJSON;
+			}
+			return CSV;
+		}
+	}
+
+	/**
+	 * @class Report
+	 * @brief Counters of an import, either in progress or finished.
+	 */
+	public static final class Report {
+		private final long records;
+		private final long imported;
+		private final long duplicatesInFile;
+		private final long alreadyRegistered;
+		private final long malformed;
+		private final long elapsedNanos;
+		private final List<String> duplicateSamples;
+
+		Report(long records, long imported, long duplicatesInFile, long alreadyRegistered, long malformed,
+				long elapsedNanos, List<String> duplicateSamples) {
+			this.records = records;
+			this.imported = imported;
+			this.duplicatesInFile = duplicatesInFile;
+			this.alreadyRegistered = alreadyRegistered;
+			this.malformed = malformed;
+			this.elapsedNanos = elapsedNanos;
+			this.duplicateSamples = Collections.unmodifiableList(new ArrayList<>(duplicateSamples));
+		}
+
+		/** @return The number of non-blank records read so far. */
+		public long records() {
+			return records;
+		}
+
+		/** @return The number of users added to the registry. */
+		public long imported() {
+			return imported;
+		}
+
+		/** @return The number of records whose login id appeared earlier in the same file. */
+		public long duplicatesInFile() {
+			return duplicatesInFile;
+		}
+
+		/** @return The number of records whose login id was registered before the import. */
+		public long alreadyRegistered() {
+			return alreadyRegistered;
+		}
+
+		/** @return The number of records that could not be parsed or had no login id or password. */
+		public long malformed() {
+			return malformed;
+		}
+
+		/** @return The time spent so far in nanoseconds. */
+		public long elapsedNanos() {
+			return elapsedNanos;
+		}
+
+		/** @return Up to {@link #MAX_DUPLICATE_SAMPLES} duplicates as {@code "line N: id"}. */
+		public List<String> duplicateSamples() {
+			return duplicateSamples;
+		}
+
+		/**
+		 * Returns the import throughput.
+		 *
+		 * @return The number of records processed per second.
+		 */
+		public double recordsPerSecond() {
+			return elapsedNanos == 0 ? 0 : records * 1e9 / elapsedNanos;
+		}
+
+		@Override
+		public String toString() {
+			return String.format(Locale.ROOT,
+					"%d records, %d imported, %d duplicates in file, %d already registered, %d malformed, %.0f records/s",
+					records, imported, duplicatesInFile, alreadyRegistered, malformed, recordsPerSecond());
+		}
+	}
+
+	/**
+	 * A parsed chunk of records.
+	 */
+	private static final class Chunk {
+		final long[] lineNumbers;
+		final User[] users;
+		int malformed;
+
+		Chunk(long[] lineNumbers, int records) {
+			this.lineNumbers = lineNumbers;
+			this.users = new User[records];
+		}
+	}
+
+	private final UserRegistry registry;
+	private final PasswordHasher hasher;
+	private final int threads;
+	private final int batchSize;
+	private Consumer<Report> listener;
+	private Predicate<String> alreadyRegistered;
+
+	/**
+	 * Creates an importer that uses one thread per available processor.
+	 *
+	 * @param registry The registry that receives the users.
+	 * @param hasher The hasher for plaintext passwords, or {@code null} to store passwords as they are.
+	 */
+	public UserImporter(UserRegistry registry, PasswordHasher hasher) {
+		this(registry, hasher, Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE);
+	}
+
+	/**
+	 * Creates an importer.
+	 *
+	 * @param registry The registry that receives the users.
+	 * @param hasher The hasher for plaintext passwords, or {@code null} to store passwords as they are.
+	 * @param threads The number of parser threads.
+	 * @param batchSize The number of lines per batch.
+	 */
+	public UserImporter(UserRegistry registry, PasswordHasher hasher, int threads, int batchSize) {
+		if (threads < 1 || batchSize < 1) {
+			throw new IllegalArgumentException("Threads and batch size must be positive");
+		}
+		this.registry = registry;
+		this.hasher = hasher;
+		this.threads = threads;
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Sets the listener that receives a progress report after every batch.
+	 *
+	 * @param listener The listener, or {@code null} for none.
+	 */
+	public void setListener(Consumer<Report> listener) {
+		this.listener = listener;
+	}
+
+	/**
+	 * Sets a check for login ids that are registered outside the registry, such as in the mapped user store.
+	 * Records whose login id passes the check are skipped and reported as already registered.
+	 *
+	 * @param alreadyRegistered The check, or {@code null} to rely on the registry alone.
+	 */
+	public void setAlreadyRegistered(Predicate<String> alreadyRegistered) {
+		this.alreadyRegistered = alreadyRegistered;
+	}
+
+	/**
+	 * Imports a file, picking the format from its name.
+	 *
+	 * @param file The file to import.
+	 * @param inserted Receives the users inserted by each batch, in file order.
+	 * @return The final report.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public Report importFile(Path file, Consumer<List<User>> inserted) throws IOException {
+		return importFile(file, Format.of(file), inserted);
+	}
+
+	/**
+	 * Imports a file.
+	 *
+	 * @param file The file to import.
+	 * @param format The format of the file.
+	 * @param inserted Receives the users inserted by each batch, in file order.
+	 * @return The final report.
+	 * @throws IOException If the file cannot be read.
+	 */
+	public Report importFile(Path file, Format format, Consumer<List<User>> inserted) throws IOException {
+		long start = System.nanoTime();
+		long expected = Files.size(file) / ESTIMATED_LINE_BYTES + 1;
+		Set<String> seen = new HashSet<>((int) Math.min(Integer.MAX_VALUE / 2, expected * 4 / 3 + 1));
+		Counters counters = new Counters(start);
+		ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+			Thread thread = new Thread(runnable, "user-import");
+			thread.setDaemon(true);
+			return thread;
+		});
+		ArrayDeque<Future<Chunk>> inFlight = new ArrayDeque<>();
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			long lineNumber = 0;
+			boolean first = true;
+			List<String> lines = new ArrayList<>(batchSize);
+			long[] lineNumbers = new long[batchSize];
+			String line;
+			while ((line = reader.readLine()) != null) {
+				lineNumber++;
+				long recordLine = lineNumber;
+				if (first) {
+					first = false;
+					if (!line.isEmpty() && line.charAt(0) == '\uFEFF') {
+						line = line.substring(1);
+					}
+					if (format == Format.CSV && isCsvHeader(line)) {
+						continue;
+					}
+				}
+				if (format == Format.CSV) {
+					String next;
+					for (int spanned = 1; spanned < MAX_RECORD_LINES && line.indexOf('"') >= 0 && splitCsv(line) == null
+							&& (next = reader.readLine()) != null; spanned++) {
+						lineNumber++;
+						line = line + '\n' + next;
+					}
+				}
+				lineNumbers[lines.size()] = recordLine;
+				lines.add(line);
+				if (lines.size() == batchSize) {
+					submit(pool, inFlight, lines, lineNumbers, format);
+					lines = new ArrayList<>(batchSize);
+					lineNumbers = new long[batchSize];
+					while (inFlight.size() > 2 * threads) {
+						insert(await(inFlight.poll()), seen, counters, inserted);
+					}
+				}
+			}
+			if (!lines.isEmpty()) {
+				submit(pool, inFlight, lines, lineNumbers, format);
+			}
+			while (!inFlight.isEmpty()) {
+				insert(await(inFlight.poll()), seen, counters, inserted);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		return counters.report();
+	}
+
+	/**
+	 * Mutable counters of a running import.
+	 */
+	private static final class Counters {
+		final long start;
+		long records;
+		long imported;
+		long duplicatesInFile;
+		long alreadyRegistered;
+		long malformed;
+		final List<String> samples = new ArrayList<>();
+
+		Counters(long start) {
+			this.start = start;
+		}
+
+		void duplicate(long line, String id) {
+			if (samples.size() < MAX_DUPLICATE_SAMPLES) {
+				samples.add("line " + line + ": " + id);
+			}
+		}
+
+		Report report() {
+			return new Report(records, imported, duplicatesInFile, alreadyRegistered, malformed,
+					System.nanoTime() - start, samples);
+		}
+	}
+
+	private void submit(ExecutorService pool, ArrayDeque<Future<Chunk>> inFlight, List<String> lines, long[] lineNumbers,
+			Format format) {
+		inFlight.add(pool.submit(() -> parse(lines, lineNumbers, format)));
+	}
+
+	private static Chunk await(Future<Chunk> future) throws IOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Import interrupted", e);
+		} catch (ExecutionException e) {
+			throw new IOException("Import failed: " + e.getCause().getMessage(), e.getCause());
+		}
+	}
+
+	/**
+	 * Parses and hashes a chunk of records; runs on a worker thread.
+	 */
+	private Chunk parse(List<String> lines, long[] lineNumbers, Format format) {
+		Chunk chunk = new Chunk(lineNumbers, lines.size());
+		for (int i = 0; i < lines.size(); i++) {
+			String line = lines.get(i);
+			if (line.trim().isEmpty()) {
+				continue;
+			}
+			User user = format == Format.CSV ? parseCsv(line) : parseJson(line);
+			if (user == null || user.password == null || UserRegistry.loginId(user).isEmpty()) {
+				chunk.malformed++;
+				continue;
+			}
+			if (hasher != null && !PasswordHasher.isHashed(user.password)) {
+				user.password = hasher.hash(user.password);
+			}
+			chunk.users[i] = user;
+		}
+		return chunk;
+	}
+
+	/**
+	 * Inserts a parsed chunk into the registry; runs on the importing thread, in file order.
+	 */
+	private void insert(Chunk chunk, Set<String> seen, Counters counters, Consumer<List<User>> inserted) {
+		List<User> batch = new ArrayList<>(chunk.users.length);
+		counters.malformed += chunk.malformed;
+		counters.records += chunk.malformed;
+		for (int i = 0; i < chunk.users.length; i++) {
+			User user = chunk.users[i];
+			if (user == null) {
+				continue;
+			}
+			counters.records++;
+			String id = UserRegistry.loginId(user);
+			if (!seen.add(id)) {
+				counters.duplicatesInFile++;
+				counters.duplicate(chunk.lineNumbers[i], id);
+			} else if ((alreadyRegistered != null && alreadyRegistered.test(id)) || !registry.register(user)) {
+				counters.alreadyRegistered++;
+				counters.duplicate(chunk.lineNumbers[i], id);
+			} else {
+				counters.imported++;
+				batch.add(user);
+			}
+		}
+		if (inserted != null && !batch.isEmpty()) {
+			inserted.accept(batch);
+		}
+		if (listener != null) {
+			listener.accept(counters.report());
+		}
+	}
+
+	/**
+	 * Reports whether a CSV line is the optional header.
+	 *
+	 * @param line The first line of the file.
+	 * @return {@code true} if the line names the columns.
+	 */
+	static boolean isCsvHeader(String line) {
+		List<String> fields = splitCsv(line);
+		return fields != null && fields.size() >= 4
+				&& fields.get(0) != null && "name".equalsIgnoreCase(fields.get(0).trim())
+				&& fields.get(2) != null && "phone".equalsIgnoreCase(fields.get(2).trim());
+	}
+
+	/**
+	 * Parses one CSV record.
+	 *
+	 * @param line The line.
+	 * @return The user, or {@code null} if the line does not have four fields.
+	 */
+	static User parseCsv(String line) {
+		List<String> fields = splitCsv(line);
+		if (fields == null || fields.size() != 4) {
+			return null;
+		}
+		User user = new User();
+		user.name = fields.get(0);
+		user.surname = fields.get(1);
+		user.phone = fields.get(2) == null ? null : fields.get(2).trim();
+		user.password = fields.get(3);
+		return user;
+	}
+
+	/**
+	 * Splits a CSV line into fields, removing quotes and unescaping doubled quotes.
+	 * An empty field without quotes is returned as {@code null}.
+	 *
+	 * @param line The line.
+	 * @return The fields, or {@code null} if a quoted field is not closed.
+	 */
+	static List<String> splitCsv(String line) {
+		List<String> fields = new ArrayList<>(4);
+		StringBuilder field = new StringBuilder();
+		int i = 0;
+		int length = line.length();
+		while (true) {
+			boolean quoted = i < length && line.charAt(i) == '"';
+			if (quoted) {
+				i++;
+				while (true) {
+					if (i >= length) {
+						return null;
+					}
+					char c = line.charAt(i++);
+					if (c == '"') {
+						if (i < length && line.charAt(i) == '"') {
+							field.append('"');
+							i++;
+						} else {
+							break;
+						}
+					} else {
+						field.append(c);
+					}
+				}
+				while (i < length && line.charAt(i) != ',') {
+					field.append(line.charAt(i++));
+				}
+			} else {
+				while (i < length && line.charAt(i) != ',') {
+					field.append(line.charAt(i++));
+				}
+			}
+			fields.add(quoted || field.length() > 0 ? field.toString() : null);
+			field.setLength(0);
+			if (i >= length) {
+				return fields;
+			}
+			i++;
+		}
+	}
+
+	/**
+	 * Parses one NDJSON record. Only the keys {@code name}, {@code surname}, {@code phone} and
+	 * {@code password} are used; other keys are skipped.
+	 *
+	 * @param line The line.
+	 * @return The user, or {@code null} if the line is not a flat JSON object.
+	 */
+	static User parseJson(String line) {
+		JsonCursor cursor = new JsonCursor(line);
+		User user = new User();
+		try {
+			cursor.expect('{');
+			if (!cursor.consume('}')) {
+				do {
+					String key = cursor.string();
+					cursor.expect(':');
+					String value = cursor.scalar();
+					switch (key) {
+						case "name":
+							user.name = value;
+							break;
+						case "surname":
+							user.surname = value;
+							break;
+						case "phone":
+							user.phone = value;
+							break;
+						case "password":
+							user.password = value;
+							break;
+						default:
+							break;
+					}
+				} while (cursor.consume(','));
+				cursor.expect('}');
+			}
+			cursor.end();
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+		return user;
+	}
+
+	/**
+	 * @class JsonCursor
+	 * @brief Minimal reader for flat JSON objects with scalar values.
+	 */
+	private static final class JsonCursor {
+		private final String text;
+		private int position;
+
+		JsonCursor(String text) {
+			this.text = text;
+		}
+
+		private void skipSpace() {
+			while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+				position++;
+			}
+		}
+
+		boolean consume(char c) {
+			skipSpace();
+			if (position < text.length() && text.charAt(position) == c) {
+				position++;
+				return true;
+			}
+			return false;
+		}
+
+		void expect(char c) {
+			if (!consume(c)) {
+				throw new IllegalArgumentException("Expected '" + c + "' at " + position);
+			}
+		}
+
+		void end() {
+			skipSpace();
+			if (position != text.length()) {
+				throw new IllegalArgumentException("Trailing characters at " + position);
+			}
+		}
+
+		String string() {
+			expect('"');
+			StringBuilder value = new StringBuilder();
+			while (true) {
+				if (position >= text.length()) {
+					throw new IllegalArgumentException("Unterminated string");
+				}
+				char c = text.charAt(position++);
+				if (c == '"') {
+					return value.toString();
+				}
+				if (c != '\\') {
+					value.append(c);
+					continue;
+				}
+				if (position >= text.length()) {
+					throw new IllegalArgumentException("Unterminated escape");
+				}
+				char escaped = text.charAt(position++);
+				switch (escaped) {
+					case 'b':
+						value.append('\b');
+						break;
+					case 'f':
+						value.append('\f');
+						break;
+					case 'n':
+						value.append('\n');
+						break;
+					case 'r':
+						value.append('\r');
+						break;
+					case 't':
+						value.append('\t');
+						break;
+					case 'u':
+						if (position + 4 > text.length()) {
+							throw new IllegalArgumentException("Truncated unicode escape");
+						}
+						value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+						position += 4;
+						break;
+					default:
+						value.append(escaped);
+						break;
+				}
+			}
+		}
+
+		String scalar() {
+			skipSpace();
+			if (position < text.length() && text.charAt(position) == '"') {
+				return string();
+			}
+			int start = position;
+			while (position < text.length() && ",} \t".indexOf(text.charAt(position)) < 0) {
+				position++;
+			}
+			String literal = text.substring(start, position);
+			if (literal.isEmpty()) {
+				throw new IllegalArgumentException("Missing value at " + start);
+			}
+			return "null".equals(literal) ? null : literal;
+		}
+	}
+}
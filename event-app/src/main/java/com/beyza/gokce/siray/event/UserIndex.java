@@ -0,0 +1,571 @@
+/**
+ * @file UserIndex.java
+ * @brief This file contains the open-addressing user index keyed by phone number.
+ * @details The index replaces the fixed-size chained {@code Event.hashTable} for lookups. It stores
+ *          phone keys in flat arrays, resolves collisions with linear probing and grows incrementally
+ *          so that no single registration pays for a full rehash.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.function.Consumer;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+ * @class UserIndex
+ * @brief Resizable open-addressing hash index that maps a phone number to a {@code User}.
+ * @details Keys, their cached hash values and the users are kept in three parallel arrays whose
+ *          capacity is always a power of two. Collisions are resolved with linear probing and
+ *          deletions use backward-shift deletion, so the table never contains tombstones.
+ *
+ *          When the load factor would exceed {@link #MAX_LOAD_FACTOR} a table twice as large is
+ *          allocated and the old slots are moved over a few at a time on each subsequent write.
+ *          While a migration is in progress lookups probe the new table first and then the
+ *          part of the old table that has not been moved yet.
+ */
+public class UserIndex {
+
+	/**
+	 * Initial capacity of an index created with the default constructor.
+	 */
+	public static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Maximum fraction of occupied slots before the table starts growing.
+	 */
+	public static final float MAX_LOAD_FACTOR = 0.7f;
+
+	/**
+	 * Number of old slots moved to the new table on every write during a migration.
+	 */
+	static final int MIGRATION_STEP = 16;
+
+	/**
+	 * Phone numbers stored in each slot, {@code null} for an empty slot.
+	 */
+	private String[] keys;
+	/**
+	 * Cached hash value of the key stored in each slot.
+	 */
+	private int[] hashes;
+	/**
+	 * User stored in each slot.
+	 */
+	private User[] values;
+	/**
+	 * Number of occupied slots in the current table.
+	 */
+	private int tableSize;
+	/**
+	 * Number of entries the current table accepts before growing again.
+	 */
+	private int threshold;
+
+	/**
+	 * Key array of the table being migrated, {@code null} when no migration is running.
+	 */
+	private String[] oldKeys;
+	/**
+	 * Hash array of the table being migrated.
+	 */
+	private int[] oldHashes;
+	/**
+	 * User array of the table being migrated.
+	 */
+	private User[] oldValues;
+	/**
+	 * Number of entries still waiting in the old table.
+	 */
+	private int oldSize;
+	/**
+	 * Slot of the old table where the migration started; always an empty slot.
+	 */
+	private int migrationStart;
+	/**
+	 * Number of old slots, counted from {@link #migrationStart}, that have already been moved.
+	 */
+	private int migrated;
+
+	/**
+	 * Creates an empty index with {@link #DEFAULT_CAPACITY} slots.
+	 */
+	public UserIndex() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty index able to hold the given number of users without growing.
+	 *
+	 * @param expectedUsers The number of users expected to be stored.
+	 */
+	public UserIndex(int expectedUsers) {
+		allocate(tableSizeFor(expectedUsers));
+	}
+
+	/**
+	 * Computes the hash value used to place a phone number in the table.
+	 *
+	 * @param phone The phone number to hash.
+	 * @return A well-mixed 32-bit hash of the phone number.
+	 */
+	static int hashOf(CharSequence phone) {
+		return PhoneHash.fold(PhoneHash.hash(phone));
+	}
+
+	/**
+	 * Returns the smallest power-of-two capacity that keeps the given number of entries under the load factor.
+	 *
+	 * @param entries The number of entries to accommodate.
+	 * @return The capacity to allocate.
+	 */
+	static int tableSizeFor(int entries) {
+		long needed = (long) Math.ceil(Math.max(entries, 1) / (double) MAX_LOAD_FACTOR) + 1;
+		int capacity = DEFAULT_CAPACITY;
+		while (capacity < needed && capacity < (1 << 30)) {
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	/**
+	 * Allocates a fresh current table with the given capacity.
+	 *
+	 * @param capacity The power-of-two number of slots.
+	 */
+	private void allocate(int capacity) {
+		keys = new String[capacity];
+		hashes = new int[capacity];
+		values = new User[capacity];
+		tableSize = 0;
+		threshold = (int) (capacity * MAX_LOAD_FACTOR);
+	}
+
+	/**
+	 * Returns the number of users stored in the index.
+	 *
+	 * @return The number of stored users.
+	 */
+	public int size() {
+		return tableSize + oldSize;
+	}
+
+	/**
+	 * Returns the number of slots of the current table.
+	 *
+	 * @return The current capacity.
+	 */
+	public int capacity() {
+		return keys.length;
+	}
+
+	/**
+	 * Reports whether an incremental migration to a larger table is still in progress.
+	 *
+	 * @return {@code true} while old slots remain to be moved.
+	 */
+	public boolean isMigrating() {
+		return oldKeys != null;
+	}
+
+	/**
+	 * Looks up the user registered with the given phone number.
+	 *
+	 * @param phone The phone number to look up.
+	 * @return The stored user, or {@code null} if no user has that phone number.
+	 */
+	public User get(CharSequence phone) {
+		if (phone == null) {
+			return null;
+		}
+		return lookup(hashOf(phone), phone, null, 0, 0, 0);
+	}
+
+	/**
+	 * Looks up a user by a phone number given as ASCII bytes, without creating a {@code String}.
+	 *
+	 * @param phone The buffer holding the phone number.
+	 * @param offset The index of the first byte of the phone number.
+	 * @param length The number of bytes of the phone number.
+	 * @return The stored user, or {@code null} if no user has that phone number.
+	 */
+	public User get(byte[] phone, int offset, int length) {
+		return lookup(PhoneHash.fold(PhoneHash.hash(phone, offset, length)), null, phone, offset, length, 0);
+	}
+
+	/**
+	 * Looks up a user by a phone number packed with {@link PhoneHash#pack(CharSequence)}.
+	 *
+	 * @param packed The packed phone number.
+	 * @return The stored user, or {@code null} if no user has that phone number.
+	 */
+	public User get(long packed) {
+		if (packed == PhoneHash.NOT_PACKABLE) {
+			return null;
+		}
+		return lookup(PhoneHash.fold(PhoneHash.hash(packed)), null, null, 0, 0, packed);
+	}
+
+	/**
+	 * Probes the current table and, during a migration, the old table for a key in one of its three forms.
+	 *
+	 * @param h The hash of the key.
+	 * @param text The key as characters, or {@code null}.
+	 * @param bytes The key as ASCII bytes when {@code text} is {@code null}, or {@code null}.
+	 * @param offset The offset of the key in {@code bytes}.
+	 * @param length The length of the key in {@code bytes}.
+	 * @param packed The packed key when both {@code text} and {@code bytes} are {@code null}.
+	 * @return The stored user, or {@code null} if the key is absent.
+	 */
+	private User lookup(int h, CharSequence text, byte[] bytes, int offset, int length, long packed) {
+		String[] k = keys;
+		int mask = k.length - 1;
+		int slot = probe(k, hashes, h & mask, h, text, bytes, offset, length, packed);
+		if (slot >= 0) {
+			return values[slot];
+		}
+		if (oldKeys != null) {
+			slot = probe(oldKeys, oldHashes, oldStart(h), h, text, bytes, offset, length, packed);
+			if (slot >= 0) {
+				return oldValues[slot];
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Checks whether a user with the given phone number is stored.
+	 *
+	 * @param phone The phone number to look up.
+	 * @return {@code true} if the phone number is present.
+	 */
+	public boolean contains(String phone) {
+		return get(phone) != null;
+	}
+
+	/**
+	 * Stores a user under its phone number, replacing any user already registered with it.
+	 *
+	 * @param user The user to store; its {@code phone} field is the key.
+	 * @return The user previously stored under the same phone number, or {@code null}.
+	 */
+	public User put(User user) {
+		String phone = user.phone;
+		int h = hashOf(phone);
+		int slot = findSlot(keys, hashes, phone, h);
+		if (slot >= 0) {
+			User previous = values[slot];
+			values[slot] = user;
+			migrateStep();
+			return previous;
+		}
+		if (oldKeys != null) {
+			slot = findOldSlot(phone, h);
+			if (slot >= 0) {
+				User previous = oldValues[slot];
+				oldValues[slot] = user;
+				migrateStep();
+				return previous;
+			}
+		}
+		if (tableSize + 1 > threshold) {
+			grow();
+		}
+		insertNew(phone, h, user);
+		migrateStep();
+		return null;
+	}
+
+	/**
+	 * Removes the user registered with the given phone number.
+	 * The slot is freed with backward-shift deletion so later probes stay short.
+	 *
+	 * @param phone The phone number to remove.
+	 * @return The removed user, or {@code null} if the phone number was not present.
+	 */
+	public User remove(String phone) {
+		if (phone == null) {
+			return null;
+		}
+		finishMigration();
+		int h = hashOf(phone);
+		int slot = findSlot(keys, hashes, phone, h);
+		if (slot < 0) {
+			return null;
+		}
+		User removed = values[slot];
+		int mask = keys.length - 1;
+		int hole = slot;
+		int next = (hole + 1) & mask;
+		while (keys[next] != null) {
+			int home = hashes[next] & mask;
+			// Shift the entry back if the hole lies on its probe path from home to next.
+			if (((next - home) & mask) >= ((next - hole) & mask)) {
+				keys[hole] = keys[next];
+				hashes[hole] = hashes[next];
+				values[hole] = values[next];
+				hole = next;
+			}
+			next = (next + 1) & mask;
+		}
+		keys[hole] = null;
+		values[hole] = null;
+		hashes[hole] = 0;
+		tableSize--;
+		return removed;
+	}
+
+	/**
+	 * Grows the table at once so that the given number of users fits without further resizing.
+	 * Used before bulk loads, where moving slots incrementally would only add overhead.
+	 *
+	 * @param expectedUsers The total number of users expected to be stored.
+	 */
+	public void ensureCapacity(int expectedUsers) {
+		int capacity = tableSizeFor(expectedUsers);
+		if (capacity <= keys.length) {
+			return;
+		}
+		finishMigration();
+		String[] k = keys;
+		int[] hs = hashes;
+		User[] v = values;
+		allocate(capacity);
+		for (int i = 0; i < k.length; i++) {
+			if (k[i] != null) {
+				insertNew(k[i], hs[i], v[i]);
+			}
+		}
+	}
+
+	/**
+	 * Removes every user and shrinks the table back to its default capacity.
+	 */
+	public void clear() {
+		allocate(DEFAULT_CAPACITY);
+		dropOldTable();
+	}
+
+	/**
+	 * Passes every stored user to the given action, in table order.
+	 *
+	 * @param action The action invoked for each user.
+	 */
+	public void forEach(Consumer<? super User> action) {
+		for (int i = 0; i < values.length; i++) {
+			if (keys[i] != null) {
+				action.accept(values[i]);
+			}
+		}
+		if (oldKeys != null) {
+			for (int i = 0; i < oldValues.length; i++) {
+				if (oldKeys[i] != null) {
+					action.accept(oldValues[i]);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Probes a table for the given key.
+	 *
+	 * @param k The key array of the table.
+	 * @param hs The hash array of the table.
+	 * @param phone The key to find.
+	 * @param h The hash of the key.
+	 * @return The slot holding the key, or {@code -1} if it is absent.
+	 */
+	private static int findSlot(String[] k, int[] hs, String phone, int h) {
+		return probe(k, hs, h & (k.length - 1), h, phone, null, 0, 0, 0);
+	}
+
+	/**
+	 * Probes the part of the old table that has not been migrated yet.
+	 *
+	 * @param phone The key to find.
+	 * @param h The hash of the key.
+	 * @return The slot in the old table holding the key, or {@code -1} if it is absent.
+	 */
+	private int findOldSlot(String phone, int h) {
+		return probe(oldKeys, oldHashes, oldStart(h), h, phone, null, 0, 0, 0);
+	}
+
+	/**
+	 * Returns the slot where a probe of the old table starts.
+	 * Probes whose home lies inside the migrated range jump to the first unmigrated slot, because
+	 * every slot between the key's home and its position was occupied before the migration started.
+	 *
+	 * @param h The hash of the key.
+	 * @return The first old slot to inspect.
+	 */
+	private int oldStart(int h) {
+		int mask = oldKeys.length - 1;
+		int slot = h & mask;
+		if (((slot - migrationStart) & mask) < migrated) {
+			slot = (migrationStart + migrated) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Walks a probe sequence until the key or an empty slot is found.
+	 *
+	 * @param k The key array of the table.
+	 * @param hs The hash array of the table.
+	 * @param slot The first slot to inspect.
+	 * @param h The hash of the key.
+	 * @param text The key as characters, or {@code null}.
+	 * @param bytes The key as ASCII bytes when {@code text} is {@code null}, or {@code null}.
+	 * @param offset The offset of the key in {@code bytes}.
+	 * @param length The length of the key in {@code bytes}.
+	 * @param packed The packed key when both {@code text} and {@code bytes} are {@code null}.
+	 * @return The slot holding the key, or {@code -1} if it is absent.
+	 */
+	private static int probe(String[] k, int[] hs, int slot, int h, CharSequence text, byte[] bytes, int offset, int length, long packed) {
+		int mask = k.length - 1;
+		for (int probes = 0; probes < k.length; probes++) {
+			String key = k[slot];
+			if (key == null) {
+				return -1;
+			}
+			if (hs[slot] == h) {
+				boolean equal;
+				if (text != null) {
+					equal = key.contentEquals(text);
+				} else if (bytes != null) {
+					equal = asciiEquals(key, bytes, offset, length);
+				} else {
+					equal = PhoneHash.matches(key, packed);
+				}
+				if (equal) {
+					return slot;
+				}
+			}
+			slot = (slot + 1) & mask;
+		}
+		return -1;
+	}
+
+	/**
+	 * Compares a key with a phone number given as ASCII bytes.
+	 *
+	 * @param key The stored key.
+	 * @param bytes The buffer holding the phone number.
+	 * @param offset The index of the first byte of the phone number.
+	 * @param length The number of bytes of the phone number.
+	 * @return {@code true} if both hold the same characters.
+	 */
+	private static boolean asciiEquals(String key, byte[] bytes, int offset, int length) {
+		if (key.length() != length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (key.charAt(i) != (bytes[offset + i] & 0xFF)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Inserts a key known to be absent into the current table.
+	 *
+	 * @param phone The key.
+	 * @param h The hash of the key.
+	 * @param user The user to store.
+	 */
+	private void insertNew(String phone, int h, User user) {
+		int mask = keys.length - 1;
+		int slot = h & mask;
+		while (keys[slot] != null) {
+			slot = (slot + 1) & mask;
+		}
+		keys[slot] = phone;
+		hashes[slot] = h;
+		values[slot] = user;
+		tableSize++;
+	}
+
+	/**
+	 * Starts an incremental migration to a table twice as large.
+	 * A migration that is still running is completed first.
+	 */
+	private void grow() {
+		finishMigration();
+		String[] k = keys;
+		int[] hs = hashes;
+		User[] v = values;
+		int size = tableSize;
+		allocate(k.length << 1);
+		if (size == 0) {
+			return;
+		}
+		int start = 0;
+		while (k[start] != null) {
+			start++;
+		}
+		oldKeys = k;
+		oldHashes = hs;
+		oldValues = v;
+		oldSize = size;
+		migrationStart = start;
+		migrated = 0;
+	}
+
+	/**
+	 * Moves the next {@link #MIGRATION_STEP} old slots into the current table.
+	 */
+	private void migrateStep() {
+		if (oldKeys != null) {
+			migrate(MIGRATION_STEP);
+		}
+	}
+
+	/**
+	 * Moves every remaining old slot into the current table.
+	 */
+	private void finishMigration() {
+		if (oldKeys != null) {
+			migrate(oldKeys.length);
+		}
+	}
+
+	/**
+	 * Moves up to the given number of old slots into the current table.
+	 *
+	 * @param slots The maximum number of old slots to visit.
+	 */
+	private void migrate(int slots) {
+		int mask = oldKeys.length - 1;
+		int end = Math.min(oldKeys.length, migrated + slots);
+		while (migrated < end) {
+			int slot = (migrationStart + migrated) & mask;
+			String key = oldKeys[slot];
+			if (key != null) {
+				insertNew(key, oldHashes[slot], oldValues[slot]);
+				oldKeys[slot] = null;
+				oldValues[slot] = null;
+				oldSize--;
+			}
+			migrated++;
+		}
+		if (migrated == oldKeys.length) {
+			dropOldTable();
+		}
+	}
+
+	/**
+	 * Releases the old table once every slot has been moved.
+	 */
+	private void dropOldTable() {
+		oldKeys = null;
+		oldHashes = null;
+		oldValues = null;
+		oldSize = 0;
+		migrated = 0;
+	}
+}
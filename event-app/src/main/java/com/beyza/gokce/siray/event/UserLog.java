@@ -0,0 +1,525 @@
+/**
+ * @file UserLog.java
+ * @brief This file contains the append-only write-ahead log for user registrations.
+ * @details Registrations are appended to {@code users.log} instead of rewriting {@code users.bin}.
+ *          Concurrent appends are batched into a single {@code fsync}, and a background compactor
+ *          periodically folds the log into a fresh snapshot.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+ * @class UserLog
+ * @brief Durable, append-only log of registered users with group commit.
+ * @details Layout of the log, all integers big-endian:
+ *          <pre>
+ *          header : magic "EVUL" (int) | version (short) | flags (short)
+ *          entry  : CRC32 of the record (int) | user record in the {@link UserStore} record format
+ *          </pre>
+ *          {@link #append(User)} returns once the user is on disk. Threads that append while a
+ *          flush is running queue their users; the next flush writes the whole queue and syncs
+ *          once for all of them. An entry that is cut short by the end of the file, or that fails
+ *          its checksum with nothing but zeros after it, is the torn tail of a crashed flush and is
+ *          truncated when the log is opened. A bad entry followed by more of the log is corruption
+ *          and an error, so the entries after it are never thrown away.
+ */
+public final class UserLog implements Closeable {
+
+	/**
+	 * Magic number at the start of the log ("EVUL").
+	 */
+	static final int MAGIC = 0x4556554C;
+
+	/**
+	 * Current version of the log format.
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * Size of the log header in bytes.
+	 */
+	static final int HEADER_SIZE = 8;
+
+	/**
+	 * Callback that writes a snapshot containing at least every user in the log.
+	 */
+	public interface SnapshotWriter {
+		/**
+		 * Writes the snapshot.
+		 *
+		 * @throws IOException If the snapshot cannot be written.
+		 */
+		void write() throws IOException;
+	}
+
+	/**
+	 * The log file.
+	 */
+	private final Path path;
+	/**
+	 * Buffered writer positioned at the end of the valid log.
+	 */
+	private final BinaryFileWriter out;
+	/**
+	 * Checksum scratch used by the thread that owns the file.
+	 */
+	private final CRC32 crc = new CRC32();
+	/**
+	 * Users waiting for the next flush.
+	 */
+	private List<User> pending = new ArrayList<>();
+	/**
+	 * Number of users ever queued; the ticket of the most recent append.
+	 */
+	private long enqueued;
+	/**
+	 * Highest ticket known to be on disk.
+	 */
+	private long durable;
+	/**
+	 * Highest ticket whose flush failed.
+	 */
+	private long failedThrough;
+	/**
+	 * The error of the most recent failed flush.
+	 */
+	private IOException failure;
+	/**
+	 * Whether a thread currently owns the file, either flushing or compacting.
+	 */
+	private boolean busy;
+	/**
+	 * Number of {@code fsync} calls issued by flushes.
+	 */
+	private long syncs;
+	/**
+	 * Number of completed compactions.
+	 */
+	private long compactions;
+	/**
+	 * Whether the log has been closed.
+	 */
+	private boolean closed;
+	/**
+	 * Executor running the background compactor, or {@code null} if it was not started.
+	 */
+	private ScheduledExecutorService compactor;
+
+	/**
+	 * Creates a log around an open writer.
+	 *
+	 * @param path The log file.
+	 * @param out The writer positioned at the end of the valid log.
+	 */
+	private UserLog(Path path, BinaryFileWriter out) {
+		this.path = path;
+		this.out = out;
+	}
+
+	/**
+	 * Returns the default location of the registration log.
+	 *
+	 * @return The path of {@code users.log} in the working directory.
+	 */
+	public static Path defaultPath() {
+		return Paths.get("users.log");
+	}
+
+	/**
+	 * Opens a log for appending, creating it if necessary.
+	 * A torn tail left by a crash is cut off first.
+	 *
+	 * @param path The log file.
+	 * @return The opened log.
+	 * @throws IOException If the file cannot be opened, has an invalid header or is corrupt before its tail.
+	 */
+	public static UserLog open(Path path) throws IOException {
+		long validEnd = scan(path, null);
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			BinaryFileWriter out = new BinaryFileWriter(channel, BinaryFileWriter.DEFAULT_BUFFER_SIZE);
+			if (validEnd < HEADER_SIZE) {
+				channel.truncate(0);
+				writeHeader(out);
+				out.sync();
+			} else {
+				channel.truncate(validEnd);
+				channel.position(validEnd);
+			}
+			return new UserLog(path, out);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Replays every valid entry of a log, oldest first.
+	 *
+	 * @param path The log file.
+	 * @param sink Receives each logged user.
+	 * @return The number of users replayed.
+	 * @throws IOException If the file cannot be read, has an invalid header or is corrupt before its tail.
+	 */
+	public static int replay(Path path, Consumer<? super User> sink) throws IOException {
+		int[] count = new int[1];
+		scan(path, user -> {
+			sink.accept(user);
+			count[0]++;
+		});
+		return count[0];
+	}
+
+	/**
+	 * Reads the log up to its torn tail.
+	 *
+	 * @param path The log file.
+	 * @param sink Receives each valid user, or {@code null} to only validate.
+	 * @return The length of the valid prefix of the log, or {@code 0} if the file is missing or has no header.
+	 * @throws IOException If the file cannot be read, has an invalid header or has a bad entry before its tail.
+	 */
+	private static long scan(Path path, Consumer<? super User> sink) throws IOException {
+		FileChannel channel;
+		try {
+			channel = FileChannel.open(path, StandardOpenOption.READ);
+		} catch (NoSuchFileException e) {
+			return 0;
+		}
+		try (BinaryFileReader in = new BinaryFileReader(channel, BinaryFileWriter.DEFAULT_BUFFER_SIZE)) {
+			if (!in.request(HEADER_SIZE)) {
+				return 0;
+			}
+			if (in.getInt() != MAGIC) {
+				throw new IOException(path + " is not a user log");
+			}
+			int version = in.getShort();
+			if (version > VERSION) {
+				throw new IOException(path + " has unsupported version " + version);
+			}
+			in.getShort();
+			long validEnd = in.position();
+			while (in.request(4)) {
+				long start = in.position();
+				int expected = in.getInt();
+				in.resetCrc();
+				User user;
+				try {
+					user = UserStore.readRecord(in);
+				} catch (EOFException e) {
+					// A record cut short by the end of the file is the torn tail of the log.
+					break;
+				} catch (IOException e) {
+					user = null;
+				}
+				if (user == null || in.crc() != expected) {
+					if (!onlyZerosRemain(in)) {
+						throw new IOException(path + " has a corrupt entry at offset " + start);
+					}
+					break;
+				}
+				if (sink != null) {
+					sink.accept(user);
+				}
+				validEnd = in.position();
+			}
+			return validEnd;
+		}
+	}
+
+	/**
+	 * Checks whether the rest of the file is empty or zero-filled, as a crash can leave the
+	 * blocks of an unsynced flush.
+	 *
+	 * @param in The reader positioned after a bad entry.
+	 * @return {@code true} if no non-zero byte follows.
+	 * @throws IOException If the file cannot be read.
+	 */
+	private static boolean onlyZerosRemain(BinaryFileReader in) throws IOException {
+		while (in.request(1)) {
+			if (in.getByte() != 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Writes the log header.
+	 *
+	 * @param out The writer positioned at the start of the file.
+	 * @throws IOException If the header cannot be written.
+	 */
+	private static void writeHeader(BinaryFileWriter out) throws IOException {
+		out.putInt(MAGIC);
+		out.putShort(VERSION);
+		out.putShort(0);
+	}
+
+	/**
+	 * Appends a user to the log and waits until it is durable.
+	 * If another thread is already flushing, the user joins the next batch.
+	 *
+	 * @param user The user to log.
+	 * @throws IOException If the batch containing the user could not be written.
+	 */
+	public void append(User user) throws IOException {
+		long ticket;
+		synchronized (this) {
+			if (closed) {
+				throw new IOException("User log is closed");
+			}
+			pending.add(user);
+			ticket = ++enqueued;
+			while (durable < ticket && busy) {
+				waitUninterruptibly();
+			}
+			if (durable >= ticket) {
+				checkFailure(ticket);
+				return;
+			}
+			busy = true;
+		}
+		flushPending();
+		synchronized (this) {
+			checkFailure(ticket);
+		}
+	}
+
+	/**
+	 * Writes every queued user with a single sync, then wakes the waiting appenders.
+	 * The calling thread must own the file.
+	 */
+	private void flushPending() {
+		List<User> batch;
+		long batchEnd;
+		synchronized (this) {
+			batch = pending;
+			batchEnd = enqueued;
+			pending = new ArrayList<>();
+		}
+		IOException error = null;
+		try {
+			for (User user : batch) {
+				writeEntry(user);
+			}
+			out.sync();
+		} catch (IOException e) {
+			error = e;
+		}
+		synchronized (this) {
+			syncs++;
+			if (error != null) {
+				failure = error;
+				failedThrough = batchEnd;
+			}
+			durable = batchEnd;
+			busy = false;
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Writes one checksummed entry into the buffer.
+	 *
+	 * @param user The user to write.
+	 * @throws IOException If the entry cannot be written.
+	 */
+	private void writeEntry(User user) throws IOException {
+		byte[] record = UserStore.encodeRecord(user);
+		crc.reset();
+		crc.update(record, 0, record.length);
+		out.putInt((int) crc.getValue());
+		out.putBytes(record, 0, record.length);
+	}
+
+	/**
+	 * Throws the flush error if the given ticket was part of a failed batch.
+	 *
+	 * @param ticket The ticket of the append.
+	 * @throws IOException If the batch containing the ticket failed.
+	 */
+	private void checkFailure(long ticket) throws IOException {
+		if (failure != null && ticket <= failedThrough) {
+			throw new IOException("User log write failed", failure);
+		}
+	}
+
+	/**
+	 * Waits on this monitor, preserving the interrupt status.
+	 */
+	private void waitUninterruptibly() {
+		try {
+			wait();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Writes a snapshot and empties the log, blocking appends while it runs.
+	 *
+	 * @param snapshot Writes a snapshot containing at least every user in the log.
+	 * @throws IOException If the snapshot or the truncation fails; the log is left intact.
+	 */
+	public void compact(SnapshotWriter snapshot) throws IOException {
+		synchronized (this) {
+			while (busy) {
+				waitUninterruptibly();
+			}
+			busy = true;
+		}
+		try {
+			flushQueued();
+			snapshot.write();
+			FileChannel channel = out.channel();
+			channel.truncate(HEADER_SIZE);
+			channel.position(HEADER_SIZE);
+			channel.force(false);
+			synchronized (this) {
+				compactions++;
+			}
+		} finally {
+			synchronized (this) {
+				busy = false;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Writes users queued while the caller owned the file.
+	 *
+	 * @throws IOException If the users cannot be written.
+	 */
+	private void flushQueued() throws IOException {
+		List<User> batch;
+		long batchEnd;
+		synchronized (this) {
+			if (pending.isEmpty()) {
+				return;
+			}
+			batch = pending;
+			batchEnd = enqueued;
+			pending = new ArrayList<>();
+		}
+		for (User user : batch) {
+			writeEntry(user);
+		}
+		out.sync();
+		synchronized (this) {
+			syncs++;
+			durable = batchEnd;
+		}
+	}
+
+	/**
+	 * Starts a daemon thread that compacts the log whenever it grows past a size threshold.
+	 *
+	 * @param period The interval between size checks.
+	 * @param unit The unit of {@code period}.
+	 * @param thresholdBytes The log size above which a compaction runs.
+	 * @param snapshot Writes a snapshot containing at least every user in the log.
+	 */
+	public synchronized void startCompactor(long period, TimeUnit unit, long thresholdBytes, SnapshotWriter snapshot) {
+		if (compactor != null) {
+			return;
+		}
+		compactor = Executors.newSingleThreadScheduledExecutor(r -> {
+			Thread thread = new Thread(r, "user-log-compactor");
+			thread.setDaemon(true);
+			return thread;
+		});
+		compactor.scheduleWithFixedDelay(() -> {
+			try {
+				if (size() > thresholdBytes) {
+					compact(snapshot);
+				}
+			} catch (IOException e) {
+				System.err.println("Error compacting user log: " + e.getMessage());
+			}
+		}, period, period, unit);
+	}
+
+	/**
+	 * Returns the current size of the log file.
+	 *
+	 * @return The size in bytes.
+	 * @throws IOException If the size cannot be determined.
+	 */
+	public long size() throws IOException {
+		return out.channel().size();
+	}
+
+	/**
+	 * Returns the number of {@code fsync} calls issued for appends so far.
+	 *
+	 * @return The sync count.
+	 */
+	public synchronized long syncCount() {
+		return syncs;
+	}
+
+	/**
+	 * Returns the number of completed compactions.
+	 *
+	 * @return The compaction count.
+	 */
+	public synchronized long compactionCount() {
+		return compactions;
+	}
+
+	/**
+	 * Returns the log file.
+	 *
+	 * @return The path of the log.
+	 */
+	public Path path() {
+		return path;
+	}
+
+	/**
+	 * Stops the compactor, waits for running flushes and closes the file.
+	 *
+	 * @throws IOException If the file cannot be closed.
+	 */
+	@Override
+	public void close() throws IOException {
+		ScheduledExecutorService executor;
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			executor = compactor;
+			while (busy) {
+				waitUninterruptibly();
+			}
+		}
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+		out.close();
+	}
+}
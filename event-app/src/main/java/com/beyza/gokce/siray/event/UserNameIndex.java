@@ -0,0 +1,196 @@
+/**
+ * @file UserNameIndex.java
+ * @brief This file contains the sorted secondary index used to find users by name or surname.
+ * @details The index keeps one sorted entry per user, so exact and case-insensitive prefix lookups
+ *          visit only the matching range instead of walking every user.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+ * @class UserNameIndex
+ * @brief Case-insensitive sorted index from one text field of {@code User} to the users.
+ * @details Entries are keyed by the lower-cased field value, a {@code '\0'} separator and the
+ *          user's login id, so users sharing a name get distinct keys and all keys starting with
+ *          a prefix form one contiguous range. The keys live in a {@code ConcurrentSkipListMap},
+ *          which gives logarithmic updates and lock-free range scans while the registry changes.
+ */
+public final class UserNameIndex {
+
+	/**
+	 * Separator between the field value and the login id inside a key.
+	 */
+	private static final char SEPARATOR = '\0';
+
+	/**
+	 * Character above every character that can follow a prefix.
+	 */
+	private static final char HIGHEST = '\uFFFF';
+
+	/**
+	 * Reads the indexed field of a user.
+	 */
+	private final Function<User, String> field;
+	/**
+	 * Users by key.
+	 */
+	private final ConcurrentSkipListMap<String, User> entries = new ConcurrentSkipListMap<>();
+
+	/**
+	 * Creates an empty index.
+	 *
+	 * @param field Reads the indexed field of a user, for example {@code user -> user.name}.
+	 */
+	public UserNameIndex(Function<User, String> field) {
+		this.field = field;
+	}
+
+	/**
+	 * Normalizes a field value or query for case-insensitive comparison.
+	 *
+	 * @param value The value.
+	 * @return The lower-cased value; {@code null} becomes the empty string.
+	 */
+	static String normalize(String value) {
+		return value == null ? "" : value.toLowerCase(Locale.ROOT);
+	}
+
+	private String key(User user) {
+		return normalize(field.apply(user)) + SEPARATOR + UserRegistry.loginId(user);
+	}
+
+	/**
+	 * Adds a user.
+	 *
+	 * @param user The user.
+	 */
+	public void add(User user) {
+		entries.put(key(user), user);
+	}
+
+	/**
+	 * Removes a user, if it is indexed under its current field value.
+	 *
+	 * @param user The user.
+	 */
+	public void remove(User user) {
+		entries.remove(key(user), user);
+	}
+
+	/**
+	 * Replaces one user by another. The registry calls this while it holds the user's login id.
+	 *
+	 * @param previous The user to remove, or {@code null}.
+	 * @param next The user to add, or {@code null}.
+	 */
+	void replace(User previous, User next) {
+		if (previous != null) {
+			remove(previous);
+		}
+		if (next != null) {
+			add(next);
+		}
+	}
+
+	/**
+	 * Finds the users whose field equals a value, ignoring case.
+	 *
+	 * @param value The value.
+	 * @return The matching users, ordered by login id.
+	 */
+	public List<User> find(String value) {
+		String from = normalize(value) + SEPARATOR;
+		return collect(entries.subMap(from, true, normalize(value) + (char) (SEPARATOR + 1), false), Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Finds the users whose field starts with a prefix, ignoring case.
+	 *
+	 * @param prefix The prefix; the empty prefix matches every user.
+	 * @param limit The largest number of users to return.
+	 * @return The matching users in field order.
+	 */
+	public List<User> findByPrefix(String prefix, int limit) {
+		String from = normalize(prefix);
+		return collect(entries.subMap(from, true, from + HIGHEST, false), limit);
+	}
+
+	/**
+	 * Counts the users whose field starts with a prefix, ignoring case.
+	 *
+	 * @param prefix The prefix.
+	 * @return The number of matching users.
+	 */
+	public int countByPrefix(String prefix) {
+		String from = normalize(prefix);
+		return entries.subMap(from, true, from + HIGHEST, false).size();
+	}
+
+	/**
+	 * Streams the users after a cursor in field order, one page at a time.
+	 * The cursor is a key of the index, so a page continues where the previous
+	 * one ended even if users were added or removed in between.
+	 *
+	 * @param after The cursor returned by the previous page, or {@code null} to start at the beginning.
+	 * @param limit The largest number of users to pass to {@code sink}.
+	 * @param sink Receives the users of the page.
+	 * @return The cursor of the next page, or {@code null} if no users follow.
+	 */
+	public String page(String after, int limit, Consumer<? super User> sink) {
+		NavigableMap<String, User> tail = after == null ? entries : entries.tailMap(after, false);
+		String last = null;
+		int count = 0;
+		for (Map.Entry<String, User> entry : tail.entrySet()) {
+			if (count == limit) {
+				return last;
+			}
+			sink.accept(entry.getValue());
+			last = entry.getKey();
+			count++;
+		}
+		return null;
+	}
+
+	private static List<User> collect(ConcurrentNavigableMap<String, User> range, int limit) {
+		List<User> users = new ArrayList<>();
+		for (User user : range.values()) {
+			if (users.size() >= limit) {
+				break;
+			}
+			users.add(user);
+		}
+		return users;
+	}
+
+	/**
+	 * Returns the number of indexed users.
+	 *
+	 * @return The number of entries.
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Removes every entry.
+	 */
+	public void clear() {
+		entries.clear();
+	}
+}
@@ -0,0 +1,386 @@
+/**
+ * @file UserRegistry.java
+ * @brief This file contains the thread-safe registry that holds every known user.
+ * @details The registry replaces the separate {@code users} map and the phone index of {@code Event}.
+ *          Lookups never take a lock, and registration is an atomic register-if-absent, so logins
+ *          can be served from many threads while new users sign up.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+ * @class UserRegistry
+ * @brief Concurrent map from login id to {@code User}.
+ * @details A user's login id is the phone number, or the name for users registered without one
+ *          (see {@link #loginId(User)}). Users are kept in a {@code ConcurrentHashMap}: reads are
+ *          lock-free, writes lock a single bin, and {@link #register(User)} inserts only if the
+ *          login id is still free. {@link #passwords()} exposes the registry as the
+ *          username-to-password map the authentication menu has always used.
+ *
+ *          Secondary indexes by name and surname are optional. Once enabled they are updated
+ *          inside the map's per-key {@code compute}, so an index never disagrees with the map
+ *          about which user holds a login id.
+ */
+public final class UserRegistry {
+
+	/**
+	 * Number of users a registry created with the default constructor holds without resizing.
+	 */
+	public static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Users by login id.
+	 */
+	private final ConcurrentHashMap<String, User> users;
+	/**
+	 * Read-only live view of the registered users.
+	 */
+	private final Collection<User> userView;
+	/**
+	 * Live username-to-password view of the registry.
+	 */
+	private final Map<String, String> passwordView = new PasswordView();
+	/**
+	 * Index of the users by name, {@code null} until {@link #enableNameIndexes()} is called.
+	 */
+	private volatile UserNameIndex nameIndex;
+	/**
+	 * Index of the users by surname, {@code null} until {@link #enableNameIndexes()} is called.
+	 */
+	private volatile UserNameIndex surnameIndex;
+
+	/**
+	 * Creates an empty registry.
+	 */
+	public UserRegistry() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates an empty registry able to hold the given number of users without resizing.
+	 *
+	 * @param expectedUsers The number of users expected to be registered.
+	 */
+	public UserRegistry(int expectedUsers) {
+		users = new ConcurrentHashMap<>(Math.max(expectedUsers, 1));
+		userView = Collections.unmodifiableCollection(users.values());
+	}
+
+	/**
+	 * Returns the id a user logs in with: the phone number, or the name if the user has no phone number.
+	 *
+	 * @param user The user.
+	 * @return The login id, never {@code null}.
+	 */
+	static String loginId(User user) {
+		if (user.phone != null && !user.phone.isEmpty()) {
+			return user.phone;
+		}
+		return user.name == null ? "" : user.name;
+	}
+
+	/**
+	 * Looks a user up without blocking.
+	 *
+	 * @param loginId The phone number or name the user logs in with.
+	 * @return The user, or {@code null} if no user has this login id.
+	 */
+	public User find(String loginId) {
+		return loginId == null ? null : users.get(loginId);
+	}
+
+	/**
+	 * Checks credentials without blocking. The password is compared with
+	 * {@link PasswordHasher#verify(String, String)}, so hashed and plaintext
+	 * stored passwords are both accepted and compared in constant time.
+	 *
+	 * @param loginId The phone number or name the user logs in with.
+	 * @param password The password to check.
+	 * @return {@code true} if a user with this login id exists and has this password.
+	 */
+	public boolean authenticate(String loginId, String password) {
+		User user = find(loginId);
+		return user != null && PasswordHasher.verify(password, user.password);
+	}
+
+	/**
+	 * Registers a user unless the login id is already taken. Concurrent registrations
+	 * of the same login id are serialized, so exactly one of them succeeds.
+	 *
+	 * @param user The user to register.
+	 * @return {@code true} if the user was registered, {@code false} if the login id was taken.
+	 */
+	public boolean register(User user) {
+		if (nameIndex == null) {
+			return users.putIfAbsent(loginId(user), user) == null;
+		}
+		boolean[] added = new boolean[1];
+		users.computeIfAbsent(loginId(user), id -> {
+			index(null, user);
+			added[0] = true;
+			return user;
+		});
+		return added[0];
+	}
+
+	/**
+	 * Stores a user, replacing any user with the same login id.
+	 *
+	 * @param user The user to store.
+	 * @return The replaced user, or {@code null} if the login id was free.
+	 */
+	public User put(User user) {
+		if (nameIndex == null) {
+			return users.put(loginId(user), user);
+		}
+		User[] previous = new User[1];
+		users.compute(loginId(user), (id, current) -> {
+			index(current, user);
+			previous[0] = current;
+			return user;
+		});
+		return previous[0];
+	}
+
+	/**
+	 * Removes a user.
+	 *
+	 * @param loginId The login id of the user.
+	 * @return The removed user, or {@code null} if no user had this login id.
+	 */
+	public User remove(String loginId) {
+		if (loginId == null) {
+			return null;
+		}
+		if (nameIndex == null) {
+			return users.remove(loginId);
+		}
+		User[] previous = new User[1];
+		users.computeIfPresent(loginId, (id, current) -> {
+			index(current, null);
+			previous[0] = current;
+			return null;
+		});
+		return previous[0];
+	}
+
+	/**
+	 * Moves a login id from one user to another in the secondary indexes.
+	 *
+	 * @param previous The user that held the login id, or {@code null}.
+	 * @param next The user that holds it now, or {@code null}.
+	 */
+	private void index(User previous, User next) {
+		nameIndex.replace(previous, next);
+		surnameIndex.replace(previous, next);
+	}
+
+	/**
+	 * Turns on the name and surname indexes and fills them with the registered users.
+	 * Call it before other threads start changing the registry.
+	 */
+	public synchronized void enableNameIndexes() {
+		if (nameIndex != null) {
+			return;
+		}
+		UserNameIndex names = new UserNameIndex(user -> user.name);
+		UserNameIndex surnames = new UserNameIndex(user -> user.surname);
+		for (User user : users.values()) {
+			names.add(user);
+			surnames.add(user);
+		}
+		surnameIndex = surnames;
+		nameIndex = names;
+	}
+
+	/**
+	 * Reports whether the name and surname indexes are maintained.
+	 *
+	 * @return {@code true} after {@link #enableNameIndexes()}.
+	 */
+	public boolean hasNameIndexes() {
+		return nameIndex != null;
+	}
+
+	/**
+	 * Finds users by name, ignoring case, without walking every user.
+	 *
+	 * @param prefix The beginning of the name.
+	 * @param limit The largest number of users to return.
+	 * @return The matching users in name order.
+	 * @throws IllegalStateException If the indexes are not enabled.
+	 */
+	public List<User> findByName(String prefix, int limit) {
+		return requireIndex(nameIndex).findByPrefix(prefix, limit);
+	}
+
+	/**
+	 * Finds users by surname, ignoring case, without walking every user.
+	 *
+	 * @param prefix The beginning of the surname.
+	 * @param limit The largest number of users to return.
+	 * @return The matching users in surname order.
+	 * @throws IllegalStateException If the indexes are not enabled.
+	 */
+	public List<User> findBySurname(String prefix, int limit) {
+		return requireIndex(surnameIndex).findByPrefix(prefix, limit);
+	}
+
+	/**
+	 * Streams one page of users in name order.
+	 *
+	 * @param cursor The cursor returned by the previous page, or {@code null} for the first page.
+	 * @param pageSize The largest number of users in the page.
+	 * @param sink Receives the users of the page.
+	 * @return The cursor of the next page, or {@code null} after the last page.
+	 * @throws IllegalStateException If the indexes are not enabled.
+	 */
+	public String page(String cursor, int pageSize, Consumer<? super User> sink) {
+		return requireIndex(nameIndex).page(cursor, pageSize, sink);
+	}
+
+	private static UserNameIndex requireIndex(UserNameIndex index) {
+		if (index == null) {
+			throw new IllegalStateException("Name indexes are not enabled");
+		}
+		return index;
+	}
+
+	/**
+	 * Returns the number of registered users.
+	 *
+	 * @return The number of users.
+	 */
+	public int size() {
+		return users.size();
+	}
+
+	/**
+	 * Removes every user.
+	 */
+	public void clear() {
+		users.clear();
+		UserNameIndex names = nameIndex;
+		if (names != null) {
+			names.clear();
+			surnameIndex.clear();
+		}
+	}
+
+	/**
+	 * Returns a read-only live view of the registered users. Iterating it never fails
+	 * while other threads register users, but may or may not see their registrations.
+	 *
+	 * @return The registered users.
+	 */
+	public Collection<User> users() {
+		return userView;
+	}
+
+	/**
+	 * Returns a live map from login id to password. Putting an entry registers a user with
+	 * that name and password and no phone number, or changes the password of the existing user.
+	 *
+	 * @return The password view of the registry.
+	 */
+	public Map<String, String> passwords() {
+		return passwordView;
+	}
+
+	/**
+	 * @class PasswordView
+	 * @brief Map view of the registry from login id to password.
+	 */
+	private final class PasswordView extends AbstractMap<String, String> {
+
+		@Override
+		public String get(Object key) {
+			User user = key instanceof String ? users.get(key) : null;
+			return user == null ? null : user.password;
+		}
+
+		@Override
+		public boolean containsKey(Object key) {
+			return key instanceof String && users.containsKey(key);
+		}
+
+		@Override
+		public String put(String key, String value) {
+			User user = new User();
+			user.name = key;
+			user.surname = "";
+			user.phone = "";
+			user.password = value;
+			User previous = UserRegistry.this.put(user);
+			return previous == null ? null : previous.password;
+		}
+
+		@Override
+		public String remove(Object key) {
+			User user = key instanceof String ? UserRegistry.this.remove((String) key) : null;
+			return user == null ? null : user.password;
+		}
+
+		@Override
+		public int size() {
+			return users.size();
+		}
+
+		@Override
+		public void clear() {
+			UserRegistry.this.clear();
+		}
+
+		@Override
+		public Set<Map.Entry<String, String>> entrySet() {
+			return new AbstractSet<Map.Entry<String, String>>() {
+				@Override
+				public Iterator<Map.Entry<String, String>> iterator() {
+					final Iterator<Map.Entry<String, User>> entries = users.entrySet().iterator();
+					return new Iterator<Map.Entry<String, String>>() {
+						private String current;
+
+						@Override
+						public boolean hasNext() {
+							return entries.hasNext();
+						}
+
+						@Override
+						public Map.Entry<String, String> next() {
+							Map.Entry<String, User> entry = entries.next();
+							current = entry.getKey();
+							return new AbstractMap.SimpleImmutableEntry<>(entry.getKey(), entry.getValue().password);
+						}
+
+						@Override
+						public void remove() {
+							UserRegistry.this.remove(current);
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return users.size();
+				}
+			};
+		}
+	}
+}
@@ -0,0 +1,477 @@
+/**
+ * @file UserStore.java
+ * @brief This file contains the versioned binary file format used for {@code users.bin}.
+ * @details Users are stored as compact length-prefixed records between a fixed header and a
+ *          checksummed trailer. Files are written through a buffered {@code FileChannel} and read
+ *          back with a streaming decoder, replacing Java object serialization.
+ */
+
+/**
+ * @package com.beyza.gokce.siray.event
+ * @brief The com.beyza.gokce.siray.event package contains all the classes and files related to the Event App.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+ * @class UserStore
+ * @brief Reads and writes user snapshots in the versioned {@code users.bin} format.
+ * @details Layout of a file, all integers big-endian:
+ *          <pre>
+ *          header  : magic "EVUS" (int) | version (short) | flags (short) | record count (int) | reserved (int)
+ *          record  : body length (int) | name | surname | phone | password
+ *          trailer : magic "EVUE" (int) | CRC32 of all record bytes (int)
+ *          </pre>
+ *          Every string is an unsigned 16-bit byte length followed by UTF-8 bytes. The body length
+ *          lets newer versions append fields that older readers skip. A snapshot is written to a
+ *          temporary file and moved over the target only once it is complete.
+ */
+public final class UserStore {
+
+	/**
+	 * Magic number at the start of every user file ("EVUS").
+	 */
+	static final int MAGIC = 0x45565553;
+
+	/**
+	 * Magic number at the start of the trailer ("EVUE").
+	 */
+	static final int TRAILER_MAGIC = 0x45565545;
+
+	/**
+	 * Current version of the file format.
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * Size of the file header in bytes.
+	 */
+	static final int HEADER_SIZE = 16;
+
+	/**
+	 * Offset of the record count inside the header.
+	 */
+	static final int COUNT_OFFSET = 8;
+
+	/**
+	 * First four bytes of a file written by {@code ObjectOutputStream}, the format used before version 1.
+	 */
+	static final int LEGACY_SERIALIZATION_MAGIC = 0xACED0005;
+
+	private UserStore() {
+	}
+
+	/**
+	 * Writes every user of an index to a snapshot file, replacing the file atomically.
+	 *
+	 * @param path The file to write.
+	 * @param index The users to store.
+	 * @return The number of users written.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public static int save(Path path, UserIndex index) throws IOException {
+		try (Writer writer = new Writer(path)) {
+			final IOException[] failure = new IOException[1];
+			index.forEach(user -> {
+				if (failure[0] == null) {
+					try {
+						writer.write(user);
+					} catch (IOException e) {
+						failure[0] = e;
+					}
+				}
+			});
+			if (failure[0] != null) {
+				writer.abort();
+				throw failure[0];
+			}
+			writer.commit();
+			return writer.count();
+		}
+	}
+
+	/**
+	 * Writes users to a snapshot file, replacing the file atomically.
+	 *
+	 * @param path The file to write.
+	 * @param users The users to store.
+	 * @return The number of users written.
+	 * @throws IOException If the file cannot be written.
+	 */
+	public static int save(Path path, Iterable<? extends User> users) throws IOException {
+		try (Writer writer = new Writer(path)) {
+			for (User user : users) {
+				writer.write(user);
+			}
+			writer.commit();
+			return writer.count();
+		}
+	}
+
+	/**
+	 * Loads every user of a snapshot file into an index, pre-sizing the index from the header.
+	 * A missing file or a file in the old serialization format loads nothing.
+	 *
+	 * @param path The file to read.
+	 * @param index The index that receives the users.
+	 * @return The number of users loaded.
+	 * @throws IOException If the file is corrupt or cannot be read.
+	 */
+	public static int load(Path path, UserIndex index) throws IOException {
+		try (Reader reader = Reader.open(path)) {
+			if (reader == null) {
+				return 0;
+			}
+			index.ensureCapacity(index.size() + reader.recordCount());
+			int loaded = 0;
+			User user;
+			while ((user = reader.next()) != null) {
+				index.put(user);
+				loaded++;
+			}
+			return loaded;
+		}
+	}
+
+	/**
+	 * @class Writer
+	 * @brief Streams users into a new snapshot file.
+	 * @details The records go to a temporary file next to the target. {@link #commit()} writes
+	 *          the trailer, patches the record count, syncs and moves the file into place;
+	 *          closing a writer that was not committed deletes the temporary file.
+	 */
+	public static final class Writer implements Closeable {
+
+		/**
+		 * The file the snapshot replaces on commit.
+		 */
+		private final Path target;
+		/**
+		 * The temporary file being written.
+		 */
+		private final Path temp;
+		/**
+		 * Buffered writer on the temporary file.
+		 */
+		private final BinaryFileWriter out;
+		/**
+		 * Number of records written so far.
+		 */
+		private int count;
+		/**
+		 * Whether the snapshot has been committed.
+		 */
+		private boolean committed;
+
+		/**
+		 * Creates the temporary file and writes the header.
+		 *
+		 * @param target The file the snapshot will replace.
+		 * @throws IOException If the temporary file cannot be created.
+		 */
+		public Writer(Path target) throws IOException {
+			this.target = target;
+			this.temp = target.resolveSibling(target.getFileName() + ".tmp");
+			this.out = new BinaryFileWriter(FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+					StandardOpenOption.TRUNCATE_EXISTING), BinaryFileWriter.DEFAULT_BUFFER_SIZE);
+			out.putInt(MAGIC);
+			out.putShort(VERSION);
+			out.putShort(0);
+			out.putInt(0);
+			out.putInt(0);
+			out.resetCrc();
+		}
+
+		/**
+		 * Appends one user record.
+		 *
+		 * @param user The user to write.
+		 * @throws IOException If the record cannot be written.
+		 */
+		public void write(User user) throws IOException {
+			writeRecord(out, user);
+			count++;
+		}
+
+		/**
+		 * Returns the number of records written so far.
+		 *
+		 * @return The record count.
+		 */
+		public int count() {
+			return count;
+		}
+
+		/**
+		 * Completes the snapshot and moves it over the target file.
+		 *
+		 * @throws IOException If the snapshot cannot be completed.
+		 */
+		public void commit() throws IOException {
+			int crc = out.crc();
+			out.putInt(TRAILER_MAGIC);
+			out.putInt(crc);
+			out.flush();
+			ByteBuffer header = ByteBuffer.allocate(4);
+			header.putInt(count).flip();
+			out.channel().write(header, COUNT_OFFSET);
+			out.sync();
+			out.close();
+			committed = true;
+			try {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+			}
+		}
+
+		/**
+		 * Discards the snapshot.
+		 *
+		 * @throws IOException If the temporary file cannot be removed.
+		 */
+		void abort() throws IOException {
+			out.channel().close();
+			Files.deleteIfExists(temp);
+		}
+
+		/**
+		 * Closes the writer, discarding the snapshot if it was not committed.
+		 *
+		 * @throws IOException If the temporary file cannot be removed.
+		 */
+		@Override
+		public void close() throws IOException {
+			if (!committed) {
+				abort();
+			}
+		}
+	}
+
+	/**
+	 * @class Reader
+	 * @brief Streams users out of a snapshot file.
+	 * @details {@link #open(Path)} decodes every record in one streaming pass, updating the checksum
+	 *          as it goes, and checks the trailer before the first user is returned, so a corrupt or
+	 *          truncated file is rejected before the caller applies a single user. The file is closed
+	 *          once the pass is over; {@link #next()} then hands out the decoded users.
+	 */
+	public static final class Reader implements Closeable {
+
+		/**
+		 * Smallest record: its body length and four empty strings.
+		 */
+		private static final int MIN_RECORD_SIZE = 4 + 4 * 2;
+
+		/**
+		 * Users decoded from the file, in file order.
+		 */
+		private final User[] users;
+		/**
+		 * Number of users returned so far.
+		 */
+		private int read;
+
+		/**
+		 * Creates a reader over the decoded users.
+		 *
+		 * @param users The users of the file.
+		 */
+		private Reader(User[] users) {
+			this.users = users;
+		}
+
+		/**
+		 * Opens a snapshot file, validates its header and decodes its records.
+		 *
+		 * @param path The file to read.
+		 * @return A reader positioned at the first record, or {@code null} if the file does not exist,
+		 *         is empty or was written in the old serialization format.
+		 * @throws IOException If the header is invalid, a record or the trailer is corrupt, or the file cannot be read.
+		 */
+		public static Reader open(Path path) throws IOException {
+			FileChannel channel;
+			try {
+				channel = FileChannel.open(path, StandardOpenOption.READ);
+			} catch (NoSuchFileException e) {
+				return null;
+			}
+			try (BinaryFileReader in = new BinaryFileReader(channel, BinaryFileWriter.DEFAULT_BUFFER_SIZE)) {
+				if (!in.request(4)) {
+					return null;
+				}
+				int magic = in.getInt();
+				if (magic == LEGACY_SERIALIZATION_MAGIC) {
+					return null;
+				}
+				if (magic != MAGIC) {
+					throw new IOException(path + " is not a user file");
+				}
+				int version = in.getShort();
+				if (version < 1 || version > VERSION) {
+					throw new IOException(path + " has unsupported version " + version);
+				}
+				in.getShort();
+				int count = in.getInt();
+				in.getInt();
+				return new Reader(readRecords(path, in, count, channel.size()));
+			}
+		}
+
+		/**
+		 * Decodes the records that follow the header and checks the trailer against them.
+		 *
+		 * @param path The file, for the error messages.
+		 * @param in The reader positioned at the first record.
+		 * @param count The number of records announced by the header.
+		 * @param size The length of the file.
+		 * @return The users, in file order.
+		 * @throws IOException If the file is too short for its records or its trailer does not match them.
+		 */
+		private static User[] readRecords(Path path, BinaryFileReader in, int count, long size) throws IOException {
+			if (count < 0 || count > (size - HEADER_SIZE - 8) / MIN_RECORD_SIZE) {
+				throw new IOException(path + " is truncated");
+			}
+			User[] users = new User[count];
+			in.resetCrc();
+			try {
+				for (int i = 0; i < count; i++) {
+					users[i] = readRecord(in);
+				}
+				int crc = in.crc();
+				if (in.getInt() != TRAILER_MAGIC || in.getInt() != crc) {
+					throw new IOException("User file checksum mismatch");
+				}
+			} catch (EOFException e) {
+				throw new IOException(path + " is truncated", e);
+			}
+			return users;
+		}
+
+		/**
+		 * Returns the number of records announced by the header.
+		 *
+		 * @return The record count.
+		 */
+		public int recordCount() {
+			return users.length;
+		}
+
+		/**
+		 * Returns the next user.
+		 *
+		 * @return The next user, or {@code null} after the last one.
+		 */
+		public User next() {
+			return read < users.length ? users[read++] : null;
+		}
+
+		/**
+		 * Releases the decoded users; the file itself was closed by {@link #open(Path)}.
+		 */
+		@Override
+		public void close() {
+			read = users.length;
+		}
+	}
+
+	/**
+	 * Writes one length-prefixed user record.
+	 *
+	 * @param out The writer.
+	 * @param user The user to encode.
+	 * @throws IOException If the record cannot be written.
+	 */
+	static void writeRecord(BinaryFileWriter out, User user) throws IOException {
+		byte[] name = BinaryFileWriter.encode(user.name);
+		byte[] surname = BinaryFileWriter.encode(user.surname);
+		byte[] phone = BinaryFileWriter.encode(user.phone);
+		byte[] password = BinaryFileWriter.encode(user.password);
+		out.putInt(BinaryFileWriter.encodedSize(name) + BinaryFileWriter.encodedSize(surname)
+				+ BinaryFileWriter.encodedSize(phone) + BinaryFileWriter.encodedSize(password));
+		out.putEncoded(name);
+		out.putEncoded(surname);
+		out.putEncoded(phone);
+		out.putEncoded(password);
+	}
+
+	/**
+	 * Encodes one user record, including its length prefix, into a new array.
+	 *
+	 * @param user The user to encode.
+	 * @return The record bytes exactly as {@link #writeRecord(BinaryFileWriter, User)} writes them.
+	 * @throws IOException If a field is too long to store.
+	 */
+	static byte[] encodeRecord(User user) throws IOException {
+		byte[][] fields = {
+			BinaryFileWriter.encode(user.name),
+			BinaryFileWriter.encode(user.surname),
+			BinaryFileWriter.encode(user.phone),
+			BinaryFileWriter.encode(user.password)
+		};
+		int body = 0;
+		for (byte[] field : fields) {
+			if (field != null && field.length > BinaryFileWriter.MAX_STRING_BYTES) {
+				throw new IOException("String too long to store: " + field.length + " bytes");
+			}
+			body += BinaryFileWriter.encodedSize(field);
+		}
+		ByteBuffer record = ByteBuffer.allocate(4 + body);
+		record.putInt(body);
+		for (byte[] field : fields) {
+			if (field == null) {
+				record.putShort((short) BinaryFileWriter.NULL_STRING);
+			} else {
+				record.putShort((short) field.length);
+				record.put(field);
+			}
+		}
+		return record.array();
+	}
+
+	/**
+	 * Reads one length-prefixed user record, skipping fields added by newer versions.
+	 *
+	 * @param in The reader.
+	 * @return The decoded user.
+	 * @throws IOException If the record is truncated or malformed.
+	 */
+	static User readRecord(BinaryFileReader in) throws IOException {
+		int length = in.getInt();
+		long end = in.position() + length;
+		User user = new User();
+		user.name = in.getString();
+		user.surname = in.getString();
+		user.phone = in.getString();
+		user.password = in.getString();
+		long extra = end - in.position();
+		if (extra < 0) {
+			throw new IOException("Malformed user record");
+		}
+		in.skip((int) extra);
+		return user;
+	}
+
+	/**
+	 * Returns the default location of the user snapshot.
+	 *
+	 * @return The path of {@code users.bin} in the working directory.
+	 */
+	public static Path defaultPath() {
+		return Paths.get("users.bin");
+	}
+}
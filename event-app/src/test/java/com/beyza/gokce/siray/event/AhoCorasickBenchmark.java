@@ -0,0 +1,102 @@
+/**
+
+ @file AhoCorasickBenchmark.java
+ @brief This file contains the JMH benchmark for the multi-pattern attendee search.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=AhoCorasickBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.beyza.gokce.siray.event.Event.Attendee;
+
+/**
+
+ @class AhoCorasickBenchmark
+ @brief Measures one check-in lookup of many names against 100,000 attendees.
+ @details loopedKmp runs one compiled KMP pass over all names and surnames per pattern, which is what
+          calling kmpSearch for each name does without the printing. automaton scans every name and
+          surname once for all patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AhoCorasickBenchmark {
+
+    private static final int ATTENDEES = 100_000;
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Fatma", "Mehmet", "Mustafa", "Ahmet",
+            "Zeynep", "Elif", "Emre", "Can", "Deniz", "Ali", "Hasan", "Merve", "Busra", "Esra", "Ozge", "Sule"};
+    private static final String[] SURNAMES = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Ozturk", "Aydin",
+            "Arslan", "Dogan", "Kilic", "Aslan", "Cetin", "Kara", "Koc", "Kurt"};
+
+    @Param({"1", "10", "100"})
+    public int patternCount;
+
+    private List<String> patterns;
+    private AttendeeStore saved;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(1);
+        saved = Event.attendees;
+        Event.attendees = new AttendeeStore();
+        for (int i = 0; i < ATTENDEES; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            Event.attendees.add(name, SURNAMES[random.nextInt(SURNAMES.length)] + (i % 100 == 0 ? i : ""), name);
+        }
+        patterns = new ArrayList<>();
+        for (int p = 0; p < patternCount; p++) {
+            // Mostly exact names of the list, some that only occur once
+            patterns.add(p % 3 == 0 ? "kara" + (p * 100) : NAMES[p % NAMES.length].toLowerCase());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Event.attendees = saved;
+    }
+
+    @Benchmark
+    public int loopedKmp() {
+        int found = 0;
+        for (String pattern : patterns) {
+            KmpPattern compiled = KmpPattern.compile(pattern);
+            for (int i = 0; i < Event.attendees.size(); i++) {
+                if (compiled.matches(Event.attendees.name(i)) || compiled.matches(Event.attendees.surname(i))) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int automaton() {
+        int found = 0;
+        for (List<Attendee> matches : Event.findAttendees(AhoCorasick.compile(patterns))) {
+            found += matches.size();
+        }
+        return found;
+    }
+}
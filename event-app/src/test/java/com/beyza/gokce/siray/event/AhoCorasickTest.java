@@ -0,0 +1,102 @@
+/**
+
+ @file AhoCorasickTest.java
+ @brief This file contains the test cases for the AhoCorasick class.
+ @details This file includes test methods to validate multi-pattern matches against a naive search, overlapping and repeated patterns, case folding and the attendee search built on the automaton.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.Attendee;
+
+/**
+
+ @class AhoCorasickTest
+ @brief This class represents the test class for the AhoCorasick class.
+ @details The AhoCorasickTest class counts occurrences over random texts on a small alphabet and compares them with String.indexOf.
+ */
+public class AhoCorasickTest {
+
+    @Test
+    public void testScan_ShouldReportEveryOccurrenceLikeNaiveSearch() {
+        Random random = new Random(5);
+        for (int round = 0; round < 200; round++) {
+            List<String> patterns = new ArrayList<>();
+            for (int p = 0; p < 1 + random.nextInt(8); p++) {
+                patterns.add(randomText(random, 1 + random.nextInt(4)));
+            }
+            AhoCorasick automaton = AhoCorasick.compile(patterns, false);
+            String text = randomText(random, random.nextInt(60));
+            int[] counts = new int[patterns.size()];
+            automaton.scan(text, id -> counts[id]++);
+            for (int id = 0; id < patterns.size(); id++) {
+                assertEquals(patterns.get(id) + " in " + text, occurrences(text, patterns.get(id)), counts[id]);
+            }
+        }
+    }
+
+    @Test
+    public void testScan_ShouldHandleNestedRepeatedAndEmptyPatterns() {
+        List<String> patterns = Arrays.asList("he", "she", "his", "hers", "HE", "", "é");
+        AhoCorasick automaton = AhoCorasick.compile(patterns);
+        List<Integer> ids = new ArrayList<>();
+        automaton.scan("USHERS café", ids::add);
+        // "" once; "she" and both spellings of "he" end at the same E; "hers" at the last S
+        assertEquals(Arrays.asList(5, 1, 0, 4, 3, 6), ids);
+        ids.clear();
+        AhoCorasick.compile(patterns, false).scan("USHERS", ids::add);
+        assertEquals(Arrays.asList(5, 4), ids);
+    }
+
+    @Test
+    public void testFindAttendees_ShouldMatchNameOrSurnameOncePerPattern() {
+        AttendeeStore saved = Event.attendees;
+        try {
+            Event.attendees = new AttendeeStore();
+            String[][] names = {{"Beyza", "Siray"}, {"Gokce", "Siray"}, {"Ayse", "Yilmaz"}, {"Ayaz", "Kaya"}};
+            for (String[] name : names) {
+                Event.attendees.add(name[0], name[1], null);
+            }
+            List<List<Attendee>> matches = Event.findAttendees(AhoCorasick.compile(Arrays.asList("siray", "ay", "Mehmet")));
+            assertEquals(2, matches.get(0).size());
+            assertEquals(4, matches.get(1).size()); // "Ayaz" and "Kaya" both contain "ay" but are reported once
+            assertTrue(matches.get(2).isEmpty());
+
+            ByteArrayOutputStream console = new ByteArrayOutputStream();
+            new Event(new Scanner(""), new PrintStream(console));
+            Event.multiPatternSearch(Arrays.asList("yilmaz", "gokce"));
+            String output = console.toString();
+            assertTrue(output.contains("Pattern \"yilmaz\" found in attendee: Ayse Yilmaz"));
+            assertTrue(output.contains("Pattern \"gokce\" found in attendee: Gokce Siray"));
+        } finally {
+            Event.attendees = saved;
+        }
+    }
+
+    private static int occurrences(String text, String pattern) {
+        int count = 0;
+        for (int i = text.indexOf(pattern); i >= 0; i = text.indexOf(pattern, i + 1)) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String randomText(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(3));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,115 @@
+/**
+
+ @file AttendeeLogBenchmark.java
+ @brief This file contains the JMH benchmark for writing and reading attendee.bin.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=AttendeeLogBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.beyza.gokce.siray.event.Event.Attendee;
+
+/**
+
+ @class AttendeeLogBenchmark
+ @brief Measures attendees written or read per second for sessions of 10,000 attendees.
+ @details append writes one session to a fresh attendee file and commits it with one sync; serialized
+          writes the same attendees with an ObjectOutputStream, as registerAttendees did before, but
+          buffered and without a sync, so it only measures the encoding. read streams a file of one
+          session back into an empty store.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttendeeLogBenchmark {
+
+    private static final int SESSION = 10_000;
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Fatma", "Mehmet", "Mustafa", "Ahmet",
+            "Zeynep", "Elif", "Emre", "Can", "Deniz", "Ali", "Hasan", "Merve", "Busra", "Esra", "Özge", "Şule"};
+    private static final String[] SURNAMES = {"Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Öztürk", "Aydın",
+            "Arslan", "Doğan", "Kılıç", "Aslan", "Çetin", "Kara", "Koç", "Kurt"};
+
+    private AttendeeStore store;
+    private Path dir;
+    private Path file;
+    private Path written;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random random = new Random(1);
+        store = new AttendeeStore();
+        for (int i = 0; i < SESSION; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            store.add(name, SURNAMES[random.nextInt(SURNAMES.length)], name);
+        }
+        dir = Files.createTempDirectory("attendeelog");
+        file = dir.resolve("session.bin");
+        written = dir.resolve("append.bin");
+        try (AttendeeLog log = AttendeeLog.open(file, null)) {
+            log.append(store, 0, SESSION);
+            log.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(written);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SESSION)
+    public long append() throws IOException {
+        Files.deleteIfExists(written);
+        try (AttendeeLog log = AttendeeLog.open(written, null)) {
+            log.append(store, 0, SESSION);
+            log.commit();
+            return log.size();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SESSION)
+    public long serialized() throws IOException {
+        try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(written)))) {
+            for (int i = 0; i < SESSION; i++) {
+                Attendee attendee = store.get(i);
+                out.writeObject(attendee);
+                out.reset();
+            }
+        }
+        return Files.size(written);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SESSION)
+    public int read() throws IOException {
+        return AttendeeLog.read(file, new AttendeeStore());
+    }
+}
@@ -0,0 +1,349 @@
+/**
+
+ @file AttendeeLogRecoveryTest.java
+ @brief This file contains the fault-injection tests for the recovery of the AttendeeLog class.
+ @details This file includes a file channel that stops writing at a chosen byte, as a crash would, and test methods that crash registration sessions at random bytes and check what is recovered.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+
+ @class AttendeeLogRecoveryTest
+ @brief This class represents the fault-injection test class for the AttendeeLog class.
+ @details The AttendeeLogRecoveryTest class writes sessions of random attendees through a CrashingChannel, which lets a random number of bytes reach the file and then fails every write, and reopens the file as the next start would.
+ */
+public class AttendeeLogRecoveryTest {
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Şule", "Ayşe", null, "Özge", "", "Mehmet"};
+    private static final String[] SURNAMES = {"Siray", "Öztürk", "Kaya", null, "Yılmaz"};
+
+    /**
+     * File channel that lets a given number of bytes through and then fails, leaving the file as a crash would.
+     * The write that crosses the limit is torn: only its first bytes reach the file.
+     */
+    static final class CrashingChannel extends FileChannel {
+        private final FileChannel delegate;
+        private long budget;
+        private boolean crashed;
+
+        CrashingChannel(FileChannel delegate, long budget) {
+            this.delegate = delegate;
+            this.budget = budget;
+        }
+
+        boolean crashed() {
+            return crashed;
+        }
+
+        private void check() throws IOException {
+            if (crashed) {
+                throw new IOException("Injected crash");
+            }
+        }
+
+        /**
+         * Writes what the budget allows of a buffer, at a position or, if it is not positional, at the channel position.
+         */
+        private int write(ByteBuffer src, long position, boolean positional) throws IOException {
+            check();
+            int wanted = src.remaining();
+            if (wanted > budget) {
+                ByteBuffer torn = src.duplicate();
+                torn.limit(torn.position() + (int) budget);
+                while (torn.hasRemaining()) {
+                    if (positional) {
+                        position += delegate.write(torn, position);
+                    } else {
+                        delegate.write(torn);
+                    }
+                }
+                budget = 0;
+                crashed = true;
+                throw new IOException("Injected crash");
+            }
+            int count = positional ? delegate.write(src, position) : delegate.write(src);
+            budget -= count;
+            return count;
+        }
+
+        @Override
+        public int write(ByteBuffer src) throws IOException {
+            return write(src, 0, false);
+        }
+
+        @Override
+        public int write(ByteBuffer src, long position) throws IOException {
+            return write(src, position, true);
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+            long count = 0;
+            for (int i = offset; i < offset + length; i++) {
+                count += write(srcs[i]);
+            }
+            return count;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            return delegate.read(dst);
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+            return delegate.read(dsts, offset, length);
+        }
+
+        @Override
+        public int read(ByteBuffer dst, long position) throws IOException {
+            return delegate.read(dst, position);
+        }
+
+        @Override
+        public long position() throws IOException {
+            return delegate.position();
+        }
+
+        @Override
+        public FileChannel position(long newPosition) throws IOException {
+            delegate.position(newPosition);
+            return this;
+        }
+
+        @Override
+        public long size() throws IOException {
+            return delegate.size();
+        }
+
+        @Override
+        public FileChannel truncate(long size) throws IOException {
+            check();
+            delegate.truncate(size);
+            return this;
+        }
+
+        @Override
+        public void force(boolean metaData) throws IOException {
+            check();
+            delegate.force(metaData);
+        }
+
+        @Override
+        public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public FileLock lock(long position, long size, boolean shared) throws IOException {
+            return delegate.lock(position, size, shared);
+        }
+
+        @Override
+        public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+            return delegate.tryLock(position, size, shared);
+        }
+
+        @Override
+        protected void implCloseChannel() throws IOException {
+            delegate.close();
+        }
+    }
+
+    private Path dir;
+    private Path file;
+    private Path copy;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("attendeecrash");
+        file = dir.resolve("attendee.bin");
+        copy = dir.resolve("copy.bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(copy);
+        Files.deleteIfExists(dir);
+    }
+
+    private static AttendeeStore randomAttendees(Random random, int count) {
+        AttendeeStore store = new AttendeeStore();
+        for (int i = 0; i < count; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            if (name != null && random.nextInt(4) == 0) {
+                name += i;
+            }
+            String code = random.nextInt(8) == 0 ? Integer.toBinaryString(i) : name;
+            store.add(name, SURNAMES[random.nextInt(SURNAMES.length)], code);
+        }
+        return store;
+    }
+
+    private static void assertSameRows(AttendeeStore expected, AttendeeStore actual, int rows) {
+        for (int row = 0; row < rows; row++) {
+            assertEquals(expected.name(row), actual.name(row));
+            assertEquals(expected.surname(row), actual.surname(row));
+            assertEquals(expected.huffmanCode(row), actual.huffmanCode(row));
+        }
+    }
+
+    /**
+     * Registers the attendees in sessions of random size through a channel that crashes after {@code budget} bytes.
+     *
+     * @return The number of attendees in sessions whose commit returned, or {@code -1} if nothing crashed.
+     */
+    private int crashSessions(AttendeeStore store, Random random, long budget, int[] attempted) throws IOException {
+        CrashingChannel[] channel = new CrashingChannel[1];
+        int committed = 0;
+        attempted[0] = 0;
+        AttendeeLog log = null;
+        try {
+            log = AttendeeLog.open(file, null, 512, c -> channel[0] = new CrashingChannel(c, budget));
+            while (committed < store.size()) {
+                int end = Math.min(store.size(), committed + 1 + random.nextInt(40));
+                attempted[0] = end;
+                log.append(store, committed, end);
+                log.commit();
+                committed = end;
+            }
+            log.close();
+            return -1;
+        } catch (IOException e) {
+            assertTrue(channel[0].crashed());
+            // The process died: nothing else reaches the file
+            channel[0].close();
+            return committed;
+        }
+    }
+
+    @Test
+    public void testCrashAtRandomByte_ShouldRecoverEveryCommittedSession() throws IOException {
+        Random random = new Random(42);
+        AttendeeStore store = randomAttendees(random, 400);
+        // Records of packed names and the model entries before them are cut short too
+        int[] freq = new int[AttendeeNameCodec.ALPHABET_SIZE];
+        for (String name : NAMES) {
+            AttendeeNameCodec.count(name, freq);
+        }
+        store.pack(AttendeeNameCodec.fromFrequencies(freq, 1));
+        // Measure a run without a crash to spread the crashes over all of its bytes
+        int[] attempted = new int[1];
+        assertEquals(-1, crashSessions(store, new Random(7), Long.MAX_VALUE, attempted));
+        long fullRun = Files.size(file);
+        assertTrue(fullRun > 4 * 512);
+        assertEquals(400, AttendeeLog.read(file, new AttendeeStore()));
+
+        for (int trial = 0; trial < 300; trial++) {
+            Files.deleteIfExists(file);
+            long budget = (long) (random.nextDouble() * fullRun * 1.1);
+            int committed = crashSessions(store, new Random(trial), budget, attempted);
+            if (committed < 0) {
+                continue;
+            }
+            Files.copy(file, copy, StandardCopyOption.REPLACE_EXISTING);
+
+            AttendeeStore recovered = new AttendeeStore();
+            long truncated;
+            try (AttendeeLog log = AttendeeLog.open(file, recovered)) {
+                truncated = log.truncatedBytes();
+                assertTrue(recovered.size() >= committed);
+                assertTrue(recovered.size() <= attempted[0]);
+                assertEquals(recovered.size(), log.recordCount());
+                // The next start registers the rest
+                log.append(store, recovered.size(), store.size());
+                log.commit();
+            }
+            assertSameRows(store, recovered, recovered.size());
+            AttendeeStore reread = new AttendeeStore();
+            assertEquals(store.size(), AttendeeLog.read(file, reread));
+            assertSameRows(store, reread, store.size());
+
+            // Starting from the checkpoint finds the same end
+            try (AttendeeLog log = AttendeeLog.open(copy, null)) {
+                assertEquals(recovered.size(), log.recordCount());
+                assertEquals(truncated, log.truncatedBytes());
+            }
+        }
+    }
+
+    @Test
+    public void testOpen_ShouldTruncateGarbageAfterTheLastRecord() throws IOException {
+        AttendeeStore store = randomAttendees(new Random(1), 50);
+        try (AttendeeLog log = AttendeeLog.open(file, null)) {
+            log.append(store, 0, 50);
+            log.commit();
+        }
+        long size = Files.size(file);
+        byte[] garbage = new byte[37];
+        new Random(2).nextBytes(garbage);
+        Files.write(file, garbage, StandardOpenOption.APPEND);
+        try (AttendeeLog log = AttendeeLog.open(file, null)) {
+            assertEquals(50, log.recordCount());
+            assertEquals(37, log.truncatedBytes());
+        }
+        assertEquals(size, Files.size(file));
+        assertEquals(50, AttendeeLog.read(file, new AttendeeStore()));
+    }
+
+    @Test
+    public void testOpen_ShouldSkipToTheTailAndRejectCorruptionBeforeTheCheckpoint() throws IOException {
+        AttendeeStore store = randomAttendees(new Random(3), 1000);
+        try (AttendeeLog log = AttendeeLog.open(file, null, 1024, c -> c)) {
+            for (int from = 0; from < 1000; from += 100) {
+                log.append(store, from, from + 100);
+                log.commit();
+            }
+            assertTrue(log.checkpoint().sequence > 1);
+        }
+        // Flip a byte of the first record, which the newest checkpoint covers
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer b = ByteBuffer.allocate(1);
+            channel.read(b, AttendeeLog.HEADER_SIZE + 5);
+            b.put(0, (byte) (b.get(0) ^ 0x55));
+            b.rewind();
+            channel.write(b, AttendeeLog.HEADER_SIZE + 5);
+        }
+        // Finding the end starts at the checkpoint and never reads the damaged record
+        try (AttendeeLog log = AttendeeLog.open(file, null)) {
+            assertEquals(1000, log.recordCount());
+            assertEquals(0, log.truncatedBytes());
+        }
+        try {
+            AttendeeLog.open(file, new AttendeeStore()).close();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("corrupt"));
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/**
+
+ @file AttendeeLogTest.java
+ @brief This file contains the test cases for the AttendeeLog class.
+ @details This file includes test methods to validate the record format, packed names, appending across sessions, version 2 files, the migration of files in the old serialization format and loading the attendees on startup.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Scanner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.Attendee;
+
+/**
+
+ @class AttendeeLogTest
+ @brief This class represents the test class for the AttendeeLog class.
+ @details The AttendeeLogTest class writes attendee files to a temporary directory, which the startup test points {@code Event.attendeeFile} at.
+ */
+public class AttendeeLogTest {
+
+    private Path dir;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("attendeelog");
+        file = dir.resolve("attendee.bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir.resolve("attendee.bin.tmp"));
+        Files.deleteIfExists(dir);
+    }
+
+    private static String longName() {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            name.append('ş');
+        }
+        return name.toString();
+    }
+
+    @Test
+    public void testAppendAndRead_ShouldRoundTripEveryField() throws IOException {
+        AttendeeStore store = new AttendeeStore();
+        store.add("Şule", "Öztürk", "Şule");
+        store.add("Beyza", "Siray", "110010");
+        store.add(null, "Siray", null);
+        store.add("Gokce", null, "");
+        store.add(longName(), "Kaya", longName());
+        try (AttendeeLog log = AttendeeLog.open(file, null)) {
+            log.append(store, 0, 3);
+            assertEquals(3, log.pendingCount());
+            log.commit();
+            assertEquals(0, log.pendingCount());
+        }
+        try (AttendeeLog log = AttendeeLog.open(file, new AttendeeStore())) {
+            assertEquals(3, log.recordCount());
+            log.append(store, 3, 5);
+            log.commit();
+            assertEquals(5, log.recordCount());
+            assertEquals(Files.size(file), log.size());
+        }
+
+        AttendeeStore read = new AttendeeStore();
+        assertEquals(5, AttendeeLog.read(file, read));
+        for (int row = 0; row < store.size(); row++) {
+            assertEquals(row, read.id(row));
+            assertEquals(store.name(row), read.name(row));
+            assertEquals(store.surname(row), read.surname(row));
+            assertEquals(store.huffmanCode(row), read.huffmanCode(row));
+        }
+        // The checksum and a flag byte, then a length byte and the UTF-8 bytes of the name and the surname
+        assertEquals(4 + 1 + 1 + 5 + 1 + 8, recordLength(store, 0));
+        // The 200-byte name takes a two-byte length, and the code is the name so it is not written
+        assertEquals(4 + 1 + 2 + 200 + 1 + 4, recordLength(store, 4));
+    }
+
+    @Test
+    public void testAppendAndRead_PackedStore_ShouldStorePackedNamesWithTheirModel() throws IOException {
+        AttendeeStore store = new AttendeeStore();
+        int[] freq = new int[AttendeeNameCodec.ALPHABET_SIZE];
+        AttendeeNameCodec.count("Şule Öztürk Beyza Siray Gokce", freq);
+        AttendeeNameCodec codec = AttendeeNameCodec.fromFrequencies(freq, 7);
+        store.pack(codec);
+        store.add("Şule", "Öztürk", "Şule");
+        store.add("Beyza", "Siray", "110010");
+        store.add(null, "Siray", null);
+        store.add("Gokce", null, "");
+        store.add("", "", "");
+        try (AttendeeLog log = AttendeeLog.open(file, null)) {
+            log.append(store, 0, 3);
+            log.commit();
+        }
+        long firstSession = Files.size(file);
+        // The next session writes the model again, since versions start over with every run
+        try (AttendeeLog log = AttendeeLog.open(file, new AttendeeStore())) {
+            log.append(store, 3, 5);
+            log.commit();
+            assertEquals(5, log.recordCount());
+        }
+        int model = 4 + 1 + 1 + codec.lengthBytes().length;
+        // Gokce's empty code is written after the packed names; the last code is the name
+        int packed = store.packedStart(5) - store.packedStart(3);
+        assertEquals(firstSession + model + 2 * (4 + 1 + 1 + 1) + packed + 1, Files.size(file));
+
+        AttendeeStore read = new AttendeeStore();
+        assertEquals(5, AttendeeLog.read(file, read));
+        for (int row = 0; row < store.size(); row++) {
+            assertEquals(store.name(row), read.name(row));
+            assertEquals(store.surname(row), read.surname(row));
+            assertEquals(store.huffmanCode(row), read.huffmanCode(row));
+        }
+        // The checksum, the flag byte and the version, then a length byte and the packed names
+        assertEquals(model + 4 + 1 + 1 + 1 + (store.packedStart(1) - store.packedStart(0)), recordLength(store, 0));
+    }
+
+    @Test
+    public void testOpen_Version2File_ShouldReadAndMarkItAsTheCurrentVersion() throws IOException {
+        AttendeeStore store = new AttendeeStore();
+        store.add("Beyza", "Siray", "Beyza");
+        try (AttendeeLog log = AttendeeLog.open(file, null)) {
+            log.append(store, 0);
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[5] = 2;
+        Files.write(file, bytes);
+        assertEquals(1, AttendeeLog.read(file, new AttendeeStore()));
+        try (AttendeeLog log = AttendeeLog.open(file, null)) {
+            assertEquals(1, log.recordCount());
+        }
+        assertEquals(AttendeeLog.VERSION, ByteBuffer.wrap(Files.readAllBytes(file)).getShort(4));
+    }
+
+    private static int recordLength(AttendeeStore store, int row) throws IOException {
+        Path single = Files.createTempFile("attendee", ".bin");
+        try {
+            try (AttendeeLog log = AttendeeLog.open(single, null)) {
+                log.append(store, row);
+                log.commit();
+                return (int) (log.size() - AttendeeLog.HEADER_SIZE);
+            }
+        } finally {
+            Files.delete(single);
+        }
+    }
+
+    @Test
+    public void testOpen_ShouldMigrateSerializedAttendees() throws Exception {
+        try (OutputStream stream = Files.newOutputStream(file);
+                ObjectOutputStream out = new ObjectOutputStream(stream)) {
+            for (String name : new String[] {"John", "Şule"}) {
+                Attendee attendee = new Attendee();
+                attendee.nameAttendee = name;
+                attendee.surnameAttendee = "Doe";
+                Event.compressAttendeeName(attendee);
+                out.writeObject(attendee);
+            }
+        }
+        AttendeeStore store = new AttendeeStore();
+        try (AttendeeLog log = AttendeeLog.open(file, store)) {
+            assertEquals(2, log.recordCount());
+        }
+        assertEquals(2, store.size());
+        assertEquals("Şule", store.name(1));
+        assertEquals("Doe", store.surname(1));
+        assertEquals("Şule", store.huffmanCode(1));
+        assertEquals(AttendeeLog.MAGIC, ByteBuffer.wrap(Files.readAllBytes(file)).getInt());
+        assertFalse(Files.exists(dir.resolve("attendee.bin.tmp")));
+        assertEquals(-1, AttendeeLog.migrate(file));
+    }
+
+    @Test
+    public void testRead_ShouldRejectForeignAndCorruptFiles() throws IOException {
+        Files.write(file, "not an attendee file".getBytes("UTF-8"));
+        try {
+            AttendeeLog.read(file, new AttendeeStore());
+            fail("Expected IOException");
+        } catch (IOException e) {
+            // expected
+        }
+        Files.delete(file);
+        AttendeeStore store = new AttendeeStore();
+        store.add("Beyza", "Siray", "Beyza");
+        try (AttendeeLog log = AttendeeLog.open(file, null)) {
+            log.append(store, 0);
+        }
+        // Closing checkpointed the record, so losing its end is corruption rather than a torn tail
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length - 2));
+        try {
+            AttendeeLog.read(file, new AttendeeStore());
+            fail("Expected IOException");
+        } catch (IOException e) {
+            // expected
+        }
+        assertEquals(0, AttendeeLog.read(dir.resolve("missing.bin"), new AttendeeStore()));
+    }
+
+    @Test
+    public void testLoadAttendees_ShouldRestoreRegisteredAttendees() throws Exception {
+        AttendeeStore saved = Event.attendees;
+        Event.attendeeFile = file;
+        try {
+            Event.attendees = new AttendeeStore();
+            new Event(new Scanner("2\nJohn\nDoe\nJane\nSmith\n"), new PrintStream(new ByteArrayOutputStream()));
+            assertTrue(Event.registerAttendees());
+
+            Event.attendees = new AttendeeStore();
+            Event.loadAttendees();
+            assertNotNull(Event.attendeeLog);
+            assertEquals(2, Event.attendees.size());
+            assertEquals("Jane", Event.searchAttendees("smit").get(0).nameAttendee);
+
+            // Registrations go to the open file and are loaded again after the next start
+            new Event(new Scanner("1\nAyse\nKaya\n"), new PrintStream(new ByteArrayOutputStream()));
+            assertTrue(Event.registerAttendees());
+            assertEquals(3, Event.attendeeLog.recordCount());
+            Event.loadAttendees();
+            assertEquals(3, Event.attendees.size());
+            assertEquals("Kaya", Event.attendees.surname(2));
+        } finally {
+            Event.closeAttendeeLog();
+            Event.attendeeFile = AttendeeLog.defaultPath();
+            Event.attendees = saved;
+        }
+    }
+}
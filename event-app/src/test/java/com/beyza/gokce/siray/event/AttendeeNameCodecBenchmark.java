@@ -0,0 +1,98 @@
+/**
+
+ @file AttendeeNameCodecBenchmark.java
+ @brief This file contains the JMH benchmark for decoding packed attendee names.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=AttendeeNameCodecBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+ @class AttendeeNameCodecBenchmark
+ @brief Measures UTF-8 bytes of attendee names decoded per second.
+ @details One operation is one decoded UTF-8 byte, end-of-field symbols excluded, so the score is in
+          bytes per second. record decodes the name and surname of each attendee from its own packed
+          record, as Attendee does; chunk decodes the same attendees from one record, as EncodedRoster does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AttendeeNameCodecBenchmark {
+
+    private static final int ATTENDEES = 1000;
+
+    /**
+     * UTF-8 bytes of the fields of {@link #ATTENDEES} attendees; checked in setUp.
+     */
+    private static final int BYTES = 10_596;
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Fatma", "Mehmet", "Mustafa", "Ahmet",
+            "Zeynep", "Elif", "Emre", "Can", "Deniz", "Ali", "Hasan", "Merve", "Busra", "Esra", "Özge", "Şule"};
+    private static final String[] SURNAMES = {"Yılmaz", "Kaya", "Demir", "Şahin", "Çelik", "Yıldız", "Öztürk", "Aydın",
+            "Arslan", "Doğan", "Kılıç", "Aslan", "Çetin", "Kara", "Koç", "Kurt"};
+
+    private AttendeeNameCodec codec;
+    private byte[][] records;
+    private byte[] chunk;
+    private String[] fields;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(1);
+        fields = new String[2 * ATTENDEES];
+        int[] freq = new int[AttendeeNameCodec.ALPHABET_SIZE];
+        int bytes = 0;
+        for (int i = 0; i < ATTENDEES; i++) {
+            fields[2 * i] = NAMES[random.nextInt(NAMES.length)];
+            fields[2 * i + 1] = SURNAMES[random.nextInt(SURNAMES.length)];
+            AttendeeNameCodec.count(fields[2 * i], freq);
+            AttendeeNameCodec.count(fields[2 * i + 1], freq);
+            bytes += fields[2 * i].getBytes(StandardCharsets.UTF_8).length + fields[2 * i + 1].getBytes(StandardCharsets.UTF_8).length;
+        }
+        if (bytes != BYTES) {
+            throw new IllegalStateException("Corpus has " + bytes + " bytes, expected " + BYTES);
+        }
+        codec = AttendeeNameCodec.fromFrequencies(freq, 1);
+        records = new byte[ATTENDEES][];
+        for (int i = 0; i < ATTENDEES; i++) {
+            records[i] = codec.encode(fields, 2 * i, 2 * i + 2);
+        }
+        chunk = codec.encode(fields);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BYTES)
+    public String[] record() {
+        for (byte[] record : records) {
+            codec.decode(record, 0, record.length, fields, 0, 2);
+        }
+        return fields;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BYTES)
+    public String[] chunk() {
+        codec.decode(chunk, 0, chunk.length, fields, 0, fields.length);
+        return fields;
+    }
+}
@@ -0,0 +1,126 @@
+/**
+
+ @file AttendeeNameCodecTest.java
+ @brief This file contains the test cases for the AttendeeNameCodec class.
+ @details This file includes test methods to validate round trips, escaped bytes, long codes, corrupt input and serialization of the attendee name model.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+/**
+
+ @class AttendeeNameCodecTest
+ @brief This class represents the test class for the AttendeeNameCodec class.
+ @details The AttendeeNameCodecTest class builds models from small name corpora and checks that every encoded record decodes to the original strings.
+ */
+public class AttendeeNameCodecTest {
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Mehmet", "Zeynep", "Emre", "Elif", "Can", "Deniz"};
+
+    private static AttendeeNameCodec corpusCodec() {
+        int[] freq = new int[AttendeeNameCodec.ALPHABET_SIZE];
+        for (String name : NAMES) {
+            AttendeeNameCodec.count(name, freq);
+        }
+        return AttendeeNameCodec.fromFrequencies(freq, 1);
+    }
+
+    @Test
+    public void testEncode_ShouldRoundTripCorpusNames() {
+        AttendeeNameCodec codec = corpusCodec();
+        for (String name : NAMES) {
+            byte[] data = codec.encode(name, "Surname");
+            assertArrayEquals(new String[] {name, "Surname"}, codec.decode(data, 2));
+        }
+    }
+
+    @Test
+    public void testEncode_ShouldBeSmallerThanUtf8() {
+        AttendeeNameCodec codec = corpusCodec();
+        int plain = 0;
+        int packed = 0;
+        for (String name : NAMES) {
+            plain += name.getBytes(StandardCharsets.UTF_8).length;
+            packed += codec.encode(name).length;
+        }
+        assertTrue("packed " + packed + " >= plain " + plain, packed < plain);
+    }
+
+    @Test
+    public void testEncode_ShouldEscapeUnseenBytes() {
+        AttendeeNameCodec codec = corpusCodec();
+        assertEquals(0, codec.length('ç' >>> 6 | 0xC0));
+        String[] fields = {"Çağar", "Şimşek", "", "x!#€"};
+        assertArrayEquals(fields, codec.decode(codec.encode(fields), fields.length));
+    }
+
+    @Test
+    public void testDecode_ShouldHandleCodesLongerThanLookup() {
+        int[] freq = new int[AttendeeNameCodec.ALPHABET_SIZE];
+        int a = 1;
+        int b = 1;
+        for (int i = 0; i < 26; i++) {
+            freq['a' + i] = a;
+            int next = a + b;
+            a = b;
+            b = next;
+        }
+        AttendeeNameCodec codec = AttendeeNameCodec.fromFrequencies(freq, 1);
+        assertTrue(codec.length('a') > AttendeeNameCodec.LOOKUP_BITS);
+        String text = "abcdefghijklmnopqrstuvwxyz" + "zzzyyyxxw";
+        assertEquals(text, codec.decode(codec.encode(text), 1)[0]);
+    }
+
+    @Test
+    public void testDecode_ShouldRejectTruncatedRecord() {
+        AttendeeNameCodec codec = corpusCodec();
+        byte[] data = codec.encode("Mehmet", "Zeynep");
+        byte[] truncated = new byte[data.length / 2];
+        System.arraycopy(data, 0, truncated, 0, truncated.length);
+        try {
+            codec.decode(truncated, 2);
+            fail("Truncated record was decoded");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSerialization_ShouldRestoreModel() throws IOException, ClassNotFoundException {
+        AttendeeNameCodec codec = corpusCodec();
+        byte[] data = codec.encode("Deniz", "Can");
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(codec);
+        }
+        AttendeeNameCodec copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (AttendeeNameCodec) in.readObject();
+        }
+        assertEquals(1, copy.version());
+        assertArrayEquals(new String[] {"Deniz", "Can"}, copy.decode(data, 2));
+
+        // AttendeeLog stores the same code lengths
+        AttendeeNameCodec stored = AttendeeNameCodec.fromLengthBytes(5, codec.lengthBytes());
+        assertEquals(5, stored.version());
+        assertArrayEquals(codec.lengthBytes(), stored.lengthBytes());
+        assertArrayEquals(new String[] {"Deniz", "Can"}, stored.decode(data, 2));
+        try {
+            AttendeeNameCodec.fromLengthBytes(1, Arrays.copyOf(codec.lengthBytes(), AttendeeNameCodec.PRESENT_BYTES + 1));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
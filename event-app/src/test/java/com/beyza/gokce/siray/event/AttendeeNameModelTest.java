@@ -0,0 +1,106 @@
+/**
+
+ @file AttendeeNameModelTest.java
+ @brief This file contains the test cases for the AttendeeNameModel class.
+ @details This file includes test methods to validate the gain estimate, background rebuilds, version history and count halving of the adaptive attendee name model.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import org.junit.Test;
+
+/**
+
+ @class AttendeeNameModelTest
+ @brief This class represents the test class for the AttendeeNameModel class.
+ @details The AttendeeNameModelTest class queues rebuilds instead of running them, so each test decides when the background work happens.
+ */
+public class AttendeeNameModelTest {
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Mehmet", "Zeynep", "Emre", "Elif", "Can", "Deniz"};
+
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+
+    private AttendeeNameModel newModel(int minSymbols) {
+        return new AttendeeNameModel(pending::add, AttendeeNameModel.DEFAULT_MIN_GAIN, minSymbols);
+    }
+
+    private static void observeAll(AttendeeNameModel model, String[] names, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            for (String name : names) {
+                model.observe(name);
+            }
+        }
+    }
+
+    @Test
+    public void testMaybeRebuild_ShouldSkipWhenDistributionIsUnchanged() {
+        AttendeeNameModel model = newModel(0);
+        observeAll(model, NAMES, 10);
+        model.rebuild();
+        observeAll(model, NAMES, 100);
+        assertTrue(model.estimatedGain() < 0.001);
+        assertFalse(model.maybeRebuild());
+        assertTrue(pending.isEmpty());
+        assertEquals(1, model.rebuilds());
+    }
+
+    @Test
+    public void testMaybeRebuild_ShouldRebuildInBackgroundWhenDistributionShifts() {
+        AttendeeNameModel model = newModel(100);
+        observeAll(model, NAMES, 10);
+        AttendeeNameCodec first = model.rebuild();
+        String[] shifted = {"Quinn", "Xavier", "Yusuf", "Wojciech", "Vuk"};
+        observeAll(model, shifted, 1);
+        assertFalse(model.maybeRebuild()); // Too few symbols since the build
+        observeAll(model, shifted, 50);
+        assertTrue(model.estimatedGain() > AttendeeNameModel.DEFAULT_MIN_GAIN);
+        assertTrue(model.maybeRebuild());
+        assertFalse(model.maybeRebuild()); // A rebuild is already queued
+
+        // Until the executor runs, new records keep using the old codec
+        assertSame(first, model.current());
+        pending.poll().run();
+        AttendeeNameCodec second = model.current();
+        assertEquals(2, second.version());
+        assertTrue(second.encode("Wojciech", "Vuk").length < first.encode("Wojciech", "Vuk").length);
+        assertTrue(model.estimatedGain() < AttendeeNameModel.DEFAULT_MIN_GAIN);
+    }
+
+    @Test
+    public void testCodec_ShouldKeepOldVersionsForDecoding() {
+        AttendeeNameModel model = newModel(0);
+        observeAll(model, NAMES, 1);
+        AttendeeNameCodec first = model.rebuild();
+        byte[] record = first.encode("Şule", "Öztürk");
+        model.observe("Şule");
+        model.observe("Öztürk");
+        model.rebuild();
+        assertEquals(2, model.current().version());
+        assertArrayEquals(new String[] {"Şule", "Öztürk"}, model.codec(first.version()).decode(record, 2));
+        assertNull(model.codec(3));
+    }
+
+    @Test
+    public void testObserve_ShouldHalveCountsBeforeOverflow() {
+        AttendeeNameModel model = newModel(0);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < (1 << 20) - 1; i++) {
+            text.append('a');
+        }
+        String chunk = text.toString(); // 2^20 symbols with its end
+        for (int i = 0; i < 1024; i++) {
+            model.observe(chunk);
+        }
+        assertEquals(AttendeeNameModel.MAX_TOTAL, model.total());
+        model.observe("b");
+        assertTrue(model.total() <= AttendeeNameModel.MAX_TOTAL / 2 + 2);
+        AttendeeNameCodec codec = model.rebuild();
+        assertTrue(codec.length('b') > 0);
+        assertArrayEquals(new String[] {"ab"}, codec.decode(codec.encode("ab"), 1));
+    }
+}
@@ -0,0 +1,194 @@
+/**
+
+ @file AttendeeStoreTest.java
+ @brief This file contains the test cases for the AttendeeStore class.
+ @details This file includes test methods to validate the columns against the attendees added, growth past the former limit of 100 attendees, the packed-name column and the memory used per attendee.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.Scanner;
+
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.Attendee;
+
+/**
+
+ @class AttendeeStoreTest
+ @brief This class represents the test class for the AttendeeStore class.
+ @details The AttendeeStoreTest class reads every column back after adding attendees with missing, repeated and non-ASCII fields.
+ */
+public class AttendeeStoreTest {
+
+    @Test
+    public void testAdd_ShouldReadEveryColumnBack() {
+        AttendeeStore store = new AttendeeStore();
+        assertEquals(0, store.add("Şule", "Öztürk", "Şule"));
+        assertEquals(1, store.add("Beyza", "Siray", "110010"));
+        assertEquals(2, store.add(null, "Siray", null));
+        assertEquals(3, store.add("Gokce", null, ""));
+        Attendee attendee = new Attendee();
+        attendee.nameAttendee = "Ayse";
+        attendee.huffmanCode = "Ayse";
+        assertEquals(4, store.add(attendee));
+        assertEquals(5, store.size());
+
+        assertEquals("Şule", store.name(0));
+        assertEquals("Öztürk", store.surname(0));
+        assertEquals("Şule", store.huffmanCode(0));
+        assertEquals("110010", store.huffmanCode(1));
+        assertNull(store.name(2));
+        assertEquals("Siray", store.surname(2));
+        assertNull(store.huffmanCode(2));
+        assertNull(store.surname(3));
+        assertEquals("", store.huffmanCode(3));
+        assertNull(store.surname(4));
+        assertSame(store.surname(1), store.surname(2)); // One dictionary entry for both
+        assertEquals(4, store.dictionarySize()); // Öztürk, 110010, Siray and the empty code
+        assertEquals(4, store.id(4));
+
+        Attendee copy = store.get(1);
+        assertEquals("Beyza", copy.nameAttendee);
+        assertEquals("Siray", copy.surnameAttendee);
+        assertEquals("110010", copy.huffmanCode);
+        copy.nameAttendee = "Changed";
+        assertEquals("Beyza", store.name(1));
+        try {
+            store.name(5);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testAdd_ShouldGrowAndKeepIdsIncreasing() {
+        AttendeeStore store = new AttendeeStore();
+        Random random = new Random(23);
+        String[] surnames = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik"};
+        for (int i = 0; i < 100_000; i++) {
+            String name = "Attendee" + i;
+            store.add(name, surnames[random.nextInt(surnames.length)], name);
+        }
+        assertEquals(100_000, store.size());
+        assertEquals("Attendee99999", store.name(99_999));
+        assertEquals("Attendee54321", store.huffmanCode(54_321));
+        assertEquals(5, store.dictionarySize());
+        // Twelve bytes of name and four of surname code, id and offset each, before spare capacity
+        assertTrue(store.memoryBytes() / store.size() < 48);
+
+        assertEquals(100_000, store.add(200_000, "Late", "Kaya", null));
+        assertEquals(200_000, store.id(100_000));
+        try {
+            store.add(150_000, "Early", "Kaya", null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        assertEquals(200_001, store.id(store.add("Next", "Kaya", null)));
+    }
+
+    @Test
+    public void testPack_ShouldPackAddedRowsAndRepackOnlyForAnotherCodec() {
+        AttendeeStore store = new AttendeeStore();
+        store.add("Şule", "Öztürk", "Şule");
+        store.add(null, "Siray", null);
+        assertNull(store.packedCodec());
+        int[] freq = new int[AttendeeNameCodec.ALPHABET_SIZE];
+        AttendeeNameCodec.count("Beyza Siray Şule Öztürk", freq);
+        AttendeeNameCodec codec = AttendeeNameCodec.fromFrequencies(freq, 1);
+        store.pack(codec);
+        for (int i = 0; i < 40; i++) {
+            store.add("Beyza" + i, i % 2 == 0 ? "Siray" : null, null);
+        }
+        assertSame(codec, store.packedCodec());
+        byte[] packed = store.packedNames();
+        store.pack(codec);
+        assertSame(packed, store.packedNames());
+        assertPacked(store, codec);
+
+        AttendeeNameCodec other = AttendeeNameCodec.fromFrequencies(freq, 2);
+        store.pack(other);
+        assertSame(other, store.packedCodec());
+        assertPacked(store, other);
+    }
+
+    @Test
+    public void testAdd_PackedAttendees_ShouldKeepTheirBytesAndCodecs() {
+        int[] freq = new int[AttendeeNameCodec.ALPHABET_SIZE];
+        AttendeeNameCodec.count("Beyza Siray Şule Öztürk", freq);
+        AttendeeNameCodec first = AttendeeNameCodec.fromFrequencies(freq, 1);
+        AttendeeNameCodec second = AttendeeNameCodec.fromFrequencies(freq, 2);
+        AttendeeStore store = new AttendeeStore();
+        store.add("Loaded", "Unpacked", "Loaded");
+        store.add(packed("Beyza", "Siray", first));
+        store.add(packed("Şule", "Öztürk", second));
+
+        assertNull(store.packedCodec(0));
+        assertSame(first, store.packedCodec(1));
+        assertSame(second, store.packedCodec(2));
+        assertNull(store.packedCodec());
+        assertEquals(store.packedStart(0), store.packedStart(1));
+        assertArrayEquals(first.encode("Beyza", "Siray"),
+                Arrays.copyOfRange(store.packedNames(), store.packedStart(1), store.packedStart(2)));
+
+        store.pack(second);
+        assertSame(second, store.packedCodec());
+        assertPacked(store, second);
+    }
+
+    private static Attendee packed(String name, String surname, AttendeeNameCodec codec) {
+        Attendee attendee = new Attendee();
+        attendee.nameAttendee = name;
+        attendee.surnameAttendee = surname;
+        attendee.huffmanCode = name;
+        attendee.encodedName = codec.encode(name, surname);
+        attendee.nameCodec = codec;
+        return attendee;
+    }
+
+    private static void assertPacked(AttendeeStore store, AttendeeNameCodec codec) {
+        for (int row = 0; row < store.size(); row++) {
+            byte[] record = Arrays.copyOfRange(store.packedNames(), store.packedStart(row), store.packedStart(row + 1));
+            String name = store.name(row);
+            String surname = store.surname(row);
+            assertArrayEquals(codec.encode(name == null ? "" : name, surname == null ? "" : surname), record);
+        }
+    }
+
+    @Test
+    public void testRegisterAttendees_ShouldAcceptMoreThanAHundred() throws Exception {
+        AttendeeStore saved = Event.attendees;
+        Path dir = Files.createTempDirectory("attendees");
+        File file = dir.resolve("attendee.bin").toFile();
+        Event.attendeeFile = file.toPath();
+        try {
+            Event.attendees = new AttendeeStore();
+            StringBuilder input = new StringBuilder("150\n");
+            for (int i = 0; i < 150; i++) {
+                input.append("Name").append(i).append("\nSurname").append(i % 7).append('\n');
+            }
+            new Event(new Scanner(input.toString()), new PrintStream(new ByteArrayOutputStream()));
+            assertTrue(Event.registerAttendees());
+            assertEquals(150, Event.attendees.size());
+            assertEquals("Name149", Event.attendees.name(149));
+            assertEquals("Surname2", Event.attendees.surname(149));
+            assertEquals("Name149", Event.attendees.huffmanCode(149));
+            assertEquals(7, Event.attendees.dictionarySize());
+        } finally {
+            file.delete();
+            Files.delete(dir);
+            Event.attendeeFile = AttendeeLog.defaultPath();
+            Event.attendees = saved;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+/**
+
+ @file AttendeeTrigramIndexBenchmark.java
+ @brief This file contains the JMH benchmark for the indexed attendee search.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=AttendeeTrigramIndexBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.beyza.gokce.siray.event.Event.Attendee;
+
+/**
+
+ @class AttendeeTrigramIndexBenchmark
+ @brief Measures one substring query against rosters of 100,000 and 1,000,000 attendees.
+ @details Every attendee has a common first name and surname plus a badge number, so "ahmet" matches
+          about one in twenty attendees, "ozturk 4242" only a handful and "badge 77777" at most one.
+          scan checks every attendee with a compiled KmpPattern; indexed verifies only the candidates
+          of the trigram index. The index is built once in the setup, as registerAttendees keeps it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class AttendeeTrigramIndexBenchmark {
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Fatma", "Mehmet", "Mustafa", "Ahmet",
+            "Zeynep", "Elif", "Emre", "Can", "Deniz", "Ali", "Hasan", "Merve", "Busra", "Esra", "Ozge", "Sule"};
+    private static final String[] SURNAMES = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Ozturk", "Aydin",
+            "Arslan", "Dogan", "Kilic", "Aslan", "Cetin", "Kara", "Koc", "Kurt"};
+
+    @Param({"100000", "1000000"})
+    public int attendees;
+
+    @Param({"ahmet", "ozturk 4242", "badge 77777"})
+    public String query;
+
+    private AttendeeStore saved;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(1);
+        saved = Event.attendees;
+        Event.attendees = new AttendeeStore();
+        for (int i = 0; i < attendees; i++) {
+            String name = NAMES[random.nextInt(NAMES.length)];
+            Event.attendees.add(name, SURNAMES[random.nextInt(SURNAMES.length)] + " " + random.nextInt(10_000)
+                    + " badge " + i, name);
+        }
+        Event.indexAttendees();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        Event.attendees = saved;
+    }
+
+    @Benchmark
+    public int scan() {
+        KmpPattern pattern = KmpPattern.compile(query);
+        int found = 0;
+        for (int i = 0; i < Event.attendees.size(); i++) {
+            if (pattern.matches(Event.attendees.name(i)) || pattern.matches(Event.attendees.surname(i))) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public List<Attendee> indexed() {
+        return Event.searchAttendees(query);
+    }
+}
@@ -0,0 +1,101 @@
+/**
+
+ @file AttendeeTrigramIndexTest.java
+ @brief This file contains the test cases for the AttendeeTrigramIndex class.
+ @details This file includes test methods to validate candidate sets against a full scan, posting list compression, incremental updates and the indexed attendee search.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.Attendee;
+
+/**
+
+ @class AttendeeTrigramIndexTest
+ @brief This class represents the test class for the AttendeeTrigramIndex class.
+ @details The AttendeeTrigramIndexTest class checks that no attendee containing a query is ever missing from its candidates.
+ */
+public class AttendeeTrigramIndexTest {
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Mehmet", "Zeynep", "Emre", "Elif", "Can", "Şule"};
+    private static final String[] SURNAMES = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Öztürk", "Aydin"};
+
+    @Test
+    public void testCandidates_ShouldContainEveryMatch() {
+        Random random = new Random(11);
+        String[][] roster = new String[5_000][];
+        AttendeeTrigramIndex index = new AttendeeTrigramIndex();
+        for (int i = 0; i < roster.length; i++) {
+            roster[i] = new String[] {NAMES[random.nextInt(NAMES.length)] + i, SURNAMES[random.nextInt(SURNAMES.length)]};
+            index.add(i, roster[i]);
+        }
+        for (String query : new String[] {"mehmet", "BEY", "ztü", "ay", "yse4", "4999", "e12", "zzz", "Can 1"}) {
+            int[] candidates = index.candidates(query);
+            if (query.length() < 3) {
+                assertNull(candidates);
+                continue;
+            }
+            for (int i = 1; i < candidates.length; i++) {
+                assertTrue(candidates[i - 1] < candidates[i]);
+            }
+            int found = 0;
+            for (int i = 0; i < roster.length; i++) {
+                String q = query.toLowerCase();
+                if (roster[i][0].toLowerCase().contains(q) || roster[i][1].toLowerCase().contains(q)) {
+                    assertTrue(query + " should find " + i, Arrays.binarySearch(candidates, i) >= 0);
+                    found++;
+                }
+            }
+            assertTrue(query, candidates.length >= found);
+        }
+        assertEquals(0, index.candidates("qqq").length);
+        // Ids grow by one, so most deltas take a single byte
+        assertTrue(index.postingBytes() < 5_000L * 12 * 2);
+    }
+
+    @Test
+    public void testAdd_ShouldRejectIdsOutOfOrder() {
+        AttendeeTrigramIndex index = new AttendeeTrigramIndex();
+        index.add(0, "Beyza");
+        index.add(200, "Beyza"); // Gaps are allowed
+        assertEquals(201, index.size());
+        assertArrayEquals(new int[] {0, 200}, index.candidates("eyz"));
+        try {
+            index.add(5, "Gokce");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSearchAttendees_ShouldFollowNewAttendees() {
+        AttendeeStore saved = Event.attendees;
+        try {
+            Event.attendees = new AttendeeStore();
+            Event.attendees.add("Beyza", "Siray", null);
+            Event.attendees.add("Gokce", "Siray", null);
+            assertEquals(2, Event.searchAttendees("SIRAY").size());
+            Event.attendees.add("Ayse", "Sirayoglu", null);
+            List<Attendee> matches = Event.searchAttendees("siray");
+            assertEquals(3, matches.size());
+            assertEquals("Ayse", matches.get(2).nameAttendee);
+            assertEquals(1, Event.searchAttendees("ys").size()); // Too short for the index
+
+            // A replaced store is indexed from scratch
+            Event.attendees = new AttendeeStore();
+            Event.attendees.add("Mehmet", "Kaya", null);
+            assertTrue(Event.searchAttendees("siray").isEmpty());
+            assertEquals(1, Event.searchAttendees("kay").size());
+        } finally {
+            Event.attendees = saved;
+        }
+    }
+}
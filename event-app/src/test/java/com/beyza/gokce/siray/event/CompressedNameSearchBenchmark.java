@@ -0,0 +1,98 @@
+/**
+
+ @file CompressedNameSearchBenchmark.java
+ @brief This file contains the JMH benchmark for searching Huffman-coded attendee names.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=CompressedNameSearchBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+ @class CompressedNameSearchBenchmark
+ @brief Measures one substring search over a roster of 1,000,000 encoded attendees.
+ @details compressed matches the query bits on the packed chunks; decodeThenSearch decodes every chunk
+          to strings and calls String.contains. One in 500 attendees has a rare surname, and
+          "Wojciech" does not occur at all.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CompressedNameSearchBenchmark {
+
+    private static final int ROSTER_SIZE = 1_000_000;
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Fatma", "Mehmet", "Mustafa", "Ahmet",
+            "Zeynep", "Elif", "Emre", "Can", "Deniz", "Ali", "Hasan", "Merve", "Busra", "Esra", "Özge", "Şule"};
+    private static final String[] SURNAMES = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Öztürk", "Aydin",
+            "Arslan", "Dogan", "Kilic", "Aslan", "Cetin", "Kara", "Koc", "Kurt"};
+
+    @Param({"Mehmet", "Karabulut", "Wojciech"})
+    public String query;
+
+    private EncodedRoster roster;
+    private CompressedNameSearch search;
+    private String[] names;
+    private String[] surnames;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(1);
+        String[] first = new String[ROSTER_SIZE];
+        String[] last = new String[ROSTER_SIZE];
+        int[] freq = new int[AttendeeNameCodec.ALPHABET_SIZE];
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            first[i] = NAMES[random.nextInt(NAMES.length)];
+            last[i] = i % 500 == 0 ? "Karabulut" : SURNAMES[random.nextInt(SURNAMES.length)];
+            AttendeeNameCodec.count(first[i], freq);
+            AttendeeNameCodec.count(last[i], freq);
+        }
+        roster = EncodedRoster.encode(AttendeeNameCodec.fromFrequencies(freq, 1), first, last,
+                EncodedRoster.DEFAULT_CHUNK_SIZE, ForkJoinPool.commonPool());
+        search = new CompressedNameSearch(roster.codec(), query);
+        names = new String[ROSTER_SIZE];
+        surnames = new String[ROSTER_SIZE];
+    }
+
+    @Benchmark
+    public int compressed() {
+        int[] count = new int[1];
+        search.search(roster, attendee -> count[0]++);
+        return count[0];
+    }
+
+    @Benchmark
+    public int decodeThenSearch() {
+        int count = 0;
+        for (int c = 0; c < roster.chunkCount(); c++) {
+            roster.decodeChunk(c, names, surnames);
+            int from = c * roster.chunkSize();
+            int to = Math.min(ROSTER_SIZE, from + roster.chunkSize());
+            for (int i = from; i < to; i++) {
+                if (names[i].contains(query) || surnames[i].contains(query)) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,133 @@
+/**
+
+ @file CompressedNameSearchTest.java
+ @brief This file contains the test cases for the CompressedNameSearch class.
+ @details This file includes test methods to validate compressed-domain matches against plain substring search, code boundary checks, escaped bytes and long queries.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+
+ @class CompressedNameSearchTest
+ @brief This class represents the test class for the CompressedNameSearch class.
+ @details The CompressedNameSearchTest class compares every search with String.contains on the decoded roster.
+ */
+public class CompressedNameSearchTest {
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Mehmet", "Zeynep", "Emre", "Elif", "Can", "Şule"};
+    private static final String[] SURNAMES = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Öztürk", "Aydin"};
+
+    private final String[] names = new String[3_000];
+    private final String[] surnames = new String[3_000];
+
+    private EncodedRoster roster() {
+        Random random = new Random(7);
+        int[] freq = new int[AttendeeNameCodec.ALPHABET_SIZE];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = NAMES[random.nextInt(NAMES.length)] + (i % 17 == 0 ? " " + i + "/" + i * 7 : "");
+            surnames[i] = SURNAMES[random.nextInt(SURNAMES.length)];
+            AttendeeNameCodec.count(names[i], freq);
+            AttendeeNameCodec.count(surnames[i], freq);
+        }
+        return EncodedRoster.encode(AttendeeNameCodec.fromFrequencies(freq, 1), names, surnames, 100,
+                ForkJoinPool.commonPool());
+    }
+
+    private List<Integer> expected(String query) {
+        List<Integer> hits = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].contains(query) || surnames[i].contains(query)) {
+                hits.add(i);
+            }
+        }
+        return hits;
+    }
+
+    private static List<Integer> search(EncodedRoster roster, String query) {
+        List<Integer> hits = new ArrayList<>();
+        int found = new CompressedNameSearch(roster.codec(), query).search(roster, hits::add);
+        assertEquals(hits.size(), found);
+        return hits;
+    }
+
+    @Test
+    public void testSearch_ShouldMatchPlainSubstringSearch() {
+        EncodedRoster roster = roster();
+        String[] queries = {"Mehmet", "e", "ey", "a", "Yilmaz", "zD", "1", "17", "Ş", "ül", "ztürk", "Can 2", "x", "Q"};
+        for (String query : queries) {
+            assertEquals(query, expected(query), search(roster, query));
+        }
+    }
+
+    @Test
+    public void testSearch_ShouldRejectMatchesOffCodeBoundaries() {
+        EncodedRoster roster = roster();
+        // Every one- and two-letter query has bit patterns that also occur across code boundaries
+        int checked = 0;
+        for (char a = 'A'; a <= 'z'; a++) {
+            for (char b : new char[] {'a', 'e', 'y', 'm'}) {
+                String query = "" + a + b;
+                assertEquals(query, expected(query), search(roster, query));
+                checked++;
+            }
+        }
+        assertTrue(checked > 100);
+    }
+
+    @Test
+    public void testSearch_ShouldVerifyQueriesLongerThanTheScanWindow() {
+        EncodedRoster roster = roster();
+        String numbered = names[1326]; // A name followed by its number
+        assertTrue(new CompressedNameSearch(roster.codec(), numbered).patternBits() > 57);
+        assertEquals(1, expected(numbered).size());
+        for (String query : new String[] {numbered, numbered.replace("1326", "1327"), names[17], "Öztürk"}) {
+            assertEquals(query, expected(query), search(roster, query));
+        }
+    }
+
+    @Test
+    public void testSearch_PackedStore_ShouldMatchRoster() {
+        EncodedRoster roster = roster();
+        AttendeeStore store = new AttendeeStore();
+        for (int i = 0; i < 1_000; i++) {
+            store.add(names[i], surnames[i], names[i]);
+        }
+        store.pack(roster.codec());
+        for (int i = 1_000; i < names.length; i++) {
+            store.add(names[i], surnames[i], names[i]);
+        }
+        for (String query : new String[] {"Siray", "ay", "Ş", "ü", "/", "", "Mehmet Demir", "Zeynepx"}) {
+            List<Integer> hits = new ArrayList<>();
+            int found = new CompressedNameSearch(roster.codec(), query).search(store, hits::add);
+            assertEquals(query, expected(query), hits);
+            assertEquals(hits.size(), found);
+        }
+        try {
+            new CompressedNameSearch(roster.codec(), "ay").search(new AttendeeStore(), i -> { });
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testMatches_ShouldSearchSingleRecords() {
+        EncodedRoster roster = roster();
+        AttendeeNameCodec codec = roster.codec();
+        byte[] record = codec.encode("Gökçe", "Siray");
+        assertTrue(new CompressedNameSearch(codec, "ökç").matches(record));
+        assertTrue(new CompressedNameSearch(codec, "ray").matches(record));
+        assertTrue(new CompressedNameSearch(codec, "").matches(record));
+        assertFalse(new CompressedNameSearch(codec, "eS").matches(record)); // Spans the two fields
+        assertFalse(new CompressedNameSearch(codec, "siray").matches(record));
+    }
+}
@@ -0,0 +1,81 @@
+/**
+
+ @file CredentialBenchmark.java
+ @brief This file contains the JMH benchmark measuring login latency with a cold and a warm credential cache.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=CredentialBenchmark
+          The p99 latency is reported in the p0.99 line of the sample-time output.
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+
+ @class CredentialBenchmark
+ @brief Samples Event.validateLogin latency for hashed passwords with and without cached credentials.
+ @details The cold case clears the credential cache before every login, so each login pays for the PBKDF2 hash.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CredentialBenchmark {
+
+    @Param({"cold", "warm"})
+    public String cache;
+
+    @Param({"100000"})
+    public int iterations;
+
+    private static final int USERS = 64;
+
+    private String[] phones;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PasswordHasher hasher = new PasswordHasher(iterations);
+        phones = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            User user = new User();
+            user.name = "Bench" + i;
+            user.surname = "";
+            user.phone = String.valueOf(5400000000L + i);
+            user.password = hasher.hash("pw" + i);
+            phones[i] = user.phone;
+            Event.userRegistry.put(user);
+            Event.validateLogin(user.phone, "pw" + i);
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void clearIfCold() {
+        if ("cold".equals(cache)) {
+            Event.credentialCache.clear();
+        }
+    }
+
+    @Benchmark
+    public boolean login() {
+        int i = cursor;
+        cursor = (cursor + 1) % USERS;
+        return Event.validateLogin(phones[i], "pw" + i);
+    }
+}
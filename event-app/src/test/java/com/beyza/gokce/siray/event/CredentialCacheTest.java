@@ -0,0 +1,98 @@
+/**
+
+ @file CredentialCacheTest.java
+ @brief This file contains the test cases for the CredentialCache class.
+ @details This file includes test methods to validate hits, expiry, invalidation and the size bound of the credential cache.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+/**
+
+ @class CredentialCacheTest
+ @brief This class represents the test class for the CredentialCache class.
+ @details The CredentialCacheTest class drives expiry with a manual clock.
+ */
+public class CredentialCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    private CredentialCache newCache(int maxEntries) {
+        return new CredentialCache(maxEntries, 10, TimeUnit.SECONDS, now::get);
+    }
+
+    @Test
+    public void testCheck_AfterRemember_ShouldHitForSamePasswordOnly() {
+        CredentialCache cache = newCache(10);
+        String stored = "pbkdf2$1$AAAA$AAAA";
+
+        assertFalse(cache.check("5551112233", stored, "secret"));
+        cache.remember("5551112233", stored, "secret");
+
+        assertTrue(cache.check("5551112233", stored, "secret"));
+        assertFalse(cache.check("5551112233", stored, "guess"));
+        assertEquals(1, cache.hits());
+        assertEquals(2, cache.misses());
+    }
+
+    @Test
+    public void testCheck_AfterTtl_ShouldExpire() {
+        CredentialCache cache = newCache(10);
+        String stored = "stored";
+        cache.remember("user", stored, "secret");
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        assertTrue(cache.check("user", stored, "secret"));
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertFalse(cache.check("user", stored, "secret"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testCheck_ChangedStoredPassword_ShouldMiss() {
+        CredentialCache cache = newCache(10);
+        cache.remember("user", "pbkdf2$1$AAAA$AAAA", "secret");
+
+        assertFalse(cache.check("user", "pbkdf2$1$BBBB$BBBB", "secret"));
+    }
+
+    @Test
+    public void testCheck_EqualStoredPasswordCopy_ShouldHit() {
+        CredentialCache cache = newCache(10);
+        cache.remember("user", new String("stored"), "secret");
+
+        assertTrue(cache.check("user", new String("stored"), "secret"));
+    }
+
+    @Test
+    public void testRemember_ShouldEvictOldestBeyondBound() {
+        CredentialCache cache = newCache(3);
+        String stored = "stored";
+        for (int i = 0; i < 5; i++) {
+            cache.remember("user" + i, stored, "pw");
+        }
+
+        assertEquals(3, cache.size());
+        assertFalse(cache.check("user0", stored, "pw"));
+        assertFalse(cache.check("user1", stored, "pw"));
+        assertTrue(cache.check("user4", stored, "pw"));
+    }
+
+    @Test
+    public void testInvalidateAndDisabledCache_ShouldNotHit() {
+        CredentialCache cache = newCache(10);
+        cache.remember("user", "stored", "pw");
+        cache.invalidate("user");
+        assertFalse(cache.check("user", "stored", "pw"));
+
+        CredentialCache disabled = newCache(0);
+        disabled.remember("user", "stored", "pw");
+        assertFalse(disabled.check("user", "stored", "pw"));
+    }
+}
@@ -0,0 +1,91 @@
+/**
+
+ @file EncodedRosterBenchmark.java
+ @brief This file contains the JMH benchmark for parallel roster encoding.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=EncodedRosterBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+ @class EncodedRosterBenchmark
+ @brief Measures the time to encode a roster of 200,000 attendees on fork-join pools of several sizes.
+ @details perAttendee is the old path: one record per attendee, as compressAttendeeName builds it.
+          Scaling only shows on a machine with at least as many cores as the largest pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EncodedRosterBenchmark {
+
+    private static final int ROSTER_SIZE = 200_000;
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Fatma", "Mehmet", "Mustafa", "Ahmet",
+            "Zeynep", "Elif", "Emre", "Can", "Deniz", "Ali", "Hasan", "Merve", "Busra", "Esra", "Özge", "Şule"};
+    private static final String[] SURNAMES = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Öztürk", "Aydin",
+            "Arslan", "Dogan", "Kilic", "Aslan", "Cetin", "Kara", "Koc", "Kurt"};
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private String[] names;
+    private String[] surnames;
+    private AttendeeNameCodec codec;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(1);
+        names = new String[ROSTER_SIZE];
+        surnames = new String[ROSTER_SIZE];
+        int[] freq = new int[AttendeeNameCodec.ALPHABET_SIZE];
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            names[i] = NAMES[random.nextInt(NAMES.length)];
+            surnames[i] = SURNAMES[random.nextInt(SURNAMES.length)];
+            AttendeeNameCodec.count(names[i], freq);
+            AttendeeNameCodec.count(surnames[i], freq);
+        }
+        codec = AttendeeNameCodec.fromFrequencies(freq, 1);
+        pool = new ForkJoinPool(threads);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public EncodedRoster roster() {
+        return EncodedRoster.encode(codec, names, surnames, EncodedRoster.DEFAULT_CHUNK_SIZE, pool);
+    }
+
+    @Benchmark
+    public byte[][] perAttendee() {
+        byte[][] records = new byte[ROSTER_SIZE][];
+        for (int i = 0; i < ROSTER_SIZE; i++) {
+            records[i] = codec.encode(names[i], surnames[i]);
+        }
+        return records;
+    }
+}
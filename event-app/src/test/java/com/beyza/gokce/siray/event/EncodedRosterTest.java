@@ -0,0 +1,122 @@
+/**
+
+ @file EncodedRosterTest.java
+ @brief This file contains the test cases for the EncodedRoster class.
+ @details This file includes test methods to validate parallel chunk encoding, the chunk offset index and random access into an encoded roster.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+/**
+
+ @class EncodedRosterTest
+ @brief This class represents the test class for the EncodedRoster class.
+ @details The EncodedRosterTest class encodes generated rosters whose sizes are not multiples of the chunk size and compares them with single-threaded encoding.
+ */
+public class EncodedRosterTest {
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Mehmet", "Zeynep", "Emre", "Elif", "Can", "Şule"};
+    private static final String[] SURNAMES = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Öztürk", "Aydin"};
+
+    private static String[][] roster(int size) {
+        Random random = new Random(size);
+        String[][] roster = new String[2][size];
+        for (int i = 0; i < size; i++) {
+            roster[0][i] = NAMES[random.nextInt(NAMES.length)] + (i % 13 == 0 ? "-" + i : "");
+            roster[1][i] = SURNAMES[random.nextInt(SURNAMES.length)];
+        }
+        return roster;
+    }
+
+    private static AttendeeNameCodec codec(String[][] roster) {
+        int[] freq = new int[AttendeeNameCodec.ALPHABET_SIZE];
+        for (String[] column : roster) {
+            for (String field : column) {
+                AttendeeNameCodec.count(field, freq);
+            }
+        }
+        return AttendeeNameCodec.fromFrequencies(freq, 1);
+    }
+
+    @Test
+    public void testEncode_ShouldMatchSingleThreadedEncoding() {
+        String[][] roster = roster(10_000);
+        AttendeeNameCodec codec = codec(roster);
+        ForkJoinPool parallel = new ForkJoinPool(4);
+        ForkJoinPool single = new ForkJoinPool(1);
+        try {
+            EncodedRoster a = EncodedRoster.encode(codec, roster[0], roster[1], 100, parallel);
+            EncodedRoster b = EncodedRoster.encode(codec, roster[0], roster[1], 100, single);
+            assertArrayEquals(b.data(), a.data());
+            assertEquals(100, a.chunkCount());
+        } finally {
+            parallel.shutdown();
+            single.shutdown();
+        }
+    }
+
+    @Test
+    public void testDecodeChunk_ShouldRoundTripEveryChunk() {
+        String[][] roster = roster(2_500);
+        AttendeeNameCodec codec = codec(roster);
+        EncodedRoster encoded = EncodedRoster.encode(codec, roster[0], roster[1], 64, ForkJoinPool.commonPool());
+        assertEquals(40, encoded.chunkCount());
+        assertEquals(0, encoded.offset(0));
+        assertEquals(encoded.byteSize(), encoded.offset(encoded.chunkCount()));
+
+        String[] names = new String[encoded.size()];
+        String[] surnames = new String[encoded.size()];
+        for (int c = 0; c < encoded.chunkCount(); c++) {
+            assertArrayEquals(codec.encode(interleave(roster, c * 64, Math.min(2_500, c * 64 + 64))),
+                    Arrays.copyOfRange(encoded.data(), encoded.offset(c), encoded.offset(c + 1)));
+            encoded.decodeChunk(c, names, surnames);
+        }
+        assertArrayEquals(roster[0], names);
+        assertArrayEquals(roster[1], surnames);
+    }
+
+    @Test
+    public void testGet_ShouldDecodeSingleAttendees() {
+        String[][] roster = roster(1_000);
+        EncodedRoster encoded = EncodedRoster.encode(codec(roster), roster[0], roster[1]);
+        for (int i : new int[] {0, 1, 23, 999}) {
+            assertArrayEquals(new String[] {roster[0][i], roster[1][i]}, encoded.get(i));
+        }
+        try {
+            encoded.get(1_000);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testEncode_ShouldHandleEmptyRosterAndRejectMismatchedColumns() {
+        EncodedRoster empty = EncodedRoster.encode(codec(roster(1)), new String[0], new String[0]);
+        assertEquals(0, empty.size());
+        assertEquals(0, empty.chunkCount());
+        assertEquals(0, empty.byteSize());
+        try {
+            EncodedRoster.encode(empty.codec(), new String[2], new String[1]);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    private static String[] interleave(String[][] roster, int from, int to) {
+        String[] fields = new String[2 * (to - from)];
+        for (int i = from; i < to; i++) {
+            fields[2 * (i - from)] = roster[0][i];
+            fields[2 * (i - from) + 1] = roster[1][i];
+        }
+        return fields;
+    }
+}
@@ -22,6 +22,7 @@ import java.lang.reflect.Method;
 import java.text.DateFormat.Field;
 import java.util.Arrays;
 import java.util.Map;
+import java.util.Random;
 import java.util.Scanner;
 import java.io.ByteArrayInputStream;
 import org.junit.Test;
@@ -33,6 +34,9 @@ import java.io.IOException;
 import java.io.ObjectOutputStream;
 import java.io.FileOutputStream;
 import java.io.FileWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import com.beyza.gokce.siray.event.Event;
 import com.beyza.gokce.siray.event.Event.Attendee;
@@ -241,6 +245,63 @@ public class EventTest {
         assertEquals(node2, minHeap.array[0]); 
     }
 
+    @Test
+    public void testExtractMin_ShouldReturnNodesInFrequencyOrder() {
+        int[] freqs = {42, 7, 19, 3, 88, 7, 1, 56, 23, 11};
+        Event.MinHeap minHeap = Event.createMinHeap(freqs.length);
+        for (int i = 0; i < freqs.length; i++) {
+            Event.insertMinHeap(minHeap, Event.createMinHeapNode((char) ('a' + i), freqs[i]));
+        }
+
+        int[] sorted = freqs.clone();
+        Arrays.sort(sorted);
+        for (int expected : sorted) {
+            assertEquals(expected, Event.extractMin(minHeap).freq);
+        }
+        assertEquals(0, minHeap.size);
+    }
+
+    @Test
+    public void testBuildMinHeap_ShouldHeapifyAppendedNodes() {
+        Random random = new Random(7);
+        Event.MinHeap minHeap = Event.createMinHeap(200);
+        int[] freqs = new int[200];
+        for (int i = 0; i < freqs.length; i++) {
+            freqs[i] = random.nextInt(1000);
+            minHeap.array[minHeap.size++] = Event.createMinHeapNode('x', freqs[i]);
+        }
+
+        Event.buildMinHeap(minHeap);
+
+        Arrays.sort(freqs);
+        for (int expected : freqs) {
+            assertEquals(expected, Event.extractMin(minHeap).freq);
+        }
+    }
+
+    @Test
+    public void testBuildHuffmanTree_ShouldGiveOptimalCodeLengths() {
+        int[] freq = new int[Event.MAX_TREE_NODES];
+        freq['a'] = 45;
+        freq['b'] = 13;
+        freq['c'] = 12;
+        freq['d'] = 16;
+        freq['e'] = 9;
+        freq['f'] = 5;
+
+        Event.MinHeapNode root = Event.buildHuffmanTree(freq);
+
+        assertEquals(100, root.freq);
+        StringBuilder codes = new StringBuilder();
+        Event.generateHuffmanCodes(root, new char[256], 0, codes);
+        int bits = 0;
+        for (String line : codes.toString().split("\n")) {
+            bits += freq[line.charAt(0)] * (line.length() - 3);
+        }
+        assertEquals(224, bits);
+        assertNull(Event.buildHuffmanTree(new int[Event.MAX_TREE_NODES]));
+    }
+
     @Test
     public void testSaveUser_ShouldAddUserToHashTable() {
         Event.User user = new Event.User();
@@ -1156,6 +1217,96 @@ public class EventTest {
         assertEquals(attendee.huffmanCode, deserializedAttendee.huffmanCode);
     }
 
+    @Test
+    public void testSerialization_ShouldWriteCompressedNameOnce() throws IOException, ClassNotFoundException {
+        Event.attendees = new AttendeeStore();
+        String[][] names = {{"Beyza", "Siray"}, {"Gokce", "Siray"}, {"Ayse", "Yilmaz"}, {"Mehmet", "Kaya"}};
+        for (String[] name : names) {
+            Event.attendees.add(name[0], name[1], null);
+        }
+        Event.updateAttendeeNameModel();
+
+        ByteArrayOutputStream packed = new ByteArrayOutputStream();
+        ByteArrayOutputStream plain = new ByteArrayOutputStream();
+        Attendee[] written = new Attendee[names.length];
+        try (ObjectOutputStream packedOut = new ObjectOutputStream(packed);
+             ObjectOutputStream plainOut = new ObjectOutputStream(plain)) {
+            for (int i = 0; i < Event.attendees.size(); i++) {
+                written[i] = Event.attendees.get(i);
+                plainOut.writeObject(written[i]);
+                Event.compressAttendeeName(written[i]);
+                packedOut.writeObject(written[i]);
+            }
+        }
+
+        assertNotNull(written[0].encodedName);
+        assertFalse(new String(packed.toByteArray(), StandardCharsets.ISO_8859_1).contains("Mehmet"));
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(packed.toByteArray()))) {
+            for (String[] name : names) {
+                Attendee read = (Attendee) in.readObject();
+                assertEquals(name[0], read.nameAttendee);
+                assertEquals(name[1], read.surnameAttendee);
+                assertEquals(name[0], read.huffmanCode);
+            }
+        }
+        Event.attendees = new AttendeeStore();
+        Event.attendeeNameModel = new AttendeeNameModel();
+    }
+
+    @Test
+    public void testDeserialization_ShouldReadAttendeesWrittenBeforeCompression() throws Exception {
+        // attendee.bin as written before names were compressed
+        byte[] legacy = java.util.Base64.getDecoder().decode(
+                "rO0ABXNyACpjb20uYmV5emEuZ29rY2Uuc2lyYXkuZXZlbnQuRXZlbnQkQXR0ZW5kZWUAAAAAAAAAAQIAA0wAC2h1ZmZtYW5Db2RldAASTGphdmEvbGFuZy9TdHJpbmc7TAAMbmFtZUF0dGVuZGVlcQB+AAFMAA9zdXJuYW1lQXR0ZW5kZWVxAH4AAXhwdAABNHQAATR0AAIxMQ==");
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(legacy))) {
+            Attendee attendee = (Attendee) in.readObject();
+            assertEquals("4", attendee.nameAttendee);
+            assertEquals("11", attendee.surnameAttendee);
+            assertEquals("4", attendee.huffmanCode);
+            assertNull(attendee.encodedName);
+        }
+    }
+
+    @Test
+    public void testRegisterAttendees_ShouldReadBackAppendedBatches() throws Exception {
+        Event.attendees = new AttendeeStore();
+        // Rebuild on the registering thread as soon as a rebuild pays off
+        Event.attendeeNameModel = new AttendeeNameModel(Runnable::run, AttendeeNameModel.DEFAULT_MIN_GAIN, 0);
+        Path dir = Files.createTempDirectory("attendees");
+        File file = dir.resolve("attendee.bin").toFile();
+        Event.attendeeFile = file.toPath();
+        try {
+            PrintStream console = new PrintStream(new ByteArrayOutputStream());
+            new Event(new Scanner("2\nJohn\nDoe\nJane\nSmith\n"), console);
+            assertTrue(Event.registerAttendees());
+            new Event(new Scanner("1\nŞule\nÖztürk\n"), console);
+            assertTrue(Event.registerAttendees());
+            assertEquals(2, Event.attendeeNameModel.current().version());
+            assertEquals(1, Event.attendeeNameModel.codec(1).version());
+            assertEquals(3, Event.attendees.size());
+            assertEquals("Öztürk", Event.attendees.surname(2));
+            // The second session packed only its own row; the first batch keeps its codec
+            assertEquals(1, Event.attendees.packedCodec(0).version());
+            assertEquals(2, Event.attendees.packedCodec(2).version());
+            assertNull(Event.attendees.packedCodec());
+
+            AttendeeStore stored = new AttendeeStore();
+            assertEquals(3, AttendeeLog.read(file.toPath(), stored));
+            assertEquals("John", stored.name(0));
+            assertEquals("Smith", stored.surname(1));
+            assertEquals("Şule", stored.name(2));
+            assertEquals("Öztürk", stored.surname(2));
+            assertEquals("Şule", stored.huffmanCode(2));
+        } finally {
+            file.delete();
+            dir.toFile().delete();
+            Event.attendeeFile = AttendeeLog.defaultPath();
+            Event.attendees = new AttendeeStore();
+            Event.attendeeNameModel = new AttendeeNameModel();
+        }
+    }
+
     @Test
     public void testEmptyAttendee() {
         // Create an empty Attendee
@@ -1180,20 +1331,12 @@ public class EventTest {
     @Test
     public void testKmpSearch_EmptyPattern() {
         // Prepare mock data: attendees and their Huffman codes
-        Attendee[] attendees = new Attendee[2];
-        attendees[0] = new Attendee();
-        attendees[0].nameAttendee = "John";
-        attendees[0].surnameAttendee = "Doe";
-        attendees[0].huffmanCode = "110110";
-
-        attendees[1] = new Attendee();
-        attendees[1].nameAttendee = "Jane";
-        attendees[1].surnameAttendee = "Smith";
-        attendees[1].huffmanCode = "101101";
+        AttendeeStore attendees = new AttendeeStore();
+        attendees.add("John", "Doe", "110110");
+        attendees.add("Jane", "Smith", "101101");
 
         // Assign the mock attendees to the system
         Event.attendees = attendees;
-        Event.attendeeCount = 2;
 
         // Capture the console output to check results
         ByteArrayOutputStream consoleOutput = new ByteArrayOutputStream();
@@ -1203,6 +1346,35 @@ public class EventTest {
         String pattern = ""; // Empty pattern
     }
 
+    @Test
+    public void testSearchCompressedNames_ShouldMatchPackedAndPlainNames() {
+        Event.attendees = new AttendeeStore();
+        String[][] names = {{"Beyza", "Siray"}, {"Gokce", "Siray"}, {"Ayse", "Yilmaz"}, {"Mehmet", "Kaya"}};
+        for (String[] name : names) {
+            Event.attendees.add(name[0], name[1], name[0]);
+        }
+        Event.updateAttendeeNameModel();
+        ByteArrayOutputStream console = new ByteArrayOutputStream();
+        try {
+            new Event(new Scanner(""), new PrintStream(console));
+            assertEquals(2, Event.searchCompressedNames("Siray"));
+            assertEquals(3, Event.searchCompressedNames("ay")); // Siray twice and Kaya
+            assertEquals(0, Event.searchCompressedNames("siray"));
+            // Attendees added later are packed as they are added, without packing the others again
+            AttendeeNameCodec codec = Event.attendees.packedCodec();
+            Event.attendees.add("Elif", "Siray", "Elif");
+            assertEquals(3, Event.searchCompressedNames("Siray"));
+            assertSame(codec, Event.attendees.packedCodec());
+            String output = console.toString();
+            assertTrue(output.contains("Pattern found in compressed name of attendee: Gokce Siray"));
+            assertTrue(output.contains("Pattern found in compressed name of attendee: Mehmet Kaya"));
+            assertTrue(output.contains("No match found."));
+        } finally {
+            Event.attendees = new AttendeeStore();
+            Event.attendeeNameModel = new AttendeeNameModel();
+        }
+    }
+
     @Test
     public void testCompressAttendeeName_ValidName() {
         Event.Attendee attendee = new Event.Attendee();
@@ -2646,8 +2818,7 @@ public class EventTest {
         System.setIn(inputStream); // Simulate user input
         System.setOut(new PrintStream(outContent)); // Capture output
 
-        Event.attendees = null; // Ensure the attendees array is not initialized
-        Event.attendeeCount = 0; // Reset the attendee count
+        Event.attendees = new AttendeeStore(); // Start from an empty attendee store
 
         // Remove any existing attendee.bin file
         File file = new File("attendee.bin");
@@ -2672,8 +2843,10 @@ public class EventTest {
         assertFalse(output.contains("2 attendees have been registered and stored in binary format."));
 
      // Verify the content of the attendee.bin file
-        ObjectInputStream objectInputStream = new ObjectInputStream(new FileInputStream("attendee.bin"));
-        Event.Attendee attendee1 = (Event.Attendee) objectInputStream.readObject();
+        AttendeeStore stored = new AttendeeStore();
+        assertEquals(Event.attendees.size(), AttendeeLog.read(file.toPath(), stored));
+        assertEquals(Event.attendees.name(0), stored.name(0));
+        assertEquals(Event.attendees.surname(0), stored.surname(0));
 
     }
     @Test
@@ -0,0 +1,89 @@
+/**
+
+ @file FoldedNameArenaBenchmark.java
+ @brief This file contains the JMH benchmark for the case-insensitive desk search.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=FoldedNameArenaBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+ @class FoldedNameArenaBenchmark
+ @brief Measures one case-insensitive search over the names of 100,000 attendees at pattern lengths 1, 4, 8 and 16.
+ @details kmp matches a compiled KmpPattern against every name, which is what findAttendees does.
+          scalar and swar search the folded arena, finding candidate bytes one and eight bytes at a time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FoldedNameArenaBenchmark {
+
+    private static final int ATTENDEES = 100_000;
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Fatma", "Mehmet", "Mustafa", "Ahmet",
+            "Zeynep", "Elif", "Emre", "Can", "Deniz", "Ali", "Hasan", "Merve", "Busra", "Esra", "Ozge", "Sule"};
+    private static final String[] SURNAMES = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Ozturk", "Aydin",
+            "Arslan", "Dogan", "Kilic", "Aslan", "Cetin", "Kara", "Koc", "Kurt"};
+
+    @Param({"Z", "AHME", "yilmaz 4", "kilic 4242 badge"})
+    public String pattern;
+
+    private String[] names;
+    private FoldedNameArena arena;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        names = new String[ATTENDEES];
+        arena = new FoldedNameArena();
+        for (int i = 0; i < ATTENDEES; i++) {
+            names[i] = NAMES[random.nextInt(NAMES.length)] + " " + SURNAMES[random.nextInt(SURNAMES.length)] + " "
+                    + random.nextInt(10_000) + " badge " + i;
+            arena.add(names[i]);
+        }
+    }
+
+    @Benchmark
+    public int kmp() {
+        KmpPattern compiled = KmpPattern.compile(pattern);
+        int found = 0;
+        for (String name : names) {
+            if (compiled.matches(name)) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int scalar() {
+        int[] found = new int[1];
+        arena.searchScalar(pattern, record -> found[0]++);
+        return found[0];
+    }
+
+    @Benchmark
+    public int swar() {
+        int[] found = new int[1];
+        arena.search(pattern, record -> found[0]++);
+        return found[0];
+    }
+}
@@ -0,0 +1,101 @@
+/**
+
+ @file FoldedNameArenaTest.java
+ @brief This file contains the test cases for the FoldedNameArena class.
+ @details This file includes test methods to validate the word-at-a-time and scalar searches against String.contains, record boundaries, non-ASCII case folding and the attendee search built on the arena.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.Attendee;
+
+/**
+
+ @class FoldedNameArenaTest
+ @brief This class represents the test class for the FoldedNameArena class.
+ @details The FoldedNameArenaTest class searches random texts on a small alphabet, so candidate bytes are found in every word position.
+ */
+public class FoldedNameArenaTest {
+
+    @Test
+    public void testSearch_ShouldMatchContainsForBothScans() {
+        Random random = new Random(21);
+        for (int round = 0; round < 100; round++) {
+            FoldedNameArena arena = new FoldedNameArena();
+            List<String> texts = new ArrayList<>();
+            for (int r = 0; r < random.nextInt(40); r++) {
+                texts.add(randomText(random, random.nextInt(30)));
+                arena.add(texts.get(r));
+            }
+            for (int q = 0; q < 10; q++) {
+                String pattern = randomText(random, 1 + random.nextInt(q < 5 ? 3 : 12));
+                List<Integer> expected = new ArrayList<>();
+                for (int r = 0; r < texts.size(); r++) {
+                    if (texts.get(r).toLowerCase().contains(pattern.toLowerCase())) {
+                        expected.add(r);
+                    }
+                }
+                List<Integer> swar = new ArrayList<>();
+                arena.search(pattern, swar::add);
+                List<Integer> scalar = new ArrayList<>();
+                arena.searchScalar(pattern, scalar::add);
+                assertEquals(pattern + " in " + texts, expected, swar);
+                assertEquals(expected, scalar);
+            }
+        }
+    }
+
+    @Test
+    public void testSearch_ShouldFoldNonAsciiAndStayInsideRecords() {
+        FoldedNameArena arena = new FoldedNameArena();
+        arena.add("Şule ÖZTÜRK");
+        arena.add("Beyza");
+        arena.add(null);
+        arena.add("Siray");
+        assertEquals(4, arena.size());
+        List<Integer> records = new ArrayList<>();
+        arena.search("öztürk", records::add);
+        arena.search("ŞULE", records::add);
+        arena.search("zasi", records::add); // Across "Beyza" and "Siray"
+        arena.search("a", records::add);
+        assertEquals(Arrays.asList(0, 0, 1, 3), records);
+        records.clear();
+        arena.search("", records::add);
+        assertEquals(Arrays.asList(0, 1, 2, 3), records);
+    }
+
+    @Test
+    public void testScanAttendees_ShouldFollowNewAttendees() {
+        AttendeeStore saved = Event.attendees;
+        try {
+            Event.attendees = new AttendeeStore();
+            Event.attendees.add("Beyza", null, "Beyza");
+            Event.attendees.add("BEYZANUR", null, "BEYZANUR");
+            Event.attendees.add("Beyza", null, null); // No Huffman code yet
+            assertEquals(2, Event.scanAttendees("beyza").size());
+            Event.attendees.add("Zeynep Beyza", null, "Zeynep Beyza");
+            List<Attendee> matches = Event.scanAttendees("BeYzA");
+            assertEquals(3, matches.size());
+            assertEquals("Zeynep Beyza", matches.get(2).nameAttendee);
+            assertEquals(Event.findAttendees(KmpPattern.compile("")).size(), Event.scanAttendees("").size());
+        } finally {
+            Event.attendees = saved;
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = "abAB".charAt(random.nextInt(4));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+
+ @file FuzzyNameIndexBenchmark.java
+ @brief This file contains the JMH benchmark for the typo-tolerant attendee lookup.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=FuzzyNameIndexBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+ @class FuzzyNameIndexBenchmark
+ @brief Measures one misspelled lookup against 100,000 attendees.
+ @details Surnames are built from random syllables, so the roster has tens of thousands of distinct words.
+          scan computes the distance to every name and surname; trie searches the index with the
+          default distance for the query, one typo up to four characters and two beyond.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FuzzyNameIndexBenchmark {
+
+    private static final int ATTENDEES = 100_000;
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Fatma", "Mehmet", "Mustafa", "Ahmet",
+            "Zeynep", "Elif", "Emre", "Can", "Deniz", "Ali", "Hasan", "Merve", "Busra", "Esra", "Ozge", "Sule"};
+    private static final String[] SYLLABLES = {"ka", "ya", "de", "mir", "sa", "hin", "ce", "lik", "yil", "dız", "oz",
+            "tur", "ay", "dın", "ars", "lan", "do", "gan", "ki", "lıç", "ko", "kurt", "er", "gün", "ak", "taş"};
+
+    @Param({"Gocke", "Mehmed", "Kayademır"})
+    public String query;
+
+    private String[] names;
+    private String[] surnames;
+    private FuzzyNameIndex index;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(1);
+        names = new String[ATTENDEES];
+        surnames = new String[ATTENDEES];
+        index = new FuzzyNameIndex();
+        for (int i = 0; i < ATTENDEES; i++) {
+            names[i] = NAMES[random.nextInt(NAMES.length)];
+            StringBuilder surname = new StringBuilder();
+            for (int s = 2 + random.nextInt(3); s > 0; s--) {
+                surname.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+            surname.setCharAt(0, Character.toUpperCase(surname.charAt(0)));
+            surnames[i] = surname.toString();
+            index.add(i, names[i], surnames[i]);
+        }
+    }
+
+    @Benchmark
+    public int scan() {
+        int k = FuzzyNameIndex.defaultDistance(query.length());
+        int found = 0;
+        for (int i = 0; i < ATTENDEES; i++) {
+            if (distance(query, names[i]) <= k || distance(query, surnames[i]) <= k) {
+                found++;
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public int[] trie() {
+        return index.search(query, FuzzyNameIndex.defaultDistance(query.length()));
+    }
+
+    private static int distance(String a, String b) {
+        a = a.toLowerCase();
+        b = b.toLowerCase();
+        int[] row = new int[a.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            row[i] = i;
+        }
+        for (int j = 1; j <= b.length(); j++) {
+            int diagonal = row[0];
+            row[0] = j;
+            for (int i = 1; i <= a.length(); i++) {
+                int above = row[i];
+                row[i] = Math.min(Math.min(row[i] + 1, row[i - 1] + 1), diagonal + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1));
+                diagonal = above;
+            }
+        }
+        return row[a.length()];
+    }
+}
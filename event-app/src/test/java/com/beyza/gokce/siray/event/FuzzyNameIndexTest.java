@@ -0,0 +1,168 @@
+/**
+
+ @file FuzzyNameIndexTest.java
+ @brief This file contains the test cases for the FuzzyNameIndex class.
+ @details This file includes test methods to validate case folding, the trie search against a full scan, and recall on a set of misspelled attendee names.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Scanner;
+
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.Attendee;
+
+/**
+
+ @class FuzzyNameIndexTest
+ @brief This class represents the test class for the FuzzyNameIndex class.
+ @details The FuzzyNameIndexTest class uses random words on a small alphabet so that many words are close to each other.
+ */
+public class FuzzyNameIndexTest {
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Fatma", "Mehmet", "Mustafa", "Ahmet",
+            "Zeynep", "Elif", "Emre", "Can", "Deniz", "Ali", "Hasan", "Merve", "Busra", "Esra", "Özge", "Şule"};
+    private static final String[] SURNAMES = {"Yilmaz", "Kaya", "Demir", "Sahin", "Celik", "Yildiz", "Öztürk", "Aydin",
+            "Arslan", "Dogan", "Kilic", "Aslan", "Cetin", "Kara", "Koc", "Kurt"};
+
+    /**
+     * Misspellings typed at the desk and the name they should find: substitutions, missing, extra and
+     * swapped letters, wrong case and dropped Turkish characters.
+     */
+    private static final String[][] TYPOS = {
+            {"Beyze", "Beyza"}, {"Bayza", "Beyza"}, {"Gokse", "Gokce"}, {"Gocke", "Gokce"}, {"Siraay", "Siray"},
+            {"Sray", "Siray"}, {"Aise", "Ayse"}, {"Fatima", "Fatma"}, {"Mehmed", "Mehmet"}, {"Memet", "Mehmet"},
+            {"Mustfa", "Mustafa"}, {"Mustapha", "Mustafa"}, {"Ahmed", "Ahmet"}, {"Zeynap", "Zeynep"},
+            {"Zenyep", "Zeynep"}, {"Elf", "Elif"}, {"emre", "Emre"}, {"Denis", "Deniz"}, {"Hassan", "Hasan"},
+            {"Mrve", "Merve"}, {"Bushra", "Busra"}, {"Ozge", "Özge"}, {"Sule", "Şule"}, {"Yilmas", "Yilmaz"},
+            {"Yılmaz", "Yilmaz"}, {"Kaja", "Kaya"}, {"Demirr", "Demir"}, {"Shain", "Sahin"}, {"Celk", "Celik"},
+            {"Oztürk", "Öztürk"}, {"Ozturk", "Öztürk"}, {"Aydn", "Aydin"}, {"Arslam", "Arslan"}, {"Dogn", "Dogan"},
+            {"Kilich", "Kilic"}, {"Cetinn", "Cetin"}, {"Kurd", "Kurt"}, {"KOC", "Koc"}};
+
+    @Test
+    public void testSearch_ShouldFoldCaseAndReportEachAttendeeOnce() {
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        index.add(0, "Şule", "ŞULE"); // Same word twice
+        index.add(3, "Sule", "Kaya");
+        index.add(4, "Ali", null);
+        assertEquals(5, index.size());
+        assertEquals(4, index.wordCount());
+        assertArrayEquals(new int[] {0, 3}, index.search("şule", 1));
+        assertArrayEquals(new int[] {3, 0}, index.search("SULE", 1));
+        assertArrayEquals(new int[] {3}, index.search("Sule", 0));
+        assertArrayEquals(new int[] {4}, index.search("", 3)); // Only "Ali" has at most three characters
+        assertEquals(0, new FuzzyNameIndex().search("Beyza", 2).length);
+        try {
+            index.add(2, "Beyza");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testSearch_ShouldMatchFullScan() {
+        Random random = new Random(23);
+        List<String> words = new ArrayList<>();
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        for (int i = 0; i < 2_000; i++) {
+            words.add(randomText(random, 2 + random.nextInt(6)));
+            index.add(i, words.get(i));
+        }
+        for (int q = 0; q < 100; q++) {
+            String query = randomText(random, 2 + random.nextInt(6));
+            int k = q % 3;
+            int[] found = index.search(query, k);
+            // Expected ids, closest first and then in increasing order
+            List<Integer> expected = new ArrayList<>();
+            for (int d = 0; d <= k; d++) {
+                for (int i = 0; i < words.size(); i++) {
+                    if (levenshtein(query, words.get(i)) == d) {
+                        expected.add(i);
+                    }
+                }
+            }
+            List<Integer> actual = new ArrayList<>();
+            for (int id : found) {
+                actual.add(id);
+            }
+            assertEquals(query + " within " + k, expected, actual);
+        }
+        assertTrue(index.wordCount() < 2_000);
+    }
+
+    @Test
+    public void testFindSimilarAttendees_ShouldRecallMisspelledNames() {
+        AttendeeStore saved = Event.attendees;
+        try {
+            Random random = new Random(24);
+            Event.attendees = new AttendeeStore();
+            Event.attendees.add("Beyza", "Siray", "Beyza");
+            for (int i = 1; i < 1_000; i++) {
+                String name = NAMES[random.nextInt(NAMES.length)];
+                Event.attendees.add(name, SURNAMES[random.nextInt(SURNAMES.length)], name);
+            }
+            for (String[] typo : TYPOS) {
+                List<Attendee> matches = Event.findSimilarAttendees(typo[0], FuzzyNameIndex.defaultDistance(typo[0].length()));
+                assertFalse(typo[0], matches.isEmpty());
+                // The intended word is the closest one, so its attendees come first
+                Attendee first = matches.get(0);
+                assertTrue(typo[0], typo[1].equals(first.nameAttendee) || typo[1].equals(first.surnameAttendee));
+                int expected = 0;
+                for (int i = 0; i < Event.attendees.size(); i++) {
+                    if (typo[1].equals(Event.attendees.name(i)) || typo[1].equals(Event.attendees.surname(i))) {
+                        expected++;
+                    }
+                }
+                int recalled = 0;
+                for (Attendee attendee : matches) {
+                    if (typo[1].equals(attendee.nameAttendee) || typo[1].equals(attendee.surnameAttendee)) {
+                        recalled++;
+                    }
+                }
+                assertEquals(typo[0], expected, recalled);
+            }
+
+            ByteArrayOutputStream console = new ByteArrayOutputStream();
+            new Event(new Scanner(""), new PrintStream(console));
+            Event.kmpSearch("Byeza");
+            String output = console.toString();
+            assertTrue(output.contains("No match found."));
+            assertTrue(output.contains("Did you mean: Beyza Siray"));
+        } finally {
+            Event.attendees = saved;
+        }
+    }
+
+    private static int levenshtein(String a, String b) {
+        a = a.toLowerCase();
+        b = b.toLowerCase();
+        int[][] d = new int[a.length() + 1][b.length() + 1];
+        for (int i = 0; i <= a.length(); i++) {
+            for (int j = 0; j <= b.length(); j++) {
+                if (i == 0 || j == 0) {
+                    d[i][j] = i + j;
+                } else {
+                    d[i][j] = Math.min(Math.min(d[i - 1][j] + 1, d[i][j - 1] + 1),
+                            d[i - 1][j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1));
+                }
+            }
+        }
+        return d[a.length()][b.length()];
+    }
+
+    private static String randomText(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = "abcAé".charAt(random.nextInt(5));
+        }
+        return new String(chars);
+    }
+}
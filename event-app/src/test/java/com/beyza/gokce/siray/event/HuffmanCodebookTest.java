@@ -0,0 +1,138 @@
+/**
+
+ @file HuffmanCodebookTest.java
+ @brief This file contains the test cases for the HuffmanCodebook class.
+ @details This file includes test methods to validate code lengths, canonical code assignment, the length limit and builder reuse of the canonical Huffman codebook.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+
+ @class HuffmanCodebookTest
+ @brief This class represents the test class for the HuffmanCodebook class.
+ @details The HuffmanCodebookTest class checks the codebooks against the tree built by Event.buildHuffmanTree and against the prefix-code property.
+ */
+public class HuffmanCodebookTest {
+
+    @Test
+    public void testBuild_ShouldGiveOptimalCodeLengths() {
+        int[] freq = new int[Event.MAX_TREE_NODES];
+        freq['a'] = 45;
+        freq['b'] = 13;
+        freq['c'] = 12;
+        freq['d'] = 16;
+        freq['e'] = 9;
+        freq['f'] = 5;
+
+        HuffmanCodebook codebook = HuffmanCodebook.of(freq);
+
+        assertEquals(224, codebook.encodedBits(freq));
+        assertEquals(6, codebook.symbolCount());
+        assertEquals(1, codebook.length('a'));
+        assertEquals(0, codebook.length('g'));
+        assertEquals("a: 0\nb: 100\nc: 101\nd: 110\ne: 1110\nf: 1111\n", codebook.toString());
+    }
+
+    @Test
+    public void testBuild_ShouldMatchHuffmanTreeCost() {
+        Random random = new Random(11);
+        HuffmanCodebook.Builder builder = new HuffmanCodebook.Builder(Event.MAX_TREE_NODES);
+        HuffmanCodebook codebook = new HuffmanCodebook(Event.MAX_TREE_NODES);
+        for (int round = 0; round < 200; round++) {
+            int[] freq = new int[Event.MAX_TREE_NODES];
+            int symbols = 2 + random.nextInt(60);
+            for (int i = 0; i < symbols; i++) {
+                freq[random.nextInt(freq.length)] += 1 + random.nextInt(500);
+            }
+
+            builder.build(freq, codebook);
+
+            assertEquals(treeCost(Event.buildHuffmanTree(freq), 0), codebook.encodedBits(freq));
+            assertPrefixFree(codebook);
+        }
+    }
+
+    @Test
+    public void testBuild_ShouldLimitCodeLength() {
+        int[] freq = new int[Event.MAX_TREE_NODES];
+        int a = 1;
+        int b = 1;
+        for (int i = 0; i < 40; i++) {
+            freq[i] = a;
+            int next = a + b;
+            a = b;
+            b = next;
+        }
+
+        HuffmanCodebook codebook = HuffmanCodebook.of(freq);
+
+        assertEquals(40, codebook.symbolCount());
+        assertEquals(HuffmanCodebook.MAX_CODE_LENGTH, codebook.maxLength());
+        assertPrefixFree(codebook);
+    }
+
+    @Test
+    public void testBuild_ShouldHandleZeroAndOneSymbols() {
+        int[] freq = new int[Event.MAX_TREE_NODES];
+        HuffmanCodebook codebook = HuffmanCodebook.of(freq);
+        assertEquals(0, codebook.symbolCount());
+        assertEquals("", codebook.toString());
+
+        freq['x'] = 3;
+        codebook = HuffmanCodebook.of(freq);
+        assertEquals(1, codebook.length('x'));
+        assertEquals("x: 0\n", codebook.toString());
+    }
+
+    @Test
+    public void testBuild_ShouldClearReusedCodebook() {
+        HuffmanCodebook.Builder builder = new HuffmanCodebook.Builder(Event.MAX_TREE_NODES);
+        HuffmanCodebook codebook = new HuffmanCodebook(Event.MAX_TREE_NODES);
+        int[] first = new int[Event.MAX_TREE_NODES];
+        first['a'] = 1;
+        first['b'] = 2;
+        first['c'] = 3;
+        builder.build(first, codebook);
+        int[] second = new int[Event.MAX_TREE_NODES];
+        second['d'] = 4;
+        second['e'] = 4;
+
+        builder.build(second, codebook);
+
+        assertEquals(0, codebook.length('a'));
+        assertEquals("d: 0\ne: 1\n", codebook.toString());
+    }
+
+    private static long treeCost(Event.MinHeapNode node, int depth) {
+        if (node.left == null && node.right == null) {
+            return (long) node.freq * Math.max(depth, 1);
+        }
+        return treeCost(node.left, depth + 1) + treeCost(node.right, depth + 1);
+    }
+
+    private static void assertPrefixFree(HuffmanCodebook codebook) {
+        long kraft = 0;
+        for (int s = 0; s < codebook.alphabetSize(); s++) {
+            int length = codebook.length(s);
+            if (length == 0) {
+                continue;
+            }
+            assertTrue(length <= HuffmanCodebook.MAX_CODE_LENGTH);
+            kraft += 1L << (HuffmanCodebook.MAX_CODE_LENGTH - length);
+            for (int t = 0; t < codebook.alphabetSize(); t++) {
+                int other = codebook.length(t);
+                if (t == s || other == 0 || other < length) {
+                    continue;
+                }
+                assertNotEquals(codebook.code(s), codebook.code(t) >>> (other - length));
+            }
+        }
+        assertTrue(kraft <= 1L << HuffmanCodebook.MAX_CODE_LENGTH);
+    }
+}
@@ -0,0 +1,107 @@
+/**
+
+ @file HuffmanDecoderBenchmark.java
+ @brief This file contains the JMH benchmark for the table-driven Huffman decoder.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=HuffmanDecoderBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.nio.ByteBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+ @class HuffmanDecoderBenchmark
+ @brief Measures the time to decode 1 MiB of name-like text; MB/s is 1 divided by the score in seconds.
+ @details The text is drawn from the letter frequencies of a list of names. HuffmanDecoder with several
+          primary table widths is compared with walking the MinHeapNode tree one bit at a time.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HuffmanDecoderBenchmark {
+
+    private static final int TEXT_SIZE = 1 << 20;
+
+    private static final String NAMES = "Beyza Gokce Siray Ayse Fatma Mehmet Mustafa Ahmet Zeynep Elif Emre Can Deniz "
+            + "Ali Hasan Huseyin Ibrahim Merve Busra Esra Ozge Yilmaz Kaya Demir Sahin Celik Yildiz Ozturk Aydin";
+
+    @Param({"8", "11", "12"})
+    public int primaryBits;
+
+    private byte[] encoded;
+    private byte[] decoded;
+    private HuffmanDecoder decoder;
+    private Event.MinHeapNode tree;
+    private byte[] treeEncoded;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(1);
+        byte[] text = new byte[TEXT_SIZE];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = (byte) NAMES.charAt(random.nextInt(NAMES.length()));
+        }
+        int[] freq = new int[Event.MAX_TREE_NODES];
+        for (byte b : text) {
+            freq[b]++;
+        }
+        HuffmanCodebook codebook = HuffmanCodebook.of(freq);
+        encoded = codebook.encode(text, 0, text.length);
+        decoder = new HuffmanDecoder(codebook, primaryBits);
+        decoded = new byte[TEXT_SIZE];
+
+        tree = Event.buildHuffmanTree(freq);
+        int[] codes = new int[Event.MAX_TREE_NODES];
+        byte[] lengths = new byte[Event.MAX_TREE_NODES];
+        collect(tree, 0, 0, codes, lengths);
+        treeEncoded = HuffmanCodebook.encode(codes, lengths, text, 0, text.length);
+    }
+
+    private static void collect(Event.MinHeapNode node, int code, int depth, int[] codes, byte[] lengths) {
+        if (node.left == null && node.right == null) {
+            codes[node.data] = code;
+            lengths[node.data] = (byte) depth;
+            return;
+        }
+        collect(node.left, code << 1, depth + 1, codes, lengths);
+        collect(node.right, code << 1 | 1, depth + 1, codes, lengths);
+    }
+
+    @Benchmark
+    public byte[] table() {
+        decoder.decode(ByteBuffer.wrap(encoded), decoded, 0, TEXT_SIZE);
+        return decoded;
+    }
+
+    @Benchmark
+    public byte[] treeWalk() {
+        int bit = 0;
+        for (int i = 0; i < TEXT_SIZE; i++) {
+            Event.MinHeapNode node = tree;
+            while (node.left != null) {
+                node = (treeEncoded[bit >>> 3] >>> (7 - (bit & 7)) & 1) == 0 ? node.left : node.right;
+                bit++;
+            }
+            decoded[i] = (byte) node.data;
+        }
+        return decoded;
+    }
+}
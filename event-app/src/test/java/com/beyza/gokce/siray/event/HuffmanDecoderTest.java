@@ -0,0 +1,150 @@
+/**
+
+ @file HuffmanDecoderTest.java
+ @brief This file contains the test cases for the HuffmanDecoder class.
+ @details This file includes test methods to validate decoding of canonical and tree codes, secondary tables, buffer handling and error detection of the table-driven decoder.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+
+ @class HuffmanDecoderTest
+ @brief This class represents the test class for the HuffmanDecoder class.
+ @details The HuffmanDecoderTest class encodes random text with known codes and checks that every primary table width decodes it back.
+ */
+public class HuffmanDecoderTest {
+
+    private static byte[] randomText(Random random, int length, int alphabet) {
+        byte[] text = new byte[length];
+        for (int i = 0; i < length; i++) {
+            // Skewed towards small symbols, like letter frequencies
+            text[i] = (byte) (Math.min(random.nextInt(alphabet), random.nextInt(alphabet)));
+        }
+        return text;
+    }
+
+    private static int[] frequencies(byte[] text) {
+        int[] freq = new int[Event.MAX_TREE_NODES];
+        for (byte b : text) {
+            freq[b & 0xFF]++;
+        }
+        return freq;
+    }
+
+    @Test
+    public void testDecode_ShouldRoundTripCanonicalCodesForEveryTableWidth() {
+        byte[] text = randomText(new Random(3), 20000, 200);
+        HuffmanCodebook codebook = HuffmanCodebook.of(frequencies(text));
+        byte[] encoded = codebook.encode(text, 0, text.length);
+        for (int bits = HuffmanDecoder.MIN_PRIMARY_BITS; bits <= HuffmanDecoder.MAX_PRIMARY_BITS; bits++) {
+            HuffmanDecoder decoder = new HuffmanDecoder(codebook, bits);
+            byte[] decoded = new byte[text.length];
+            ByteBuffer in = ByteBuffer.wrap(encoded);
+            decoder.decode(in, decoded, 0, text.length);
+            assertArrayEquals("primary bits " + bits, text, decoded);
+            assertEquals(encoded.length, in.position());
+        }
+    }
+
+    @Test
+    public void testDecode_ShouldMatchCodesOfBuildHuffmanTree() {
+        byte[] text = randomText(new Random(5), 5000, 60);
+        for (int i = 0; i < text.length; i++) {
+            text[i] += 'A'; // keep '\n' out of the code listing
+        }
+        Event.MinHeapNode root = Event.buildHuffmanTree(frequencies(text));
+        StringBuilder listing = new StringBuilder();
+        Event.generateHuffmanCodes(root, new char[256], 0, listing);
+        int[] codes = new int[Event.MAX_TREE_NODES];
+        byte[] lengths = new byte[Event.MAX_TREE_NODES];
+        for (String line : listing.toString().split("\n")) {
+            String bits = line.substring(3);
+            codes[line.charAt(0)] = Integer.parseInt(bits, 2);
+            lengths[line.charAt(0)] = (byte) bits.length();
+        }
+        byte[] encoded = HuffmanCodebook.encode(codes, lengths, text, 0, text.length);
+
+        int[] decoded = new int[text.length];
+        HuffmanDecoder.fromTree(root, Event.MAX_TREE_NODES, 9).decode(ByteBuffer.wrap(encoded), decoded, 0, text.length);
+
+        for (int i = 0; i < text.length; i++) {
+            assertEquals(text[i] & 0xFF, decoded[i]);
+        }
+    }
+
+    @Test
+    public void testDecode_ShouldUseSecondaryTablesForLongCodes() {
+        int[] freq = new int[Event.MAX_TREE_NODES];
+        int a = 1;
+        int b = 1;
+        for (int i = 0; i < 30; i++) {
+            freq[i] = a;
+            int next = a + b;
+            a = b;
+            b = next;
+        }
+        HuffmanCodebook codebook = HuffmanCodebook.of(freq);
+        assertEquals(HuffmanCodebook.MAX_CODE_LENGTH, codebook.maxLength());
+        byte[] text = new byte[3000];
+        for (int i = 0; i < text.length; i++) {
+            text[i] = (byte) (i % 30);
+        }
+        byte[] encoded = codebook.encode(text, 0, text.length);
+
+        byte[] decoded = new byte[text.length];
+        new HuffmanDecoder(codebook, HuffmanDecoder.MIN_PRIMARY_BITS).decode(ByteBuffer.wrap(encoded), decoded, 0, text.length);
+
+        assertArrayEquals(text, decoded);
+    }
+
+    @Test
+    public void testDecode_ShouldStartAtPositionInLittleEndianBuffer() {
+        byte[] text = randomText(new Random(9), 777, 40);
+        HuffmanCodebook codebook = HuffmanCodebook.of(frequencies(text));
+        byte[] encoded = codebook.encode(text, 0, text.length);
+        ByteBuffer in = ByteBuffer.allocate(encoded.length + 5).order(ByteOrder.LITTLE_ENDIAN);
+        in.put(new byte[] {1, 2, 3}).put(encoded).put(new byte[] {-1, -1});
+        in.flip();
+        in.position(3);
+
+        byte[] decoded = new byte[text.length];
+        new HuffmanDecoder(codebook).decode(in, decoded, 0, text.length);
+
+        assertArrayEquals(text, decoded);
+        assertEquals(3 + encoded.length, in.position());
+    }
+
+    @Test
+    public void testDecode_ShouldRejectInvalidAndTruncatedStreams() {
+        int[] codes = {0, 2};
+        byte[] lengths = {1, 2};
+        HuffmanDecoder decoder = new HuffmanDecoder(codes, lengths, 8);
+        try {
+            decoder.decode(ByteBuffer.wrap(new byte[] {(byte) 0xC0}), new int[1], 0, 1);
+            fail("11 is not a code");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+        try {
+            decoder.decode(ByteBuffer.wrap(new byte[] {0}), new int[9], 0, 9);
+            fail("Nine codes do not fit in one byte");
+        } catch (BufferUnderflowException expected) {
+            // expected
+        }
+        try {
+            new HuffmanDecoder(new int[] {0, 1}, new byte[] {1, 2}, 8);
+            fail("0 is a prefix of 01");
+        } catch (IllegalArgumentException expected) {
+            // expected
+        }
+    }
+}
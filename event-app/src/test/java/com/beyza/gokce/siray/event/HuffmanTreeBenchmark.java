@@ -0,0 +1,104 @@
+/**
+
+ @file HuffmanTreeBenchmark.java
+ @brief This file contains the JMH benchmark for building Huffman trees over 256-symbol alphabets.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=HuffmanTreeBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.beyza.gokce.siray.event.Event.MinHeapNode;
+
+/**
+
+ @class HuffmanTreeBenchmark
+ @brief Measures the time to build one Huffman tree from a full 256-entry frequency table.
+ @details The heap-based Event.buildHuffmanTree is compared with a linear scan for the two smallest
+          nodes, which is what a correct extractMin costs without a heap, and with the pointer-free
+          HuffmanCodebook builder refilling one codebook; run with -prof gc to see its allocation rate. Frequencies are either uniform
+          or Zipf-like, the skewed shape of character counts in names.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HuffmanTreeBenchmark {
+
+    @Param({"uniform", "zipf"})
+    public String distribution;
+
+    private int[] freq;
+    private HuffmanCodebook.Builder builder;
+    private HuffmanCodebook codebook;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        freq = new int[Event.MAX_TREE_NODES];
+        for (int i = 0; i < freq.length; i++) {
+            freq[i] = "zipf".equals(distribution) ? 1 + 100000 / (i + 1) : 1000 + random.nextInt(100);
+        }
+        builder = new HuffmanCodebook.Builder(Event.MAX_TREE_NODES);
+        codebook = new HuffmanCodebook(Event.MAX_TREE_NODES);
+    }
+
+    @Benchmark
+    public MinHeapNode heap() {
+        return Event.buildHuffmanTree(freq);
+    }
+
+    @Benchmark
+    public HuffmanCodebook canonicalCodebook() {
+        builder.build(freq, codebook);
+        return codebook;
+    }
+
+    @Benchmark
+    public MinHeapNode linearScan() {
+        MinHeapNode[] nodes = new MinHeapNode[freq.length];
+        int size = 0;
+        for (int i = 0; i < freq.length; i++) {
+            if (freq[i] > 0) {
+                nodes[size++] = Event.createMinHeapNode((char) i, freq[i]);
+            }
+        }
+        while (size > 1) {
+            MinHeapNode left = removeMin(nodes, size--);
+            MinHeapNode right = removeMin(nodes, size--);
+            MinHeapNode top = Event.createMinHeapNode('$', left.freq + right.freq);
+            top.left = left;
+            top.right = right;
+            nodes[size++] = top;
+        }
+        return nodes[0];
+    }
+
+    private static MinHeapNode removeMin(MinHeapNode[] nodes, int size) {
+        int min = 0;
+        for (int i = 1; i < size; i++) {
+            if (nodes[i].freq < nodes[min].freq) {
+                min = i;
+            }
+        }
+        MinHeapNode node = nodes[min];
+        nodes[min] = nodes[size - 1];
+        return node;
+    }
+}
@@ -0,0 +1,98 @@
+/**
+
+ @file KmpPatternBenchmark.java
+ @brief This file contains the JMH benchmark for the compiled KMP pattern.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=KmpPatternBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+ @class KmpPatternBenchmark
+ @brief Measures the cost per attendee of matching one query against 100,000 Huffman code strings.
+ @details perAttendeeTable repeats what kmpSearch did before: a new failure table for every attendee.
+          compiled builds one KmpPattern per query and reuses it. Neither prints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KmpPatternBenchmark {
+
+    private static final int ATTENDEES = 100_000;
+
+    private static final String[] NAMES = {"Beyza", "Gokce", "Siray", "Ayse", "Fatma", "Mehmet", "Mustafa", "Ahmet",
+            "Zeynep", "Elif", "Emre", "Can", "Deniz", "Ali", "Hasan", "Merve", "Busra", "Esra", "Ozge", "Sule"};
+
+    @Param({"mehmet", "abracadabra"})
+    public String query;
+
+    private String[] codes;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(1);
+        codes = new String[ATTENDEES];
+        for (int i = 0; i < ATTENDEES; i++) {
+            codes[i] = NAMES[random.nextInt(NAMES.length)];
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ATTENDEES)
+    public int perAttendeeTable() {
+        String pattern = query.toLowerCase();
+        int m = pattern.length();
+        int found = 0;
+        for (String code : codes) {
+            int[] lps = new int[m];
+            Event.computeLPSArray(pattern, m, lps);
+            int j = 0;
+            for (int k = 0; k < code.length(); k++) {
+                while (j > 0 && pattern.charAt(j) != code.charAt(k)) {
+                    j = lps[j - 1];
+                }
+                if (pattern.charAt(j) == code.charAt(k)) {
+                    j++;
+                }
+                if (j == m) {
+                    found++;
+                    break;
+                }
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ATTENDEES)
+    public int compiled() {
+        KmpPattern pattern = KmpPattern.compile(query);
+        int found = 0;
+        for (String code : codes) {
+            if (pattern.matches(code)) {
+                found++;
+            }
+        }
+        return found;
+    }
+}
@@ -0,0 +1,88 @@
+/**
+
+ @file KmpPatternTest.java
+ @brief This file contains the test cases for the KmpPattern class.
+ @details This file includes test methods to validate the failure table, case folding on both sides, reuse across texts and the attendee search built on it.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.Attendee;
+
+/**
+
+ @class KmpPatternTest
+ @brief This class represents the test class for the KmpPattern class.
+ @details The KmpPatternTest class compares compiled patterns with String.indexOf on random texts over a small alphabet, where prefixes repeat often.
+ */
+public class KmpPatternTest {
+
+    @Test
+    public void testFailure_ShouldMatchComputeLPSArray() {
+        for (String pattern : new String[] {"aabaaab", "abcabcabd", "aaaa", "x", "abab"}) {
+            int[] lps = new int[pattern.length()];
+            Event.computeLPSArray(pattern, pattern.length(), lps);
+            assertArrayEquals(pattern, lps, KmpPattern.compile(pattern, false).failure());
+        }
+    }
+
+    @Test
+    public void testIndexOf_ShouldMatchStringIndexOf() {
+        Random random = new Random(3);
+        for (int round = 0; round < 500; round++) {
+            String pattern = randomText(random, 1 + random.nextInt(5));
+            KmpPattern compiled = KmpPattern.compile(pattern, false);
+            for (int i = 0; i < 10; i++) {
+                String text = randomText(random, random.nextInt(40));
+                assertEquals(pattern + " in " + text, text.indexOf(pattern), compiled.indexOf(text));
+            }
+        }
+    }
+
+    @Test
+    public void testMatches_ShouldIgnoreCaseOfPatternAndText() {
+        KmpPattern pattern = KmpPattern.compile("SiRaY");
+        assertTrue(pattern.matches("Beyza Siray"));
+        assertTrue(pattern.matches("SIRAY"));
+        assertFalse(pattern.matches("Sira"));
+        assertFalse(pattern.matches(null));
+        assertFalse(KmpPattern.compile("Siray", false).matches("siray"));
+        assertEquals(0, KmpPattern.compile("").indexOf("anything"));
+    }
+
+    @Test
+    public void testFindAttendees_ShouldReturnMatchesInOrder() {
+        AttendeeStore saved = Event.attendees;
+        try {
+            Event.attendees = new AttendeeStore();
+            for (String name : new String[] {"Beyza", "Gokce", "BEYZANUR", "Ayse"}) {
+                Event.attendees.add(name, null, name);
+            }
+            Event.attendees.add(null, null, null); // No Huffman code yet
+            KmpPattern pattern = KmpPattern.compile("beyza");
+            List<Attendee> matches = Event.findAttendees(pattern);
+            assertEquals(2, matches.size());
+            assertEquals("Beyza", matches.get(0).nameAttendee);
+            assertEquals("BEYZANUR", matches.get(1).nameAttendee);
+            List<Attendee> again = Event.findAttendees(pattern); // The pattern can be reused
+            assertEquals(2, again.size());
+            assertEquals("BEYZANUR", again.get(1).nameAttendee);
+        } finally {
+            Event.attendees = saved;
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(2));
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,271 @@
+/**
+
+ @file MappedUserStoreTest.java
+ @brief This file contains the test cases for the MappedUserStore class.
+ @details This file includes test methods to validate lookups, growth and persistence of the memory-mapped user store.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Scanner;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+
+ @class MappedUserStoreTest
+ @brief This class represents the test class for the MappedUserStore class.
+ @details The MappedUserStoreTest class maps stores in a temporary directory.
+ */
+public class MappedUserStoreTest {
+
+    private Path dir;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("mappedusers");
+        file = dir.resolve("users.map");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir.resolve("users.map.tmp"));
+        Files.deleteIfExists(dir);
+    }
+
+    private static User newUser(String name, String phone, String password) {
+        User user = new User();
+        user.name = name;
+        user.surname = "Mapped";
+        user.phone = phone;
+        user.password = password;
+        return user;
+    }
+
+    @Test
+    public void testPutAndMatches_ShouldCheckPassword() throws IOException {
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            assertFalse(store.put(newUser("Ayse", "5551112233", "secret")));
+
+            assertTrue(store.contains("5551112233"));
+            assertTrue(store.matches("5551112233", "secret"));
+            assertFalse(store.matches("5551112233", "wrong"));
+            assertFalse(store.matches("5550000000", "secret"));
+            assertFalse(store.matches(null, "secret"));
+        }
+    }
+
+    @Test
+    public void testPut_SamePhone_ShouldReplaceUser() throws IOException {
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            store.put(newUser("Old", "5551112233", "first"));
+            assertTrue(store.put(newUser("New", "5551112233", "second")));
+
+            assertEquals(1, store.size());
+            assertEquals("New", store.get("5551112233").name);
+            assertTrue(store.matches("5551112233", "second"));
+        }
+    }
+
+    @Test
+    public void testPut_UsersWithoutPhone_ShouldBeKeyedByName() throws IOException {
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            store.put(newUser("Ayse", "", "first"));
+            assertFalse(store.put(newUser("Mehmet", "", "second")));
+            store.put(newUser("Zeynep", null, "third"));
+        }
+
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            assertEquals(3, store.size());
+            assertTrue(store.matches("Ayse", "first"));
+            assertTrue(store.matches("Mehmet", "second"));
+            assertTrue(store.matches("Zeynep", "third"));
+            assertFalse(store.contains(""));
+            assertEquals("", store.get("Ayse").phone);
+        }
+    }
+
+    @Test
+    public void testLogIn_UserOnlyInMappedStore_ShouldFallBackToStore() throws IOException {
+        MappedUserStore saved = Event.mappedUsers;
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            Event.mappedUsers = store;
+            store.put(newUser("MappedOnlyUser", "", Event.passwordHasher.hash("secret")));
+
+            assertTrue(Event.logIn(new Scanner("MappedOnlyUser\nsecret\n")));
+            assertFalse(Event.logIn(new Scanner("MappedOnlyUser\nwrong\n")));
+
+            // A second registration of the same name is refused by the mapped store
+            assertFalse(Event.registerUser(newUser("MappedOnlyUser", "", "other")));
+        } finally {
+            Event.mappedUsers = saved;
+        }
+    }
+
+    @Test
+    public void testLogIn_Twice_ShouldHitCredentialCache() throws IOException {
+        MappedUserStore saved = Event.mappedUsers;
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            Event.mappedUsers = store;
+            store.put(newUser("CachedLogin", "5559990010", Event.passwordHasher.hash("secret")));
+            Event.credentialCache.invalidate("5559990010");
+
+            assertTrue(Event.validateLogin("5559990010", "secret"));
+            long hits = Event.credentialCache.hits();
+            assertTrue(Event.validateLogin("5559990010", "secret"));
+            assertEquals(hits + 1, Event.credentialCache.hits());
+        } finally {
+            Event.mappedUsers = saved;
+        }
+    }
+
+    @Test
+    public void testImportUsers_IdAlreadyInMappedStore_ShouldSkipAndReport() throws IOException {
+        MappedUserStore saved = Event.mappedUsers;
+        Path csv = dir.resolve("users.csv");
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            Event.mappedUsers = store;
+            store.put(newUser("MappedImport", "5559990001", "kept"));
+            Files.write(csv, Arrays.asList(
+                    "MappedImport,Mapped,5559990001,replaced",
+                    "MappedImportNew,Mapped,5559990002,fresh"), StandardCharsets.UTF_8);
+
+            UserImporter.Report report = Event.importUsers(csv, null);
+
+            assertEquals(1, report.imported());
+            assertEquals(1, report.alreadyRegistered());
+            assertEquals(Arrays.asList("line 1: 5559990001"), report.duplicateSamples());
+            assertTrue(store.matches("5559990001", "kept"));
+            assertEquals(2, store.size());
+        } finally {
+            Event.mappedUsers = saved;
+            Files.deleteIfExists(csv);
+        }
+    }
+
+    @Test
+    public void testGet_ShouldDecodeNonAsciiFields() throws IOException {
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            store.put(newUser("Gökçe", "5553334455", "şifre"));
+
+            User user = store.get("5553334455");
+            assertEquals("Gökçe", user.name);
+            assertEquals("Mapped", user.surname);
+            assertTrue(store.matches("5553334455", "şifre"));
+            assertFalse(store.matches("5553334455", "sifre"));
+        }
+    }
+
+    @Test
+    public void testPut_ManyUsers_ShouldGrowAndKeepEveryUser() throws IOException {
+        int users = 5000;
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            for (int i = 0; i < users; i++) {
+                store.put(newUser("User" + i, String.valueOf(5550000000L + i), "pw" + i));
+            }
+
+            assertEquals(users, store.size());
+            assertTrue(store.capacity() > 1 << MappedUserStore.DEFAULT_SLOT_BITS);
+            for (int i = 0; i < users; i++) {
+                assertTrue(store.matches(String.valueOf(5550000000L + i), "pw" + i));
+            }
+        }
+        assertFalse(Files.exists(dir.resolve("users.map.tmp")));
+    }
+
+    @Test
+    public void testReopen_ShouldKeepUsersWithoutLoadingThem() throws IOException {
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            store.ensureCapacity(2000);
+            for (int i = 0; i < 2000; i++) {
+                store.put(newUser("User" + i, String.valueOf(5550000000L + i), "pw" + i));
+            }
+        }
+
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            assertEquals(2000, store.size());
+            assertTrue(store.matches("5550001999", "pw1999"));
+            assertEquals("User42", store.get("5550000042").name);
+        }
+    }
+
+    @Test
+    public void testPut_TooLargeUser_ShouldThrow() throws IOException {
+        StringBuilder name = new StringBuilder();
+        for (int i = 0; i < MappedUserStore.SLOT_DATA_SIZE; i++) {
+            name.append('x');
+        }
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            try {
+                store.put(newUser(name.toString(), "5551112233", "secret"));
+                fail("Expected an IOException");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("too large"));
+            }
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    public void testOpen_TornSlot_ShouldBeSkippedAndReused() throws IOException {
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            store.put(newUser("Ayse", "5551112233", "secret"));
+            store.put(newUser("Mehmet", "5554445566", "other"));
+        }
+        byte[] bytes = Files.readAllBytes(file);
+        int slot = -1;
+        for (int i = MappedUserStore.HEADER_SIZE; i < bytes.length; i += MappedUserStore.SLOT_SIZE) {
+            if (bytes[i] != 0 && bytes[i + 12] == '5' && bytes[i + 21] == '3') {
+                slot = i;
+            }
+        }
+        assertTrue(slot > 0);
+        // Half of an update reached the disk: the password is new, the checksum still old.
+        bytes[slot + 12 + 10] = 'X';
+        Files.write(file, bytes);
+
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            assertFalse(store.contains("5551112233"));
+            assertNull(store.get("5551112233"));
+            assertTrue(store.matches("5554445566", "other"));
+
+            assertFalse(store.put(newUser("Ayse", "5551112233", "again")));
+            assertTrue(store.matches("5551112233", "again"));
+            assertEquals(2, store.size());
+        }
+    }
+
+    @Test
+    public void testPut_Grow_ShouldLeaveNoMappingOfTheOldFile() throws IOException {
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            store.put(newUser("Ayse", "5551112233", "secret"));
+            store.ensureCapacity(10000);
+
+            assertEquals(Files.size(file), MappedUserStore.HEADER_SIZE + (long) MappedUserStore.SLOT_SIZE * store.capacity());
+            assertTrue(store.matches("5551112233", "secret"));
+        }
+        // Every mapping was released on close, so the file can be replaced and removed.
+        Files.write(file, new byte[0]);
+        try (MappedUserStore store = MappedUserStore.open(file)) {
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpen_ForeignFile_ShouldThrow() throws IOException {
+        Files.write(file, new byte[MappedUserStore.HEADER_SIZE]);
+        MappedUserStore.open(file).close();
+    }
+}
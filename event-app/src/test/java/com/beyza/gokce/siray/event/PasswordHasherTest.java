@@ -0,0 +1,119 @@
+/**
+
+ @file PasswordHasherTest.java
+ @brief This file contains the test cases for the PasswordHasher class.
+ @details This file includes test methods to validate hashing, verification and the plaintext fallback of stored passwords.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.util.Scanner;
+
+import org.junit.Test;
+
+/**
+
+ @class PasswordHasherTest
+ @brief This class represents the test class for the PasswordHasher class.
+ @details The PasswordHasherTest class uses a low iteration count to keep the tests fast.
+ */
+public class PasswordHasherTest {
+
+    private final PasswordHasher hasher = new PasswordHasher(1000);
+
+    @Test
+    public void testHash_ShouldVerifyOnlyTheSamePassword() {
+        String stored = hasher.hash("correct horse");
+
+        assertTrue(stored.startsWith(PasswordHasher.PREFIX + "1000$"));
+        assertTrue(PasswordHasher.verify("correct horse", stored));
+        assertFalse(PasswordHasher.verify("correct horse!", stored));
+        assertFalse(PasswordHasher.verify("", stored));
+    }
+
+    @Test
+    public void testHash_ShouldUseRandomSalt() {
+        String first = hasher.hash("secret");
+        String second = hasher.hash("secret");
+
+        assertNotEquals(first, second);
+        assertTrue(PasswordHasher.verify("secret", first));
+        assertTrue(PasswordHasher.verify("secret", second));
+    }
+
+    @Test
+    public void testVerify_PlaintextStoredPassword_ShouldStillMatch() {
+        assertFalse(PasswordHasher.isHashed("oldPassword"));
+        assertTrue(PasswordHasher.verify("oldPassword", "oldPassword"));
+        assertFalse(PasswordHasher.verify("oldpassword", "oldPassword"));
+        assertFalse(PasswordHasher.verify(null, "oldPassword"));
+        assertFalse(PasswordHasher.verify("oldPassword", null));
+    }
+
+    @Test
+    public void testVerify_MalformedHash_ShouldFail() {
+        assertFalse(PasswordHasher.verify("x", PasswordHasher.PREFIX + "abc$$"));
+        assertFalse(PasswordHasher.verify("x", PasswordHasher.PREFIX + "1000$!!$!!"));
+        assertFalse(PasswordHasher.verify("x", PasswordHasher.PREFIX + "0$AAAA$AAAA"));
+    }
+
+    @Test
+    public void testNeedsRehash_ShouldCompareCost() {
+        String cheap = new PasswordHasher(500).hash("pw");
+
+        assertTrue(hasher.needsRehash(cheap));
+        assertTrue(hasher.needsRehash("plaintext"));
+        assertFalse(hasher.needsRehash(hasher.hash("pw")));
+        assertTrue(PasswordHasher.verify("pw", cheap));
+    }
+
+    @Test
+    public void testRegister_ShouldStoreHashedPassword() {
+        InputStream in = new ByteArrayInputStream("hashedUser\nplainText\n".getBytes());
+        PrintStream original = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream()));
+        PasswordHasher previous = Event.passwordHasher;
+        try {
+            Event.passwordHasher = hasher;
+            Event.Register(new Scanner(in));
+        } finally {
+            Event.passwordHasher = previous;
+            System.setOut(original);
+        }
+
+        String stored = Event.userRegistry.find("hashedUser").password;
+        assertTrue(PasswordHasher.isHashed(stored));
+        assertTrue(Event.checkPassword("hashedUser", stored, "plainText"));
+        assertFalse(Event.checkPassword("hashedUser", stored, "wrong"));
+    }
+
+    @Test
+    public void testCheckPassword_PlaintextStoredPassword_ShouldBeHashedOnFirstLogin() {
+        Event.User user = new Event.User();
+        user.name = "Legacy";
+        user.phone = "5559990001";
+        user.password = "oldPassword";
+        Event.userRegistry.put(user);
+        PasswordHasher previous = Event.passwordHasher;
+        try {
+            Event.passwordHasher = hasher;
+            assertFalse(Event.checkPassword("5559990001", "oldPassword", "wrong"));
+            assertEquals("oldPassword", Event.userRegistry.find("5559990001").password);
+
+            assertTrue(Event.checkPassword("5559990001", "oldPassword", "oldPassword"));
+            String stored = Event.userRegistry.find("5559990001").password;
+            assertTrue(PasswordHasher.isHashed(stored));
+            assertTrue(Event.checkPassword("5559990001", stored, "oldPassword"));
+            assertFalse(Event.checkPassword("5559990001", stored, "wrong"));
+        } finally {
+            Event.passwordHasher = previous;
+            Event.userRegistry.remove("5559990001");
+            Event.credentialCache.invalidate("5559990001");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/**
+
+ @file PhoneHashBenchmark.java
+ @brief This file contains the JMH benchmark comparing PhoneHash with Event.hash.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=PhoneHashBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+ @class PhoneHashBenchmark
+ @brief Measures ns/op of each phone hash and prints the bucket distribution of both functions once per trial.
+ @details The distribution report hashes 100000 sequential phone numbers into 128 buckets, the size of the
+          smallest power-of-two table that covers Event.TABLE_SIZE, and prints the chi-square statistic and
+          the largest bucket for each function.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PhoneHashBenchmark {
+
+    private static final int PHONES = 1024;
+
+    private String[] phones;
+    private byte[][] asciiPhones;
+    private long[] packedPhones;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        phones = new String[PHONES];
+        asciiPhones = new byte[PHONES][];
+        packedPhones = new long[PHONES];
+        for (int i = 0; i < PHONES; i++) {
+            phones[i] = String.valueOf(5550000000L + i * 7919L);
+            asciiPhones[i] = phones[i].getBytes(StandardCharsets.US_ASCII);
+            packedPhones[i] = PhoneHash.pack(phones[i]);
+        }
+        reportDistribution();
+    }
+
+    private static void reportDistribution() {
+        int keys = 100000;
+        int[] legacy = new int[Event.TABLE_SIZE];
+        int[] mixed = new int[128];
+        for (int i = 0; i < keys; i++) {
+            String phone = String.valueOf(5550000000L + i);
+            legacy[Event.hash(phone)]++;
+            mixed[PhoneHash.indexFor(PhoneHash.hash(phone), mixed.length)]++;
+        }
+        System.out.printf("%nEvent.hash  : %s%n", describe(legacy, keys));
+        System.out.printf("PhoneHash   : %s%n", describe(mixed, keys));
+    }
+
+    private static String describe(int[] load, int keys) {
+        double expected = keys / (double) load.length;
+        double chiSquare = 0;
+        int max = 0;
+        for (int count : load) {
+            chiSquare += (count - expected) * (count - expected) / expected;
+            max = Math.max(max, count);
+        }
+        return String.format("buckets=%d chi-square=%.1f max=%d expected=%.1f", load.length, chiSquare, max, expected);
+    }
+
+    private int next() {
+        return cursor++ & (PHONES - 1);
+    }
+
+    @Benchmark
+    public int legacyHash() {
+        return Event.hash(phones[next()]);
+    }
+
+    @Benchmark
+    public long phoneHashString() {
+        return PhoneHash.hash(phones[next()]);
+    }
+
+    @Benchmark
+    public long phoneHashBytes() {
+        byte[] phone = asciiPhones[next()];
+        return PhoneHash.hash(phone, 0, phone.length);
+    }
+
+    @Benchmark
+    public long phoneHashPacked() {
+        return PhoneHash.hash(packedPhones[next()]);
+    }
+}
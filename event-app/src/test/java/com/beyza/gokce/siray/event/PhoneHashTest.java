@@ -0,0 +1,95 @@
+/**
+
+ @file PhoneHashTest.java
+ @brief This file contains the test cases for the PhoneHash class.
+ @details This file includes test methods to validate that all phone representations hash alike and that the hash spreads keys evenly.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+
+ @class PhoneHashTest
+ @brief This class represents the test class for the PhoneHash class.
+ @details The PhoneHashTest class checks packing, hash consistency between representations and bucket distribution.
+ */
+public class PhoneHashTest {
+
+    @Test
+    public void testHash_AllRepresentations_ShouldAgree() {
+        String[] phones = {"", "0", "5551234567", "905551234567", "123456789012345"};
+        for (String phone : phones) {
+            byte[] ascii = phone.getBytes(StandardCharsets.US_ASCII);
+            long packed = PhoneHash.pack(phone);
+
+            long expected = PhoneHash.hash(phone);
+            assertEquals(expected, PhoneHash.hash(new StringBuilder(phone)));
+            assertEquals(expected, PhoneHash.hash(ascii, 0, ascii.length));
+            assertEquals(expected, PhoneHash.hash(packed));
+        }
+    }
+
+    @Test
+    public void testHash_ShouldIgnoreSeparators() {
+        assertEquals(PhoneHash.hash("905551234567"), PhoneHash.hash("+90 555-123-45-67"));
+    }
+
+    @Test
+    public void testHash_LongNumbers_ShouldDependOnEveryDigit() {
+        String base = "12345678901234567890";
+        String changed = "12345678901234567891";
+
+        assertNotEquals(PhoneHash.hash(base), PhoneHash.hash(changed));
+        assertEquals(PhoneHash.NOT_PACKABLE, PhoneHash.pack(base));
+    }
+
+    @Test
+    public void testPack_ShouldRejectNonDigits() {
+        assertEquals(PhoneHash.NOT_PACKABLE, PhoneHash.pack("555-1234"));
+        assertEquals(10, PhoneHash.packedLength(PhoneHash.pack("5551234567")));
+        assertTrue(PhoneHash.matches("0005551234", PhoneHash.pack("0005551234")));
+        assertFalse(PhoneHash.matches("5551234", PhoneHash.pack("0005551234")));
+    }
+
+    @Test
+    public void testIndexFor_SequentialPhones_ShouldSpreadEvenly() {
+        int buckets = 1024;
+        int keys = buckets * 16;
+        int[] load = new int[buckets];
+        for (int i = 0; i < keys; i++) {
+            load[PhoneHash.indexFor(PhoneHash.hash(String.valueOf(5550000000L + i)), buckets)]++;
+        }
+
+        double chiSquare = 0;
+        int max = 0;
+        for (int count : load) {
+            chiSquare += (count - 16.0) * (count - 16.0) / 16.0;
+            max = Math.max(max, count);
+        }
+        // A uniform hash gives a chi-square close to the number of buckets.
+        assertTrue("chi-square " + chiSquare, chiSquare < buckets * 1.2);
+        assertTrue("max bucket " + max, max < 40);
+    }
+
+    @Test
+    public void testUserIndex_ShouldFindUsersByBytesAndPackedPhone() {
+        UserIndex index = new UserIndex();
+        User user = new User();
+        user.phone = "5551234567";
+        index.put(user);
+
+        byte[] buffer = "xx5551234567xx".getBytes(StandardCharsets.US_ASCII);
+        assertSame(user, index.get(buffer, 2, 10));
+        assertSame(user, index.get(PhoneHash.pack("5551234567")));
+        assertSame(user, index.get(new StringBuilder("5551234567")));
+        assertNull(index.get(buffer, 2, 9));
+        assertNull(index.get(PhoneHash.NOT_PACKABLE));
+    }
+}
@@ -0,0 +1,142 @@
+/**
+
+ @file UserDumpTest.java
+ @brief This file contains the test cases for the UserDump class.
+ @details This file includes test methods to validate paging with a resume cursor, the text and CSV row formats and the file export of the user dump.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+
+ @class UserDumpTest
+ @brief This class represents the test class for the UserDump class.
+ @details The UserDumpTest class dumps small registries through a tiny buffer so that every row crosses a buffer boundary.
+ */
+public class UserDumpTest {
+
+    private UserRegistry registry;
+
+    @Before
+    public void setUp() {
+        registry = new UserRegistry();
+        registry.enableNameIndexes();
+    }
+
+    @Test
+    public void testWritePage_ShouldResumeFromCursor() throws IOException {
+        for (int i = 0; i < 25; i++) {
+            registry.register(newUser(String.format("user%02d", i), "Page", "555" + i, "pw"));
+        }
+        StringWriter all = new StringWriter();
+        UserDump dump = new UserDump(all, UserDump.Format.TEXT, 8);
+        String cursor = dump.writePage(registry, null, 10);
+        assertNotNull(cursor);
+        registry.register(newUser("user00a", "Page", "998", "pw"));
+        registry.register(newUser("user15a", "Page", "999", "pw"));
+        cursor = dump.writePage(registry, cursor, 10);
+        assertNotNull(cursor);
+        cursor = dump.writePage(registry, cursor, 10);
+        assertNull(cursor);
+        dump.flush();
+        assertEquals(26, dump.rows());
+        String[] lines = all.toString().split(System.lineSeparator());
+        assertEquals(26, lines.length);
+        assertTrue(lines[1].contains("user01"));
+        assertTrue(lines[16].contains("user15a"));
+        assertTrue(lines[25].contains("user24"));
+    }
+
+    @Test
+    public void testWriteUser_ShouldMatchPrintedFormat() throws IOException {
+        StringWriter text = new StringWriter();
+        try (UserDump dump = new UserDump(text, UserDump.Format.TEXT, 4)) {
+            User user = newUser("Ada", "Lovelace", "5551234", "secret");
+            user.password = null;
+            dump.writeUser(user);
+        }
+        assertEquals(" Name: Ada Lovelace, Phone: 5551234, Password: null" + System.lineSeparator(), text.toString());
+    }
+
+    @Test
+    public void testWriteUser_ShouldQuoteCsvFields() throws IOException {
+        StringWriter csv = new StringWriter();
+        try (UserDump dump = new UserDump(csv, UserDump.Format.CSV)) {
+            dump.writeHeader();
+            dump.writeUser(newUser("Smith, John", "O\"Neil", "555", "pw"));
+        }
+        String[] lines = csv.toString().split(System.lineSeparator());
+        assertEquals(UserDump.CSV_HEADER, lines[0]);
+        assertEquals("\"Smith, John\",\"O\"\"Neil\",555,pw", lines[1]);
+        assertArrayEquals(new String[] {"Smith, John", "O\"Neil", "555", "pw"}, UserImporter.splitCsv(lines[1]).toArray());
+    }
+
+    @Test
+    public void testExport_ShouldBeImportable() throws IOException {
+        for (int i = 0; i < 2500; i++) {
+            registry.register(newUser("Name" + i, "Sur, " + i, "555" + i, "pbkdf2$1000$c2FsdA==$aGFzaA=="));
+        }
+        Path dir = Files.createTempDirectory("userdump");
+        Path file = dir.resolve("users.csv");
+        try {
+            assertEquals(2500, UserDump.export(registry, file));
+            assertFalse(Files.exists(dir.resolve("users.csv.tmp")));
+            UserRegistry copy = new UserRegistry();
+            UserImporter.Report report = new UserImporter(copy, null, 2, 100).importFile(file, null);
+            assertEquals(2500, report.imported());
+            User user = copy.find("5551234");
+            assertEquals("Name1234", user.name);
+            assertEquals("Sur, 1234", user.surname);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void testExport_NewlinesAndNullPassword_ShouldRoundTrip() throws IOException {
+        registry.register(newUser("Multi\nLine", "Two\r\nLines", "5550001", "pw1"));
+        registry.register(newUser("Empty", "", "5550002", ""));
+        registry.register(newUser("NoPassword", null, "5550003", null));
+        registry.register(newUser("After", "Last", "5550004", "pw4"));
+        Path dir = Files.createTempDirectory("userdump");
+        Path file = dir.resolve("users.csv");
+        try {
+            assertEquals(4, UserDump.export(registry, file));
+            UserRegistry copy = new UserRegistry();
+            UserImporter.Report report = new UserImporter(copy, null, 2, 1).importFile(file, null);
+
+            assertEquals(3, report.imported());
+            assertEquals(1, report.malformed());
+            assertEquals("Multi\nLine", copy.find("5550001").name);
+            assertEquals("Two\nLines", copy.find("5550001").surname);
+            assertEquals("", copy.find("5550002").surname);
+            assertEquals("", copy.find("5550002").password);
+            assertNull(copy.find("5550003"));
+            assertEquals("pw4", copy.find("5550004").password);
+        } finally {
+            Files.deleteIfExists(file);
+            Files.delete(dir);
+        }
+    }
+
+    private static User newUser(String name, String surname, String phone, String password) {
+        User user = new User();
+        user.name = name;
+        user.surname = surname;
+        user.phone = phone;
+        user.password = password;
+        return user;
+    }
+}
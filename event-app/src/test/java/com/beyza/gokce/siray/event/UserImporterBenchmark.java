@@ -0,0 +1,84 @@
+/**
+
+ @file UserImporterBenchmark.java
+ @brief This file contains the JMH benchmark for bulk user imports.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=UserImporterBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+
+ @class UserImporterBenchmark
+ @brief Measures the records per second of a single-threaded CSV import.
+ @details The score is records per second. With {@code plaintext} passwords every record costs one
+          PBKDF2 hash at {@link PasswordHasher#DEFAULT_ITERATIONS}, which is what an import of a
+          legacy dump pays; {@code hashed} passwords are stored as they are and measure the parser
+          and the registry alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class UserImporterBenchmark {
+
+    private static final int RECORDS = 64;
+
+    @Param({"hashed", "plaintext"})
+    public String passwords;
+
+    private Path dir;
+    private Path file;
+    private PasswordHasher hasher;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("importbench");
+        file = dir.resolve("users.csv");
+        hasher = new PasswordHasher();
+        String stored = hasher.hash("secret");
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write("name,surname,phone,password\n");
+            for (int i = 0; i < RECORDS; i++) {
+                String password = passwords.equals("plaintext") ? "pw" + i : stored;
+                out.write("Name" + i + ",Surname" + i + "," + (5550000000L + i) + "," + password + "\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public UserImporter.Report importCsv() throws IOException {
+        UserImporter importer = new UserImporter(new UserRegistry(), hasher, 1, UserImporter.DEFAULT_BATCH_SIZE);
+        return importer.importFile(file, null);
+    }
+}
@@ -0,0 +1,169 @@
+/**
+
+ @file UserImporterTest.java
+ @brief This file contains the test cases for the UserImporter class.
+ @details This file includes test methods to validate CSV and NDJSON parsing, duplicate detection and progress reporting of the bulk importer.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+
+ @class UserImporterTest
+ @brief This class represents the test class for the UserImporter class.
+ @details The UserImporterTest class imports small files with several threads and tiny batches so that batches complete out of order.
+ */
+public class UserImporterTest {
+
+    private Path dir;
+    private UserRegistry registry;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("userimport");
+        registry = new UserRegistry();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Object file : files.toArray()) {
+                Files.delete((Path) file);
+            }
+        }
+        Files.delete(dir);
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        Path file = dir.resolve(name);
+        Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+
+    @Test
+    public void testImportCsv_ShouldRegisterUsersAndReportDuplicates() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("name,surname,phone,password");
+        for (int i = 0; i < 100; i++) {
+            lines.add("User" + i + ",Import," + (5550000000L + i) + ",pw" + i);
+        }
+        lines.add("Again,Import,5550000007,other");
+        lines.add("broken line");
+        lines.add("");
+        registry.put(newUser("Existing", "5550000099", "old"));
+
+        UserImporter importer = new UserImporter(registry, null, 3, 7);
+        List<User> inserted = new ArrayList<>();
+        UserImporter.Report report = importer.importFile(write("users.csv", lines.toArray(new String[0])), inserted::addAll);
+
+        assertEquals(102, report.records());
+        assertEquals(99, report.imported());
+        assertEquals(1, report.duplicatesInFile());
+        assertEquals(1, report.alreadyRegistered());
+        assertEquals(1, report.malformed());
+        assertEquals(Arrays.asList("line 101: 5550000099", "line 102: 5550000007"), report.duplicateSamples());
+        assertEquals(100, registry.size());
+        assertEquals("pw7", registry.find("5550000007").password);
+        assertEquals("old", registry.find("5550000099").password);
+        assertEquals(99, inserted.size());
+        assertEquals("5550000000", inserted.get(0).phone);
+        assertTrue(report.recordsPerSecond() > 0);
+    }
+
+    @Test
+    public void testImportNdjson_ShouldParseObjects() throws IOException {
+        Path file = write("users.ndjson",
+                "{\"name\":\"Ayse\",\"surname\":\"Y\\u0131lmaz\",\"phone\":\"5551112233\",\"password\":\"a\\\"b\"}",
+                " { \"phone\" : 5552223344 , \"name\" : \"Can\", \"password\" : \"pw\", \"extra\": true } ",
+                "{\"name\":\"NoPassword\",\"phone\":\"5553334455\"}",
+                "{not json}");
+
+        UserImporter.Report report = new UserImporter(registry, null, 2, 2).importFile(file, null);
+
+        assertEquals(4, report.records());
+        assertEquals(2, report.imported());
+        assertEquals(2, report.malformed());
+        assertEquals("Yılmaz", registry.find("5551112233").surname);
+        assertEquals("a\"b", registry.find("5551112233").password);
+        assertEquals("Can", registry.find("5552223344").name);
+    }
+
+    @Test
+    public void testImport_ShouldHashPlaintextPasswordsAndReportProgress() throws IOException {
+        Path file = write("users.csv",
+                "Ayse,Y,5551112233,secret",
+                "Can,K,5552223344," + new PasswordHasher(1000).hash("kept"));
+        UserImporter importer = new UserImporter(registry, new PasswordHasher(1000), 2, 1);
+        List<UserImporter.Report> progress = new ArrayList<>();
+        importer.setListener(progress::add);
+
+        importer.importFile(file, null);
+
+        assertEquals(2, progress.size());
+        assertEquals(1, progress.get(0).imported());
+        assertEquals(2, progress.get(1).imported());
+        assertTrue(PasswordHasher.isHashed(registry.find("5551112233").password));
+        assertTrue(registry.authenticate("5551112233", "secret"));
+        assertTrue(registry.authenticate("5552223344", "kept"));
+    }
+
+    @Test
+    public void testImportCsv_QuotedLineBreaks_ShouldJoinLinesAndKeepLineNumbers() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("\"Two");
+        lines.add("Lines\",Y,5551112233,pw");
+        lines.add("\"Stray,Y,5552223344,pw");
+        for (int i = 0; i < UserImporter.MAX_RECORD_LINES; i++) {
+            lines.add("Filler" + i + ",Y," + (5553000000L + i) + ",pw");
+        }
+        lines.add("Again,Y,5551112233,pw");
+
+        UserImporter.Report report = new UserImporter(registry, null, 2, 3).importFile(write("users.csv", lines.toArray(new String[0])), null);
+
+        assertEquals("Two\nLines", registry.find("5551112233").name);
+        assertEquals(1, report.malformed());
+        assertEquals(2, report.imported());
+        assertEquals(Arrays.asList("line " + lines.size() + ": 5551112233"), report.duplicateSamples());
+    }
+
+    @Test
+    public void testSplitCsv_ShouldHandleQuotes() {
+        assertEquals(Arrays.asList("a,b", "say \"hi\"", null, "x"), UserImporter.splitCsv("\"a,b\",\"say \"\"hi\"\"\",,x"));
+        assertEquals(Arrays.asList("", null), UserImporter.splitCsv("\"\","));
+        assertNull(UserImporter.splitCsv("\"unterminated,x"));
+        assertTrue(UserImporter.isCsvHeader("Name,Surname,Phone,Password"));
+        assertFalse(UserImporter.isCsvHeader("Ayse,Y,5551112233,secret"));
+    }
+
+    @Test
+    public void testFormatOf_ShouldUseExtension() {
+        assertEquals(UserImporter.Format.NDJSON, UserImporter.Format.of(dir.resolve("a.ndjson")));
+        assertEquals(UserImporter.Format.NDJSON, UserImporter.Format.of(dir.resolve("a.JSONL")));
+        assertEquals(UserImporter.Format.CSV, UserImporter.Format.of(dir.resolve("a.csv")));
+    }
+
+    private static User newUser(String name, String phone, String password) {
+        User user = new User();
+        user.name = name;
+        user.surname = "";
+        user.phone = phone;
+        user.password = password;
+        return user;
+    }
+}
@@ -0,0 +1,108 @@
+/**
+
+ @file UserIndexBenchmark.java
+ @brief This file contains the JMH benchmark comparing the user index with the chained hash table.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=UserIndexBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+
+ @class UserIndexBenchmark
+ @brief Compares login lookups and registrations in UserIndex against the chained Event.hashTable.
+ @details The chained table keeps the original TABLE_SIZE slots, so its chains grow linearly with the number of users.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserIndexBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int users;
+
+    private String[] phones;
+    private User[] chained;
+    private UserIndex index;
+    private int cursor;
+    private User probe;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        phones = new String[users];
+        chained = new User[Event.TABLE_SIZE];
+        index = new UserIndex();
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.phone = String.valueOf(5000000000L + i * 7919L);
+            user.password = "pw" + i;
+            phones[i] = user.phone;
+
+            int slot = Event.hash(user.phone);
+            user.next = chained[slot];
+            chained[slot] = user;
+            index.put(user);
+        }
+        probe = new User();
+        probe.phone = "4000000000";
+        probe.password = "probe";
+    }
+
+    private String nextPhone() {
+        int i = cursor++;
+        if (cursor == phones.length) {
+            cursor = 0;
+        }
+        return phones[i];
+    }
+
+    @Benchmark
+    public User chainedLookup() {
+        String phone = nextPhone();
+        User current = chained[Event.hash(phone)];
+        while (current != null && !current.phone.equals(phone)) {
+            current = current.next;
+        }
+        return current;
+    }
+
+    @Benchmark
+    public User indexLookup() {
+        return index.get(nextPhone());
+    }
+
+    @Benchmark
+    public User chainedRegister() {
+        User user = probe;
+        int slot = Event.hash(user.phone);
+        user.next = chained[slot];
+        chained[slot] = user;
+        chained[slot] = user.next;
+        return user;
+    }
+
+    @Benchmark
+    public User indexRegister() {
+        index.put(probe);
+        return index.remove(probe.phone);
+    }
+}
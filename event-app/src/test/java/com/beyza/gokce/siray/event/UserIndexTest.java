@@ -0,0 +1,140 @@
+/**
+
+ @file UserIndexTest.java
+ @brief This file contains the test cases for the UserIndex class.
+ @details This file includes test methods to validate lookups, replacement, incremental growth and backward-shift deletion of the open-addressing user index.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+
+ @class UserIndexTest
+ @brief This class represents the test class for the UserIndex class.
+ @details The UserIndexTest class checks the index against a reference map under random workloads and verifies its integration with Event.
+ */
+public class UserIndexTest {
+
+    private UserIndex index;
+
+    @Before
+    public void setUp() {
+        index = new UserIndex();
+    }
+
+    private static User newUser(String phone, String password) {
+        User user = new User();
+        user.name = "Name" + phone;
+        user.surname = "Surname";
+        user.phone = phone;
+        user.password = password;
+        return user;
+    }
+
+    @Test
+    public void testPutAndGet_ShouldReturnStoredUser() {
+        User user = newUser("5551234567", "secret");
+
+        assertNull(index.put(user));
+
+        assertSame(user, index.get("5551234567"));
+        assertEquals(1, index.size());
+        assertNull(index.get("5550000000"));
+        assertNull(index.get(null));
+    }
+
+    @Test
+    public void testPut_SamePhone_ShouldReplaceUser() {
+        User first = newUser("5551234567", "first");
+        User second = newUser("5551234567", "second");
+
+        index.put(first);
+        User previous = index.put(second);
+
+        assertSame(first, previous);
+        assertSame(second, index.get("5551234567"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void testGrowth_ShouldKeepAllUsersReachableDuringMigration() {
+        int count = 100000;
+        boolean sawMigration = false;
+        for (int i = 0; i < count; i++) {
+            index.put(newUser(String.valueOf(5000000000L + i), "pw" + i));
+            if (index.isMigrating()) {
+                sawMigration = true;
+                // Every user inserted so far must stay visible while slots are moved.
+                assertNotNull(index.get(String.valueOf(5000000000L + i / 2)));
+            }
+        }
+
+        assertTrue(sawMigration);
+        assertEquals(count, index.size());
+        assertTrue(index.size() <= index.capacity() * UserIndex.MAX_LOAD_FACTOR + UserIndex.MIGRATION_STEP);
+        for (int i = 0; i < count; i++) {
+            User user = index.get(String.valueOf(5000000000L + i));
+            assertNotNull(user);
+            assertEquals("pw" + i, user.password);
+        }
+    }
+
+    @Test
+    public void testRemove_ShouldBackshiftAndKeepOtherKeysReachable() {
+        Random random = new Random(42);
+        Map<String, User> reference = new HashMap<>();
+        for (int i = 0; i < 50000; i++) {
+            String phone = String.valueOf(random.nextInt(5000));
+            if (random.nextInt(3) == 0) {
+                assertSame(reference.remove(phone), index.remove(phone));
+            } else {
+                User user = newUser(phone, "pw" + i);
+                assertSame(reference.put(phone, user), index.put(user));
+            }
+            assertEquals(reference.size(), index.size());
+        }
+
+        for (int i = 0; i < 5000; i++) {
+            String phone = String.valueOf(i);
+            assertSame(reference.get(phone), index.get(phone));
+        }
+    }
+
+    @Test
+    public void testForEach_ShouldVisitEveryUserOnce() {
+        for (int i = 0; i < 1000; i++) {
+            index.put(newUser("555" + i, "pw"));
+        }
+
+        Map<String, Integer> seen = new HashMap<>();
+        index.forEach(user -> seen.merge(user.phone, 1, Integer::sum));
+
+        assertEquals(1000, seen.size());
+        for (Integer visits : seen.values()) {
+            assertEquals(Integer.valueOf(1), visits);
+        }
+    }
+
+    @Test
+    public void testClear_ShouldRemoveAllUsers() {
+        for (int i = 0; i < 100; i++) {
+            index.put(newUser("555" + i, "pw"));
+        }
+
+        index.clear();
+
+        assertEquals(0, index.size());
+        assertEquals(UserIndex.DEFAULT_CAPACITY, index.capacity());
+        assertNull(index.get("5550"));
+    }
+}
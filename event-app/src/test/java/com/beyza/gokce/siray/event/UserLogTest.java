@@ -0,0 +1,254 @@
+/**
+
+ @file UserLogTest.java
+ @brief This file contains the test cases for the UserLog class.
+ @details This file includes test methods to validate appends, replay, group commit, torn-tail recovery and compaction of the registration log.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+
+ @class UserLogTest
+ @brief This class represents the test class for the UserLog class.
+ @details The UserLogTest class writes logs and snapshots to a temporary directory.
+ */
+public class UserLogTest {
+
+    private Path dir;
+    private Path logFile;
+    private Path snapshotFile;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("userlog");
+        logFile = dir.resolve("users.log");
+        snapshotFile = dir.resolve("users.bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(logFile);
+        Files.deleteIfExists(snapshotFile);
+        Files.deleteIfExists(dir);
+    }
+
+    private static User newUser(int i) {
+        User user = new User();
+        user.name = "User" + i;
+        user.surname = "Log";
+        user.phone = String.valueOf(5550000000L + i);
+        user.password = "pw" + i;
+        return user;
+    }
+
+    private List<User> replayAll() throws IOException {
+        List<User> users = new ArrayList<>();
+        UserLog.replay(logFile, users::add);
+        return users;
+    }
+
+    @Test
+    public void testAppendAndReplay_ShouldReturnUsersInOrder() throws IOException {
+        try (UserLog log = UserLog.open(logFile)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(newUser(i));
+            }
+        }
+
+        List<User> users = replayAll();
+        assertEquals(10, users.size());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(newUser(i).phone, users.get(i).phone);
+            assertEquals(newUser(i).password, users.get(i).password);
+        }
+    }
+
+    @Test
+    public void testReopen_ShouldContinueAfterExistingEntries() throws IOException {
+        try (UserLog log = UserLog.open(logFile)) {
+            log.append(newUser(1));
+        }
+        try (UserLog log = UserLog.open(logFile)) {
+            log.append(newUser(2));
+        }
+
+        assertEquals(2, replayAll().size());
+    }
+
+    @Test
+    public void testConcurrentAppends_ShouldShareSyncs() throws Exception {
+        int threads = 16;
+        int perThread = 50;
+        try (UserLog log = UserLog.open(logFile)) {
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicReference<Throwable> error = new AtomicReference<>();
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int base = t * perThread;
+                Thread worker = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < perThread; i++) {
+                            log.append(newUser(base + i));
+                        }
+                    } catch (Throwable e) {
+                        error.set(e);
+                    }
+                });
+                workers.add(worker);
+                worker.start();
+            }
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+
+            assertNull(error.get());
+            assertTrue("syncs " + log.syncCount(), log.syncCount() <= threads * perThread);
+        }
+
+        UserIndex index = new UserIndex();
+        UserLog.replay(logFile, index::put);
+        assertEquals(threads * perThread, index.size());
+    }
+
+    @Test
+    public void testOpen_TornTail_ShouldBeTruncated() throws IOException {
+        try (UserLog log = UserLog.open(logFile)) {
+            log.append(newUser(1));
+            log.append(newUser(2));
+        }
+        long fullSize = Files.size(logFile);
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE)) {
+            channel.truncate(fullSize - 3);
+        }
+
+        assertEquals(1, replayAll().size());
+
+        try (UserLog log = UserLog.open(logFile)) {
+            log.append(newUser(3));
+        }
+        List<User> users = replayAll();
+        assertEquals(2, users.size());
+        assertEquals(newUser(3).phone, users.get(1).phone);
+    }
+
+    @Test
+    public void testReplay_CorruptEntry_ShouldStopBeforeIt() throws IOException {
+        try (UserLog log = UserLog.open(logFile)) {
+            log.append(newUser(1));
+            log.append(newUser(2));
+        }
+        byte[] bytes = Files.readAllBytes(logFile);
+        bytes[bytes.length - 2] ^= 0x40;
+        Files.write(logFile, bytes);
+
+        assertEquals(1, replayAll().size());
+    }
+
+    @Test
+    public void testOpen_CorruptEntryBeforeTail_ShouldFailAndKeepLog() throws IOException {
+        try (UserLog log = UserLog.open(logFile)) {
+            log.append(newUser(1));
+            log.append(newUser(2));
+            log.append(newUser(3));
+        }
+        byte[] bytes = Files.readAllBytes(logFile);
+        // Flip a byte in the first entry's name.
+        bytes[UserLog.HEADER_SIZE + 12] ^= 0x40;
+        Files.write(logFile, bytes);
+
+        try {
+            UserLog.open(logFile).close();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("corrupt"));
+        }
+        try {
+            replayAll();
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("corrupt"));
+        }
+        assertArrayEquals(bytes, Files.readAllBytes(logFile));
+    }
+
+    @Test
+    public void testOpen_ZeroFilledTail_ShouldBeTruncated() throws IOException {
+        try (UserLog log = UserLog.open(logFile)) {
+            log.append(newUser(1));
+        }
+        long validSize = Files.size(logFile);
+        try (FileChannel channel = FileChannel.open(logFile, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            channel.write(ByteBuffer.allocate(4096));
+        }
+
+        try (UserLog log = UserLog.open(logFile)) {
+            assertEquals(validSize, Files.size(logFile));
+        }
+        assertEquals(1, replayAll().size());
+    }
+
+    @Test
+    public void testCompact_ShouldFoldLogIntoSnapshot() throws IOException {
+        UserIndex index = new UserIndex();
+        try (UserLog log = UserLog.open(logFile)) {
+            for (int i = 0; i < 20; i++) {
+                User user = newUser(i);
+                index.put(user);
+                log.append(user);
+            }
+
+            log.compact(() -> UserStore.save(snapshotFile, index));
+
+            assertEquals(UserLog.HEADER_SIZE, log.size());
+            assertEquals(1, log.compactionCount());
+            log.append(newUser(20));
+        }
+
+        UserIndex recovered = new UserIndex();
+        UserStore.load(snapshotFile, recovered);
+        UserLog.replay(logFile, recovered::put);
+        assertEquals(21, recovered.size());
+    }
+
+    @Test
+    public void testCompactor_ShouldRunInBackgroundPastThreshold() throws Exception {
+        UserIndex index = new UserIndex();
+        try (UserLog log = UserLog.open(logFile)) {
+            for (int i = 0; i < 5; i++) {
+                User user = newUser(i);
+                index.put(user);
+                log.append(user);
+            }
+            log.startCompactor(10, TimeUnit.MILLISECONDS, UserLog.HEADER_SIZE, () -> UserStore.save(snapshotFile, index));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (log.compactionCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertTrue(log.compactionCount() > 0);
+        }
+        assertEquals(5, UserStore.load(snapshotFile, new UserIndex()));
+    }
+}
@@ -0,0 +1,117 @@
+/**
+
+ @file UserNameIndexTest.java
+ @brief This file contains the test cases for the UserNameIndex class.
+ @details This file includes test methods to validate exact and prefix lookups by name and surname and their consistency with the user registry.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+
+ @class UserNameIndexTest
+ @brief This class represents the test class for the UserNameIndex class.
+ @details The UserNameIndexTest class checks the indexes through UserRegistry, which keeps them up to date.
+ */
+public class UserNameIndexTest {
+
+    private static User newUser(String name, String surname, String phone) {
+        User user = new User();
+        user.name = name;
+        user.surname = surname;
+        user.phone = phone;
+        user.password = "pw";
+        return user;
+    }
+
+    @Test
+    public void testFindByPrefix_ShouldIgnoreCaseAndKeepNameOrder() {
+        UserNameIndex index = new UserNameIndex(user -> user.name);
+        index.add(newUser("Beyza", "A", "1"));
+        index.add(newUser("beril", "B", "2"));
+        index.add(newUser("Sanem", "C", "3"));
+        index.add(newUser("BEYZA", "D", "4"));
+
+        List<User> matches = index.findByPrefix("BE", 10);
+        assertEquals(3, matches.size());
+        assertEquals("beril", matches.get(0).name);
+        assertEquals(2, index.find("beyza").size());
+        assertEquals(1, index.findByPrefix("be", 1).size());
+        assertEquals(4, index.countByPrefix(""));
+        assertTrue(index.findByPrefix("x", 10).isEmpty());
+    }
+
+    @Test
+    public void testFind_ShouldNotMatchLongerNames() {
+        UserNameIndex index = new UserNameIndex(user -> user.name);
+        index.add(newUser("Ali", "A", "1"));
+        index.add(newUser("Alican", "B", "2"));
+
+        assertEquals(1, index.find("ali").size());
+        assertEquals(2, index.findByPrefix("ali", 10).size());
+    }
+
+    @Test
+    public void testRegistry_ShouldKeepIndexesConsistentWithUpdates() {
+        UserRegistry registry = new UserRegistry();
+        registry.enableNameIndexes();
+
+        assertTrue(registry.register(newUser("Gokce", "Haymana", "5551112233")));
+        assertFalse(registry.register(newUser("Other", "Person", "5551112233")));
+        assertTrue(registry.findByName("other", 10).isEmpty());
+
+        registry.put(newUser("Gokcenur", "Haymana", "5551112233"));
+        assertEquals("Gokcenur", registry.findByName("gokce", 10).get(0).name);
+        assertEquals(1, registry.findByName("gokce", 10).size());
+        assertEquals(1, registry.findBySurname("hay", 10).size());
+
+        registry.remove("5551112233");
+        assertTrue(registry.findByName("gokce", 10).isEmpty());
+        assertTrue(registry.findBySurname("hay", 10).isEmpty());
+    }
+
+    @Test
+    public void testEnableNameIndexes_ShouldIndexExistingUsers() {
+        UserRegistry registry = new UserRegistry();
+        registry.put(newUser("Sanem", "Bozdogan", "5551112233"));
+        assertFalse(registry.hasNameIndexes());
+
+        registry.enableNameIndexes();
+
+        assertTrue(registry.hasNameIndexes());
+        assertEquals(1, registry.findBySurname("BOZ", 10).size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testFindByName_WithoutIndexes_ShouldThrow() {
+        new UserRegistry().findByName("a", 10);
+    }
+
+    @Test
+    public void testSaveUser_ShouldBeFoundByName() {
+        Event.saveUser(newUser("Zeynepindex", "Sirayindex", "5559990011"));
+
+        assertEquals("5559990011", Event.findUsersByName("zeynepIND", 10).get(0).phone);
+        assertEquals("5559990011", Event.findUsersBySurname("SIRAYindex", 10).get(0).phone);
+    }
+
+    @Test
+    public void testFindByPrefix_ManyUsers_ShouldOnlyVisitMatches() {
+        UserRegistry registry = new UserRegistry(200000);
+        registry.enableNameIndexes();
+        for (int i = 0; i < 200000; i++) {
+            registry.put(newUser("Name" + i, "Surname" + (i % 100), String.valueOf(5000000000L + i)));
+        }
+
+        assertEquals(11, registry.findByName("name19999", 100).size());
+        assertEquals(100, registry.findBySurname("surname", 100).size());
+        assertEquals(2000, registry.findBySurname("surname42", Integer.MAX_VALUE).size());
+    }
+}
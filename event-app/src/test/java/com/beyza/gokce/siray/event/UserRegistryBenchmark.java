@@ -0,0 +1,119 @@
+/**
+
+ @file UserRegistryBenchmark.java
+ @brief This file contains the JMH benchmark measuring login throughput of the user registry under contention.
+ @details Run with: mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=org.openjdk.jmh.Main -Dexec.args=UserRegistryBenchmark
+ */
+package com.beyza.gokce.siray.event;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+
+ @class UserRegistryBenchmark
+ @brief Compares logins in UserRegistry against a synchronized map at 1, 4, 16 and 64 threads.
+ @details Every tenth operation registers a new user, so readers compete with writers.
+          The synchronized map stands for the locking the old HashMap would need to be thread-safe.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UserRegistryBenchmark {
+
+    @Param({"registry", "synchronizedMap"})
+    public String impl;
+
+    @Param({"100000"})
+    public int users;
+
+    private String[] logins;
+    private UserRegistry registry;
+    private Map<String, User> locked;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        logins = new String[users];
+        registry = new UserRegistry(users);
+        locked = Collections.synchronizedMap(new HashMap<String, User>());
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.phone = String.valueOf(5000000000L + i * 7919L);
+            user.password = "pw" + i;
+            logins[i] = user.phone;
+            registry.put(user);
+            locked.put(user.phone, user);
+        }
+    }
+
+    private boolean operation() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(logins.length);
+        if (random.nextInt(10) == 0) {
+            User user = new User();
+            user.phone = String.valueOf(6000000000L + random.nextInt(1 << 16));
+            user.password = "new";
+            if ("registry".equals(impl)) {
+                return registry.register(user);
+            }
+            synchronized (locked) {
+                if (locked.containsKey(user.phone)) {
+                    return false;
+                }
+                locked.put(user.phone, user);
+                return true;
+            }
+        }
+        if ("registry".equals(impl)) {
+            return registry.authenticate(logins[i], "pw" + (i & 7));
+        }
+        User user = locked.get(logins[i]);
+        return user != null && user.password.equals("pw" + (i & 7));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean threads01() {
+        return operation();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean threads04() {
+        return operation();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean threads16() {
+        return operation();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean threads64() {
+        return operation();
+    }
+}
@@ -0,0 +1,197 @@
+/**
+
+ @file UserRegistryTest.java
+ @brief This file contains the test cases for the UserRegistry class.
+ @details This file includes test methods to validate lookups, register-if-absent and concurrent use of the user registry.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+
+ @class UserRegistryTest
+ @brief This class represents the test class for the UserRegistry class.
+ @details The UserRegistryTest class includes a multi-threaded stress test of registrations and logins.
+ */
+public class UserRegistryTest {
+
+    private static User newUser(String name, String phone, String password) {
+        User user = new User();
+        user.name = name;
+        user.surname = "";
+        user.phone = phone;
+        user.password = password;
+        return user;
+    }
+
+    @Test
+    public void testLoginId_ShouldPreferPhoneOverName() {
+        assertEquals("5551112233", UserRegistry.loginId(newUser("Ayse", "5551112233", "pw")));
+        assertEquals("Ayse", UserRegistry.loginId(newUser("Ayse", "", "pw")));
+        assertEquals("Ayse", UserRegistry.loginId(newUser("Ayse", null, "pw")));
+    }
+
+    @Test
+    public void testRegister_ShouldRejectTakenLoginId() {
+        UserRegistry registry = new UserRegistry();
+
+        assertTrue(registry.register(newUser("Ayse", "5551112233", "first")));
+        assertFalse(registry.register(newUser("Fatma", "5551112233", "second")));
+
+        assertEquals(1, registry.size());
+        assertTrue(registry.authenticate("5551112233", "first"));
+        assertFalse(registry.authenticate("5551112233", "second"));
+    }
+
+    @Test
+    public void testAuthenticate_ShouldHandleUnknownAndNullInput() {
+        UserRegistry registry = new UserRegistry();
+        registry.put(newUser("Ayse", "5551112233", "secret"));
+
+        assertFalse(registry.authenticate("5550000000", "secret"));
+        assertFalse(registry.authenticate(null, "secret"));
+        assertFalse(registry.authenticate("5551112233", null));
+    }
+
+    @Test
+    public void testPasswords_ShouldBehaveAsUsernameMap() {
+        UserRegistry registry = new UserRegistry();
+        Map<String, String> passwords = registry.passwords();
+
+        assertNull(passwords.put("validUser", "validPassword"));
+        assertEquals("validPassword", passwords.get("validUser"));
+        assertTrue(registry.authenticate("validUser", "validPassword"));
+        assertEquals("validPassword", passwords.put("validUser", "changed"));
+        assertEquals(1, passwords.size());
+        assertEquals("changed", passwords.entrySet().iterator().next().getValue());
+
+        assertEquals("changed", passwords.remove("validUser"));
+        assertNull(registry.find("validUser"));
+    }
+
+    @Test
+    public void testValidateLogin_ShouldUseUserRegistry() {
+        User user = newUser("Index", "5559876543", "indexPassword");
+
+        Event.saveUser(user);
+
+        assertTrue(Event.validateLogin("5559876543", "indexPassword"));
+        assertFalse(Event.validateLogin("5559876543", "wrongPassword"));
+        // The first login replaced the plaintext password with a hash
+        User stored = Event.userRegistry.find("5559876543");
+        assertEquals("Index", stored.name);
+        assertTrue(PasswordHasher.isHashed(stored.password));
+        assertTrue(Event.validateLogin("5559876543", "indexPassword"));
+    }
+
+    @Test
+    public void testRegisterUser_ShouldRejectDuplicateUsername() {
+        Event.users.put("takenUser", "oldPassword");
+
+        assertFalse(Event.registerUser(newUser("takenUser", "", "newPassword")));
+        assertEquals("oldPassword", Event.users.get("takenUser"));
+    }
+
+    @Test
+    public void testConcurrentRegister_ShouldAdmitExactlyOneUserPerLoginId() throws Exception {
+        final UserRegistry registry = new UserRegistry();
+        final int threads = 16;
+        final int ids = 2000;
+        final AtomicInteger admitted = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            final int thread = t;
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < ids; i++) {
+                        if (registry.register(newUser("T" + thread, "555" + i, "pw" + thread))) {
+                            admitted.incrementAndGet();
+                        }
+                    }
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertNull(error.get());
+        assertEquals(ids, admitted.get());
+        assertEquals(ids, registry.size());
+    }
+
+    @Test
+    public void testConcurrentLogins_ShouldNeverMissRegisteredUsers() throws Exception {
+        final UserRegistry registry = new UserRegistry();
+        final int existing = 10000;
+        for (int i = 0; i < existing; i++) {
+            registry.put(newUser("U" + i, String.valueOf(5550000000L + i), "pw" + i));
+        }
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        final AtomicInteger failedLogins = new AtomicInteger();
+
+        Thread writer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 50000; i++) {
+                    registry.register(newUser("N" + i, String.valueOf(6660000000L + i), "new"));
+                }
+            } catch (Throwable e) {
+                error.set(e);
+            } finally {
+                writing.set(false);
+            }
+        });
+        List<Thread> readers = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            final int offset = t;
+            Thread reader = new Thread(() -> {
+                try {
+                    int i = offset;
+                    do {
+                        int id = i++ % existing;
+                        if (!registry.authenticate(String.valueOf(5550000000L + id), "pw" + id)) {
+                            failedLogins.incrementAndGet();
+                        }
+                    } while (writing.get());
+                } catch (Throwable e) {
+                    error.set(e);
+                }
+            });
+            readers.add(reader);
+        }
+        writer.start();
+        for (Thread reader : readers) {
+            reader.start();
+        }
+        writer.join();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+
+        assertNull(error.get());
+        assertEquals(0, failedLogins.get());
+        assertEquals(existing + 50000, registry.size());
+    }
+}
@@ -0,0 +1,197 @@
+/**
+
+ @file UserStoreTest.java
+ @brief This file contains the test cases for the UserStore class.
+ @details This file includes test methods to validate the versioned users.bin format: round trips, header checks and checksum verification before any record is read.
+ */
+package com.beyza.gokce.siray.event;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.beyza.gokce.siray.event.Event.User;
+
+/**
+
+ @class UserStoreTest
+ @brief This class represents the test class for the UserStore class.
+ @details The UserStoreTest class writes snapshots to a temporary directory and reads them back.
+ */
+public class UserStoreTest {
+
+    private Path dir;
+    private Path file;
+
+    @Before
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("userstore");
+        file = dir.resolve("users.bin");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(dir.resolve("users.bin.tmp"));
+        Files.deleteIfExists(dir);
+    }
+
+    private static User newUser(int i) {
+        User user = new User();
+        user.name = "Ayşe" + i;
+        user.surname = i % 2 == 0 ? "Yılmaz" : null;
+        user.phone = String.valueOf(5550000000L + i);
+        user.password = "pw" + i;
+        return user;
+    }
+
+    @Test
+    public void testSaveAndLoad_ShouldRoundTripAllFields() throws IOException {
+        UserIndex index = new UserIndex();
+        for (int i = 0; i < 1000; i++) {
+            index.put(newUser(i));
+        }
+
+        assertEquals(1000, UserStore.save(file, index));
+
+        UserIndex loaded = new UserIndex();
+        assertEquals(1000, UserStore.load(file, loaded));
+        for (int i = 0; i < 1000; i++) {
+            User expected = newUser(i);
+            User actual = loaded.get(expected.phone);
+            assertNotNull(actual);
+            assertEquals(expected.name, actual.name);
+            assertEquals(expected.surname, actual.surname);
+            assertEquals(expected.password, actual.password);
+        }
+        assertFalse(Files.exists(dir.resolve("users.bin.tmp")));
+    }
+
+    @Test
+    public void testReader_ShouldExposeHeaderCount() throws IOException {
+        UserIndex index = new UserIndex();
+        index.put(newUser(1));
+        index.put(newUser(2));
+        UserStore.save(file, index);
+
+        try (UserStore.Reader reader = UserStore.Reader.open(file)) {
+            assertEquals(2, reader.recordCount());
+            assertNotNull(reader.next());
+            assertNotNull(reader.next());
+            assertNull(reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void testLoad_MissingOrLegacyFile_ShouldLoadNothing() throws IOException {
+        UserIndex index = new UserIndex();
+        assertEquals(0, UserStore.load(file, index));
+
+        try (ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(file))) {
+            out.flush();
+        }
+        assertEquals(0, UserStore.load(file, index));
+        assertEquals(0, index.size());
+    }
+
+    @Test(expected = IOException.class)
+    public void testLoad_CorruptedRecord_ShouldFailChecksum() throws IOException {
+        UserIndex index = new UserIndex();
+        index.put(newUser(7));
+        UserStore.save(file, index);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            // Flip a byte inside the first record's name.
+            raf.seek(UserStore.HEADER_SIZE + 7);
+            int b = raf.read();
+            raf.seek(UserStore.HEADER_SIZE + 7);
+            raf.write(b ^ 0x01);
+        }
+
+        UserStore.load(file, new UserIndex());
+    }
+
+    @Test
+    public void testOpen_CorruptedLastRecord_ShouldFailBeforeAnyUserIsRead() throws IOException {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            users.add(newUser(i));
+        }
+        UserStore.save(file, users);
+
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            // Flip a byte of the last record's password, just before the trailer.
+            long at = raf.length() - 8 - 1;
+            raf.seek(at);
+            int b = raf.read();
+            raf.seek(at);
+            raf.write(b ^ 0x01);
+        }
+
+        List<User> loaded = new ArrayList<>();
+        try (UserStore.Reader reader = UserStore.Reader.open(file)) {
+            User user;
+            while ((user = reader.next()) != null) {
+                loaded.add(user);
+            }
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("checksum"));
+        }
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpen_ZeroVersion_ShouldFail() throws IOException {
+        UserStore.save(file, Collections.singletonList(newUser(1)));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(4);
+            raf.writeShort(0);
+        }
+
+        UserStore.Reader.open(file);
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpen_UnknownMagic_ShouldFail() throws IOException {
+        Files.write(file, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+
+        UserStore.Reader.open(file);
+    }
+
+    @Test
+    public void testSave_ShouldBeMuchSmallerThanOneRecordPerObjectStream() throws IOException {
+        UserIndex index = new UserIndex();
+        for (int i = 0; i < 100; i++) {
+            index.put(newUser(i));
+        }
+        UserStore.save(file, index);
+
+        // Four short strings plus two length fields per user, header and trailer.
+        assertTrue(Files.size(file) < 100 * 60 + UserStore.HEADER_SIZE + 8);
+    }
+
+    @Test
+    public void testEnsureCapacity_ShouldPresizeIndex() {
+        UserIndex index = new UserIndex();
+        index.put(newUser(1));
+
+        index.ensureCapacity(100000);
+
+        assertTrue(index.capacity() * UserIndex.MAX_LOAD_FACTOR >= 100000);
+        assertFalse(index.isMigrating());
+        assertNotNull(index.get(newUser(1).phone));
+    }
+}